@@ -0,0 +1,106 @@
+package de.cyzetlc.hsbi.benchmark;
+
+import de.cyzetlc.hsbi.game.world.EntityStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmark measures how many movement updates per second {@link EntityStore#integrate(double)} runs over
+ * {@code entities} entities, against the object-per-entity layout it replaced. The objects are created in a shuffled
+ * order, as they would be after a level has spawned and removed entities for a while, so walking them does not touch
+ * memory in address order. One operation is one update of all entities.
+ *
+ * @author Tom Coombs
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityStoreBenchmark {
+    private static final double STEP = 1.0 / 200;
+    private static final int ARCHETYPES = 8;
+
+    @Param({"100000"})
+    public int entities;
+
+    private EntityStore store;
+    private Entity[] objects;
+
+    /** The object-per-entity layout: position, velocity and flags in one heap object per entity. */
+    private static final class Entity {
+        private double x, y, vx, vy;
+        private boolean active;
+    }
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        this.store = new EntityStore();
+        EntityStore.Archetype[] archetypes = new EntityStore.Archetype[ARCHETYPES];
+        for (int i = 0; i < ARCHETYPES; i++) {
+            archetypes[i] = this.store.archetype("archetype-" + i);
+        }
+
+        Entity[] created = new Entity[this.entities];
+        for (int i = 0; i < this.entities; i++) {
+            boolean active = random.nextInt(10) != 0;
+            double vx = random.nextDouble(-320, 320), vy = random.nextDouble(-320, 320);
+            int id = this.store.create(archetypes[random.nextInt(ARCHETYPES)], random.nextDouble(10_000),
+                    random.nextDouble(2_000), 32, 32, active ? EntityStore.FLAG_ACTIVE : 0);
+            this.store.setVelocity(id, vx, vy);
+
+            Entity entity = new Entity();
+            entity.x = this.store.getX(id);
+            entity.y = this.store.getY(id);
+            entity.vx = vx;
+            entity.vy = vy;
+            entity.active = active;
+            created[i] = entity;
+        }
+        // shuffle, so the update order differs from the allocation order
+        for (int i = created.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Entity swap = created[i];
+            created[i] = created[j];
+            created[j] = swap;
+        }
+        this.objects = created;
+    }
+
+    /**
+     * @return The store, so the update can't be eliminated.
+     */
+    @Benchmark
+    public EntityStore integrateStore() {
+        this.store.integrate(STEP);
+        return this.store;
+    }
+
+    /**
+     * @return The entities, so the update can't be eliminated.
+     */
+    @Benchmark
+    public Object integrateObjects() {
+        for (Entity entity : this.objects) {
+            if (entity.active) {
+                entity.x += entity.vx * STEP;
+                entity.y += entity.vy * STEP;
+            }
+        }
+        return this.objects;
+    }
+}
@@ -0,0 +1,102 @@
+package de.cyzetlc.hsbi.benchmark;
+
+import de.cyzetlc.hsbi.game.utils.json.JSONBufferTokener;
+import de.cyzetlc.hsbi.game.utils.json.JSONObject;
+import de.cyzetlc.hsbi.game.utils.json.JSONTokener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmark compares the {@link JSONTokener} with the {@link JSONBufferTokener} when a whole document is parsed
+ * into a {@link JSONObject}. Both start from the UTF-8 bytes of the document, like {@code JsonConfig} reading a file.
+ * <p>
+ * {@code config} is shaped like {@code config.json}: a few settings and a flat {@code messages} table with a few
+ * hundred entries. {@code large} is about 2 MB of level-like data: objects with repeating keys, numbers and number
+ * arrays. Run with {@code -prof gc} to see the allocation rate as well.
+ *
+ * @author Tom Coombs
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JSONTokenerBenchmark {
+    @Param({"config", "large"})
+    public String document;
+
+    private byte[] utf8;
+
+    @Setup
+    public void setUp() {
+        String json = this.document.equals("config") ? createConfig() : createLarge(2 * 1024 * 1024);
+        this.utf8 = json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public JSONObject readerTokener() {
+        return new JSONObject(new JSONTokener(new InputStreamReader(new ByteArrayInputStream(this.utf8), StandardCharsets.UTF_8)));
+    }
+
+    @Benchmark
+    public JSONObject bufferTokener() {
+        return new JSONObject(JSONBufferTokener.fromUtf8(this.utf8));
+    }
+
+    private static String createConfig() {
+        StringBuilder builder = new StringBuilder(32 * 1024);
+        builder.append("{\"currentLevel\":\"Tutorial\",\"soundVolume\":0.05365079365079361,\"soundMuted\":true,")
+                .append("\"language\":\"de\",\"tutorialFinished\":true,")
+                .append("\"mysql\":{\"hostname\":\"localhost\",\"database\":\"game\",\"password\":\"pw\",\"port\":3306,\"poolSize\":3,\"username\":\"admin\"},")
+                .append("\"messages\":{");
+        String[] languages = {"", "en.", "ru."};
+        for (int i = 0; i < 120; i++) {
+            for (String language : languages) {
+                if (i > 0 || !language.isEmpty()) {
+                    builder.append(',');
+                }
+                builder.append("\"").append(language).append("gui.screen").append(i / 10).append(".lbl.text").append(i)
+                        .append("\":\"Beschriftung Nummer ").append(i).append(" mit Platzhalter {0}\"");
+            }
+        }
+        return builder.append("}}").toString();
+    }
+
+    private static String createLarge(int size) {
+        SplittableRandom random = new SplittableRandom(7);
+        String[] types = {"PLATFORM", "FOLDER", "ROBOT_ENEMY", "LASER", "GAS_BARRIER", "PERK"};
+        StringBuilder builder = new StringBuilder(size + 1024).append("{\"name\":\"Generated\",\"blocks\":[");
+        for (int i = 0; builder.length() < size; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("{\"id\":").append(i)
+                    .append(",\"type\":\"").append(types[random.nextInt(types.length)])
+                    .append("\",\"x\":").append(random.nextInt(100_000) / 4.0)
+                    .append(",\"y\":").append(random.nextInt(4_000) / 4.0)
+                    .append(",\"active\":").append(random.nextBoolean())
+                    .append(",\"path\":[");
+            for (int p = 0; p < 6; p++) {
+                builder.append(p > 0 ? "," : "").append(random.nextInt(10_000) / 8.0);
+            }
+            builder.append("]}");
+        }
+        return builder.append("]}").toString();
+    }
+}
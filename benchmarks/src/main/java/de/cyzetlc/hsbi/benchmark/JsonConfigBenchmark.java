@@ -0,0 +1,140 @@
+package de.cyzetlc.hsbi.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import de.cyzetlc.hsbi.game.utils.json.JSONObject;
+import de.cyzetlc.hsbi.game.utils.json.JsonConfig;
+import de.cyzetlc.hsbi.game.utils.json.database.mysql.MySQLCredentials;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmark compares saving and binding a {@link JsonConfig} the way it was done before with the current way.
+ * <p>
+ * Before, {@code save()} built the whole document with {@link JSONObject#toString()} and wrote that String, and
+ * {@code load(Class)} wrote the config to a String and let Gson parse it again. Now {@link JsonConfig#save()} streams
+ * the object into a buffered writer for a temporary file that replaces the config, and {@link JsonConfig#load(Class)}
+ * binds straight from the JSONObject tree. The document is shaped like {@code config.json}, the credentials are bound
+ * from its {@code mysql} section like the server does, the settings from the whole document.
+ *
+ * @author Tom Coombs
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonConfigBenchmark {
+    /**
+     * The part of the config the client reads at startup.
+     */
+    public static class Settings {
+        public String currentLevel;
+        public double soundVolume;
+        public boolean soundMuted;
+        public Map<String, String> messages;
+    }
+
+    private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+
+    private Path directory;
+    private File oldFile;
+    private JsonConfig config;
+    private JsonConfig mysql;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("config-benchmark");
+        this.oldFile = this.directory.resolve("old.json").toFile();
+
+        Path file = this.directory.resolve("config.json");
+        Files.writeString(file, createConfig(), StandardCharsets.UTF_8);
+        this.config = new JsonConfig(file.toString());
+        this.mysql = new JsonConfig(this.config.getObject().getJSONObject("mysql"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (var files = Files.list(this.directory)) {
+            for (Path file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(this.directory);
+    }
+
+    @Benchmark
+    public File saveAsString() throws IOException {
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(this.oldFile), StandardCharsets.UTF_8)) {
+            writer.write(this.config.getObject().toString());
+        }
+        return this.oldFile;
+    }
+
+    @Benchmark
+    public File saveStreamed() {
+        this.config.save();
+        return this.config.getFile();
+    }
+
+    @Benchmark
+    public MySQLCredentials loadCredentialsReparsed() {
+        return this.gson.fromJson(this.mysql.getObject().toString(), MySQLCredentials.class);
+    }
+
+    @Benchmark
+    public MySQLCredentials loadCredentialsFromTree() {
+        return this.mysql.load(MySQLCredentials.class);
+    }
+
+    @Benchmark
+    public Settings loadSettingsReparsed() {
+        return this.gson.fromJson(this.config.getObject().toString(), Settings.class);
+    }
+
+    @Benchmark
+    public Settings loadSettingsFromTree() {
+        return this.config.load(Settings.class);
+    }
+
+    private static String createConfig() {
+        StringBuilder builder = new StringBuilder(32 * 1024);
+        builder.append("{\"currentLevel\":\"Tutorial\",\"soundVolume\":0.05365079365079361,\"soundMuted\":true,")
+                .append("\"language\":\"de\",\"tutorialFinished\":true,")
+                .append("\"mysql\":{\"hostname\":\"localhost\",\"database\":\"game\",\"password\":\"pw\",\"port\":3306,\"poolSize\":3,\"username\":\"admin\"},")
+                .append("\"messages\":{");
+        String[] languages = {"", "en.", "ru."};
+        for (int i = 0; i < 120; i++) {
+            for (String language : languages) {
+                if (i > 0 || !language.isEmpty()) {
+                    builder.append(',');
+                }
+                builder.append("\"").append(language).append("gui.screen").append(i / 10).append(".lbl.text").append(i)
+                        .append("\":\"Beschriftung Nummer ").append(i).append(" mit Platzhalter {0}\"");
+            }
+        }
+        return builder.append("}}").toString();
+    }
+}
@@ -0,0 +1,132 @@
+package de.cyzetlc.hsbi.benchmark;
+
+import de.cyzetlc.hsbi.game.world.SpatialGrid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmark compares the broad phase of the player collision with a {@link SpatialGrid} against the linear scan
+ * over all blocks it replaced, in a level of {@code blocks} 32x32 blocks. Every query uses the area the player sweeps
+ * in one step. {@link #updateMoving()} measures the cost of keeping moving blocks (lasers, platforms) in the grid.
+ *
+ * @author Tom Coombs
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpatialGridBenchmark {
+    private static final double BLOCK_SIZE = 32;
+    private static final double LEVEL_HEIGHT = 2_000;
+    private static final double PLAYER_WIDTH = 48;
+    private static final double PLAYER_HEIGHT = 96;
+    /** The number of queries and moves per invocation, spread over the level. */
+    private static final int BATCH = 1_024;
+    /** The share of blocks that move, as with lasers and floating platforms. */
+    private static final int MOVING_EVERY = 100;
+
+    @Param({"10000", "100000"})
+    public int blocks;
+
+    private SpatialGrid<Integer> grid;
+    /** The indexed items, the grid identifies them by reference. */
+    private Integer[] items;
+    private double[] xs, ys;
+    private double[] queryX, queryY;
+    private final List<Integer> found = new ArrayList<>();
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        // about one block per 4x4 block area, like a dense level
+        double levelWidth = this.blocks * BLOCK_SIZE * BLOCK_SIZE * 16 / LEVEL_HEIGHT;
+        this.grid = new SpatialGrid<>();
+        this.items = new Integer[this.blocks];
+        this.xs = new double[this.blocks];
+        this.ys = new double[this.blocks];
+        for (int i = 0; i < this.blocks; i++) {
+            this.items[i] = i;
+            this.xs[i] = random.nextDouble(levelWidth);
+            this.ys[i] = random.nextDouble(LEVEL_HEIGHT);
+            this.grid.insert(this.items[i], this.xs[i], this.ys[i], BLOCK_SIZE, BLOCK_SIZE);
+        }
+        this.queryX = new double[BATCH];
+        this.queryY = new double[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            this.queryX[i] = random.nextDouble(levelWidth);
+            this.queryY[i] = random.nextDouble(LEVEL_HEIGHT);
+        }
+    }
+
+    /**
+     * @return The number of blocks found, so the queries can't be eliminated.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int queryGrid() {
+        int hits = 0;
+        for (int i = 0; i < BATCH; i++) {
+            hits += this.grid.query(this.queryX[i], this.queryY[i], PLAYER_WIDTH, PLAYER_HEIGHT, this.found);
+            this.found.clear();
+        }
+        return hits;
+    }
+
+    /**
+     * @return The number of blocks found, so the scan can't be eliminated.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int queryScan() {
+        int hits = 0;
+        for (int i = 0; i < BATCH; i++) {
+            double x = this.queryX[i];
+            double y = this.queryY[i];
+            for (int j = 0; j < this.blocks; j++) {
+                if (this.xs[j] <= x + PLAYER_WIDTH && this.xs[j] + BLOCK_SIZE >= x
+                        && this.ys[j] <= y + PLAYER_HEIGHT && this.ys[j] + BLOCK_SIZE >= y) {
+                    hits++;
+                }
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Moves every {@value #MOVING_EVERY}th block by one laser step (320 units per second at 200 steps per second).
+     *
+     * @return The number of blocks that changed their cells.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int updateMoving() {
+        int moved = 0;
+        for (int i = 0; i < BATCH; i++) {
+            int block = this.next;
+            this.next = (this.next + MOVING_EVERY) % this.blocks;
+            this.xs[block] += 1.6;
+            if (this.grid.update(this.items[block], this.xs[block], this.ys[block], BLOCK_SIZE, BLOCK_SIZE)) {
+                moved++;
+            }
+        }
+        return moved;
+    }
+}
@@ -0,0 +1,141 @@
+package de.cyzetlc.hsbi.benchmark;
+
+import de.cyzetlc.hsbi.game.utils.json.database.local.LocalStatsStorage;
+import de.cyzetlc.hsbi.game.utils.json.database.mysql.MySQLCredentials;
+import de.cyzetlc.hsbi.game.utils.json.database.mysql.QueryHandler;
+import de.cyzetlc.hsbi.game.utils.json.database.stats.MySQLStatsStorage;
+import de.cyzetlc.hsbi.game.utils.json.database.stats.ScoreRecord;
+import de.cyzetlc.hsbi.game.utils.json.database.stats.StatsStorage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * The benchmark measures how many runs per second a {@link StatsStorage} writes in batches of {@value #BATCH_SIZE},
+ * the batch size of the score write-behind queue, so the {@link LocalStatsStorage} and the {@link MySQLStatsStorage}
+ * are compared on the same workload. Every batch is flushed to the disk or committed, so the result depends on the
+ * disk the temporary directory is on and on the database server. Compactions of the local storage run on their own
+ * thread while the benchmark keeps writing.
+ * <p>
+ * The {@code mysql} variant only runs if the system property {@value #MYSQL_HOST} names a database server, otherwise
+ * its setup fails and JMH moves on to the next variant. The database ({@code benchmark.mysql.database}, default
+ * {@code hsbi_benchmark}) should be a scratch database, the written runs are kept. The other connection properties are
+ * {@code benchmark.mysql.port}, {@code benchmark.mysql.user} and {@code benchmark.mysql.password}. Example:
+ * {@code java -Dbenchmark.mysql.host=localhost -jar benchmarks.jar StatsStorageBenchmark}.
+ *
+ * @author Tom Coombs
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatsStorageBenchmark {
+    private static final int BATCH_SIZE = 100;
+    private static final int PLAYERS = 10_000;
+    private static final String[] LEVELS = {"Tutorial", "Level 1", "Level 2", "Level 3"};
+
+    private static final String MYSQL_HOST = "benchmark.mysql.host";
+
+    @Param({"local", "mysql"})
+    public String storageType;
+
+    private Path directory;
+    private StatsStorage storage;
+    private UUID[] players;
+    private SplittableRandom random;
+    private final List<ScoreRecord> batch = new ArrayList<>(BATCH_SIZE);
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        if (this.storageType.equals("mysql")) {
+            this.storage = openMySQL();
+        } else {
+            this.directory = Files.createTempDirectory("stats-benchmark");
+            this.storage = new LocalStatsStorage(this.directory);
+        }
+
+        this.random = new SplittableRandom(42);
+        this.players = new UUID[PLAYERS];
+        for (int i = 0; i < PLAYERS; i++) {
+            this.players[i] = new UUID(this.random.nextLong(), this.random.nextLong());
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void nextBatch() {
+        this.batch.clear();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            this.batch.add(new ScoreRecord(this.players[this.random.nextInt(PLAYERS)], LEVELS[this.random.nextInt(LEVELS.length)],
+                    this.random.nextLong(10_000, 600_000), this.random.nextInt(6), this.random.nextInt(20)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (this.storage != null) {
+            this.storage.close();
+        }
+        if (this.directory == null) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(this.directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /**
+     * @return The storage, so the write can't be eliminated.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public StatsStorage writeBatch() throws IOException {
+        this.storage.writeBatch(this.batch);
+        return this.storage;
+    }
+
+    private static MySQLStatsStorage openMySQL() throws SQLException {
+        String host = System.getProperty(MYSQL_HOST);
+        if (host == null) {
+            throw new IllegalStateException("Set -D" + MYSQL_HOST + " to benchmark the MySQL storage");
+        }
+
+        MySQLCredentials credentials = new MySQLCredentials();
+        credentials.hostname = host;
+        credentials.port = Integer.getInteger("benchmark.mysql.port", 3306);
+        credentials.database = System.getProperty("benchmark.mysql.database", "hsbi_benchmark");
+        credentials.username = System.getProperty("benchmark.mysql.user", "root");
+        credentials.password = System.getProperty("benchmark.mysql.password", "");
+        credentials.poolSize = 2;
+
+        MySQLStatsStorage storage = new MySQLStatsStorage(new QueryHandler(credentials));
+        storage.migrate();
+        return storage;
+    }
+}
@@ -80,7 +80,7 @@ public class Game extends Application {
     /**
      * Das aktuell aktive Level, das gerade gespielt wird.
      */
-    @Getter @Setter
+    @Getter
     private Level currentLevel;
 
     /**
@@ -129,6 +129,18 @@ public class Game extends Application {
      */
     public static double jumpPower = 800;
 
+    /**
+     * Setzt das aktuelle Level. Die Blöcke des bisherigen Levels werden dabei aus dem gemeinsamen
+     * {@code EntityStore} freigegeben.
+     *
+     * @param currentLevel Das neue Level.
+     */
+    public void setCurrentLevel(Level currentLevel) {
+        if (this.currentLevel != null && this.currentLevel != currentLevel) {
+            this.currentLevel.clearWorld();
+        }
+        this.currentLevel = currentLevel;
+    }
     /**
      * Der Einstiegspunkt für den JavaFX-Anwendungslebenszyklus. Diese Methode wird nach {@code main()}
      * aufgerufen und führt die vollständige Initialisierung des Spielsystems durch.
@@ -216,11 +228,15 @@ public class Game extends Application {
 
     /**
      * Die Methode, die von der JavaFX-Laufzeitumgebung aufgerufen wird, wenn die Anwendung beendet werden soll.
-     * Führt Aufräumarbeiten durch (z. B. Schließen der Netzwerkverbindung).
+     * Führt Aufräumarbeiten durch (z. B. Schreiben ausstehender Konfigurationsänderungen, Schließen der Netzwerkverbindung).
      */
     @Override
     public void stop()  {
         getLogger().info("Shutting down..");
+        // Noch ausstehende Änderungen an der Konfiguration schreiben
+        if (this.config != null) {
+            this.config.close();
+        }
         //client.closeConnection();
     }
 
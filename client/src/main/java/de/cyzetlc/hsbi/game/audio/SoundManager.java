@@ -220,14 +220,16 @@ public class SoundManager {
      * Stellt den globalen Master-Lautstärkepegel ein (0.0 - 1.0).
      * <p>
      * Die neue Lautstärke wird begrenzt (clamped), in der Spielkonfiguration gespeichert
-     * und sofort auf die aktuell spielende Hintergrundmusik angewendet.
+     * und sofort auf die aktuell spielende Hintergrundmusik angewendet. Die Konfiguration wird
+     * verzögert im Hintergrund geschrieben ({@code JsonConfig#saveLater()}), sodass das Ziehen
+     * des Schiebereglers nur wenige Schreibvorgänge auslöst.
      *
      * @param volume Der neue Lautstärkepegel (0.0 bis 1.0).
      */
     public static void setVolume(double volume) {
         globalVolume = Math.max(0, Math.min(1, volume));
-        Game.getInstance().getConfig().getObject().put("soundVolume", volume);
-        Game.getInstance().getConfig().save();
+        Game.getInstance().getConfig().set("soundVolume", volume);
+        Game.getInstance().getConfig().saveLater();
         applyVolume(backgroundPlayer);
     }
 
@@ -250,8 +252,8 @@ public class SoundManager {
      */
     public static void setMuted(boolean muted) {
         SoundManager.muted = muted;
-        Game.getInstance().getConfig().getObject().put("soundMuted", muted);
-        Game.getInstance().getConfig().save();
+        Game.getInstance().getConfig().set("soundMuted", muted);
+        Game.getInstance().getConfig().saveLater();
         applyVolume(backgroundPlayer);
     }
 
@@ -65,6 +65,19 @@ public class EntityPlayer extends Player {
      */
     @Override
     public void update() {
+        this.render(this.getLocation().getX(), this.getLocation().getY());
+    }
+
+    /**
+     * Positioniert Sprite und Namensschild an der angegebenen Welt-Position, abzüglich des aktuellen Kamera-Offsets.
+     * <p>
+     * Wird vom {@code GameScreen} mit der zwischen zwei Logikschritten interpolierten Position aufgerufen,
+     * die Welt-Position des Spielers selbst bleibt dabei unverändert.
+     *
+     * @param x Die X-Koordinate in der Welt, an der der Spieler gezeichnet wird.
+     * @param y Die Y-Koordinate in der Welt, an der der Spieler gezeichnet wird.
+     */
+    public void render(double x, double y) {
         double camX = 0;
         double camY = 0;
 
@@ -74,8 +87,8 @@ public class EntityPlayer extends Player {
         }
 
         // Position vom Sprite & Nametag anpassen (mit Kameraversatz)
-        double screenX = this.getLocation().getX() - camX;
-        double screenY = this.getLocation().getY() - camY;
+        double screenX = x - camX;
+        double screenY = y - camY;
 
         this.sprite.setX(screenX);
         this.sprite.setY(screenY);
@@ -0,0 +1,391 @@
+package de.cyzetlc.hsbi.game.gui;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import lombok.Getter;
+
+import java.awt.DisplayMode;
+import java.awt.GraphicsEnvironment;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
+
+/**
+ * Der {@code FrameScheduler} plant die Frames der Spielschleife und Aufgaben anderer Threads auf dem JavaFX Application
+ * Thread ein.
+ * <p>
+ * Es steht immer höchstens ein Eintrag des Schedulers in der {@code Platform.runLater}-Warteschlange. Fordert ein
+ * Thread einen Frame an oder übergibt eine Aufgabe ({@link #runLater(Runnable)}), während dieser Eintrag noch nicht
+ * gelaufen ist, wird die Anforderung mit ihm zusammengelegt und gezählt. Ein langsamer Rechner bekommt so weniger
+ * Frames, aber nie einen wachsenden Rückstau (steigende Eingabe-Latenz und Speicherverbrauch), auch wenn etwa die
+ * Netzwerk-Listener viele Aktualisierungen schicken.
+ * <p>
+ * Zwei Modi stehen zur Verfügung:
+ * <ul>
+ * <li>{@link Pacing#DISPLAY}: Ein Frame pro JavaFX-Puls. JavaFX plant den nächsten Puls erst nach dem Ende des
+ * vorherigen ein. Pulse, deren Abstand deutlich über dem Puls-Intervall liegt, werden als verlorene Frames gezählt.
+ * Das Intervall wird aus dem Median der ersten {@link #CALIBRATION_PULSES} Pulsabstände gemessen, bis dahin zählen
+ * keine Ausfälle. Eine feste Annahme passt nicht zu jedem Rechner: Auf einem 144-Hz-Bildschirm läge ein einzelner
+ * verlorener Puls unter der Schwelle von 60 Hz, und JavaFX taktet je nach Plattform nicht mit der Bildwiederholrate
+ * des Bildschirms.</li>
+ * <li>{@link Pacing#FIXED}: Ein eigener Taktgeber-Thread fordert Frames mit der Zielrate an, standardmäßig der
+ * Bildwiederholrate des Bildschirms ({@link #getDisplayRefreshRate()}). Verpasste Zeitpunkte werden nicht
+ * nachgeholt, sondern als verlorene Frames gezählt.</li>
+ * </ul>
+ *
+ * @author Tom Coombs
+ */
+public class FrameScheduler {
+    /**
+     * Der Modus, nach dem die Frames getaktet werden.
+     */
+    public enum Pacing {
+        /** Folgt dem JavaFX-Puls, das Intervall wird gemessen. */
+        DISPLAY,
+        /** Feste Zielrate, getaktet durch einen eigenen Thread. */
+        FIXED
+    }
+
+    /**
+     * Die Anzahl der Pulse, aus deren Abständen das Intervall gemessen wird.
+     */
+    public static final int CALIBRATION_PULSES = 60;
+
+    /**
+     * Die Bildwiederholrate, wenn der Bildschirm keine meldet.
+     */
+    public static final int DEFAULT_REFRESH_RATE = 60;
+
+    /**
+     * Der Frame-Callback, er erhält den Zeitstempel des Frames in Nanosekunden.
+     */
+    private final LongConsumer frame;
+
+    /**
+     * Der Taktmodus dieses Schedulers.
+     */
+    @Getter
+    private final Pacing pacing;
+
+    /**
+     * Das Intervall zwischen zwei Frames in Nanosekunden. Im Modus {@link Pacing#DISPLAY} 0, solange es noch
+     * gemessen wird.
+     */
+    private long frameIntervalNanos;
+
+    /**
+     * Die gemessenen Pulsabstände, solange das Intervall noch nicht feststeht (nur im Modus {@link Pacing#DISPLAY}).
+     */
+    private long[] calibration;
+
+    /**
+     * Die Anzahl der bereits gemessenen Pulsabstände in {@link #calibration}.
+     */
+    private int calibrated;
+
+    /**
+     * Gesetzt, solange ein Eintrag des Schedulers in der {@code runLater}-Warteschlange steht.
+     */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * Gesetzt, wenn mit dem ausstehenden Eintrag ein Frame ausgeführt werden soll.
+     */
+    private final AtomicBoolean frameRequested = new AtomicBoolean();
+
+    /**
+     * Gesetzt, solange der Scheduler läuft.
+     */
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Die Aufgaben anderer Threads, die mit dem nächsten Eintrag ausgeführt werden.
+     */
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Die Anzahl der ausgeführten Frames.
+     */
+    private final LongAdder frames = new LongAdder();
+
+    /**
+     * Die Anzahl der Anforderungen, die mit einem bereits ausstehenden Eintrag zusammengelegt wurden.
+     */
+    private final LongAdder coalescedFrames = new LongAdder();
+
+    /**
+     * Die Anzahl der Frames, die gegenüber der Puls- bzw. Zielrate ausgefallen sind.
+     */
+    private final LongAdder droppedFrames = new LongAdder();
+
+    /**
+     * Der Puls-Timer im Modus {@link Pacing#DISPLAY}.
+     */
+    private AnimationTimer pulse;
+
+    /**
+     * Der Taktgeber-Thread im Modus {@link Pacing#FIXED}.
+     */
+    private Thread pacer;
+
+    /**
+     * Der Zeitstempel des letzten Pulses (0 vor dem ersten Puls, nur auf dem FX-Thread verwendet).
+     */
+    private long lastPulse = 0;
+
+    /**
+     * Erstellt einen Scheduler im Modus {@link Pacing#DISPLAY}. Er läuft erst nach {@link #start()}.
+     *
+     * @param frame Der Frame-Callback, er läuft immer auf dem JavaFX Application Thread.
+     */
+    public FrameScheduler(LongConsumer frame) {
+        this(frame, Pacing.DISPLAY, 0);
+    }
+
+    /**
+     * Erstellt einen neuen Scheduler. Er läuft erst nach {@link #start()}.
+     *
+     * @param frame     Der Frame-Callback, er läuft immer auf dem JavaFX Application Thread.
+     * @param pacing    Der Taktmodus.
+     * @param targetFps Die Zielrate im Modus {@link Pacing#FIXED}, 0 für die Bildwiederholrate des Bildschirms.
+     *                  Im Modus {@link Pacing#DISPLAY} wird sie nicht verwendet.
+     */
+    public FrameScheduler(LongConsumer frame, Pacing pacing, int targetFps) {
+        if (targetFps < 0) {
+            throw new IllegalArgumentException("targetFps must not be negative: " + targetFps);
+        }
+        this.frame = frame;
+        this.pacing = pacing;
+        if (pacing == Pacing.FIXED) {
+            this.frameIntervalNanos = 1_000_000_000L / (targetFps > 0 ? targetFps : getDisplayRefreshRate());
+        } else {
+            this.calibration = new long[CALIBRATION_PULSES];
+        }
+    }
+
+    /**
+     * Gibt die Bildwiederholrate des Hauptbildschirms zurück, wie sie das Betriebssystem meldet.
+     *
+     * @return Die Bildwiederholrate in Hz, {@link #DEFAULT_REFRESH_RATE}, wenn sie unbekannt ist.
+     */
+    public static int getDisplayRefreshRate() {
+        try {
+            if (!GraphicsEnvironment.isHeadless()) {
+                int rate = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                        .getDisplayMode().getRefreshRate();
+                if (rate != DisplayMode.REFRESH_RATE_UNKNOWN) {
+                    return rate;
+                }
+            }
+        } catch (RuntimeException | Error ignored) {
+            // ohne AWT-Anbindung (z. B. fehlende Bibliotheken) bleibt nur der Standardwert
+        }
+        return DEFAULT_REFRESH_RATE;
+    }
+
+    /**
+     * Startet die Taktung. Mehrfache Aufrufe haben keine Wirkung.
+     */
+    public void start() {
+        if (!this.running.compareAndSet(false, true)) {
+            return;
+        }
+
+        if (this.pacing == Pacing.DISPLAY) {
+            this.pulse = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    onPulse(now);
+                }
+            };
+            this.pulse.start();
+        } else {
+            this.pacer = new Thread(this::pace, "frame-pacer");
+            this.pacer.setDaemon(true);
+            this.pacer.start();
+        }
+    }
+
+    /**
+     * Stoppt die Taktung. Ein bereits angeforderter Frame wird nicht mehr ausgeführt, übergebene Aufgaben schon.
+     */
+    public void stop() {
+        if (!this.running.compareAndSet(true, false)) {
+            return;
+        }
+
+        if (this.pulse != null) {
+            this.pulse.stop();
+            this.pulse = null;
+        }
+        if (this.pacer != null) {
+            this.pacer.interrupt();
+            this.pacer = null;
+        }
+    }
+
+    /**
+     * Fordert einen Frame an. Steht bereits ein Frame aus, wird die Anforderung mit ihm zusammengelegt, so dass nie
+     * mehr als ein Eintrag in der {@code runLater}-Warteschlange steht. Kann von jedem Thread aufgerufen werden.
+     */
+    public void requestFrame() {
+        if (this.frameRequested.getAndSet(true)) {
+            this.coalescedFrames.increment();
+            return;
+        }
+        this.dispatch();
+    }
+
+    /**
+     * Führt eine Aufgabe auf dem JavaFX Application Thread aus, vor dem nächsten angeforderten Frame. Anders als
+     * {@code Platform.runLater} stellt ein Aufruf, während bereits Aufgaben ausstehen, keinen weiteren Eintrag in die
+     * Warteschlange, sondern wird zusammengelegt. Die Aufgaben laufen in der Reihenfolge der Aufrufe.
+     * Kann von jedem Thread aufgerufen werden, etwa von den Netzwerk-Listenern.
+     *
+     * @param task Die Aufgabe.
+     */
+    public void runLater(Runnable task) {
+        this.tasks.add(task);
+        this.dispatch();
+    }
+
+    /**
+     * Gibt die Anzahl der ausgeführten Frames zurück.
+     *
+     * @return Die Anzahl der Frames seit dem Start.
+     */
+    public long getFrames() {
+        return this.frames.sum();
+    }
+
+    /**
+     * Gibt die Anzahl der zusammengelegten Anforderungen zurück.
+     *
+     * @return Die Anzahl der Frame-Anforderungen und Aufgaben, für die kein eigener Eintrag eingeplant wurde.
+     */
+    public long getCoalescedFrames() {
+        return this.coalescedFrames.sum();
+    }
+
+    /**
+     * Gibt die Anzahl der ausgefallenen Frames zurück.
+     *
+     * @return Die Anzahl der verlorenen Frames seit dem Start.
+     */
+    public long getDroppedFrames() {
+        return this.droppedFrames.sum();
+    }
+
+    /**
+     * Gibt die Rate zurück, gegen die ausgefallene Frames gezählt werden: im Modus {@link Pacing#DISPLAY} die gemessene
+     * Pulsrate, im Modus {@link Pacing#FIXED} die Zielrate.
+     *
+     * @return Die Rate in Hz, 0 solange sie noch gemessen wird.
+     */
+    public double getRefreshRate() {
+        long interval = this.frameIntervalNanos;
+        return interval == 0 ? 0 : 1_000_000_000.0 / interval;
+    }
+
+    /**
+     * Stellt einen Eintrag in die {@code runLater}-Warteschlange, falls noch keiner aussteht.
+     */
+    private void dispatch() {
+        if (!this.scheduled.compareAndSet(false, true)) {
+            this.coalescedFrames.increment();
+            return;
+        }
+        Platform.runLater(this::runScheduled);
+    }
+
+    /**
+     * Führt die ausstehenden Aufgaben und einen angeforderten Frame aus.
+     */
+    private void runScheduled() {
+        // vor der Ausführung freigeben, damit eine Anforderung währenddessen den nächsten Eintrag einplant
+        this.scheduled.set(false);
+        Runnable task;
+        while ((task = this.tasks.poll()) != null) {
+            task.run();
+        }
+        if (this.frameRequested.getAndSet(false) && this.running.get()) {
+            this.runFrame(System.nanoTime());
+        }
+    }
+
+    /**
+     * Führt einen JavaFX-Puls aus und zählt ausgefallene Pulse anhand des Abstands zum vorherigen.
+     *
+     * @param now Der Zeitstempel des Pulses in Nanosekunden.
+     */
+    private void onPulse(long now) {
+        if (this.lastPulse != 0) {
+            this.countDropped(now - this.lastPulse);
+        }
+        this.lastPulse = now;
+        this.runFrame(now);
+    }
+
+    /**
+     * Ruft den Frame-Callback auf.
+     *
+     * @param now Der Zeitstempel des Frames in Nanosekunden.
+     */
+    private void runFrame(long now) {
+        this.frames.increment();
+        this.frame.accept(now);
+    }
+
+    /**
+     * Zählt die Pulse, die in einem Abstand ausgefallen sind, oder nimmt den Abstand in die Messung des Intervalls auf.
+     *
+     * @param gap Der Abstand zum vorherigen Puls in Nanosekunden.
+     */
+    private void countDropped(long gap) {
+        if (this.frameIntervalNanos == 0) {
+            this.calibration[this.calibrated++] = gap;
+            if (this.calibrated == this.calibration.length) {
+                // der Median ist unempfindlich gegen einzelne lange Pulse, etwa beim Laden des ersten Bildschirms
+                Arrays.sort(this.calibration);
+                this.frameIntervalNanos = Math.max(1, this.calibration[this.calibration.length / 2]);
+                this.calibration = null;
+            }
+            return;
+        }
+        // erst ab dem anderthalbfachen Intervall, kleine Schwankungen des Pulses sind kein Ausfall
+        if (gap > this.frameIntervalNanos + this.frameIntervalNanos / 2) {
+            this.droppedFrames.add(Math.round((double) gap / this.frameIntervalNanos) - 1);
+        }
+    }
+
+    /**
+     * Die Schleife des Taktgeber-Threads im Modus {@link Pacing#FIXED}. Sie fordert zu jedem Zielzeitpunkt einen Frame an
+     * und holt verpasste Zeitpunkte nicht nach, sondern zählt sie als verloren.
+     */
+    private void pace() {
+        long interval = this.frameIntervalNanos;
+        long next = System.nanoTime() + interval;
+        while (this.running.get() && !Thread.currentThread().isInterrupted()) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+                continue;
+            }
+
+            // läuft der letzte Frame noch nicht, wird diese Anforderung zusammengelegt
+            this.requestFrame();
+
+            next += interval;
+            long now = System.nanoTime();
+            if (now - next > interval) {
+                long missed = (now - next) / interval;
+                this.droppedFrames.add(missed);
+                next += missed * interval;
+            }
+        }
+    }
+}
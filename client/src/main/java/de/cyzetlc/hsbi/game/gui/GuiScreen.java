@@ -41,7 +41,18 @@ public interface GuiScreen {
      * Sie ist als Standardmethode (default method) definiert, damit statische Bildschirme (wie einfache Menüs)
      * nicht gezwungen sind, komplexe Aktualisierungslogik zu implementieren.
      *
-     * @param delta Die seit dem letzten Frame verstrichene Zeit, verwendet für Frame-Raten-unabhängige Berechnungen.
+     * @param delta Die Länge eines Logikschritts in Sekunden. Sie ist fest ({@link ScreenManager#STEP}), unabhängig von der Bildrate.
      */
     default void update(double delta) {}
+
+    /**
+     * Zeichnet den Bildschirm für den aktuellen Frame. Wird einmal pro JavaFX-Puls aufgerufen, nach allen fälligen
+     * {@link #update(double)}-Schritten.
+     * <p>
+     * Bildschirme mit bewegten Inhalten setzen hier die Positionen ihrer Sprites, interpoliert zwischen dem vorletzten
+     * und dem letzten Logikschritt. Dadurch läuft die Darstellung flüssig, auch wenn Bild- und Logikrate nicht übereinstimmen.
+     *
+     * @param alpha Der Anteil (0.0 bis 1.0) des nächsten Logikschritts, der bereits verstrichen ist.
+     */
+    default void render(double alpha) {}
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import de.cyzetlc.hsbi.game.Game;
 import de.cyzetlc.hsbi.game.gui.block.Material;
 import de.cyzetlc.hsbi.game.gui.screens.GameScreen;
 import de.cyzetlc.hsbi.game.utils.ui.ImageAssets;
+import de.cyzetlc.hsbi.game.world.AABB;
 import de.cyzetlc.hsbi.game.world.Location;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.image.Image;
@@ -74,6 +75,11 @@ public class Platform {
      */
     private Location location;
 
+    /**
+     * Die Kollisions-Box der Plattform. Plattformen bewegen sich nicht, daher wird sie einmal im Konstruktor berechnet.
+     */
+    private final AABB collisionBox;
+
     /**
      * Konstruiert eine neue Platform-Instanz.
      *
@@ -91,6 +97,7 @@ public class Platform {
         this.pane = pane;
 
         this.location = new Location(x, y);
+        this.collisionBox = new AABB(x, y, width, height);
     }
 
     /**
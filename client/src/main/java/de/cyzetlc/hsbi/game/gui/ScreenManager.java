@@ -3,8 +3,7 @@ package de.cyzetlc.hsbi.game.gui;
 import de.cyzetlc.hsbi.game.Game;
 import de.cyzetlc.hsbi.game.gui.screens.MainMenuScreen;
 import de.cyzetlc.hsbi.game.input.InputManager;
-import javafx.animation.AnimationTimer;
-import javafx.application.Platform;
+import de.cyzetlc.hsbi.game.utils.json.JSONObject;
 import javafx.scene.Scene;
 import javafx.scene.image.Image;
 import javafx.scene.input.KeyCombination;
@@ -20,11 +19,15 @@ import java.util.List;
 /**
  * Der {@code ScreenManager} ist die zentrale Komponente, die für die Steuerung der primären
  * JavaFX {@code Stage} (Fenster), die Verwaltung von Bildschirmübergängen ({@code GuiScreen}-Objekte)
- * und die Ausführung der zentralen Spiellogik-Schleife in einem separaten, dedizierten Thread verantwortlich ist.
+ * und die Ausführung der zentralen Spielschleife verantwortlich ist.
  *
  * <p>
- * Er kümmert sich um die Fenstereinrichtung (z. B. Vollbild, Styling, Eingaberegistrierung) und stellt sicher,
- * dass Logik-Updates des Spiels (`update(delta)`) asynchron zum Rendering-Thread ausgeführt werden.
+ * Er kümmert sich um die Fenstereinrichtung (z. B. Vollbild, Styling, Eingaberegistrierung) und treibt die
+ * Spielschleife mit einem festen Zeitschritt: Die Logik ({@code update(delta)}) läuft immer mit
+ * {@link #TICKS_PER_SECOND} Schritten pro Sekunde, unabhängig von der Bildrate. Gezeichnet wird einmal pro
+ * Frame ({@code render(alpha)}), mit Interpolation zwischen den letzten beiden Logikschritten. Die Frames taktet ein
+ * {@link FrameScheduler}: standardmäßig mit dem JavaFX-Puls, mit {@code "framePacing": "fixed"} in der
+ * {@code config.json} mit einer festen Rate ({@code "targetFps"}, ohne Angabe die Bildwiederholrate des Bildschirms).
  *
  * @author Tom Coombs
  * @author leonardo (aka. Phantomic)
@@ -36,6 +39,23 @@ public class ScreenManager {
      */
     public static final String WINDOW_TITLE = "WS2526-P1-StealTheFiles";
 
+    /**
+     * Die Anzahl der Logikschritte pro Sekunde. Die Physik-Konstanten (Schwerkraft, Sprungkraft) sind auf
+     * diese Rate abgestimmt, die der bisherigen Schleife mit ~5 ms Wartezeit entspricht.
+     */
+    public static final int TICKS_PER_SECOND = 200;
+
+    /**
+     * Die Länge eines Logikschritts in Sekunden.
+     */
+    public static final double STEP = 1.0 / TICKS_PER_SECOND;
+
+    /**
+     * Die maximale Anzahl an Logikschritten pro Frame. Hängt das Rendering länger (z. B. beim Laden eines Levels),
+     * wird die restliche Zeit verworfen, statt sie in einem Schub nachzuholen.
+     */
+    public static final int MAX_STEPS_PER_FRAME = 25;
+
     /**
      * Die primäre JavaFX Stage (Fenster)-Instanz, die von diesem Manager gesteuert wird.
      */
@@ -47,10 +67,36 @@ public class ScreenManager {
     private GuiScreen currentScreen;
 
     /**
-     * Platzhalter für die Verfolgung der Frame-Zeit (die Hauptlogik wird innerhalb des dedizierten Game-Loop-Threads gehandhabt).
+     * Der Zeitstempel des letzten Frames in Nanosekunden (0 vor dem ersten Frame).
      */
     private long lastTime = 0;
 
+    /**
+     * Die verstrichene Zeit, für die noch keine Logikschritte ausgeführt wurden (in Sekunden).
+     */
+    private double accumulator = 0;
+
+    /**
+     * Zähler für die Logikschritte im aktuellen Zeitintervall (wird für die TPS-Berechnung verwendet).
+     */
+    private int tickCount = 0;
+
+    /**
+     * Die aktuell berechneten Logikschritte pro Sekunde (TPS).
+     */
+    private double currentTps = 0;
+
+    /**
+     * Die Anzahl der Logikschritte, die verworfen wurden, weil ein Frame zu lange gedauert hat.
+     */
+    private long droppedSteps = 0;
+
+    /**
+     * Der {@code FrameScheduler}, der die Spielschleife taktet, verlorene und zusammengelegte Frames zählt und
+     * Aufgaben anderer Threads auf den JavaFX Thread bringt.
+     */
+    private final FrameScheduler frameScheduler;
+
     /**
      * Zähler für die Frames, die innerhalb des aktuellen Zeitintervalls gerendert wurden (wird für die FPS-Berechnung verwendet).
      */
@@ -67,7 +113,7 @@ public class ScreenManager {
     private double currentFps = 0;
 
     /**
-     * Flag, das den Ausführungszustand des separaten Game-Loop-Threads steuert.
+     * Flag, das den Ausführungszustand der Spielschleife steuert.
      */
     private boolean running = true;
 
@@ -82,15 +128,13 @@ public class ScreenManager {
     private List<GuiScreen> screenList = new ArrayList<>();
 
     /**
-     * Konstruiert den ScreenManager, richtet die primäre JavaFX Stage ein und startet den Game-Loop-Thread.
+     * Konstruiert den ScreenManager, richtet die primäre JavaFX Stage ein und startet die Spielschleife.
      * <p>
      * Wichtige Einrichtungsschritte umfassen:
      * <ul>
      * <li>Konfiguration der Stage-Eigenschaften (Vollbild, Stil, Stylesheets, Icon).</li>
      * <li>Registrierung des globalen {@code InputManager}.</li>
-     * <li>Starten eines Daemon-{@code gameLoop}-Threads zur Durchführung von Zeit- und Physikberechnungen
-     * unabhängig vom JavaFX Rendering-Thread, wobei {@code Platform.runLater} verwendet wird, um
-     * Bildschirm-Updates sicher aufzurufen.</li>
+     * <li>Starten der Spielschleife über einen {@link FrameScheduler} im konfigurierten Taktmodus.</li>
      * </ul>
      *
      * @param stage Die Haupt-Stage, die vom JavaFX-Anwendungseinstiegspunkt bereitgestellt wird.
@@ -111,38 +155,73 @@ public class ScreenManager {
         this.inputManager = new InputManager();
         this.inputManager.register(this.stage.getScene());
 
-        // Externer Thread für Game Loop (Logik unabhängig von JavaFX Render Thread)
-        Thread gameLoop = new Thread(() -> {
-            long lastTime = System.nanoTime();
-            while (running) {
-                long now = System.nanoTime();
-                // Delta-Zeit in Sekunden
-                double delta = (now - lastTime) / 1_000_000_000.0;
-                lastTime = now;
-
-                // FPS berechnen
-                frameCount++;
-                timeSinceLastFps += delta;
-                if (timeSinceLastFps >= 1.0) {
-                    currentFps = frameCount / timeSinceLastFps;
-                    frameCount = 0;
-                    timeSinceLastFps = 0;
-                }
-
-                // Logik auf JavaFX Thread ausführen (sicherer Zugriff auf UI-Elemente)
-                if (currentScreen != null) {
-                    Platform.runLater(() -> currentScreen.update(delta));
-                }
-
-                try {
-                    // Wartezeit, um eine hohe, aber nicht unbegrenzte Update-Rate zu erzielen
-                    Thread.sleep(5); // ~200Hz
-                } catch (InterruptedException ignored) {}
+        // Spielschleife mit festem Zeitschritt, läuft auf dem JavaFX Thread (sicherer Zugriff auf UI-Elemente)
+        JSONObject config = Game.getInstance().getConfig().getObject();
+        FrameScheduler.Pacing pacing = "fixed".equalsIgnoreCase(config.optString("framePacing", "display"))
+                ? FrameScheduler.Pacing.FIXED : FrameScheduler.Pacing.DISPLAY;
+        this.frameScheduler = new FrameScheduler(this::tick, pacing, Math.max(0, config.optInt("targetFps", 0)));
+        this.frameScheduler.start();
+    }
+
+    /**
+     * Führt einen Durchlauf der Spielschleife aus: alle seit dem letzten Frame fälligen Logikschritte mit der festen
+     * Länge {@link #STEP} und danach genau einen Render-Aufruf.
+     *
+     * @param now Der Zeitstempel des aktuellen Frames in Nanosekunden.
+     */
+    private void tick(long now) {
+        if (!this.running) {
+            this.frameScheduler.stop();
+            return;
+        }
+
+        if (this.lastTime == 0) {
+            this.lastTime = now;
+            return;
+        }
+
+        // Delta-Zeit in Sekunden
+        double frameTime = (now - this.lastTime) / 1_000_000_000.0;
+        this.lastTime = now;
+
+        // FPS berechnen
+        this.frameCount++;
+        this.timeSinceLastFps += frameTime;
+        if (this.timeSinceLastFps >= 1.0) {
+            this.currentFps = this.frameCount / this.timeSinceLastFps;
+            this.currentTps = this.tickCount / this.timeSinceLastFps;
+            this.frameCount = 0;
+            this.tickCount = 0;
+            this.timeSinceLastFps = 0;
+        }
+
+        GuiScreen screen = this.currentScreen;
+        if (screen == null) {
+            return;
+        }
+
+        this.accumulator += frameTime;
+        int steps = 0;
+        while (this.accumulator >= STEP && steps < MAX_STEPS_PER_FRAME) {
+            screen.update(STEP);
+            this.accumulator -= STEP;
+            this.tickCount++;
+            steps++;
+
+            if (this.currentScreen != screen) {
+                // Bildschirmwechsel während des Updates, der neue Bildschirm beginnt mit einer frischen Zeitbasis
+                this.accumulator = 0;
+                return;
             }
-        });
+        }
+
+        if (this.accumulator >= STEP) {
+            // Zu weit zurück (Spirale des Todes vermeiden): Rest verwerfen
+            this.droppedSteps += (long) (this.accumulator / STEP);
+            this.accumulator = 0;
+        }
 
-        gameLoop.setDaemon(true); // Thread beendet sich automatisch beim Schließen der Anwendung
-        gameLoop.start();
+        screen.render(this.accumulator / STEP);
     }
 
     /**
@@ -167,7 +246,7 @@ public class ScreenManager {
 
         this.screenList.add(screen);
         // Setze das Root-Pane auf dem JavaFX Application Thread
-        Platform.runLater(() -> stage.getScene().setRoot(screen.getRoot()));
+        this.frameScheduler.runLater(() -> stage.getScene().setRoot(screen.getRoot()));
     }
 
     /**
@@ -176,6 +255,6 @@ public class ScreenManager {
      * Dieser Vorgang wird auf dem JavaFX Application Thread eingeplant.
      */
     public void closeScreen() {
-        Platform.runLater(stage::close);
+        this.frameScheduler.runLater(stage::close);
     }
 }
\ No newline at end of file
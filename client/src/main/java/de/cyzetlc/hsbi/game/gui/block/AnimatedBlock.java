@@ -41,10 +41,6 @@ public abstract class AnimatedBlock extends Block {
      * Zähler für die Zeit, die seit dem letzten Frame-Wechsel vergangen ist.
      */
     private double frameTimer = 0;
-    /**
-     * Der Zeitstempel des letzten Updates in Nanosekunden, zur Berechnung der Delta-Zeit.
-     */
-    private long lastFrameTimeNanos = 0L;
 
     /**
      * Konstruiert einen neuen {@code AnimatedBlock}.
@@ -70,15 +66,26 @@ public abstract class AnimatedBlock extends Block {
     }
 
     /**
-     * Aktualisiert den Zustand des Blocks.
-     * <p>
-     * Ruft die Animationsfortschrittslogik auf und setzt den Sprite auf den aktuellen Frame.
+     * Bewegt die Animation weiter (Logikphase).
+     *
+     * @param delta Die Länge des Logikschritts in Sekunden.
      */
     @Override
-    public void update() {
-        super.update();
-        this.advanceAnimation();
-        if (!this.frames.isEmpty()) {
+    public void updateLogic(double delta) {
+        super.updateLogic(delta);
+        this.advanceAnimation(delta);
+    }
+
+    /**
+     * Setzt den Sprite auf den aktuellen Frame.
+     *
+     * @param cameraX Der horizontale Kamera-Offset.
+     * @param cameraY Der vertikale Kamera-Offset.
+     */
+    @Override
+    public void syncSprite(double cameraX, double cameraY) {
+        super.syncSprite(cameraX, cameraY);
+        if (this.sprite != null && !this.frames.isEmpty()) {
             this.sprite.setImage(this.frames.get(this.currentFrame));
         }
     }
@@ -106,22 +113,16 @@ public abstract class AnimatedBlock extends Block {
     }
 
     /**
-     * Bewegt die Animation basierend auf der seit dem letzten Update verstrichenen Zeit weiter.
+     * Bewegt die Animation um einen Logikschritt weiter.
      * <p>
-     * Berechnet die Delta-Zeit und wechselt zum nächsten Frame, wenn die {@code FRAME_DURATION_SECONDS}
-     * überschritten wurde.
+     * Wechselt zum nächsten Frame, wenn die {@code FRAME_DURATION_SECONDS} überschritten wurde.
+     *
+     * @param deltaSeconds Die Länge des Logikschritts in Sekunden.
      */
-    private void advanceAnimation() {
+    private void advanceAnimation(double deltaSeconds) {
         if (this.frames.size() < 2) {
             return;
         }
-        long now = System.nanoTime();
-        if (this.lastFrameTimeNanos == 0L) {
-            this.lastFrameTimeNanos = now;
-            return;
-        }
-        double deltaSeconds = (now - this.lastFrameTimeNanos) / 1_000_000_000.0;
-        this.lastFrameTimeNanos = now;
         this.frameTimer += deltaSeconds;
         if (this.frameTimer >= FRAME_DURATION_SECONDS) {
             this.frameTimer -= FRAME_DURATION_SECONDS;
@@ -3,8 +3,13 @@ package de.cyzetlc.hsbi.game.gui.block;
 import de.cyzetlc.hsbi.game.Game;
 import de.cyzetlc.hsbi.game.entity.Player;
 import de.cyzetlc.hsbi.game.gui.screens.GameScreen;
+import de.cyzetlc.hsbi.game.level.Level;
 import de.cyzetlc.hsbi.game.utils.ui.ImageAssets;
+import de.cyzetlc.hsbi.game.world.AABB;
+import de.cyzetlc.hsbi.game.world.ActiveSet;
+import de.cyzetlc.hsbi.game.world.EntityStore;
 import de.cyzetlc.hsbi.game.world.Location;
+import de.cyzetlc.hsbi.game.world.StoreLocation;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
@@ -18,11 +23,26 @@ import lombok.Setter;
  * <p>
  * Sie definiert grundlegende Eigenschaften wie Material, Position, Größe, Kollidierbarkeit
  * und den visuellen Sprite.
+ * <p>
+ * Position, Größe, Geschwindigkeit und die Flags (aktiv, kollidierbar) liegen nicht im Block selbst, sondern im
+ * gemeinsamen {@link EntityStore} ({@link #getStore()}), gruppiert nach Blockklasse. Der Block ist eine Sicht auf seinen
+ * Eintrag dort; Systeme wie die Bewegung ({@link EntityStore#integrate(double)}) laufen linear über die Arrays.
+ * Wird ein Level verlassen, gibt {@link #release()} den Eintrag wieder frei.
+ * <p>
+ * Aktive Blöcke stehen zusätzlich in der {@link ActiveSet}-Tickliste des Levels ({@link Level#getActiveBlocks()}).
+ * {@link #setActive(boolean) setActive(false)} hängt den Block dort aus, gibt seinen Eintrag im Speicher frei und
+ * reicht den Sprite zur Wiederverwendung an {@link ImageAssets} zurück, so dass inaktive Blöcke keine Kosten pro Tick
+ * mehr verursachen. Blöcke aus einem {@link ProjectilePool} gehen stattdessen an ihren Pool zurück.
  *
  * @author Tom Coombs
  * @author Leonardo Parrino
  */
-public abstract class Block {
+public abstract class Block implements ActiveSet.Member {
+    /**
+     * Der gemeinsame Speicher für die Zustände aller Blöcke.
+     */
+    private static final EntityStore STORE = new EntityStore();
+
     /**
      * Das {@code Material} des Blocks, das sein Aussehen und seine grundlegenden physikalischen Eigenschaften bestimmt.
      */
@@ -42,28 +62,33 @@ public abstract class Block {
     protected ImageView sprite;
 
     /**
-     * Die Weltposition (obere linke Ecke) des Blocks.
+     * Die Id des Blocks im {@link EntityStore}, -1 nach {@link #release()}.
      */
-    @Getter @Setter
-    private Location location;
+    private int entity;
+
+    /**
+     * Die Weltposition (obere linke Ecke) des Blocks, eine Sicht auf den Eintrag im {@link EntityStore}.
+     */
+    @Getter
+    private final StoreLocation location;
 
     /**
      * Flag, das angibt, ob der Block Kollisionen mit dem Spieler verhindern kann (z. B. eine Wand).
+     * Nur nach {@link #release()} gültig, vorher liegt der Wert im {@link EntityStore}.
      */
-    @Getter @Setter
     private boolean collideAble;
 
     /**
      * Die Breite und Höhe der Kollisions-Bounding-Box in Welt-Koordinaten.
+     * Nur nach {@link #release()} gültig, vorher liegen die Werte im {@link EntityStore}.
      */
-    @Getter @Setter
     private double width, height;
 
     /**
      * Flag, das angibt, ob der Block aktiv ist (gezeichnet und aktualisiert wird).
      * Wenn {@code false}, sollte der Block aus dem Spiel entfernt werden.
+     * Nur nach {@link #release()} gültig, vorher liegt der Wert im {@link EntityStore}.
      */
-    @Getter
     private boolean active;
 
     /**
@@ -72,6 +97,31 @@ public abstract class Block {
     @Getter
     private double deltaX, deltaY;
 
+    /**
+     * Die Weltposition vor dem letzten Logikschritt, siehe {@link #savePreviousLocation()}.
+     */
+    private double prevX, prevY;
+
+    /**
+     * Die wiederverwendete Kollisions-Box, siehe {@link #getCollisionBox()}.
+     */
+    private final AABB collisionBox = new AABB();
+
+    /**
+     * Gesetzt, wenn der Block außerhalb des FX-Threads deaktiviert wurde und noch ausgehängt werden muss.
+     */
+    private boolean spriteRemovalPending;
+
+    /**
+     * Der Platz des Blocks in der Tickliste des Levels, -1 wenn er nicht darin steht.
+     */
+    private int activeSlot = -1;
+
+    /**
+     * Der {@link ProjectilePool}, zu dem der Block gehört, {@code null} für gewöhnliche Blöcke.
+     */
+    private ProjectilePool<?> pool;
+
     /**
      * Konstruiert einen neuen {@code Block} an der angegebenen Position.
      * <p>
@@ -80,15 +130,126 @@ public abstract class Block {
      * @param location Die anfängliche Weltposition des Blocks.
      */
     public Block(Location location) {
-        this.location = location;
-        this.width = 32;
-        this.height = 32;
-        this.collideAble = true;
-        this.active = true;
+        this.entity = STORE.create(STORE.archetype(this.getClass()), location.getX(), location.getY(), 32, 32,
+                EntityStore.FLAG_ACTIVE | EntityStore.FLAG_COLLIDABLE);
+        this.location = new StoreLocation(STORE, this.entity);
+        this.savePreviousLocation();
         this.deltaX = 0;
         this.deltaY = 0;
     }
 
+    /**
+     * Gibt den gemeinsamen {@link EntityStore} aller Blöcke zurück.
+     *
+     * @return Der Speicher der Blockzustände.
+     */
+    public static EntityStore getStore() {
+        return STORE;
+    }
+
+    /**
+     * Gibt den Eintrag des Blocks im {@link EntityStore} frei. Die aktuellen Werte werden vorher in den Block kopiert,
+     * so dass er danach weiter gelesen werden kann, aber nicht mehr von Systemen des Speichers erfasst wird.
+     * Wird beim Deaktivieren eines Blocks und beim Verlassen eines Levels für alle Blöcke aufgerufen.
+     */
+    public void release() {
+        if (this.entity < 0) {
+            return;
+        }
+        this.width = STORE.getWidth(this.entity);
+        this.height = STORE.getHeight(this.entity);
+        this.active = STORE.hasFlag(this.entity, EntityStore.FLAG_ACTIVE);
+        this.collideAble = STORE.hasFlag(this.entity, EntityStore.FLAG_COLLIDABLE);
+        this.location.detach();
+        STORE.remove(this.entity);
+        this.entity = -1;
+    }
+
+    /**
+     * Setzt die Weltposition des Blocks. Die Koordinaten werden übernommen, das übergebene Objekt wird nicht gespeichert.
+     * Der Block springt an die neue Position, ohne dass {@link #render(double, double, double)} dorthin interpoliert.
+     *
+     * @param location Die neue Position.
+     */
+    public void setLocation(Location location) {
+        this.location.setX(location.getX());
+        this.location.setY(location.getY());
+        this.savePreviousLocation();
+    }
+
+    /**
+     * Merkt sich die aktuelle Weltposition als Position vor dem nächsten Logikschritt. Der {@code GameScreen} ruft die
+     * Methode zu Beginn jedes Schritts für alle Blöcke der Tickliste auf, {@link #render(double, double, double)}
+     * interpoliert dann zwischen dieser und der neuen Position.
+     */
+    public void savePreviousLocation() {
+        this.prevX = this.location.getX();
+        this.prevY = this.location.getY();
+    }
+
+    public double getWidth() {
+        return this.entity >= 0 ? STORE.getWidth(this.entity) : this.width;
+    }
+
+    public void setWidth(double width) {
+        if (this.entity >= 0) {
+            STORE.setWidth(this.entity, width);
+        } else {
+            this.width = width;
+        }
+    }
+
+    public double getHeight() {
+        return this.entity >= 0 ? STORE.getHeight(this.entity) : this.height;
+    }
+
+    public void setHeight(double height) {
+        if (this.entity >= 0) {
+            STORE.setHeight(this.entity, height);
+        } else {
+            this.height = height;
+        }
+    }
+
+    public boolean isCollideAble() {
+        return this.entity >= 0 ? STORE.hasFlag(this.entity, EntityStore.FLAG_COLLIDABLE) : this.collideAble;
+    }
+
+    public void setCollideAble(boolean collideAble) {
+        if (this.entity >= 0) {
+            STORE.setFlag(this.entity, EntityStore.FLAG_COLLIDABLE, collideAble);
+        } else {
+            this.collideAble = collideAble;
+        }
+    }
+
+    public boolean isActive() {
+        return this.entity >= 0 ? STORE.hasFlag(this.entity, EntityStore.FLAG_ACTIVE) : this.active;
+    }
+
+    /**
+     * Setzt die Geschwindigkeit des Blocks in Welt-Einheiten pro Sekunde. Die Bewegung selbst übernimmt
+     * {@link EntityStore#integrate(double)} für alle Blöcke gemeinsam.
+     *
+     * @param velocityX Die Geschwindigkeit in X-Richtung.
+     * @param velocityY Die Geschwindigkeit in Y-Richtung.
+     */
+    public void setVelocity(double velocityX, double velocityY) {
+        if (this.entity >= 0) {
+            STORE.setVelocity(this.entity, velocityX, velocityY);
+        }
+    }
+
+    @Override
+    public int getActiveSlot() {
+        return this.activeSlot;
+    }
+
+    @Override
+    public void setActiveSlot(int slot) {
+        this.activeSlot = slot;
+    }
+
     /**
      * Abstrakte Methode, die die spezifische Logik ausführt, wenn ein Spieler mit diesem Block kollidiert.
      * <p>
@@ -100,12 +261,79 @@ public abstract class Block {
 
     /**
      * Aktualisiert den Zustand des Blocks und seine Bildschirmposition relativ zum Kamera-Offset.
+     * <p>
+     * Führt {@link #updateLogic(double)} und {@link #syncSprite(double, double)} direkt nacheinander aus. Der
+     * {@code GameScreen} ruft beide Phasen getrennt auf, siehe {@link BlockLogicTask}.
+     *
+     * @param delta Die Länge des Logikschritts in Sekunden.
      */
-    public void update() {
+    public void update(double delta) {
+        this.updateLogic(delta);
         if (Game.getInstance().getScreenManager().getCurrentScreen() instanceof GameScreen gameScreen) {
+            this.syncSprite(gameScreen.getCameraX(), gameScreen.getCameraY());
+        }
+    }
+
+    /**
+     * Führt die reine Spiellogik des Blocks aus (Bewegung, Timer, Animationszustand).
+     * <p>
+     * Läuft in der parallelen Logikphase auf einem Worker-Thread. Die Methode darf deshalb keine JavaFX-Objekte
+     * anfassen und nur den Zustand dieses Blocks verändern; das Ergebnis überträgt {@link #syncSprite(double, double)}
+     * anschließend auf dem FX-Thread auf den Sprite.
+     * <p>
+     * Timer und Bewegungen müssen mit {@code delta} rechnen und nicht mit der Uhrzeit: Holt die Spielschleife nach
+     * einem langsamen Frame mehrere Schritte nach, laufen diese direkt hintereinander, sollen aber trotzdem jeweils
+     * einen ganzen Schritt Spielzeit weiterzählen.
+     *
+     * @param delta Die feste Länge des Logikschritts in Sekunden ({@link de.cyzetlc.hsbi.game.gui.ScreenManager#STEP}).
+     */
+    public void updateLogic(double delta) {
+    }
+
+    /**
+     * Überträgt den Zustand aus {@link #updateLogic(double)} auf den Sprite. Läuft immer auf dem FX-Thread.
+     * <p>
+     * Hängt den Block aus, falls er während der Logikphase deaktiviert wurde, und setzt sonst die Bildschirmposition
+     * relativ zum Kamera-Offset. Danach kann {@link #getSprite()} {@code null} sein.
+     *
+     * @param cameraX Der horizontale Kamera-Offset.
+     * @param cameraY Der vertikale Kamera-Offset.
+     */
+    public void syncSprite(double cameraX, double cameraY) {
+        if (this.spriteRemovalPending) {
+            this.unlink();
+            return;
+        }
+        this.render(cameraX, cameraY);
+    }
+
+    /**
+     * Setzt nur die Bildschirmposition des Sprites relativ zum angegebenen Kamera-Offset, ohne Spiellogik auszuführen.
+     *
+     * @param cameraX Der horizontale Kamera-Offset.
+     * @param cameraY Der vertikale Kamera-Offset.
+     */
+    public void render(double cameraX, double cameraY) {
+        if (this.sprite != null) {
             // Bildschirmposition relativ zur Kamera setzen
-            this.sprite.setX(this.getLocation().getX() - gameScreen.getCameraX());
-            this.sprite.setY(this.getLocation().getY() - gameScreen.getCameraY());
+            this.sprite.setX(this.getLocation().getX() - cameraX);
+            this.sprite.setY(this.getLocation().getY() - cameraY);
+        }
+    }
+
+    /**
+     * Setzt die Bildschirmposition des Sprites auf die zwischen der Position vor und nach dem letzten Logikschritt
+     * interpolierte Weltposition. Wird einmal pro Frame vom {@code GameScreen} aufgerufen, damit bewegte Blöcke
+     * (z. B. eine Plattform mit dem Spieler darauf) genauso flüssig laufen wie Kamera und Spieler.
+     *
+     * @param cameraX Der interpolierte horizontale Kamera-Offset.
+     * @param cameraY Der interpolierte vertikale Kamera-Offset.
+     * @param alpha Der Anteil (0.0 bis 1.0) des nächsten Logikschritts, der bereits verstrichen ist.
+     */
+    public void render(double cameraX, double cameraY, double alpha) {
+        if (this.sprite != null) {
+            this.sprite.setX(this.prevX + (this.getLocation().getX() - this.prevX) * alpha - cameraX);
+            this.sprite.setY(this.prevY + (this.getLocation().getY() - this.prevY) * alpha - cameraY);
         }
     }
 
@@ -121,8 +349,8 @@ public abstract class Block {
         this.sprite = ImageAssets.getBlockImage(this.getMaterial());
         this.pane = pane;
 
-        double spriteWidth = this.width > 0 ? this.width : 32;
-        double spriteHeight = this.height > 0 ? this.height : 32;
+        double spriteWidth = this.getWidth() > 0 ? this.getWidth() : 32;
+        double spriteHeight = this.getHeight() > 0 ? this.getHeight() : 32;
 
         // Spritegroesse anhand der Blockabmessungen setzen
         this.sprite.setFitWidth(spriteWidth);
@@ -146,16 +374,95 @@ public abstract class Block {
     /**
      * Setzt den Aktivitätsstatus des Blocks.
      * <p>
-     * Wenn {@code active} auf {@code false} gesetzt wird, entfernt diese Methode den Sprite vom Pane.
+     * Wenn {@code active} auf {@code false} gesetzt wird, entfernt diese Methode den Sprite vom Pane, gibt ihn zur
+     * Wiederverwendung frei und hängt den Block aus der Tickliste und dem räumlichen Index des Levels aus. Geschieht das
+     * in der Logikphase außerhalb des FX-Threads, passiert das erst im nächsten {@link #syncSprite(double, double)}.
      *
      * @param active Der neue Aktivitätsstatus.
      */
     public void setActive(boolean active) {
-        this.active = active;
+        if (this.entity >= 0) {
+            STORE.setFlag(this.entity, EntityStore.FLAG_ACTIVE, active);
+        } else {
+            this.active = active;
+        }
 
         if (!active) {
+            if (javafx.application.Platform.isFxApplicationThread()) {
+                this.unlink();
+            } else {
+                this.spriteRemovalPending = true;
+            }
+        }
+    }
+
+    /**
+     * Entfernt den deaktivierten Block aus dem Spiel: Das aktuelle Level hängt ihn aus seiner Tickliste und seinem
+     * räumlichen Index aus, danach wird er über {@link #retire()} freigegeben.
+     */
+    private void unlink() {
+        // ein aus einem Pool neu ausgegebener Block darf nicht erneut ausgehängt werden
+        this.spriteRemovalPending = false;
+        Level level = Game.getInstance().getCurrentLevel();
+        if (level != null) {
+            level.unlinkBlock(this);
+        }
+        this.retire();
+    }
+
+    /**
+     * Gibt einen Block frei, der nicht mehr im Spiel ist. Gehört der Block zu einem {@link ProjectilePool}, wird er
+     * dort mit verstecktem Sprite wieder abgelegt; sonst wird der Sprite zur Wiederverwendung freigegeben und der
+     * Eintrag im {@link EntityStore} über {@link #release()} entfernt.
+     */
+    public void retire() {
+        if (this.pool != null) {
+            this.park();
+            this.pool.giveBack(this);
+            return;
+        }
+        this.recycleSprite();
+        this.release();
+    }
+
+    /**
+     * Legt den Block für seinen {@link ProjectilePool} still: inaktiv, ohne Geschwindigkeit und mit verstecktem Sprite.
+     * Eintrag im {@link EntityStore} und Sprite bleiben erhalten, damit der Pool sie ohne neue Objekte wieder ausgeben
+     * kann.
+     */
+    void park() {
+        if (this.entity >= 0) {
+            STORE.setFlag(this.entity, EntityStore.FLAG_ACTIVE, false);
+            STORE.setVelocity(this.entity, 0, 0);
+        }
+        if (this.sprite != null) {
+            this.sprite.setVisible(false);
+        }
+    }
+
+    /**
+     * Bindet den Block an den {@link ProjectilePool}, der ihn angelegt hat.
+     *
+     * @param pool Der Pool.
+     */
+    void setPool(ProjectilePool<?> pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Entfernt den Sprite vom Pane, auf dem er gezeichnet wurde, und gibt ihn an {@link ImageAssets} zur
+     * Wiederverwendung zurück. Unterklassen, die noch Animationen auf dem Sprite laufen lassen, müssen diese vorher
+     * anhalten.
+     */
+    protected void recycleSprite() {
+        if (this.sprite == null) {
+            return;
+        }
+        if (this.pane != null) {
             this.pane.getChildren().remove(this.sprite);
         }
+        ImageAssets.recycleBlockImage(this.sprite);
+        this.sprite = null;
     }
 
     /**
@@ -164,7 +471,39 @@ public abstract class Block {
      * @return Eine {@code Rectangle2D}-Instanz, die die Grenzen des Blocks darstellt.
      */
     public Rectangle2D getBounds() {
-        return new Rectangle2D(this.getLocation().getX(), this.getLocation().getY(), width, height);
+        return new Rectangle2D(this.getLocation().getX(), this.getLocation().getY(), this.getWidth(), this.getHeight());
+    }
+
+    /**
+     * Gibt die Kollisions-Box des Blocks in Welt-Koordinaten zurück, ohne ein neues Objekt anzulegen.
+     * <p>
+     * Die Box wird bei jedem Aufruf auf die aktuelle Position und Größe gesetzt und ist nur bis zum nächsten Aufruf gültig.
+     * In der Spielschleife ist sie {@link #getBounds()} vorzuziehen.
+     *
+     * @return Die aktualisierte {@code AABB} dieses Blocks.
+     */
+    public AABB getCollisionBox() {
+        return this.collisionBox.set(this.getLocation().getX(), this.getLocation().getY(), this.getWidth(), this.getHeight());
+    }
+
+    /**
+     * Gibt den Bereich zurück, den der Block mit seiner Geschwindigkeit in den letzten {@code delta} Sekunden
+     * überstrichen hat. Für unbewegte Blöcke entspricht er {@link #getCollisionBox()}.
+     * <p>
+     * Wird für Kollisionsprüfungen mit schnellen Blöcken (z. B. Lasern) verwendet, damit sie nicht zwischen zwei
+     * Schritten am Spieler vorbeispringen. Wie {@link #getCollisionBox()} nur bis zum nächsten Aufruf gültig.
+     *
+     * @param delta Die Länge des letzten Schritts in Sekunden.
+     * @return Der überstrichene Bereich.
+     */
+    public AABB getSweptCollisionBox(double delta) {
+        if (this.entity < 0) {
+            return this.getCollisionBox();
+        }
+        double moveX = STORE.getVelocityX(this.entity) * delta;
+        double moveY = STORE.getVelocityY(this.entity) * delta;
+        return this.collisionBox.setSwept(this.getLocation().getX() - moveX, this.getLocation().getY() - moveY,
+                this.getWidth(), this.getHeight(), moveX, moveY);
     }
 
     /**
@@ -0,0 +1,104 @@
+package de.cyzetlc.hsbi.game.gui.block;
+
+import de.cyzetlc.hsbi.game.world.ActiveSet;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Der {@code BlockLogicTask} führt die Logikphase der Blöcke ({@link Block#updateLogic(double)}) parallel auf einem
+ * {@link ForkJoinPool} aus.
+ * <p>
+ * Die Tickliste wird so lange halbiert, bis ein Abschnitt höchstens {@link #CHUNK_SIZE} Blöcke enthält; die
+ * Abschnitte werden dann auf alle Kerne verteilt. Kleine Level mit höchstens einem Abschnitt laufen direkt auf dem
+ * aufrufenden Thread, da sich die Übergabe an den Pool dort nicht lohnt.
+ * <p>
+ * Während der Logikphase dürfen keine Blöcke hinzugefügt oder entfernt werden. Nach {@link #updateAll(ActiveSet, double)} sind alle
+ * Änderungen der Worker-Threads für den aufrufenden Thread sichtbar, die Sync-Phase
+ * ({@link Block#syncSprite(double, double)}) kann die Ergebnisse also direkt übernehmen.
+ *
+ * @see Block#updateLogic(double)
+ *
+ * @author Tom Coombs
+ */
+public class BlockLogicTask extends RecursiveAction {
+    /**
+     * Die maximale Anzahl an Blöcken, die ein Task selbst aktualisiert, statt die Arbeit weiter aufzuteilen.
+     */
+    public static final int CHUNK_SIZE = 256;
+
+    /**
+     * Zähler für die Namen der Worker-Threads.
+     */
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    /**
+     * Der Pool für die Logikphase, ein Worker pro Kern. Die Threads sind Daemon-Threads und halten die Anwendung
+     * beim Beenden nicht auf.
+     */
+    private static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("block-logic-" + THREAD_COUNTER.getAndIncrement());
+        return thread;
+    }, null, false);
+
+    /**
+     * Die Tickliste des Levels.
+     */
+    private final ActiveSet<Block> blocks;
+
+    /**
+     * Der Abschnitt der Liste, den dieser Task bearbeitet ({@code from} inklusive, {@code to} exklusive).
+     */
+    private final int from, to;
+
+    /**
+     * Die Länge des Logikschritts in Sekunden.
+     */
+    private final double delta;
+
+    private BlockLogicTask(ActiveSet<Block> blocks, int from, int to, double delta) {
+        this.blocks = blocks;
+        this.from = from;
+        this.to = to;
+        this.delta = delta;
+    }
+
+    /**
+     * Führt {@link Block#updateLogic(double)} für alle Blöcke der Tickliste aus und wartet, bis alle fertig sind.
+     *
+     * @param blocks Die Tickliste, sie darf sich währenddessen nicht ändern.
+     * @param delta Die Länge des Logikschritts in Sekunden.
+     */
+    public static void updateAll(ActiveSet<Block> blocks, double delta) {
+        int size = blocks.size();
+        if (size <= CHUNK_SIZE) {
+            updateRange(blocks, 0, size, delta);
+        } else {
+            POOL.invoke(new BlockLogicTask(blocks, 0, size, delta));
+        }
+    }
+
+    @Override
+    protected void compute() {
+        if (this.to - this.from <= CHUNK_SIZE) {
+            updateRange(this.blocks, this.from, this.to, this.delta);
+            return;
+        }
+        int middle = (this.from + this.to) >>> 1;
+        invokeAll(new BlockLogicTask(this.blocks, this.from, middle, this.delta),
+                new BlockLogicTask(this.blocks, middle, this.to, this.delta));
+    }
+
+    private static void updateRange(ActiveSet<Block> blocks, int from, int to, double delta) {
+        for (int i = from; i < to; i++) {
+            Block block = blocks.get(i);
+            // ausgehängte Blöcke hinterlassen bis zum nächsten compact() eine Lücke
+            if (block != null) {
+                block.updateLogic(delta);
+            }
+        }
+    }
+}
@@ -24,10 +24,6 @@ public abstract class PerkBlock extends Block {
      * Zähler für die Zeit, die seit dem letzten Richtungswechsel vergangen ist.
      */
     private double frameTimer = 0;
-    /**
-     * Der Zeitstempel des letzten Updates in Nanosekunden, zur Berechnung der Delta-Zeit.
-     */
-    private long lastFrameTimeNanos = 0L;
     /**
      * Flag, das die aktuelle Schweb-Richtung speichert (true = aufwärts, false = abwärts/zurück).
      */
@@ -46,20 +42,15 @@ public abstract class PerkBlock extends Block {
      * Aktualisiert den Zustand des Blocks, einschließlich der vertikalen Schweb-Animation.
      * <p>
      * Nach Ablauf der {@code FRAME_DURATION_SECONDS} wird die vertikale Position um 5 Einheiten
-     * verschoben und die Bewegungsrichtung umgekehrt.
+     * verschoben und die Bewegungsrichtung umgekehrt. Der Sprite folgt in {@link #syncSprite(double, double)}.
+     *
+     * @param delta Die Länge des Logikschritts in Sekunden.
      */
     @Override
-    public void update() {
-        super.update();
+    public void updateLogic(double delta) {
+        super.updateLogic(delta);
 
-        long now = System.nanoTime();
-        if (this.lastFrameTimeNanos == 0L) {
-            this.lastFrameTimeNanos = now;
-            return;
-        }
-        double deltaSeconds = (now - this.lastFrameTimeNanos) / 1_000_000_000.0;
-        this.lastFrameTimeNanos = now;
-        this.frameTimer += deltaSeconds;
+        this.frameTimer += delta;
         if (this.frameTimer >= FRAME_DURATION_SECONDS) {
             this.frameTimer -= FRAME_DURATION_SECONDS;
             // Bestimmt die Schweb-Richtung und passt die Y-Koordinate an (±5 Pixel)
@@ -0,0 +1,209 @@
+package de.cyzetlc.hsbi.game.gui.block;
+
+import javafx.scene.layout.Pane;
+import lombok.Getter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Der {@code ProjectilePool} verwaltet eine feste Menge vorab angelegter Projektile (z. B. {@code LaserBlock}) samt
+ * ihrer Sprites. Statt bei jedem Schuss einen neuen Block und ein neues {@code ImageView} zu erzeugen, wird ein
+ * ruhendes Projektil über {@link #acquire()} ausgegeben. Wird es deaktiviert (Treffer oder Ablauf der Lebensdauer),
+ * geht es über {@link Block#retire()} automatisch zurück in den Pool.
+ * <p>
+ * Ruhende Projektile behalten ihren Eintrag im {@code EntityStore} und ihren Sprite, der versteckt im Pane bleibt. Nach
+ * {@link #attach(Pane)} wächst der Szenengraph bei Dauerfeuer daher nicht mehr, und es werden keine Objekte angelegt.
+ * <p>
+ * Sind alle Projektile im Einsatz, entscheidet die {@link OverflowPolicy}, was passiert. Der Pool ist nicht
+ * thread-sicher und wird nur vom FX-Thread verwendet.
+ *
+ * @param <T> Die Art der Projektile.
+ *
+ * @see Block#retire()
+ *
+ * @author Tom Coombs
+ */
+public class ProjectilePool<T extends Block> {
+    /**
+     * Das Verhalten von {@link #acquire()}, wenn kein ruhendes Projektil mehr vorhanden ist.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Es wird kein Projektil ausgegeben, der Schuss entfällt.
+         */
+        DROP,
+        /**
+         * Das älteste Projektil im Einsatz wird deaktiviert und neu ausgegeben.
+         */
+        RECYCLE_OLDEST,
+        /**
+         * Der Pool legt ein weiteres Projektil an und wird dauerhaft größer.
+         */
+        GROW
+    }
+
+    /**
+     * Erzeugt neue Projektile beim Anlegen des Pools und bei {@link OverflowPolicy#GROW}.
+     */
+    private final Supplier<T> factory;
+
+    /**
+     * Das Verhalten, wenn alle Projektile im Einsatz sind.
+     */
+    @Getter
+    private final OverflowPolicy overflowPolicy;
+
+    /**
+     * Alle Projektile des Pools.
+     */
+    private final List<T> all;
+
+    /**
+     * Die ruhenden Projektile.
+     */
+    private final ArrayDeque<T> free;
+
+    /**
+     * Die Projektile im Einsatz, das älteste zuerst.
+     */
+    private final ArrayDeque<T> inUse;
+
+    /**
+     * Das Pane, auf dem die Sprites liegen, {@code null} vor dem ersten {@link #attach(Pane)}.
+     */
+    private Pane pane;
+
+    /**
+     * Die Anzahl der Schüsse, die wegen {@link OverflowPolicy#DROP} entfallen sind.
+     */
+    @Getter
+    private long droppedCount;
+
+    /**
+     * Die Anzahl der Projektile, die wegen {@link OverflowPolicy#RECYCLE_OLDEST} vorzeitig neu ausgegeben wurden.
+     */
+    @Getter
+    private long recycledCount;
+
+    /**
+     * Konstruiert einen neuen Pool und legt alle Projektile sofort an.
+     *
+     * @param factory Erzeugt ein neues Projektil, dessen Zustand später beim Ausgeben gesetzt wird.
+     * @param capacity Die Anzahl der vorab angelegten Projektile.
+     * @param overflowPolicy Das Verhalten, wenn alle Projektile im Einsatz sind.
+     */
+    public ProjectilePool(Supplier<T> factory, int capacity, OverflowPolicy overflowPolicy) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1");
+        }
+        this.factory = factory;
+        this.overflowPolicy = overflowPolicy;
+        this.all = new ArrayList<>(capacity);
+        this.free = new ArrayDeque<>(capacity);
+        this.inUse = new ArrayDeque<>(capacity);
+        for (int i = 0; i < capacity; i++) {
+            this.free.push(this.create());
+        }
+    }
+
+    /**
+     * Zeichnet die Sprites aller Projektile auf das Pane, ruhende versteckt. Muss aufgerufen werden, sobald das Pane
+     * neu aufgebaut wurde, z. B. in {@code GameScreen#initialize()}. Vorhandene Sprites werden dabei wiederverwendet.
+     *
+     * @param pane Das Pane, auf dem die Projektile erscheinen.
+     */
+    public void attach(Pane pane) {
+        this.pane = pane;
+        for (int i = 0; i < this.all.size(); i++) {
+            T projectile = this.all.get(i);
+            projectile.recycleSprite();
+            projectile.draw(pane);
+            projectile.getSprite().setVisible(this.inUse.contains(projectile));
+        }
+    }
+
+    /**
+     * Gibt ein Projektil aus. Es ist aktiv, sein Sprite sichtbar; Position, Richtung und Lebensdauer setzt der
+     * Aufrufer. Danach muss es dem Level über {@code Level#spawnBlock(Block)} hinzugefügt werden.
+     *
+     * @return Das Projektil, oder {@code null}, wenn alle im Einsatz sind und die {@link OverflowPolicy} keines
+     * hergibt.
+     */
+    public T acquire() {
+        T projectile = this.free.poll();
+        if (projectile == null) {
+            switch (this.overflowPolicy) {
+                case DROP -> this.droppedCount++;
+                case RECYCLE_OLDEST -> {
+                    T oldest = this.inUse.peekFirst();
+                    if (oldest != null) {
+                        // hängt das Projektil aus dem Level aus und legt es über retire() zurück in den Pool
+                        oldest.setActive(false);
+                        this.recycledCount++;
+                        projectile = this.free.poll();
+                    }
+                }
+                case GROW -> {
+                    projectile = this.create();
+                    if (this.pane != null) {
+                        projectile.draw(this.pane);
+                    }
+                }
+            }
+            if (projectile == null) {
+                return null;
+            }
+        }
+
+        this.inUse.addLast(projectile);
+        projectile.setActive(true);
+        if (projectile.getSprite() != null) {
+            projectile.getSprite().setVisible(true);
+        }
+        return projectile;
+    }
+
+    /**
+     * Nimmt ein Projektil zurück. Wird von {@link Block#retire()} aufgerufen, nachdem es stillgelegt wurde.
+     *
+     * @param block Das Projektil.
+     */
+    @SuppressWarnings("unchecked")
+    void giveBack(Block block) {
+        T projectile = (T) block;
+        // die Projektile laufen meist in Schussreihenfolge ab, das gesuchte steht dann vorne
+        if (this.inUse.remove(projectile)) {
+            this.free.push(projectile);
+        }
+    }
+
+    /**
+     * @return Die Anzahl aller Projektile des Pools.
+     */
+    public int getCapacity() {
+        return this.all.size();
+    }
+
+    /**
+     * @return Die Anzahl der Projektile im Einsatz.
+     */
+    public int getInUseCount() {
+        return this.inUse.size();
+    }
+
+    /**
+     * Legt ein neues, ruhendes Projektil an.
+     *
+     * @return Das Projektil.
+     */
+    private T create() {
+        T projectile = this.factory.get();
+        projectile.setPool(this);
+        projectile.park();
+        this.all.add(projectile);
+        return projectile;
+    }
+}
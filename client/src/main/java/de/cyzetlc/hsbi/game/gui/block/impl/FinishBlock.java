@@ -75,13 +75,13 @@ public class FinishBlock extends AnimatedBlock {
 
         if (Game.getInstance().getCurrentLevel().getNextLevel() != null) {
             Game.getLogger().info("Loading & saving next level..");
-            Game.getInstance().getConfig().getObject().put("currentLevel", Game.getInstance().getCurrentLevel().getNextLevel().getName());
-            Game.getInstance().getConfig().save();
+            Game.getInstance().getConfig().set("currentLevel", Game.getInstance().getCurrentLevel().getNextLevel().getName());
+            Game.getInstance().getConfig().saveLater();
         } else {
             Game.getLogger().info("Game successfully finished (no more levels left)!");
             Game.getInstance().setCurrentLevel(new TutorialLevel());
-            Game.getInstance().getConfig().getObject().put("currentLevel", "Tutorial");
-            Game.getInstance().getConfig().save();
+            Game.getInstance().getConfig().set("currentLevel", "Tutorial");
+            Game.getInstance().getConfig().saveLater();
         }
     }
 }
\ No newline at end of file
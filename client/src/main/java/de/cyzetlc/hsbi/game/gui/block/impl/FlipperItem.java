@@ -52,10 +52,7 @@ public class FlipperItem extends Block {
         if (intersect) {
             collected = true;
             player.setFlipperCollected(true); // Schlüssel-Flag setzen
-            this.setActive(false);
-            if (this.getPane() != null) {
-                this.getPane().getChildren().remove(this.sprite);
-            }
+            this.setActive(false); // entfernt auch den Sprite
         }
     }
 
@@ -1,10 +1,8 @@
 package de.cyzetlc.hsbi.game.gui.block.impl;
 
-import de.cyzetlc.hsbi.game.Game;
 import de.cyzetlc.hsbi.game.entity.Player;
 import de.cyzetlc.hsbi.game.gui.block.Block;
 import de.cyzetlc.hsbi.game.gui.block.Material;
-import de.cyzetlc.hsbi.game.gui.screens.GameScreen;
 import de.cyzetlc.hsbi.game.world.Location;
 import javafx.scene.image.Image;
 import javafx.scene.layout.Pane;
@@ -42,6 +40,10 @@ public class FloatingPlatformBlock extends Block {
      * Zähler für die Zeit, die seit dem letzten Frame-Wechsel vergangen ist.
      */
     private double frameTimer = 0;
+    /**
+     * Gesetzt, wenn die Logikphase den Frame gewechselt hat und der Sprite ihn noch anzeigen muss.
+     */
+    private boolean frameChanged = false;
 
     /**
      * Die Startposition der Plattform.
@@ -110,29 +112,23 @@ public class FloatingPlatformBlock extends Block {
     }
 
     /**
-     * Aktualisiert Position und Richtung der Plattform anhand der vergangenen Zeit.
+     * Aktualisiert Position und Richtung der Plattform um einen Logikschritt.
      * <p>
-     * Die Methode berechnet die zurückzulegende Strecke, aktualisiert die Position und die
-     * Bildschirmposition (unter Berücksichtigung des Kamera-Offsets) und kehrt die Richtung um,
-     * sobald ein Wegpunkt erreicht ist. Die Verschiebung (Delta) wird gespeichert, damit der
-     * Spieler, der auf der Plattform steht, entsprechend mitbewegt werden kann.
+     * Die Methode berechnet die zurückzulegende Strecke, aktualisiert die Position und kehrt die
+     * Richtung um, sobald ein Wegpunkt erreicht ist. Die Verschiebung (Delta) wird gespeichert, damit der
+     * Spieler, der auf der Plattform steht, entsprechend mitbewegt werden kann. Bildschirmposition und
+     * Animations-Frame setzt {@link #syncSprite(double, double)}.
+     *
+     * @param deltaSeconds Die Länge des Logikschritts in Sekunden.
      */
     @Override
-    public void update() {
-        super.update();
+    public void updateLogic(double deltaSeconds) {
+        super.updateLogic(deltaSeconds);
         this.setDelta(0, 0); // Ruecksetzen, falls sich die Plattform in diesem Tick nicht bewegt
         if (!this.isActive() || this.getSprite() == null) {
             return;
         }
 
-        long now = System.nanoTime();
-        if (this.getLastUpdateNanos() == 0L) {
-            this.setLastUpdateNanos(now);
-            return;
-        }
-
-        double deltaSeconds = (now - this.getLastUpdateNanos()) / 1_000_000_000.0;
-        this.setLastUpdateNanos(now);
         Location current = this.getLocation();
         double oldX = current.getX();
         double oldY = current.getY();
@@ -148,11 +144,6 @@ public class FloatingPlatformBlock extends Block {
             current.setX(target.getX());
             current.setY(target.getY());
 
-            if (Game.getInstance().getScreenManager().getCurrentScreen() instanceof GameScreen) {
-                this.getSprite().setX(target.getX() - ((GameScreen) Game.getInstance().getScreenManager().getCurrentScreen()).getCameraX());
-                this.getSprite().setY(target.getY() - ((GameScreen) Game.getInstance().getScreenManager().getCurrentScreen()).getCameraY());
-            }
-
             this.setDelta(target.getX() - oldX, target.getY() - oldY);
             return;
         }
@@ -171,16 +162,26 @@ public class FloatingPlatformBlock extends Block {
         current.setX(nextX);
         current.setY(nextY);
 
-        if (Game.getInstance().getScreenManager().getCurrentScreen() instanceof GameScreen) {
-            this.getSprite().setX(nextX - ((GameScreen) Game.getInstance().getScreenManager().getCurrentScreen()).getCameraX());
-            this.getSprite().setY(nextY - ((GameScreen) Game.getInstance().getScreenManager().getCurrentScreen()).getCameraY());
-        }
-
         this.setDelta(nextX - oldX, nextY - oldY);
 
         this.advanceAnimation(deltaSeconds);
     }
 
+    /**
+     * Setzt die Bildschirmposition und übernimmt einen Frame-Wechsel aus der Logikphase in den Sprite.
+     *
+     * @param cameraX Der horizontale Kamera-Offset.
+     * @param cameraY Der vertikale Kamera-Offset.
+     */
+    @Override
+    public void syncSprite(double cameraX, double cameraY) {
+        super.syncSprite(cameraX, cameraY);
+        if (this.frameChanged && this.getSprite() != null) {
+            this.frameChanged = false;
+            this.getSprite().setImage(this.frames.get(this.currentFrame));
+        }
+    }
+
     /**
      * Zeichnet die Plattform und lädt die Animations-Frames, falls noch nicht geschehen.
      * <p>
@@ -244,11 +245,12 @@ public class FloatingPlatformBlock extends Block {
     }
 
     /**
-     * Bewegt die Animation um die seit dem letzten Aufruf vergangene Zeit weiter.
+     * Bewegt die Animation um einen Logikschritt weiter.
      * <p>
-     * Wechselt den Frame, wenn die {@code FRAME_DURATION_SECONDS} überschritten wurde.
+     * Wechselt den Frame, wenn die {@code FRAME_DURATION_SECONDS} überschritten wurde. Das Bild selbst setzt
+     * {@link #syncSprite(double, double)}.
      *
-     * @param deltaSeconds Die seit dem letzten Update vergangene Zeit in Sekunden.
+     * @param deltaSeconds Die Länge des Logikschritts in Sekunden.
      */
     private void advanceAnimation(double deltaSeconds) {
         if (this.frames.size() < 2) {
@@ -259,7 +261,7 @@ public class FloatingPlatformBlock extends Block {
         if (this.frameTimer >= FRAME_DURATION_SECONDS) {
             this.frameTimer -= FRAME_DURATION_SECONDS;
             this.currentFrame = (this.currentFrame + 1) % this.frames.size();
-            this.getSprite().setImage(this.frames.get(this.currentFrame));
+            this.frameChanged = true;
         }
     }
 
@@ -285,27 +287,4 @@ public class FloatingPlatformBlock extends Block {
             };
         };
     }
-
-    /**
-     * Gibt den Zeitstempel (in Nanosekunden) der letzten Aktualisierung zurück.
-     *
-     * @return Der Zeitstempel des letzten Updates.
-     */
-    private long getLastUpdateNanos() {
-        return this.lastUpdateNanos;
-    }
-
-    /**
-     * Setzt den Zeitstempel (in Nanosekunden) der letzten Aktualisierung.
-     *
-     * @param lastUpdateNanos Der neue Zeitstempel.
-     */
-    private void setLastUpdateNanos(long lastUpdateNanos) {
-        this.lastUpdateNanos = lastUpdateNanos;
-    }
-
-    /**
-     * Das separate Feld zur Speicherung des Zeitstempels des letzten Updates für die Delta-Zeitberechnung.
-     */
-    private long lastUpdateNanos = 0L;
-}
\ No newline at end of file
+}
@@ -23,6 +23,10 @@ public class GasBarrierBlock extends Block {
      * Transparenz für manuelles Ausblenden, falls kein FadeTransition läuft.
      */
     private double alpha = 1.0;
+    /**
+     * Die laufende Überblendung nach {@link #deactivate()}, {@code null} wenn keine läuft.
+     */
+    private FadeTransition fade;
 
     public GasBarrierBlock(Location location, double width, double height) {
         super(location);
@@ -54,6 +58,7 @@ public class GasBarrierBlock extends Block {
         this.setCollideAble(false);
         SoundManager.play(Sound.CLICK);
         FadeTransition ft = new FadeTransition(Duration.seconds(0.8), this.sprite);
+        fade = ft;
         ft.setFromValue(1.0);
         ft.setToValue(0.0);
         ft.setOnFinished(e -> {
@@ -65,16 +70,33 @@ public class GasBarrierBlock extends Block {
     }
 
     @Override
-    public void update() {
-        super.update();
-        // Falls aus irgendeinem Grund das FadeTransition nicht läuft: manuelles Ausblenden
+    public void updateLogic(double delta) {
+        super.updateLogic(delta);
+        // Falls aus irgendeinem Grund das FadeTransition nicht läuft: manuelles Ausblenden in derselben Dauer
         if (fadingOut && active) {
-            alpha = Math.max(0, alpha - 0.05);
-            this.sprite.setOpacity(alpha);
+            alpha = Math.max(0, alpha - delta / 0.8);
             if (alpha <= 0.0) {
                 active = false;
                 this.setActive(false);
             }
         }
     }
+
+    @Override
+    public void syncSprite(double cameraX, double cameraY) {
+        super.syncSprite(cameraX, cameraY);
+        if (fadingOut && this.sprite != null) {
+            this.sprite.setOpacity(alpha);
+        }
+    }
+
+    @Override
+    protected void recycleSprite() {
+        // die Überblendung darf den Sprite nach der Wiederverwendung nicht mehr verändern
+        if (fade != null) {
+            fade.stop();
+            fade = null;
+        }
+        super.recycleSprite();
+    }
 }
@@ -2,6 +2,7 @@ package de.cyzetlc.hsbi.game.gui.block.impl;
 
 import de.cyzetlc.hsbi.game.gui.block.Block;
 import de.cyzetlc.hsbi.game.gui.block.Material;
+import de.cyzetlc.hsbi.game.gui.block.ProjectilePool;
 import de.cyzetlc.hsbi.game.world.Location;
 import javafx.scene.layout.Pane;
 
@@ -10,11 +11,15 @@ import javafx.scene.layout.Pane;
  * horizontal fliegt und bei Kollision mit dem Spieler Schaden zufügt.
  * <p>
  * Dieser Block hat eine begrenzte Lebensdauer (4,0 Sekunden) und verschwindet automatisch
- * bei Aufprall oder Ablauf der Zeit. Die Bewegung wird basierend auf der zwischen den
- * Frames verstrichenen Zeit (`delta`) berechnet.
+ * bei Aufprall oder Ablauf der Zeit. Die Bewegung übernimmt der {@code EntityStore} anhand der
+ * Geschwindigkeit, die {@link #launch(double, double, int, double)} setzt.
+ * <p>
+ * Laser werden nicht einzeln erzeugt, sondern aus einem {@link ProjectilePool} ausgegeben und mit
+ * {@link #launch(double, double, int, double)} neu abgefeuert.
  *
  * @see Block
  * @see Material#ROBOT_LASER
+ * @see ProjectilePool
  *
  * @author Leonardo Parrino
  */
@@ -22,23 +27,18 @@ public class LaserBlock extends Block {
     /**
      * Die konstante Geschwindigkeit, mit der das Laserprojektil fliegt (Einheiten pro Sekunde).
      */
-    private final double speed;
+    private double speed;
 
     /**
      * Die horizontale Bewegungsrichtung: 1 für rechts, -1 für links.
      */
-    private final int direction;
+    private int direction;
 
     /**
-     * Verfolgt die Gesamtzeit (in Sekunden), die der Laser seit seiner Erstellung aktiv war.
+     * Verfolgt die Gesamtzeit (in Sekunden), die der Laser seit dem letzten Abfeuern aktiv war.
      */
     private double lifeSeconds = 0;
 
-    /**
-     * Der Zeitstempel des letzten Update-Zyklus in Nanosekunden, der zur Berechnung der Delta-Zeit verwendet wird.
-     */
-    private long lastUpdateNanos = 0L;
-
     /**
      * Konstruiert eine neue {@code LaserBlock}-Instanz und initialisiert deren Bewegungseigenschaften und Aussehen.
      *
@@ -50,10 +50,30 @@ public class LaserBlock extends Block {
         super(location);
         this.setMaterial(Material.ROBOT_LASER);
         this.setCollideAble(false);
-        this.speed = speed;
-        this.direction = direction >= 0 ? 1 : -1;
         this.setWidth(12);
         this.setHeight(12);
+        this.launch(location.getX(), location.getY(), direction, speed);
+    }
+
+    /**
+     * Feuert den Laser von der angegebenen Position aus ab und setzt seine Lebensdauer zurück. Wird für jeden Schuss
+     * eines aus dem {@link ProjectilePool} ausgegebenen Lasers aufgerufen.
+     *
+     * @param x Die X-Koordinate der Startposition.
+     * @param y Die Y-Koordinate der Startposition.
+     * @param direction Die Bewegungsrichtung (jeder nicht-negative Wert ist rechts, negativ ist links).
+     * @param speed Die konstante Bewegungsgeschwindigkeit des Lasers.
+     */
+    public void launch(double x, double y, int direction, double speed) {
+        this.getLocation().setX(x);
+        this.getLocation().setY(y);
+        // vom Abschusspunkt aus zeichnen, nicht vom Ort des letzten Schusses dorthin interpolieren
+        this.savePreviousLocation();
+        this.speed = speed;
+        this.direction = direction >= 0 ? 1 : -1;
+        this.lifeSeconds = 0;
+        // die Bewegung übernimmt der EntityStore
+        this.setVelocity(this.direction * speed, 0);
     }
 
     /**
@@ -91,31 +111,18 @@ public class LaserBlock extends Block {
     }
 
     /**
-     * Aktualisiert die Position und Lebensdauer des Lasers basierend auf der seit dem letzten Frame
-     * verstrichenen Zeit.
+     * Aktualisiert die Lebensdauer des Lasers um einen Logikschritt.
      * <p>
-     * Berechnet die Delta-Zeit (`delta`), prüft, ob die Lebensdauer des Lasers 4,0 Sekunden überschreitet,
-     * und aktualisiert die horizontale Position basierend auf Geschwindigkeit und Richtung.
+     * Prüft, ob die Lebensdauer des Lasers 4,0 Sekunden überschreitet.
+     * Die Position selbst wird von {@code EntityStore#integrate(double)} fortgeschrieben.
+     *
+     * @param delta Die Länge des Logikschritts in Sekunden.
      */
     @Override
-    public void update() {
-        long now = System.nanoTime();
-        if (lastUpdateNanos == 0L) {
-            lastUpdateNanos = now;
-            return;
-        }
-        double delta = (now - lastUpdateNanos) / 1_000_000_000.0;
-        lastUpdateNanos = now;
-
+    public void updateLogic(double delta) {
         lifeSeconds += delta;
         if (lifeSeconds > 4.0) {
             this.setActive(false);
-            return;
         }
-
-        double dx = direction * speed * delta;
-        this.getLocation().setX(this.getLocation().getX() + dx);
-
-        super.update();
     }
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import de.cyzetlc.hsbi.game.Game;
 import de.cyzetlc.hsbi.game.entity.EntityPlayer;
 import de.cyzetlc.hsbi.game.gui.block.Block;
 import de.cyzetlc.hsbi.game.gui.block.Material;
+import de.cyzetlc.hsbi.game.gui.block.ProjectilePool;
 import de.cyzetlc.hsbi.game.utils.ui.ImageAssets;
 import de.cyzetlc.hsbi.game.world.Location;
 import javafx.scene.layout.Pane;
@@ -51,9 +52,9 @@ public class RobotEnemyBlock extends Block {
     protected boolean dead = false;
 
     /**
-     * Der Zeitstempel des letzten Update-Zyklus in Nanosekunden, der zur Berechnung der Delta-Zeit für Bewegung und Timer verwendet wird.
+     * Die Spielzeit (in Sekunden), die der Roboter bisher aktualisiert wurde, die Summe aller Logikschritte.
      */
-    private long lastUpdateNanos = 0L;
+    private double time = 0;
 
     /**
      * Akkumulator für die seit dem letzten Abfeuern eines Projektils verstrichene Zeit.
@@ -66,11 +67,16 @@ public class RobotEnemyBlock extends Block {
     protected final double fireCooldown = 1.2;
 
     /**
-     * Zeitstempel (in Sekunden) des letzten erfolgreichen Treffers des Spielers durch diesen Feind.
+     * Spielzeit (in Sekunden, siehe {@link #time}) des letzten erfolgreichen Treffers des Spielers durch diesen Feind.
      * Wird verwendet, um die Unverwundbarkeits-/Cooldown-Zeit des Spielers zu implementieren.
      */
     private double lastHitTime = -1;
 
+    /**
+     * Die Blickrichtung aus der letzten Logikphase, {@code true} für rechts.
+     */
+    private boolean facingRight = true;
+
     /**
      * Konstruiert eine neue {@code RobotEnemyBlock}-Instanz.
      *
@@ -131,20 +137,16 @@ public class RobotEnemyBlock extends Block {
     /**
      * Aktualisiert die Bewegung und die internen Timer des Roboters.
      * <p>
-     * Berechnet die Delta-Zeit, bestimmt eine Ziel-X-Position (begrenzt auf den Patrouillenbereich,
-     * den Spieler verfolgend), aktualisiert die Position des Roboters basierend auf der Geschwindigkeit
-     * und aktualisiert die Blickrichtung.
+     * Bestimmt eine Ziel-X-Position (begrenzt auf den Patrouillenbereich, den Spieler verfolgend),
+     * aktualisiert die Position des Roboters basierend auf der Geschwindigkeit und bestimmt die Blickrichtung,
+     * die {@link #syncSprite(double, double)} auf den Sprite überträgt.
+     *
+     * @param delta Die Länge des Logikschritts in Sekunden.
      */
     @Override
-    public void update() {
-        super.update();
-        long now = System.nanoTime();
-        if (lastUpdateNanos == 0L) {
-            lastUpdateNanos = now;
-            return;
-        }
-        double delta = (now - lastUpdateNanos) / 1_000_000_000.0;
-        lastUpdateNanos = now;
+    public void updateLogic(double delta) {
+        super.updateLogic(delta);
+        time += delta;
 
         if (dead) return;
 
@@ -168,17 +170,17 @@ public class RobotEnemyBlock extends Block {
     }
 
     /**
-     * Versucht, ein neues {@code LaserBlock}-Projektil zu erstellen und zurückzugeben, wenn der Feind
-     * nicht tot ist, der Spieler sich in einem engen horizontalen Bereich befindet und der
-     * Feuer-Cooldown abgelaufen ist.
+     * Versucht, ein {@code LaserBlock}-Projektil abzufeuern, wenn der Feind nicht tot ist, der Spieler sich
+     * in einem engen horizontalen Bereich befindet und der Feuer-Cooldown abgelaufen ist.
      * <p>
-     * Wenn ein Laser erstellt wird, wird der {@code fireTimer} zurückgesetzt. Der Laser wird auf
-     * ungefährer "Augenhöhe" des Roboters gespawnt.
+     * Der Laser wird aus dem {@code pool} ausgegeben und auf ungefährer "Augenhöhe" des Roboters abgefeuert.
+     * Der {@code fireTimer} wird auch dann zurückgesetzt, wenn der Pool keinen Laser hergibt.
      *
      * @param player Die Ziel-Spieler-Entität.
-     * @return Ein neuer {@code LaserBlock}, wenn bereit zum Feuern, ansonsten {@code null}.
+     * @param pool Der Pool, aus dem der Laser stammt.
+     * @return Der abgefeuerte {@code LaserBlock}, ansonsten {@code null}.
      */
-    public LaserBlock tryFire(EntityPlayer player) {
+    public LaserBlock tryFire(EntityPlayer player, ProjectilePool<LaserBlock> pool) {
         if (dead || player == null) return null;
 
         // Spieler muss deutlich oberhalb sein (Sprung ueber den Boss)
@@ -196,7 +198,11 @@ public class RobotEnemyBlock extends Block {
         double eyeY = this.getLocation().getY() + this.getHeight() * 0.35;
         double spawnX = dir == 1 ? this.getLocation().getX() + this.getWidth() - 4 : this.getLocation().getX() - 8;
 
-        return new LaserBlock(new Location(spawnX, eyeY), dir, 320);
+        LaserBlock laser = pool.acquire();
+        if (laser != null) {
+            laser.launch(spawnX, eyeY, dir, 320);
+        }
+        return laser;
     }
 
     /**
@@ -213,24 +219,34 @@ public class RobotEnemyBlock extends Block {
         if (player.isGodModeEnabled()) {
             return;
         }
-        double now = System.nanoTime() / 1e9;
-        if (this.lastHitTime < 0 || now - this.lastHitTime > 0.5) {
+        if (this.lastHitTime < 0 || this.time - this.lastHitTime > 0.5) {
             player.setHealth(player.getHealth() - 1f);
-            this.lastHitTime = now;
+            this.lastHitTime = this.time;
         }
     }
 
     /**
-     * Aktualisiert die Blickrichtung (horizontaler Spiegelzustand) des Roboters, sodass er
-     * dem Spieler zugewandt ist.
+     * Setzt die Bildschirmposition und die Blickrichtung (horizontaler Spiegelzustand) des Sprites und bringt ihn
+     * nach vorne.
+     *
+     * @param cameraX Der horizontale Kamera-Offset.
+     * @param cameraY Der vertikale Kamera-Offset.
      */
-    private void updateFacingToPlayer() {
+    @Override
+    public void syncSprite(double cameraX, double cameraY) {
+        super.syncSprite(cameraX, cameraY);
         if (this.sprite == null) {
             return;
         }
-        double playerX = Game.thePlayer != null ? Game.thePlayer.getLocation().getX() : this.getLocation().getX();
-        boolean faceRight = playerX >= this.getLocation().getX();
-        this.sprite.setScaleX(faceRight ? 1 : -1);
+        this.sprite.setScaleX(this.facingRight ? 1 : -1);
         this.sprite.toFront();
     }
+
+    /**
+     * Bestimmt die Blickrichtung des Roboters, sodass er dem Spieler zugewandt ist.
+     */
+    private void updateFacingToPlayer() {
+        double playerX = Game.thePlayer != null ? Game.thePlayer.getLocation().getX() : this.getLocation().getX();
+        this.facingRight = playerX >= this.getLocation().getX();
+    }
 }
\ No newline at end of file
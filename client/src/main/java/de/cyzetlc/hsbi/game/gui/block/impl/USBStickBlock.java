@@ -53,9 +53,9 @@ public class USBStickBlock extends PerkBlock {
      */
     private double frameTimer = 0;
     /**
-     * Der Zeitstempel des letzten Updates in Nanosekunden, zur Berechnung der Delta-Zeit für die Animation.
+     * Gesetzt, wenn die Logikphase den Frame gewechselt hat und der Sprite ihn noch anzeigen muss.
      */
-    private long lastAnimationFrameNanos = 0L;
+    private boolean frameChanged = false;
 
     /**
      * Flag, das angibt, ob der Effekt des USB-Sticks bereits ausgelöst wurde.
@@ -92,12 +92,29 @@ public class USBStickBlock extends PerkBlock {
     }
 
     /**
-     * Aktualisiert den Zustand des Blocks, einschließlich der Animation.
+     * Aktualisiert den Zustand des Blocks, einschließlich der Animation (Logikphase).
+     *
+     * @param delta Die Länge des Logikschritts in Sekunden.
      */
     @Override
-    public void update() {
-        super.update();
-        this.advanceAnimation();
+    public void updateLogic(double delta) {
+        super.updateLogic(delta);
+        this.advanceAnimation(delta);
+    }
+
+    /**
+     * Übernimmt einen Frame-Wechsel aus der Logikphase in den Sprite.
+     *
+     * @param cameraX Der horizontale Kamera-Offset.
+     * @param cameraY Der vertikale Kamera-Offset.
+     */
+    @Override
+    public void syncSprite(double cameraX, double cameraY) {
+        super.syncSprite(cameraX, cameraY);
+        if (this.frameChanged && this.getSprite() != null) {
+            this.frameChanged = false;
+            this.getSprite().setImage(this.frames.get(this.currentFrame));
+        }
     }
 
     /**
@@ -147,26 +164,22 @@ public class USBStickBlock extends PerkBlock {
     }
 
     /**
-     * Bewegt die Animation um die seit dem letzten Aufruf vergangene Zeit weiter.
+     * Bewegt die Animation um einen Logikschritt weiter.
      * <p>
-     * Wechselt den Frame, wenn die {@code FRAME_DURATION_SECONDS} überschritten wurde.
+     * Wechselt den Frame, wenn die {@code FRAME_DURATION_SECONDS} überschritten wurde. Das Bild selbst setzt
+     * {@link #syncSprite(double, double)}.
+     *
+     * @param deltaSeconds Die Länge des Logikschritts in Sekunden.
      */
-    private void advanceAnimation() {
+    private void advanceAnimation(double deltaSeconds) {
         if (this.frames.size() < 2 || this.getSprite() == null) {
             return;
         }
-        long now = System.nanoTime();
-        if (this.lastAnimationFrameNanos == 0L) {
-            this.lastAnimationFrameNanos = now;
-            return;
-        }
-        double deltaSeconds = (now - this.lastAnimationFrameNanos) / 1_000_000_000.0;
-        this.lastAnimationFrameNanos = now;
         this.frameTimer += deltaSeconds;
         if (this.frameTimer >= FRAME_DURATION_SECONDS) {
             this.frameTimer -= FRAME_DURATION_SECONDS;
             this.currentFrame = (this.currentFrame + 1) % this.frames.size();
-            this.getSprite().setImage(this.frames.get(this.currentFrame));
+            this.frameChanged = true;
         }
     }
 }
\ No newline at end of file
@@ -2,17 +2,25 @@ package de.cyzetlc.hsbi.game.gui.screens;
 
 import de.cyzetlc.hsbi.game.Game;
 import de.cyzetlc.hsbi.game.entity.EntityPlayer;
+import de.cyzetlc.hsbi.game.event.EventMetrics;
 import de.cyzetlc.hsbi.game.gui.GuiScreen;
 import de.cyzetlc.hsbi.game.gui.Platform;
 import de.cyzetlc.hsbi.game.gui.ScreenManager;
 import de.cyzetlc.hsbi.game.gui.block.Block;
+import de.cyzetlc.hsbi.game.gui.block.BlockLogicTask;
+import de.cyzetlc.hsbi.game.gui.block.ProjectilePool;
 import de.cyzetlc.hsbi.game.gui.block.impl.LaserBlock;
 import de.cyzetlc.hsbi.game.gui.block.impl.GasBarrierBlock;
 import de.cyzetlc.hsbi.game.gui.block.impl.RobotEnemyBlock;
+import de.cyzetlc.hsbi.game.level.Level;
+import de.cyzetlc.hsbi.game.utils.ui.ImageAssets;
 import de.cyzetlc.hsbi.game.utils.ui.UIUtils;
+import de.cyzetlc.hsbi.game.world.AABB;
+import de.cyzetlc.hsbi.game.world.ActiveSet;
+import de.cyzetlc.hsbi.game.world.SweptAABB;
 import de.cyzetlc.hsbi.game.world.Direction;
+import de.cyzetlc.hsbi.game.world.Location;
 import de.cyzetlc.hsbi.message.MessageHandler;
-import javafx.geometry.Rectangle2D;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.KeyCode;
@@ -45,6 +53,8 @@ import java.util.List;
  * <li><b>F1:</b> Schaltet Tooltips, Questfortschritt und Hilfetexte um.</li>
  * <li><b>F2:</b> Schaltet die technische Debug-Leiste (FPS, Koordinaten, etc.) um.</li>
  * <li><b>F3:</b> Schaltet "NoClip" und "GodMode" (Fliegen und Unverwundbarkeit) um.</li>
+ * <li><b>F4:</b> Schaltet die Event-Metriken um, die dann in der Debug-Leiste angezeigt werden.</li>
+ * <li><b>F5:</b> Schreibt den vollständigen Event-Metrik-Report ins Log.</li>
  * </ul>
  *
  * @author Tom Coombs
@@ -85,6 +95,40 @@ public class GameScreen implements GuiScreen {
      */
     private Text debugLbl;
 
+    /**
+     * Die Anzahl der Logikschritte zwischen zwei Aktualisierungen der Debug-Anzeige (20 Schritte = 10 Mal pro Sekunde).
+     * Der Text wird also nicht in jedem Schritt neu zusammengesetzt.
+     */
+    private static final int DEBUG_REFRESH_TICKS = 20;
+
+    /**
+     * Zähler der Logikschritte seit der letzten Aktualisierung der Debug-Anzeige.
+     */
+    private int debugRefreshCounter = 0;
+
+    /**
+     * Die zuletzt angezeigte Anzahl gesammelter Ordner, -1 erzwingt die nächste Aktualisierung.
+     */
+    private int shownCollectedFolders = -1;
+
+    /**
+     * Die Herz-Bilder der Gesundheitsanzeige, einmal geladen statt in jedem Logikschritt.
+     */
+    private static final Image HEART_FULL = ImageAssets.get("/assets/hud/heart_full.png");
+    private static final Image HEART_HALF = ImageAssets.get("/assets/hud/heart_half.png");
+    private static final Image HEART_EMPTY = ImageAssets.get("/assets/hud/heart_empty.png");
+
+    /**
+     * Die Anzahl der vorab angelegten Laser, großzügig über der Zahl gleichzeitig fliegender Laser gewählt.
+     */
+    private static final int LASER_POOL_SIZE = 64;
+
+    /**
+     * Der Pool aller Laser-Projektile. Sind alle im Einsatz, wird der älteste Laser neu abgefeuert.
+     */
+    private static final ProjectilePool<LaserBlock> LASER_POOL = new ProjectilePool<>(
+            () -> new LaserBlock(new Location(0, 0), 1, 0), LASER_POOL_SIZE, ProjectilePool.OverflowPolicy.RECYCLE_OLDEST);
+
     /**
      * Flag, das anzeigt, ob das Spiel derzeit pausiert ist.
      */
@@ -103,18 +147,89 @@ public class GameScreen implements GuiScreen {
 
     /**
      * Die aktuelle X-Koordinate der Kamera/des Viewports in der Spielwelt.
-     * Dieser Wert bestimmt den horizontalen Versatz für das Rendern von Spielelementen.
+     * Dieser Wert bestimmt den horizontalen Versatz für das Rendern von Spielelementen und wird
+     * in {@link #render(double)} zwischen zwei Logikschritten interpoliert.
      */
     @Getter
     private double cameraX = 0;
 
     /**
      * Die aktuelle Y-Koordinate der Kamera/des Viewports in der Spielwelt.
-     * Dieser Wert bestimmt den vertikalen Versatz für das Rendern von Spielelementen.
+     * Dieser Wert bestimmt den vertikalen Versatz für das Rendern von Spielelementen und wird
+     * in {@link #render(double)} zwischen zwei Logikschritten interpoliert.
      */
     @Getter
     private double cameraY = 0;
 
+    /**
+     * Die Kameraposition der Simulation nach dem letzten Logikschritt. Nur {@link #updateCamera(double, double)}
+     * verändert sie, gezeichnet wird mit {@link #cameraX}/{@link #cameraY}.
+     */
+    private double simCameraX = 0, simCameraY = 0;
+
+    /**
+     * Die Kameraposition der Simulation vor dem letzten Logikschritt (Startpunkt der Interpolation).
+     */
+    private double prevCameraX = 0, prevCameraY = 0;
+
+    /**
+     * Die Spielerposition vor dem letzten Logikschritt (Startpunkt der Interpolation).
+     */
+    private double prevPlayerX = 0, prevPlayerY = 0;
+
+    /**
+     * Wiederverwendete Ergebnislisten der räumlichen Abfragen, damit ein Logikschritt keine neuen Listen anlegt.
+     */
+    private final List<Platform> nearbyPlatforms = new ArrayList<>();
+    private final List<Block> nearbyBlocks = new ArrayList<>();
+
+    /**
+     * Die in diesem Logikschritt neu erzeugten Blöcke (Projektile), wiederverwendet zwischen den Schritten.
+     */
+    private final List<Block> pendingBlocks = new ArrayList<>();
+
+    /**
+     * Die größte Strecke (in Pixeln), die der Spieler innerhalb eines Teilschritts der Kollisionsauflösung zurücklegt.
+     * Größere Bewegungen, etwa bei niedriger Logikrate, werden in mehrere Teilschritte zerlegt.
+     */
+    private static final double MAX_TRAVEL_PER_SUBSTEP = 16;
+
+    /**
+     * Die Bounding-Box des Spielers, die bei der Kollisionsauflösung an die Zielposition bewegt wird.
+     */
+    private final AABB playerBox = new AABB();
+
+    /**
+     * Der vom Spieler in diesem Schritt überstrichene Bereich, wird in jedem Schritt neu gesetzt statt neu angelegt.
+     */
+    private final AABB pathBounds = new AABB();
+
+    /**
+     * Die Kollisions-Boxen der Plattformen und festen Blöcke in der Nähe, wiederverwendet zwischen den Schritten.
+     */
+    private final List<AABB> solidBoxes = new ArrayList<>();
+
+    /**
+     * Die festen Blöcke, deren Boxen in {@link #solidBoxes} stehen, wiederverwendet zwischen den Schritten.
+     */
+    private final List<Block> solidBlocks = new ArrayList<>();
+
+    /**
+     * Der feste Block, auf dem der Spieler nach dem letzten Schritt steht, {@code null} auf Plattformen und in der Luft.
+     * Im nächsten Schritt folgt der Spieler seiner Bewegung (z. B. einer schwebenden Plattform).
+     */
+    private Block groundBlock;
+
+    /**
+     * Der Abstand (in Pixeln), bis zu dem ein Block nach der Kollisionsauflösung noch als berührt gilt.
+     */
+    private static final double CONTACT_MARGIN = 0.5;
+
+    /**
+     * Wiederverwendeter Kontakt für die Swept-AABB-Berechnung.
+     */
+    private final SweptAABB.Contact contact = new SweptAABB.Contact();
+
     /**
      * Glättungsfaktor (Interpolationswert), der verwendet wird, um die Kamera allmählich
      * zur Zielposition zu bewegen, wodurch ein sanfter Verfolgungseffekt entsteht. (0.0 bis 1.0)
@@ -213,6 +328,7 @@ public class GameScreen implements GuiScreen {
         double width = screenManager.getStage().getWidth();
         double height = screenManager.getStage().getHeight();
         this.player = Game.thePlayer;
+        this.groundBlock = null;
 
         UIUtils.drawAnimatedBackground(root, width, height, Duration.millis(900),
                 "/assets/hud/BackgroundZustand1.png",
@@ -228,9 +344,9 @@ public class GameScreen implements GuiScreen {
          * Entfernt alle Blöcke & Plattformen aus dem aktuellen Level und
          * lädt das aktuelle Level neu
          */
-        Game.getInstance().getCurrentLevel().getBlocks().clear();
-        Game.getInstance().getCurrentLevel().getPlatforms().clear();
+        Game.getInstance().getCurrentLevel().clearWorld();
         Game.getInstance().getCurrentLevel().draw(width, height, root);
+        Game.getInstance().getCurrentLevel().indexWorld();
 
         // Zeichnet die beiden Schaltflächen oben links
         UIUtils.drawButton(root, messageHandler.getMessageForLanguage("gui.game.btn.back"), 10, 10, () -> screenManager.showScreen(new MainMenuScreen(screenManager)));
@@ -242,6 +358,7 @@ public class GameScreen implements GuiScreen {
         this.flipperHint.setVisible(false);
 
         this.totalFolderCount = this.countFolderBlocks();
+        this.shownCollectedFolders = -1;
         this.questLbl = UIUtils.drawText(root, messageHandler.getMessageForLanguage("gui.game.lbl.quest"), 10, 0);
         this.filesProgressLbl = UIUtils.drawText(root, "", 10, 0);
         this.updateFolderProgress();
@@ -253,10 +370,19 @@ public class GameScreen implements GuiScreen {
         this.layoutHudPositions();
         this.setupPauseOverlay(width, height);
         this.createHealthBar(width);
+
+        // Sprites der Laser einmalig (versteckt) ins Pane legen, Schüsse erzeugen danach keine neuen Knoten
+        LASER_POOL.attach(root);
+
+        // Interpolation ohne Sprung beginnen
+        this.simCameraX = this.prevCameraX = this.cameraX;
+        this.simCameraY = this.prevCameraY = this.cameraY;
+        this.prevPlayerX = player.getLocation().getX();
+        this.prevPlayerY = player.getLocation().getY();
     }
 
     /**
-     * Führt die Haupt-Spielschleifenlogik aus, die einmal pro Frame läuft, um den Spielzustand zu aktualisieren.
+     * Führt die Haupt-Spielschleifenlogik aus, die einmal pro Logikschritt läuft, um den Spielzustand zu aktualisieren.
      * <p>
      * Diese Methode ist für alle dynamischen Spielelemente verantwortlich, einschließlich Physik, Eingabeverarbeitung,
      * Kollisionsauflösung, Kamerabewegung und HUD-Updates.
@@ -273,9 +399,10 @@ public class GameScreen implements GuiScreen {
      * <li>Aktualisierung aller dynamischen HUD-Elemente (Gesundheitsprozentsatz, Ordnerfortschritt, Debug-Status).</li>
      * </ul>
      *
-     * @param delta Die seit dem letzten Frame verstrichene Zeit, die verwendet wird, um sicherzustellen, dass die Physikberechnungen
-     * von der Bildrate unabhängig sind.
+     * @param delta Die feste Länge eines Logikschritts ({@link de.cyzetlc.hsbi.game.gui.ScreenManager#STEP}). Da sie
+     * nicht von der Bildrate abhängt, verhält sich die Physik auf jedem Rechner gleich.
      * @see GameScreen#initialize()
+     * @see GameScreen#render(double)
      * @see GameScreen#updateCamera(double, double)
      * @see de.cyzetlc.hsbi.game.entity.EntityPlayer
      */
@@ -289,6 +416,12 @@ public class GameScreen implements GuiScreen {
         double width = screenManager.getStage().getWidth();
         double height = screenManager.getStage().getHeight();
 
+        // Zustand vor diesem Schritt für die Interpolation merken
+        this.prevPlayerX = player.getLocation().getX();
+        this.prevPlayerY = player.getLocation().getY();
+        this.prevCameraX = this.simCameraX;
+        this.prevCameraY = this.simCameraY;
+
         double gravity = Game.gravity;       // Schwerkraftstärke
         double moveSpeed = Game.moveSpeed;    // horizontale Geschwindigkeit
         double jumpPower = Game.jumpPower;    // Sprungkraft
@@ -319,68 +452,118 @@ public class GameScreen implements GuiScreen {
         // Schwerkraft
         dy += gravity * delta;
 
-        // Versuchte Position
-        double nextX = x + dx;
-        double nextY = y + dy;
-
-        Rectangle2D nextBounds = new Rectangle2D(nextX, nextY, player.getWidth(), player.getHeight());
-
-        // Plattform-Kollisionen
-        for (Platform platform : Game.getInstance().getCurrentLevel().getPlatforms()) {
-            Rectangle2D pBounds = platform.getBounds();
-            platform.update(this);
-
-            if (nextBounds.intersects(pBounds)) {
-                // Landung von oben
-                if (y + player.getHeight() <= platform.getY()) {
-                    nextY = platform.getY() - player.getHeight();
-                    dy = 0;
-                    onGround = true;
-                }
-                // Kollision von unten
-                if (dy < 0 && y >= platform.getY() + platform.getHeight() && nextY <= platform.getY() + platform.getHeight()) {
-                    nextY = platform.getY() + platform.getHeight();
-                    hittingCeiling = true;
-                    dy = 0;
-                } else {
-                    hittingCeiling = false;
-                }
-
-                // Seitenkollision
-                if (x + player.getWidth() <= platform.getX()) {
-                    nextX = platform.getX() - player.getWidth();
-                    dx = 0;
-                }
-                else if (x >= platform.getX() + platform.getWidth()) {
-                    nextX = platform.getX() + platform.getWidth();
-                    dx = 0;
-                }
+        Level level = Game.getInstance().getCurrentLevel();
+        double playerWidth = player.getWidth();
+        double playerHeight = player.getHeight();
+
+        // Positionen der Blöcke vor diesem Schritt für die Interpolation merken
+        List<Block> pendingBlocks = this.pendingBlocks;
+        ActiveSet<Block> blocks = level.getActiveBlocks();
+        for (int i = 0; i < blocks.size(); i++) {
+            Block block = blocks.get(i);
+            if (block != null) {
+                block.savePreviousLocation();
             }
         }
 
-        // Block-Kollisionen
-        List<Block> pendingBlocks = new ArrayList<>();
-        List<Block> blocks = Game.getInstance().getCurrentLevel().getBlocks();
-        for (Block block : blocks) {
-            Rectangle2D pBounds = block.getBounds();
+        // Bewegung aller Blöcke mit Geschwindigkeit (z. B. Laser), linear über den EntityStore
+        Block.getStore().integrate(delta);
+
+        // Block-Logik, Phase 1: reine Logik aller Blöcke parallel auf dem ForkJoinPool, ohne JavaFX-Aufrufe
+        BlockLogicTask.updateAll(blocks, delta);
 
+        // Phase 2 (FX-Thread): Ergebnisse auf die Sprites übertragen, bewegte Blöcke im Index nachführen
+        for (int i = 0; i < blocks.size(); i++) {
+            Block block = blocks.get(i);
+            if (block == null) {
+                continue; // in diesem Schritt ausgehängt
+            }
             // Flipper-Item-Logik: Einsammeln & HUD-Flag setzen
             if (block instanceof de.cyzetlc.hsbi.game.gui.block.impl.FlipperItem flipperItem) {
                 flipperItem.update(player);
             } else {
-                block.update();
+                block.syncSprite(this.cameraX, this.cameraY);
+            }
+            if (!block.isActive()) {
+                continue; // gerade deaktiviert und aus Tickliste und Index ausgehängt
             }
+            level.reindexBlock(block, delta);
 
             if (block instanceof RobotEnemyBlock enemy) {
                 // Feind-Schusslogik
-                LaserBlock laser = enemy.tryFire(player);
+                LaserBlock laser = enemy.tryFire(player, LASER_POOL);
                 if (laser != null) {
-                    laser.draw(root);
                     pendingBlocks.add(laser);
                 }
             }
+        }
+
+        // Der Bewegung der Plattform folgen, auf der der Spieler im letzten Schritt stand
+        Block ground = this.groundBlock;
+        this.groundBlock = null;
+        if (ground != null && ground.isActive() && ground.isCollideAble()) {
+            x += ground.getDeltaX();
+            y += ground.getDeltaY();
+        }
+        // für die Tritt-Prüfung, die Landung setzt dy auf 0
+        boolean falling = dy > 0;
+
+        // Kollisionen mit Plattformen und festen Blöcken: kontinuierlich (Swept-AABB), damit große Schritte nicht durch
+        // dünne Plattformen tunneln. Kandidaten sind nur die Objekte im überstrichenen Bereich (räumlicher Index).
+        AABB sweepBounds = this.pathBounds.setSwept(x, y, playerWidth, playerHeight, dx, dy);
+        this.nearbyPlatforms.clear();
+        level.getPlatformGrid().query(sweepBounds.getMinX(), sweepBounds.getMinY(), sweepBounds.getWidth(), sweepBounds.getHeight(), this.nearbyPlatforms);
+        this.solidBoxes.clear();
+        for (int i = 0; i < this.nearbyPlatforms.size(); i++) {
+            this.solidBoxes.add(this.nearbyPlatforms.get(i).getCollisionBox());
+        }
+        this.solidBlocks.clear();
+        if (!player.isNoClipEnabled()) {
+            this.nearbyBlocks.clear();
+            level.getBlockGrid().query(sweepBounds.getMinX(), sweepBounds.getMinY(), sweepBounds.getWidth(), sweepBounds.getHeight(), this.nearbyBlocks);
+            for (int i = 0; i < this.nearbyBlocks.size(); i++) {
+                Block block = this.nearbyBlocks.get(i);
+                if (block.isActive() && block.isCollideAble()) {
+                    this.solidBlocks.add(block);
+                    this.solidBoxes.add(block.getCollisionBox());
+                }
+            }
+        }
+
+        AABB playerBox = this.playerBox.set(x, y, playerWidth, playerHeight);
+        int hits = SweptAABB.slide(playerBox, dx, dy, this.solidBoxes, MAX_TRAVEL_PER_SUBSTEP, this.contact);
+        if ((hits & SweptAABB.HIT_FLOOR) != 0) {
+            // Landung von oben
+            dy = 0;
+            onGround = true;
+            this.groundBlock = this.findGroundBlock(playerBox);
+        }
+        if ((hits & SweptAABB.HIT_CEILING) != 0) {
+            // Kollision von unten
+            dy = 0;
+            hittingCeiling = true;
+        }
+        if ((hits & SweptAABB.HIT_WALL) != 0) {
+            // Seitenkollision
+            dx = 0;
+        }
+
+        // Neue Position nach den Kollisionen
+        double nextX = playerBox.getMinX();
+        double nextY = playerBox.getMinY();
 
-            if (nextBounds.intersects(pBounds) && block.isActive() && !player.isNoClipEnabled()) {
+        // Der gesamte Weg dieses Schritts, gegen ihn werden die Blöcke geprüft (z. B. Einsammeln im Vorbeiflug). Er ist
+        // um CONTACT_MARGIN größer, damit auch feste Blöcke zählen, an denen der Spieler nach dem Gleiten nur anliegt.
+        AABB nextBounds = this.pathBounds.setSwept(x - CONTACT_MARGIN, y - CONTACT_MARGIN,
+                playerWidth + 2 * CONTACT_MARGIN, playerHeight + 2 * CONTACT_MARGIN, nextX - x, nextY - y);
+
+        // Block-Kollisionen (nur Blöcke in der Nähe, in der Reihenfolge der Blockliste)
+        this.nearbyBlocks.clear();
+        level.getBlockGrid().query(nextBounds.getMinX(), nextBounds.getMinY(), nextBounds.getWidth(), nextBounds.getHeight(), this.nearbyBlocks);
+        for (int i = 0; i < this.nearbyBlocks.size(); i++) {
+            Block block = this.nearbyBlocks.get(i);
+
+            if (nextBounds.intersects(block.getSweptCollisionBox(delta)) && block.isActive() && !player.isNoClipEnabled()) {
                 if (block instanceof GasBarrierBlock barrier && interactPressed && player.hasFlipper()) {
                     // Gasbarriere deaktivieren, wenn Spieler Flipper hat und E drückt
                     barrier.deactivate();
@@ -389,50 +572,35 @@ public class GameScreen implements GuiScreen {
                 if (block instanceof RobotEnemyBlock enemy) {
                     double enemyTop = enemy.getLocation().getY();
                     // Prüfen, ob der Spieler auf den Feind tritt
-                    boolean stomp = (y + player.getHeight() <= enemyTop + 6) && dy > 0;
+                    boolean stomp = (y + player.getHeight() <= enemyTop + 6) && falling;
                     if (stomp) {
                         enemy.kill();
                         nextY = enemyTop - player.getHeight();
                         dy = -jumpPower * delta * 0.6; // leichten Sprung-Rebound geben
+                        this.groundBlock = null;
                     } else {
                         enemy.hitPlayer(player); // Spieler nimmt Schaden
                     }
-                    // Mit Kollisionsauflösung fortfahren, aber doppelte onCollide überspringen
                 } else {
                     block.onCollide(player);
                 }
-
-                if (block.isCollideAble()) {
-                    // Landung von oben
-                    if (y + player.getHeight() <= block.getLocation().getY()) {
-                        nextY = block.getLocation().getY() - player.getHeight();
-                        nextX += block.getDeltaX(); // der Bewegung einer beweglichen Plattform folgen
-                        dy = 0;
-                        onGround = true;
-                    }
-                    // Links
-                    else if (x + player.getWidth() <= block.getLocation().getX()) {
-                        nextX = block.getLocation().getX() - player.getWidth();
-                        dx = 0;
-                    }
-                    // Rechts
-                    else if (x >= block.getLocation().getX() + block.getWidth()) {
-                        nextX = block.getLocation().getX() + block.getWidth();
-                        dx = 0;
-                    }
-                }
             }
         }
+        // Lücken der in diesem Schritt deaktivierten Blöcke schließen
+        blocks.compact();
         if (!pendingBlocks.isEmpty()) {
-            // Neue Projektile zur Blockliste hinzufügen
-            blocks.addAll(pendingBlocks);
+            // Neue Projektile zur Tickliste und zum Index hinzufügen
+            for (int i = 0; i < pendingBlocks.size(); i++) {
+                level.spawnBlock(pendingBlocks.get(i));
+            }
+            pendingBlocks.clear();
         }
 
         // Fensterbegrenzung
         if (nextX < 0) nextX = 0;
 
         // Herausfallen aus der Welt -> Game Over
-        double screenNextY = nextY - this.cameraY;
+        double screenNextY = nextY - this.simCameraY;
         if (screenNextY + player.getHeight() > height) {
             if (player.getHealth() > 0) {
                 player.setHealth(0);
@@ -452,7 +620,10 @@ public class GameScreen implements GuiScreen {
         player.getLocation().setY(nextY);
 
         this.updateCamera(width, height);
-        this.updateDebugBar(onGround, moveSpeed, jumpPower);
+        if (++this.debugRefreshCounter >= DEBUG_REFRESH_TICKS) {
+            this.debugRefreshCounter = 0;
+            this.updateDebugBar(onGround, moveSpeed, jumpPower);
+        }
         this.updateFolderProgress();
         this.updateHealth();
 
@@ -461,12 +632,62 @@ public class GameScreen implements GuiScreen {
             flipperHint.setVisible(true);
             flipperHintShown = true;
         }
+    }
+
+    /**
+     * Sucht unter den festen Blöcken dieses Schritts den, auf dem der Spieler nach der Landung steht.
+     *
+     * @param playerBox Die Box des Spielers nach der Kollisionsauflösung.
+     * @return Der Block unter dem Spieler, {@code null} wenn er auf einer Plattform steht.
+     */
+    private Block findGroundBlock(AABB playerBox) {
+        for (int i = 0; i < this.solidBlocks.size(); i++) {
+            Block block = this.solidBlocks.get(i);
+            AABB box = block.getCollisionBox();
+            if (Math.abs(box.getMinY() - playerBox.getMaxY()) < 1e-6
+                    && box.getMaxX() > playerBox.getMinX() && box.getMinX() < playerBox.getMaxX()) {
+                return block;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Zeichnet den aktuellen Frame. Kamera, Spieler und Blöcke werden zwischen dem Zustand vor und nach dem letzten
+     * Logikschritt interpoliert, danach werden alle Plattformen, Blöcke und der Spieler relativ zur
+     * interpolierten Kamera positioniert.
+     *
+     * @param alpha Der Anteil (0.0 bis 1.0) des nächsten Logikschritts, der bereits verstrichen ist.
+     * @see GameScreen#update(double)
+     */
+    @Override
+    public void render(double alpha) {
+        if (player == null || player.getHealth() <= 0) {
+            return;
+        }
 
-        player.update();
+        this.cameraX = this.prevCameraX + (this.simCameraX - this.prevCameraX) * alpha;
+        this.cameraY = this.prevCameraY + (this.simCameraY - this.prevCameraY) * alpha;
+
+        for (Platform platform : Game.getInstance().getCurrentLevel().getPlatforms()) {
+            platform.update(this);
+        }
+        ActiveSet<Block> blocks = Game.getInstance().getCurrentLevel().getActiveBlocks();
+        for (int i = 0; i < blocks.size(); i++) {
+            Block block = blocks.get(i);
+            if (block != null) {
+                block.render(this.cameraX, this.cameraY, alpha);
+            }
+        }
+
+        double playerX = this.prevPlayerX + (player.getLocation().getX() - this.prevPlayerX) * alpha;
+        double playerY = this.prevPlayerY + (player.getLocation().getY() - this.prevPlayerY) * alpha;
+        player.render(playerX, playerY);
     }
 
     /**
-     * Aktualisiert die Position des Kamera-Viewports, um dem Spieler mit einem sanften Scroll-Effekt zu folgen.
+     * Aktualisiert die Kameraposition der Simulation, um dem Spieler mit einem sanften Scroll-Effekt zu folgen.
+     * Da sie einmal pro Logikschritt läuft, folgt die Kamera unabhängig von der Bildrate gleich schnell.
      *
      * <p>
      * Diese Methode implementiert eine "Todeszonen"-Logik: Die Kamera beginnt sich erst zu bewegen, wenn die
@@ -482,11 +703,11 @@ public class GameScreen implements GuiScreen {
      * @see EntityPlayer#isNoClipEnabled()
      */
     private void updateCamera(double width, double height) {
-        double playerScreenX = player.getLocation().getX() - this.cameraX;
-        double playerScreenY = player.getLocation().getY() - this.cameraY;
+        double playerScreenX = player.getLocation().getX() - this.simCameraX;
+        double playerScreenY = player.getLocation().getY() - this.simCameraY;
 
-        double targetCamX = this.cameraX;
-        double targetCamY = this.cameraY;
+        double targetCamX = this.simCameraX;
+        double targetCamY = this.simCameraY;
 
         if (playerScreenX > width - this.marginX) {
             targetCamX += playerScreenX - (width - this.marginX);
@@ -501,13 +722,13 @@ public class GameScreen implements GuiScreen {
         }
 
         // sanftes Folgen (definiert durch cameraSmooth)
-        this.cameraX += (targetCamX - this.cameraX) * this.cameraSmooth;
-        this.cameraY += (targetCamY - this.cameraY) * this.cameraSmooth;
+        this.simCameraX += (targetCamX - this.simCameraX) * this.cameraSmooth;
+        this.simCameraY += (targetCamY - this.simCameraY) * this.cameraSmooth;
 
         // Kamera-Clamp nur im Normalmodus; im NoClip darf man frei fliegen
         if (!player.isNoClipEnabled()) {
-            if (this.cameraX < 0) this.cameraX = 0;
-            if (this.cameraY < 0) this.cameraY = 0;
+            if (this.simCameraX < 0) this.simCameraX = 0;
+            if (this.simCameraY < 0) this.simCameraY = 0;
         }
     }
 
@@ -564,7 +785,7 @@ public class GameScreen implements GuiScreen {
     }
 
     /**
-     * Aktualisiert die Bilder (Source-URL) der bereits erstellten ImageView-Objekte
+     * Aktualisiert die Bilder der bereits erstellten ImageView-Objekte
      * basierend auf dem aktuellen Gesundheitswert des Spielers.
      */
     private void updateHealth() {
@@ -577,17 +798,20 @@ public class GameScreen implements GuiScreen {
             }
 
             ImageView heart = this.heartImageViews.get(i);
-            String imagePath;
+            Image image;
 
             if (lives >= i + 1) {
-                imagePath = "/assets/hud/heart_full.png";
+                image = HEART_FULL;
             } else if (lives > i && lives < i + 1) {
-                imagePath = "/assets/hud/heart_half.png";
+                image = HEART_HALF;
             } else {
-                imagePath = "/assets/hud/heart_empty.png";
+                image = HEART_EMPTY;
             }
 
-            heart.setImage(new Image(imagePath));
+            // nur bei Änderung setzen, sonst löst jeder Schritt ein neues Layout aus
+            if (heart.getImage() != image) {
+                heart.setImage(image);
+            }
         }
     }
 
@@ -607,7 +831,7 @@ public class GameScreen implements GuiScreen {
         for (int i = 0; i < maxLives; i++) {
             int x = startX + i * (heartSize + padding);
 
-            ImageView heart = new ImageView("/assets/hud/heart_empty.png");
+            ImageView heart = new ImageView(HEART_EMPTY);
             heart.setFitWidth(heartSize);
             heart.setFitHeight(heartSize);
             heart.setLayoutX(x);
@@ -664,6 +888,11 @@ public class GameScreen implements GuiScreen {
      */
     private void updateDebugBar(boolean onGround, double moveSpeed, double jumpPower) {
         String line1 = "FPS: " + (int) screenManager.getCurrentFps()
+                + " | TPS: " + (int) Math.round(screenManager.getCurrentTps())
+                + " | Hz: " + (int) Math.round(screenManager.getFrameScheduler().getRefreshRate())
+                + " | Dropped frames: " + screenManager.getFrameScheduler().getDroppedFrames()
+                + " | Coalesced: " + screenManager.getFrameScheduler().getCoalescedFrames()
+                + " | Dropped steps: " + screenManager.getDroppedSteps()
                 + " | onGround: " + onGround
                 + " | moveSpeed: " + moveSpeed
                 + " | jumpPower: " + jumpPower
@@ -674,6 +903,10 @@ public class GameScreen implements GuiScreen {
         String line3 = "HP: " + (int) Math.round(player.getHealth() / player.getMaxHealth() * 100.0)
                 + " | NoClip: " + player.isNoClipEnabled()
                 + " | God: " + player.isGodModeEnabled();
+        if (EventMetrics.isEnabled()) {
+            // Zweite Zeile mit dem teuersten Event-Handler (F4)
+            line1 += "\n" + EventMetrics.summary();
+        }
         this.debugLbl.setText(line1);
     }
 
@@ -694,10 +927,16 @@ public class GameScreen implements GuiScreen {
      * @return Die Anzahl der {@code FolderBlock}-Instanzen, die derzeit aktiv sind.
      */
     private int countActiveFolders() {
-        return (int) Game.getInstance().getCurrentLevel().getBlocks().stream()
-                .filter(block -> block instanceof de.cyzetlc.hsbi.game.gui.block.impl.FolderBlock)
-                .filter(de.cyzetlc.hsbi.game.gui.block.Block::isActive)
-                .count();
+        // einfache Schleife statt Stream, läuft in jedem Logikschritt
+        List<Block> blocks = Game.getInstance().getCurrentLevel().getBlocks();
+        int active = 0;
+        for (int i = 0; i < blocks.size(); i++) {
+            Block block = blocks.get(i);
+            if (block instanceof de.cyzetlc.hsbi.game.gui.block.impl.FolderBlock && block.isActive()) {
+                active++;
+            }
+        }
+        return active;
     }
 
     /**
@@ -712,7 +951,10 @@ public class GameScreen implements GuiScreen {
         }
         int active = countActiveFolders();
         int collected = Math.max(0, this.totalFolderCount - active);
-        this.filesProgressLbl.setText("Files: " + collected + "/" + this.totalFolderCount);
+        if (collected != this.shownCollectedFolders) {
+            this.shownCollectedFolders = collected;
+            this.filesProgressLbl.setText("Files: " + collected + "/" + this.totalFolderCount);
+        }
     }
 
     /**
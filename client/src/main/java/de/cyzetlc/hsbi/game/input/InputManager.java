@@ -50,6 +50,7 @@ public class InputManager {
      * @param scene Die Haupt-Scene des Spiels, auf der die Eingabe-Listener registriert werden.
      */
     public void register(Scene scene) {
+        // Eine einzige Event-Instanz für alle Tastenereignisse (keine Allokation pro Tastendruck)
         KeyInputEvent keyInputEvent = new KeyInputEvent();
 
         scene.setOnKeyPressed(event -> {
@@ -4,7 +4,10 @@ import de.cyzetlc.hsbi.game.gui.Platform;
 import de.cyzetlc.hsbi.game.gui.ScreenManager;
 import de.cyzetlc.hsbi.game.gui.block.Block;
 import de.cyzetlc.hsbi.game.gui.block.impl.LavaBlock;
+import de.cyzetlc.hsbi.game.world.AABB;
+import de.cyzetlc.hsbi.game.world.ActiveSet;
 import de.cyzetlc.hsbi.game.world.Location;
+import de.cyzetlc.hsbi.game.world.SpatialGrid;
 import javafx.scene.layout.Pane;
 import lombok.Getter;
 
@@ -38,10 +41,28 @@ public abstract class Level {
     protected final List<Platform> platforms;
 
     /**
-     * Liste der interaktiven Blöcke im Level (z. B. Lava, Hindernisse).
+     * Liste der interaktiven Blöcke im Level (z. B. Lava, Hindernisse). Enthält alle vom Level platzierten Blöcke,
+     * auch bereits deaktivierte (z. B. eingesammelte Ordner), aber keine zur Laufzeit erzeugten Projektile.
      */
     protected final List<Block> blocks;
 
+    /**
+     * Die Tickliste: alle aktiven Blöcke, die in jedem Logikschritt aktualisiert und gezeichnet werden. Deaktivierte
+     * Blöcke werden über {@link #unlinkBlock(Block)} ausgehängt, die Kosten pro Tick hängen so nur von den lebenden
+     * Blöcken ab.
+     */
+    private final ActiveSet<Block> activeBlocks;
+
+    /**
+     * Räumlicher Index der Plattformen, damit Kollisionsabfragen nur die Plattformen in der Nähe prüfen.
+     */
+    private final SpatialGrid<Platform> platformGrid;
+
+    /**
+     * Räumlicher Index der Blöcke. Bewegliche Blöcke werden nach jeder Bewegung über {@link #reindexBlock(Block)} nachgeführt.
+     */
+    private final SpatialGrid<Block> blockGrid;
+
     /**
      * Der Zeitpunkt (in Millisekunden), zu dem das Level gestartet wurde.
      */
@@ -63,6 +84,9 @@ public abstract class Level {
 
         this.platforms = new ArrayList<>();
         this.blocks =  new ArrayList<>();
+        this.platformGrid = new SpatialGrid<>();
+        this.blockGrid = new SpatialGrid<>();
+        this.activeBlocks = new ActiveSet<>();
         this.levelStarted = System.currentTimeMillis();
     }
 
@@ -86,6 +110,95 @@ public abstract class Level {
      */
     public abstract void update();
 
+    /**
+     * Entfernt alle Plattformen und Blöcke aus dem Level und gibt die Blöcke im {@code EntityStore} frei.
+     * Wird vor dem erneuten Zeichnen des Levels und beim Wechsel zu einem anderen Level aufgerufen.
+     */
+    public void clearWorld() {
+        for (Block block : this.blocks) {
+            block.release();
+        }
+        this.activeBlocks.compact();
+        for (int i = 0; i < this.activeBlocks.size(); i++) {
+            // Sprites freigeben, Projektile gehen zurück in ihren Pool
+            this.activeBlocks.get(i).retire();
+        }
+        this.activeBlocks.clear();
+        this.blocks.clear();
+        this.platforms.clear();
+        this.platformGrid.clear();
+        this.blockGrid.clear();
+    }
+
+    /**
+     * Baut die räumlichen Indizes aller Plattformen und Blöcke und die Tickliste neu auf.
+     * Muss nach {@link #draw(double, double, Pane)} aufgerufen werden, da erst dann die Größen der Sprites feststehen.
+     */
+    public void indexWorld() {
+        this.platformGrid.clear();
+        for (Platform platform : this.platforms) {
+            this.platformGrid.insert(platform, platform.getX(), platform.getY(), platform.getWidth(), platform.getHeight());
+        }
+
+        this.blockGrid.clear();
+        this.activeBlocks.clear();
+        for (Block block : this.blocks) {
+            if (block.isActive()) {
+                this.activeBlocks.add(block);
+                this.reindexBlock(block);
+            }
+        }
+    }
+
+    /**
+     * Fügt dem Level während des Spiels einen Block hinzu (z. B. ein Projektil) und nimmt ihn in die Tickliste und den
+     * räumlichen Index auf. Der Block landet nicht in {@link #blocks}; sobald er deaktiviert wird, ist er vollständig
+     * aus dem Level verschwunden.
+     *
+     * @param block Der neue, bereits gezeichnete Block.
+     */
+    public void spawnBlock(Block block) {
+        this.activeBlocks.add(block);
+        this.reindexBlock(block);
+    }
+
+    /**
+     * Hängt einen deaktivierten Block aus der Tickliste und dem räumlichen Index aus. Wird von
+     * {@link Block#setActive(boolean)} aufgerufen, bevor der Block über {@link Block#retire()} freigegeben wird.
+     * <p>
+     * Der Platz in der Tickliste wird erst beim nächsten {@code compact()} wiederverwendet, der Aufruf ist daher auch
+     * während einer Schleife über {@link #getActiveBlocks()} erlaubt.
+     *
+     * @param block Der deaktivierte Block.
+     */
+    public void unlinkBlock(Block block) {
+        this.activeBlocks.remove(block);
+        this.blockGrid.remove(block);
+    }
+
+    /**
+     * Führt den räumlichen Index eines Blocks nach, nachdem er sich bewegt oder seine Größe geändert hat.
+     * Bleibt der Block in denselben Zellen, ist der Aufruf sehr günstig.
+     *
+     * @param block Der Block.
+     */
+    public void reindexBlock(Block block) {
+        Location location = block.getLocation();
+        this.blockGrid.update(block, location.getX(), location.getY(), block.getWidth(), block.getHeight());
+    }
+
+    /**
+     * Führt den räumlichen Index eines Blocks nach und nimmt dabei den ganzen Weg auf, den er im letzten Schritt
+     * zurückgelegt hat. So findet eine Abfrage auch schnelle Projektile, die sich seit dem letzten Schritt weit bewegt haben.
+     *
+     * @param block Der Block.
+     * @param delta Die Länge des letzten Schritts in Sekunden.
+     */
+    public void reindexBlock(Block block, double delta) {
+        AABB path = block.getSweptCollisionBox(delta);
+        this.blockGrid.update(block, path.getMinX(), path.getMinY(), path.getWidth(), path.getHeight());
+    }
+
     /**
      * Fügt einen Lava-Block (Block) in jede horizontale Lücke zwischen aufeinanderfolgenden Plattformen ein.
      * Es wird davon ausgegangen, dass 'this.platforms' eine Liste von Platform-Objekten und
@@ -95,8 +95,8 @@ public class TutorialLevel extends Level {
     public void onFinish() {
         super.onFinish();
         // Speichere, dass das Tutorial abgeschlossen wurde
-        Game.getInstance().getConfig().getObject().put("tutorialFinished", true);
-        Game.getInstance().getConfig().save();
+        Game.getInstance().getConfig().set("tutorialFinished", true);
+        Game.getInstance().getConfig().saveLater();
     }
 
     /**
@@ -2,6 +2,7 @@ package de.cyzetlc.hsbi.game.listener;
 
 import de.cyzetlc.hsbi.game.Game;
 import de.cyzetlc.hsbi.game.event.EventHandler;
+import de.cyzetlc.hsbi.game.event.EventMetrics;
 import de.cyzetlc.hsbi.game.events.input.InputType;
 import de.cyzetlc.hsbi.game.events.input.KeyInputEvent;
 import de.cyzetlc.hsbi.game.gui.GuiScreen;
@@ -16,7 +17,8 @@ import javafx.scene.input.KeyCode;
  * <p>
  * Er implementiert systemweite Tastenbindungen, insbesondere für die {@code ESCAPE}-Taste,
  * um das Einstellungsmenü aufzurufen und zu navigieren, sowie für {@code F1} zur Steuerung
- * von Ingame-Elementen wie Tooltips.
+ * von Ingame-Elementen wie Tooltips. {@code F4} schaltet die Event-Metriken um und {@code F5}
+ * schreibt den aktuellen Metrik-Report ins Log.
  *
  *
  * @author Tom Coombs
@@ -64,6 +66,12 @@ public class KeyListener {
                 if (screenManager.getCurrentScreen() instanceof GameScreen gameScreen) {
                     gameScreen.setShowTooltips(!gameScreen.isShowTooltips());
                 }
+            } else if (e.getKeyCode() == KeyCode.F4) {
+                // Event-Metriken zur Laufzeit an-/ausschalten (im ausgeschalteten Zustand nahezu kostenlos)
+                EventMetrics.toggle();
+            } else if (e.getKeyCode() == KeyCode.F5) {
+                // Dump-Befehl: kompletter Metrik-Report ins Log
+                Game.getLogger().info("\n{}", EventMetrics.dump());
             }
         }
     }
@@ -21,7 +21,7 @@ public class PacketListener {
             DataOutputStream dos = new DataOutputStream(e.getSocket().getOutputStream());
 
             if (packet instanceof UserMessagePacket messagePacket) {
-                e.setCancelled(((EventCancelable)new ReceiveMessageEvent(messagePacket, e.getSocket()).call()).isCancelled());
+                e.setCancelled(((EventCancelable)ReceiveMessageEvent.obtain(messagePacket, e.getSocket()).call()).isCancelled());
             } else if (packet instanceof JoinCommunityPacket joinCommunityPacket) {
                // Server.MultiClientHandler.getClientLogger().info(clientLoginPacket.getClient().toString());
                 Game.getLogger().info(joinCommunityPacket.getUuid() + " connected to CommunityServer!");
@@ -5,6 +5,7 @@ import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 
 import java.net.URL;
+import java.util.ArrayDeque;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -31,6 +32,16 @@ public class ImageAssets {
      */
     private static final Map<String, Image> cache = new HashMap<>();
 
+    /**
+     * Die maximale Anzahl an Sprites, die {@link #recycleBlockImage(ImageView)} zur Wiederverwendung aufhebt.
+     */
+    private static final int SPRITE_POOL_LIMIT = 512;
+
+    /**
+     * Freigegebene Block-Sprites, die {@link #getBlockImage(Material)} wiederverwendet, statt neue anzulegen.
+     */
+    private static final ArrayDeque<ImageView> spritePool = new ArrayDeque<>();
+
     /**
      * Ruft eine Bildressource basierend auf ihrem Pfad ab.
      * <p>
@@ -83,10 +94,11 @@ public class ImageAssets {
      * <p>
      * Ist das Bild noch nicht im Block-Cache, versucht die Methode, es über den Texturpfad des Materials zu laden
      * und cached es, bevor der {@code ImageView} erstellt wird. Gibt einen leeren
-     * {@code ImageView} zurück, falls kein Bild gefunden werden kann.
+     * {@code ImageView} zurück, falls kein Bild gefunden werden kann. Liegt ein über
+     * {@link #recycleBlockImage(ImageView)} freigegebener Sprite bereit, wird dieser wiederverwendet.
      *
      * @param material Das {@code Material}, dessen Textur angefordert wird.
-     * @return Ein neues {@code ImageView}, das die Textur des Materials enthält.
+     * @return Ein {@code ImageView}, das die Textur des Materials enthält.
      */
     public static ImageView getBlockImage(Material material) {
         Image image = cachedBlockImages.get(material);
@@ -95,10 +107,44 @@ public class ImageAssets {
             image = getImageResource(material.texturePath);
             cachedBlockImages.put(material, image);
         }
+        ImageView recycled = spritePool.poll();
+        if (recycled != null) {
+            recycled.setImage(image);
+            return recycled;
+        }
         // Gib entweder das ImageView mit dem Bild oder ein leeres ImageView zurück
         return image == null ? new ImageView() : new ImageView(image);
     }
 
+    /**
+     * Gibt einen Block-Sprite zur Wiederverwendung frei. Der Sprite wird auf den Zustand eines neuen
+     * {@code ImageView} zurückgesetzt und von {@link #getBlockImage(Material)} erneut ausgegeben.
+     * <p>
+     * Der Sprite muss bereits aus dem Szenengraphen entfernt sein und darf vom Aufrufer danach nicht mehr verwendet
+     * werden. Ist der Pool voll, wird der Sprite verworfen.
+     *
+     * @param sprite Der freigegebene Sprite.
+     */
+    public static void recycleBlockImage(ImageView sprite) {
+        if (sprite == null || sprite.getParent() != null || spritePool.size() >= SPRITE_POOL_LIMIT) {
+            return;
+        }
+        sprite.setImage(null);
+        sprite.setViewport(null);
+        sprite.setFitWidth(0);
+        sprite.setFitHeight(0);
+        sprite.setPreserveRatio(false);
+        sprite.setX(0);
+        sprite.setY(0);
+        sprite.setScaleX(1);
+        sprite.setScaleY(1);
+        sprite.setRotate(0);
+        sprite.setOpacity(1);
+        sprite.setEffect(null);
+        sprite.setVisible(true);
+        spritePool.push(sprite);
+    }
+
     /**
      * Lädt ein Bild über den Classpath-Ressourcenpfad.
      * <p>
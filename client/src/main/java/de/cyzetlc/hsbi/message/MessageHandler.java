@@ -47,8 +47,8 @@ public class MessageHandler {
     public void applyLanguage(String languageKey) {
         if (this.languageKeys.contains(languageKey)) {
             this.currentLanguageKey = languageKey;
-            Game.getInstance().getConfig().getObject().put("language", languageKey);
-            Game.getInstance().getConfig().save();
+            Game.getInstance().getConfig().set("language", languageKey);
+            Game.getInstance().getConfig().saveLater();
 
             Game.getInstance().setMainMenuScreen(new MainMenuScreen(Game.getInstance().getScreenManager()));
             Game.getInstance().setSettingsScreen(new SettingsScreen(Game.getInstance().getScreenManager()));
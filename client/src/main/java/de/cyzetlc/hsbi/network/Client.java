@@ -87,7 +87,7 @@ public class Client {
                     Packet packet = SerializationUtils.deserialize(actualReceivedData, Packet.class);
 
                     // Paket über das Event-System verteilen
-                    if (((EventCancelable) new ReceivePacketEvent(packet, socket).call()).isCancelled()) {
+                    if (((EventCancelable) ReceivePacketEvent.obtain(packet, socket).call()).isCancelled()) {
                         break;
                     }
 
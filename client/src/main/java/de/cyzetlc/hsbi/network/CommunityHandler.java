@@ -18,10 +18,13 @@ public class CommunityHandler {
     public static void addPlayer(EntityPlayer entityPlayer) {
         players.add(entityPlayer);
 
-        if (Game.getInstance().getScreenManager().getCurrentScreen() instanceof GameScreen
-                && Game.getInstance().getCurrentLevel() instanceof CommunityLevel) {
-            ((CommunityScreen) Game.getInstance().getScreenManager().getCurrentScreen()).addPlayer(entityPlayer);
-        }
+        // wird von den Netzwerk-Listenern aufgerufen, die Szene darf nur der JavaFX Thread ändern
+        Game.getInstance().getScreenManager().getFrameScheduler().runLater(() -> {
+            if (Game.getInstance().getScreenManager().getCurrentScreen() instanceof GameScreen
+                    && Game.getInstance().getCurrentLevel() instanceof CommunityLevel) {
+                ((CommunityScreen) Game.getInstance().getScreenManager().getCurrentScreen()).addPlayer(entityPlayer);
+            }
+        });
     }
 
     public static void updatePlayerData(ClientDataPacket dataPacket) {
@@ -30,7 +30,7 @@ public class Player extends Entity implements Serializable {
             return;
         }
         if (health < this.getHealth()) {
-            new PlayerDamageEvent(this, this.getHealth()-health, DamageCause.ITEM).call();
+            PlayerDamageEvent.obtain(this, this.getHealth()-health, DamageCause.ITEM).call();
         }
         super.setHealth(health);
     }
@@ -6,20 +6,56 @@ import org.slf4j.LoggerFactory;
 import java.util.List;
 
 public class Event {
-    private final Logger logger = LoggerFactory.getLogger(Event.class.getName());
+    private static final Logger logger = LoggerFactory.getLogger(Event.class.getName());
+
+    /**
+     * Whether this instance is currently being dispatched, used by the {@link EventPool} to detect nested dispatches.
+     */
+    boolean dispatching = false;
 
     public Event call() {
         final List<EventData> dataList = EventManager.get(this.getClass());
 
         if (dataList != null) {
-            for (EventData data : dataList) {
-                try {
-                    data.target.invoke(data.source, this);
-                } catch (Exception e) {
-                    logger.error(e.getMessage());
-                }
+            this.dispatching = true;
+            try {
+                this.dispatch(dataList);
+            } finally {
+                this.dispatching = false;
             }
         }
         return this;
     }
+
+    /**
+     * Resets the state of a pooled instance before it is handed out again by {@link EventPool#acquire()}.
+     */
+    protected void recycle() { }
+
+    private void dispatch(List<EventData> dataList) {
+        // Read the flag once per dispatch, so toggling it mid-dispatch cannot produce half-recorded samples
+        final boolean timed = EventMetrics.isEnabled();
+        final long dispatchStart = timed ? System.nanoTime() : 0L;
+        boolean anyFailed = false;
+
+        for (EventData data : dataList) {
+            final long start = timed ? System.nanoTime() : 0L;
+            boolean failed = false;
+            try {
+                data.target.invoke(data.source, this);
+            } catch (Exception e) {
+                failed = true;
+                logger.error(e.getMessage());
+            }
+
+            if (timed) {
+                EventMetrics.recordHandler(data, this, System.nanoTime() - start, failed);
+                anyFailed |= failed;
+            }
+        }
+
+        if (timed) {
+            EventMetrics.recordEvent(this.getClass(), System.nanoTime() - dispatchStart, anyFailed);
+        }
+    }
 }
@@ -6,4 +6,9 @@ import lombok.Setter;
 public class EventCancelable extends Event {
     @Getter @Setter
     private boolean cancelled = false;
+
+    @Override
+    protected void recycle() {
+        this.cancelled = false;
+    }
 }
@@ -111,6 +111,7 @@ public class EventManager {
             for (final EventData methodData : REGISTRY_MAP.get(clazz)) {
                 if (methodData.source.equals(o)) {
                     REGISTRY_MAP.get(clazz).remove(methodData);
+                    EventMetrics.forget(methodData);
                 }
             }
         }
@@ -127,7 +128,7 @@ public class EventManager {
         for (ArrayList<EventData> flexableArray : REGISTRY_MAP.values()) {
             for (int i = flexableArray.size() - 1; i >= 0; i--) {
                 if (flexableArray.get(i).source.equals(o)) {
-                    flexableArray.remove(i);
+                    EventMetrics.forget(flexableArray.remove(i));
                 }
             }
         }
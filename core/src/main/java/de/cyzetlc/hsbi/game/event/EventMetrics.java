@@ -0,0 +1,219 @@
+package de.cyzetlc.hsbi.game.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code EventMetrics} class optionally records dispatch statistics for every event type and every registered
+ * handler method of the {@link EventManager}.
+ * <p>
+ * Recording is disabled by default. While disabled, {@link Event#call()} only pays for a single volatile read per
+ * dispatch. Once enabled, invocation counts, cumulative/max latency, a latency histogram and the number of thrown
+ * exceptions are collected, and handlers exceeding the slow-handler threshold are logged with their listener class and
+ * method name.
+ *
+ * @see EventStats
+ * @see EventManager
+ *
+ * @author Tom Coombs
+ */
+public class EventMetrics {
+    private static final Logger logger = LoggerFactory.getLogger(EventMetrics.class.getName());
+
+    /**
+     * Minimum time between two slow-handler warnings for the same handler, so a handler that is slow on every frame
+     * does not flood the log.
+     */
+    private static final long WARN_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final Map<Class<? extends Event>, EventStats> EVENT_STATS = new ConcurrentHashMap<>();
+
+    private static final Map<EventData, EventStats> HANDLER_STATS = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled = false;
+
+    private static volatile long slowHandlerThresholdNanos = TimeUnit.MILLISECONDS.toNanos(4);
+
+    /**
+     * The function checks whether metrics are currently being recorded.
+     *
+     * @return {@code true} if recording is enabled.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * The function enables or disables the recording at runtime.
+     *
+     * @param enabled The new state.
+     */
+    public static void setEnabled(boolean enabled) {
+        EventMetrics.enabled = enabled;
+        logger.info("Event metrics {}", enabled ? "enabled" : "disabled");
+    }
+
+    /**
+     * The function toggles the recording state.
+     *
+     * @return The new state.
+     */
+    public static boolean toggle() {
+        setEnabled(!enabled);
+        return enabled;
+    }
+
+    /**
+     * The function sets the latency above which a handler invocation is reported as slow.
+     *
+     * @param threshold The threshold value.
+     * @param unit The unit of the threshold value.
+     */
+    public static void setSlowHandlerThreshold(long threshold, TimeUnit unit) {
+        slowHandlerThresholdNanos = unit.toNanos(threshold);
+    }
+
+    /**
+     * The function records a single handler invocation and logs a warning if it exceeded the slow-handler threshold.
+     *
+     * @param data The handler that was invoked.
+     * @param event The dispatched event.
+     * @param nanos The time the handler took, in nanoseconds.
+     * @param failed Whether the handler threw an exception.
+     */
+    static void recordHandler(EventData data, Event event, long nanos, boolean failed) {
+        EventStats stats = HANDLER_STATS.computeIfAbsent(data, key -> new EventStats());
+        stats.record(nanos, failed);
+
+        if (nanos > slowHandlerThresholdNanos) {
+            long now = System.nanoTime();
+            if (now - stats.lastWarnNanos > WARN_INTERVAL_NANOS) {
+                stats.lastWarnNanos = now;
+                logger.warn("Slow event handler {}#{} took {} ms for {}",
+                        data.source.getClass().getSimpleName(), data.target.getName(),
+                        String.format("%.2f", nanos / 1_000_000.0), event.getClass().getSimpleName());
+            }
+        }
+    }
+
+    /**
+     * The function records a complete dispatch of an event over all of its handlers.
+     *
+     * @param clazz The class of the dispatched event.
+     * @param nanos The time the whole dispatch took, in nanoseconds.
+     * @param failed Whether at least one handler threw an exception.
+     */
+    static void recordEvent(Class<? extends Event> clazz, long nanos, boolean failed) {
+        EVENT_STATS.computeIfAbsent(clazz, key -> new EventStats()).record(nanos, failed);
+    }
+
+    /**
+     * The function drops the statistics of a handler that was unregistered.
+     *
+     * @param data The handler that was removed from the registry.
+     */
+    static void forget(EventData data) {
+        HANDLER_STATS.remove(data);
+    }
+
+    /**
+     * The function returns the statistics of a single event type.
+     *
+     * @param clazz The event class.
+     * @return The statistics, or {@code null} if the event was never recorded.
+     */
+    public static EventStats getEventStats(Class<? extends Event> clazz) {
+        return EVENT_STATS.get(clazz);
+    }
+
+    /**
+     * The function clears all recorded statistics.
+     */
+    public static void reset() {
+        EVENT_STATS.values().forEach(EventStats::reset);
+        HANDLER_STATS.values().forEach(EventStats::reset);
+    }
+
+    /**
+     * The function builds a short, single line summary for the debug overlay, containing the handler with the highest
+     * cumulative time.
+     *
+     * @return The summary line.
+     */
+    public static String summary() {
+        if (!enabled) {
+            return "Events: off";
+        }
+
+        long dispatches = 0;
+        for (EventStats stats : EVENT_STATS.values()) {
+            dispatches += stats.getInvocations();
+        }
+
+        Map.Entry<EventData, EventStats> hottest = null;
+        for (Map.Entry<EventData, EventStats> entry : HANDLER_STATS.entrySet()) {
+            if (hottest == null || entry.getValue().getTotalNanos() > hottest.getValue().getTotalNanos()) {
+                hottest = entry;
+            }
+        }
+
+        if (hottest == null) {
+            return "Events: " + dispatches;
+        }
+        return "Events: " + dispatches
+                + " | hottest: " + describe(hottest.getKey())
+                + " (avg " + formatMillis(hottest.getValue().getMeanNanos())
+                + ", max " + formatMillis(hottest.getValue().getMaxNanos()) + ")";
+    }
+
+    /**
+     * The function builds a full report of all recorded event types and handlers, ordered by cumulative time.
+     *
+     * @return The multi-line report.
+     */
+    public static String dump() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("Event metrics (").append(enabled ? "enabled" : "disabled").append(")\n");
+
+        List<Map.Entry<Class<? extends Event>, EventStats>> events = new ArrayList<>(EVENT_STATS.entrySet());
+        events.sort(Comparator.comparingLong((Map.Entry<Class<? extends Event>, EventStats> e) -> e.getValue().getTotalNanos()).reversed());
+        builder.append("Events:\n");
+        for (Map.Entry<Class<? extends Event>, EventStats> entry : events) {
+            appendLine(builder, entry.getKey().getSimpleName(), entry.getValue());
+        }
+
+        List<Map.Entry<EventData, EventStats>> handlers = new ArrayList<>(HANDLER_STATS.entrySet());
+        handlers.sort(Comparator.comparingLong((Map.Entry<EventData, EventStats> e) -> e.getValue().getTotalNanos()).reversed());
+        builder.append("Handlers:\n");
+        for (Map.Entry<EventData, EventStats> entry : handlers) {
+            appendLine(builder, describe(entry.getKey()), entry.getValue());
+        }
+        return builder.toString();
+    }
+
+    private static void appendLine(StringBuilder builder, String name, EventStats stats) {
+        builder.append("- ").append(name)
+                .append(": calls=").append(stats.getInvocations())
+                .append(", total=").append(formatMillis(stats.getTotalNanos()))
+                .append(", avg=").append(formatMillis(stats.getMeanNanos()))
+                .append(", p99=").append(formatMillis(stats.getPercentileNanos(99.0)))
+                .append(", max=").append(formatMillis(stats.getMaxNanos()))
+                .append(", errors=").append(stats.getExceptions())
+                .append('\n');
+    }
+
+    private static String describe(EventData data) {
+        return data.source.getClass().getSimpleName() + "#" + data.target.getName();
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format("%.3fms", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,51 @@
+package de.cyzetlc.hsbi.game.event;
+
+import java.util.function.Supplier;
+
+/**
+ * The {@code EventPool} hands out reusable instances of a high-frequency event type, so that dispatching it does not
+ * allocate a new object every time.
+ * <p>
+ * Every thread owns exactly one instance per pool, which makes the pool lock-free. If the pooled instance of the current
+ * thread is still being dispatched (e.g. a handler fires the same event type again), a fresh instance is returned
+ * instead, so nested dispatches never overwrite each other.
+ * <p>
+ * Pooled events must not be stored by handlers beyond the dispatch, as their state is overwritten on the next
+ * {@link #acquire()}.
+ *
+ * @param <T> The pooled event type.
+ *
+ * @see Event
+ *
+ * @author Tom Coombs
+ */
+public class EventPool<T extends Event> {
+    private final Supplier<T> factory;
+
+    private final ThreadLocal<T> local;
+
+    /**
+     * Creates a new pool for an event type.
+     *
+     * @param factory The factory used to create the per-thread instances and the fallback instances for nested
+     * dispatches.
+     */
+    public EventPool(Supplier<T> factory) {
+        this.factory = factory;
+        this.local = ThreadLocal.withInitial(factory);
+    }
+
+    /**
+     * The function returns the instance of the calling thread, reset to its initial state.
+     *
+     * @return An event instance ready to be filled and dispatched.
+     */
+    public T acquire() {
+        T event = this.local.get();
+        if (event.dispatching) {
+            return this.factory.get();
+        }
+        event.recycle();
+        return event;
+    }
+}
@@ -0,0 +1,132 @@
+package de.cyzetlc.hsbi.game.event;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code EventStats} class holds the dispatch statistics for a single event type or a single handler method.
+ * <p>
+ * Latencies are recorded into a log2-bucketed histogram (similar to HdrHistogram with one significant bit), which keeps
+ * recording lock-free and constant in memory while still allowing rough percentile estimates.
+ *
+ * @see EventMetrics
+ *
+ * @author Tom Coombs
+ */
+public class EventStats {
+    /**
+     * Number of histogram buckets, bucket {@code i} holds all samples in the range {@code [2^i, 2^(i+1))} nanoseconds.
+     */
+    private static final int BUCKET_COUNT = 64;
+
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder exceptions = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    /**
+     * Timestamp (in nanoseconds) of the last slow-handler warning, used to rate-limit the log output.
+     */
+    volatile long lastWarnNanos = 0L;
+
+    /**
+     * The function records a single invocation with the given latency.
+     *
+     * @param nanos The time the invocation took, in nanoseconds.
+     * @param failed Whether the invocation threw an exception.
+     */
+    void record(long nanos, boolean failed) {
+        this.invocations.increment();
+        this.totalNanos.add(nanos);
+        if (failed) {
+            this.exceptions.increment();
+        }
+
+        long max = this.maxNanos.get();
+        while (nanos > max && !this.maxNanos.compareAndSet(max, nanos)) {
+            max = this.maxNanos.get();
+        }
+
+        this.buckets.incrementAndGet(bucketOf(nanos));
+    }
+
+    /**
+     * The function resets all counters of this instance.
+     */
+    void reset() {
+        this.invocations.reset();
+        this.totalNanos.reset();
+        this.exceptions.reset();
+        this.maxNanos.set(0L);
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            this.buckets.set(i, 0L);
+        }
+    }
+
+    public long getInvocations() {
+        return this.invocations.sum();
+    }
+
+    public long getTotalNanos() {
+        return this.totalNanos.sum();
+    }
+
+    public long getExceptions() {
+        return this.exceptions.sum();
+    }
+
+    public long getMaxNanos() {
+        return this.maxNanos.get();
+    }
+
+    /**
+     * The function returns the average latency of all recorded invocations.
+     *
+     * @return The mean latency in nanoseconds, or 0 if nothing was recorded yet.
+     */
+    public long getMeanNanos() {
+        long count = this.getInvocations();
+        return count == 0 ? 0 : this.getTotalNanos() / count;
+    }
+
+    /**
+     * The function estimates the given percentile from the histogram. The result is the upper bound of the bucket the
+     * percentile falls into, so it is never lower than the real value (but at most twice as high).
+     *
+     * @param percentile The requested percentile between 0 and 100 (e.g. 99.0).
+     * @return The estimated latency in nanoseconds.
+     */
+    public long getPercentileNanos(double percentile) {
+        long count = 0;
+        long[] snapshot = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = this.buckets.get(i);
+            count += snapshot[i];
+        }
+        if (count == 0) {
+            return 0;
+        }
+
+        long threshold = (long) Math.ceil(count * (Math.max(0, Math.min(100, percentile)) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= threshold && snapshot[i] > 0) {
+                return Math.min(this.getMaxNanos(), i >= 62 ? Long.MAX_VALUE : (1L << (i + 1)) - 1);
+            }
+        }
+        return this.getMaxNanos();
+    }
+
+    /**
+     * The function maps a latency to its histogram bucket.
+     *
+     * @param nanos The latency in nanoseconds.
+     * @return The index of the bucket.
+     */
+    private static int bucketOf(long nanos) {
+        return nanos <= 0 ? 0 : 63 - Long.numberOfLeadingZeros(nanos);
+    }
+}
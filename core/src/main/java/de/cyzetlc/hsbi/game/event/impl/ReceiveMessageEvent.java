@@ -1,11 +1,29 @@
 package de.cyzetlc.hsbi.game.event.impl;
 
+import de.cyzetlc.hsbi.game.event.EventPool;
 import de.cyzetlc.hsbi.game.network.packets.UserMessagePacket;
 
 import java.net.Socket;
 
 public class ReceiveMessageEvent extends ReceivePacketEvent {
+    private static final EventPool<ReceiveMessageEvent> POOL = new EventPool<>(ReceiveMessageEvent::new);
+
     public ReceiveMessageEvent(UserMessagePacket packet, Socket socket) {
         super(packet, socket);
     }
+
+    private ReceiveMessageEvent() { }
+
+    /**
+     * Returns the pooled instance of the calling thread, filled with the given message packet.
+     *
+     * @param packet The received message packet.
+     * @param socket The socket the packet was received on.
+     * @return The pooled event, ready to be dispatched with {@link #call()}.
+     */
+    public static ReceiveMessageEvent obtain(UserMessagePacket packet, Socket socket) {
+        ReceiveMessageEvent event = POOL.acquire();
+        event.init(packet, socket);
+        return event;
+    }
 }
@@ -1,6 +1,7 @@
 package de.cyzetlc.hsbi.game.event.impl;
 
 import de.cyzetlc.hsbi.game.event.EventCancelable;
+import de.cyzetlc.hsbi.game.event.EventPool;
 import de.cyzetlc.hsbi.game.network.packets.Packet;
 import lombok.Getter;
 import lombok.Setter;
@@ -9,13 +10,35 @@ import java.net.Socket;
 
 @Getter
 public class ReceivePacketEvent extends EventCancelable {
+    private static final EventPool<ReceivePacketEvent> POOL = new EventPool<>(ReceivePacketEvent::new);
+
     @Setter
     private Packet packet;
 
-    private final Socket socket;
+    private Socket socket;
 
     public ReceivePacketEvent(Packet packet, Socket socket) {
         this.packet = packet;
         this.socket = socket;
     }
+
+    protected ReceivePacketEvent() { }
+
+    /**
+     * Returns the pooled instance of the calling thread, filled with the given packet. Used by the receive loops, which
+     * fire this event for every single packet.
+     *
+     * @param packet The received packet.
+     * @param socket The socket the packet was received on.
+     * @return The pooled event, ready to be dispatched with {@link #call()}.
+     */
+    public static ReceivePacketEvent obtain(Packet packet, Socket socket) {
+        return POOL.acquire().init(packet, socket);
+    }
+
+    protected ReceivePacketEvent init(Packet packet, Socket socket) {
+        this.packet = packet;
+        this.socket = socket;
+        return this;
+    }
 }
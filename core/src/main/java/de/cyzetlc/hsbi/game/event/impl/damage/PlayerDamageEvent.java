@@ -2,10 +2,13 @@ package de.cyzetlc.hsbi.game.event.impl.damage;
 
 import de.cyzetlc.hsbi.game.entity.Player;
 import de.cyzetlc.hsbi.game.event.Event;
+import de.cyzetlc.hsbi.game.event.EventPool;
 import lombok.Getter;
 
 @Getter
 public class PlayerDamageEvent extends Event {
+    private static final EventPool<PlayerDamageEvent> POOL = new EventPool<>(PlayerDamageEvent::new);
+
     private Player player;
 
     private double damage;
@@ -15,10 +18,29 @@ public class PlayerDamageEvent extends Event {
     private double newHealth;
 
     public PlayerDamageEvent(Player player, double damage, DamageCause cause) {
+        this.init(player, damage, cause);
+    }
+
+    private PlayerDamageEvent() { }
+
+    /**
+     * Returns the pooled instance of the calling thread, filled with the given damage information.
+     *
+     * @param player The damaged player.
+     * @param damage The amount of damage.
+     * @param cause The cause of the damage.
+     * @return The pooled event, ready to be dispatched with {@link #call()}.
+     */
+    public static PlayerDamageEvent obtain(Player player, double damage, DamageCause cause) {
+        PlayerDamageEvent event = POOL.acquire();
+        event.init(player, damage, cause);
+        return event;
+    }
+
+    private void init(Player player, double damage, DamageCause cause) {
         this.player = player;
         this.damage = damage;
         this.cause = cause;
         this.newHealth = player.getHealth() - damage;
     }
 }
-
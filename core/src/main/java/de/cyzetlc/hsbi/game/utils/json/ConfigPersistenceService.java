@@ -0,0 +1,120 @@
+package de.cyzetlc.hsbi.game.utils.json;
+
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code ConfigPersistenceService} writes a {@link JsonConfig} in the background. Changes only mark the config as
+ * dirty; the first mark schedules a write after the debounce delay and all marks until then are covered by that one
+ * write. Dragging a slider that changes the config on every step thus leads to one write per delay instead of one per
+ * step, and none of them on the calling thread.
+ * <p>
+ * The writes themselves go through {@link JsonConfig#save()}, which replaces the file atomically. Pending changes are
+ * written by {@link #flush()} and {@link #close()}, which must be called on shutdown.
+ *
+ * @author Tom Coombs
+ */
+public class ConfigPersistenceService implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ConfigPersistenceService.class.getName());
+
+    public static final long DEFAULT_DELAY_MILLIS = 500;
+
+    private final JsonConfig config;
+    private final long delayMillis;
+    private final ScheduledThreadPoolExecutor executor;
+
+    /** Set while a write is scheduled, further marks are coalesced into it. */
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    @Getter
+    private final LongAdder marks = new LongAdder();
+    @Getter
+    private final LongAdder writes = new LongAdder();
+
+    public ConfigPersistenceService(JsonConfig config) {
+        this(config, DEFAULT_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param config The config to write.
+     * @param delay The debounce delay between the first change and the write.
+     * @param unit The unit of the delay.
+     */
+    public ConfigPersistenceService(JsonConfig config, long delay, TimeUnit unit) {
+        this.config = config;
+        this.delayMillis = unit.toMillis(delay);
+        this.executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "config-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // close() writes pending changes itself, a scheduled write must not hold up the shutdown
+        this.executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    /**
+     * The function marks the config as changed. If no write is pending, one is scheduled after the debounce delay.
+     */
+    public void markDirty() {
+        this.marks.increment();
+        if (!this.dirty.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            this.executor.schedule(this::writeIfDirty, this.delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // the service is closed already, so the change is written right away
+            this.writeIfDirty();
+        }
+    }
+
+    /**
+     * The function writes pending changes on the calling thread.
+     */
+    public void flush() {
+        this.writeIfDirty();
+    }
+
+    /**
+     * The function writes pending changes and stops the writer thread. A scheduled write is dropped and done on the
+     * calling thread instead, so the call only waits for a write that is running already, not for the debounce delay.
+     */
+    @Override
+    public void close() {
+        this.executor.shutdown();
+        this.flush();
+        try {
+            if (!this.executor.awaitTermination(2, TimeUnit.SECONDS)) {
+                logger.warn("Config writer did not stop in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The function builds a short report of the counters.
+     *
+     * @return The report.
+     */
+    public String getStatistics() {
+        return "Config persistence: marks=" + this.marks.sum() + ", writes=" + this.writes.sum()
+                + ", pending=" + this.dirty.get();
+    }
+
+    private void writeIfDirty() {
+        // cleared before the write, so a change during the write schedules the next one
+        if (this.dirty.getAndSet(false)) {
+            this.config.save();
+            this.writes.increment();
+        }
+    }
+}
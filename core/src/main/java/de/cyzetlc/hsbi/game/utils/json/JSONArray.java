@@ -476,6 +476,36 @@ public class JSONArray implements Iterable<Object> {
         }
     }
 
+    /**
+     * Get all values of this array as doubles.
+     *
+     * @return A new array with the values.
+     * @throws JSONException
+     *             If a value cannot be converted to a number.
+     */
+    public double[] toDoubleArray() throws JSONException {
+        double[] values = new double[this.length()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = this.getDouble(i);
+        }
+        return values;
+    }
+
+    /**
+     * Get all values of this array as longs.
+     *
+     * @return A new array with the values.
+     * @throws JSONException
+     *             If a value cannot be converted to a number.
+     */
+    public long[] toLongArray() throws JSONException {
+        long[] values = new long[this.length()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = this.getLong(i);
+        }
+        return values;
+    }
+
     /**
      * Get the string associated with an index.
      *
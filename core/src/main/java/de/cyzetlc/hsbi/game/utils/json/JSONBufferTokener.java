@@ -0,0 +1,577 @@
+package de.cyzetlc.hsbi.game.utils.json;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A {@code JSONBufferTokener} is a faster {@link JSONTokener} that works directly on a {@code char[]} holding the whole
+ * input, instead of reading char by char through a {@link java.io.BufferedReader} with mark/reset.
+ * <p>
+ * It produces the same values as {@link JSONTokener}, with these differences in how it gets there:
+ * <ul>
+ *     <li>strings without escapes are created straight from the buffer, without a {@link StringBuilder},</li>
+ *     <li>numbers are parsed from the buffer without an intermediate String,</li>
+ *     <li>numbers and arrays of only integers or only decimals that are members of a {@link JSONObject} are stored
+ *     unboxed in the object (see {@link JSONObject#getDoubleArray(String)}),</li>
+ *     <li>short strings (which includes all usual keys) are interned in a small per-tokener table, so a key that
+ *     repeats in every object of a document is only allocated once.</li>
+ * </ul>
+ * Values are of the same types as with {@link JSONObject#stringToValue(String)}: decimals are BigDecimals with the
+ * scale of the text. A decimal is only stored unboxed if {@link BigDecimal#valueOf(double)} gives that same
+ * BigDecimal back ({@code 1.5}, but not {@code 1.50} or {@code 1e5}), and it is boxed as that BigDecimal again.
+ * Use it for documents that are read completely anyway, like {@code config.json} or level files.
+ */
+public class JSONBufferTokener extends JSONTokener {
+    /** Strings up to this length are interned. */
+    private static final int MAX_INTERNED_LENGTH = 32;
+    /** Number of slots of the intern table, must be a power of two. */
+    private static final int INTERN_TABLE_SIZE = 1024;
+    /**
+     * The range in which {@link Double#toString(double)} and so {@link BigDecimal#valueOf(double)} use plain notation.
+     */
+    private static final double PLAIN_MIN = 1e-3, PLAIN_MAX = 1e7;
+    /** The powers of ten that are exact doubles. */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final char[] buffer;
+    private final int limit;
+    private final String[] internTable = new String[INTERN_TABLE_SIZE];
+
+    /** index of the next character to read. */
+    private int position;
+
+    /** The result of parseNumber: the value of an int or long, the raw bits of a double. */
+    private long numberBits;
+    /** The result of parseNumber for numbers that don't fit into a primitive. */
+    private Number bigNumber;
+    /** Collects the elements of an array of numbers. */
+    private long[] scratch = new long[16];
+
+    /**
+     * Construct a JSONBufferTokener from a char array. The array is used
+     * directly and must not be changed while tokenizing.
+     *
+     * @param buffer The source.
+     * @param offset The index of the first character.
+     * @param length The number of characters.
+     */
+    public JSONBufferTokener(char[] buffer, int offset, int length) {
+        super();
+        if (offset == 0) {
+            this.buffer = buffer;
+            this.limit = length;
+        } else {
+            this.buffer = Arrays.copyOfRange(buffer, offset, offset + length);
+            this.limit = length;
+        }
+        this.position = 0;
+    }
+
+    /**
+     * Construct a JSONBufferTokener from a string.
+     *
+     * @param s A source string.
+     */
+    public JSONBufferTokener(String s) {
+        this(s.toCharArray(), 0, s.length());
+    }
+
+    /**
+     * Construct a JSONBufferTokener from UTF-8 encoded bytes, e.g. the content
+     * of a file. The bytes are decoded into the buffer without an intermediate
+     * String.
+     *
+     * @param utf8 The source bytes.
+     * @return The tokener.
+     */
+    public static JSONBufferTokener fromUtf8(byte[] utf8) {
+        CharBuffer chars = StandardCharsets.UTF_8.decode(ByteBuffer.wrap(utf8));
+        return new JSONBufferTokener(chars.array(), chars.arrayOffset(), chars.remaining());
+    }
+
+    /**
+     * Construct a JSONBufferTokener by reading a Reader completely. The caller
+     * must close the Reader.
+     *
+     * @param reader A reader.
+     * @return The tokener.
+     * @throws JSONException If the reader fails.
+     */
+    public static JSONBufferTokener fromReader(Reader reader) throws JSONException {
+        char[] chars = new char[8192];
+        int length = 0;
+        try {
+            int read;
+            while ((read = reader.read(chars, length, chars.length - length)) != -1) {
+                length += read;
+                if (length == chars.length) {
+                    chars = Arrays.copyOf(chars, chars.length * 2);
+                }
+            }
+        } catch (IOException e) {
+            throw new JSONException(e);
+        }
+        return new JSONBufferTokener(chars, 0, length);
+    }
+
+    @Override
+    public void back() throws JSONException {
+        if (this.position <= 0) {
+            throw new JSONException("Stepping back two steps is not supported");
+        }
+        this.position--;
+    }
+
+    @Override
+    public boolean end() {
+        return this.position >= this.limit;
+    }
+
+    @Override
+    public boolean more() throws JSONException {
+        return this.position < this.limit && this.buffer[this.position] != 0;
+    }
+
+    @Override
+    public char next() throws JSONException {
+        if (this.position >= this.limit) {
+            // step behind the end, so back() after reading the end works like in JSONTokener
+            this.position = this.limit + 1;
+            return 0;
+        }
+        return this.buffer[this.position++];
+    }
+
+    @Override
+    public String next(int n) throws JSONException {
+        if (n == 0) {
+            return "";
+        }
+        if (this.position + n > this.limit) {
+            throw this.syntaxError("Substring bounds error");
+        }
+        String s = new String(this.buffer, this.position, n);
+        this.position += n;
+        return s;
+    }
+
+    @Override
+    public char nextClean() throws JSONException {
+        while (this.position < this.limit) {
+            char c = this.buffer[this.position++];
+            if (c == 0 || c > ' ') {
+                return c;
+            }
+        }
+        this.position = this.limit + 1;
+        return 0;
+    }
+
+    @Override
+    public String nextString(char quote) throws JSONException {
+        // Fast path: no escape sequence, the string is taken from the buffer as it is
+        int start = this.position;
+        for (int i = start; i < this.limit; i++) {
+            char c = this.buffer[i];
+            if (c == quote) {
+                this.position = i + 1;
+                return this.intern(start, i - start);
+            }
+            if (c == '\\' || c == '\n' || c == '\r' || c == 0) {
+                break;
+            }
+        }
+        return super.nextString(quote);
+    }
+
+    @Override
+    public Object nextValue() throws JSONException {
+        char c = this.nextClean();
+
+        switch (c) {
+        case '"':
+        case '\'':
+            return this.nextString(c);
+        case '{':
+            this.back();
+            return new JSONObject(this);
+        case '[':
+            this.back();
+            return new JSONArray(this);
+        }
+
+        // Unquoted text, ends at the same characters as in JSONTokener
+        int start = this.position - 1;
+        this.position = this.unquotedEnd(start);
+        int length = this.trimmedLength(start, this.position);
+        if (length == 0) {
+            throw this.syntaxError("Missing value");
+        }
+
+        Object value = this.parseLiteral(start, length);
+        return value != null ? value : JSONObject.stringToValue(new String(this.buffer, start, length));
+    }
+
+    @Override
+    boolean nextNumberInto(JSONObjectMap map, String key) throws JSONException {
+        int mark = this.position;
+        char c = this.nextClean();
+
+        if (c == '[') {
+            if (this.nextNumberArrayInto(map, key)) {
+                return true;
+            }
+        } else if ((c >= '0' && c <= '9') || c == '-') {
+            int start = this.position - 1;
+            int end = this.unquotedEnd(start);
+            switch (this.parseNumber(start, this.trimmedLength(start, end))) {
+            case JSONObjectMap.INT:
+                map.putInt(key, (int) this.numberBits);
+                this.position = end;
+                return true;
+            case JSONObjectMap.LONG:
+                map.putLong(key, this.numberBits);
+                this.position = end;
+                return true;
+            case JSONObjectMap.DECIMAL:
+                map.putDecimal(key, Double.longBitsToDouble(this.numberBits));
+                this.position = end;
+                return true;
+            default:
+                break;
+            }
+        }
+
+        this.position = mark;
+        return false;
+    }
+
+    /**
+     * Reads an array that only contains integers or only decimals into a
+     * long[] or double[], without a JSONArray and boxed elements.
+     *
+     * @return false if the array has other values, the position is undefined then.
+     */
+    private boolean nextNumberArrayInto(JSONObjectMap map, String key) {
+        byte arrayKind = JSONObjectMap.REF;
+        int n = 0;
+        for (;;) {
+            char c = this.nextClean();
+            if (!((c >= '0' && c <= '9') || c == '-')) {
+                return false;
+            }
+
+            int start = this.position - 1;
+            this.position = this.unquotedEnd(start);
+            byte kind = this.parseNumber(start, this.trimmedLength(start, this.position));
+            if (kind == JSONObjectMap.REF) {
+                return false;
+            }
+            kind = kind == JSONObjectMap.DECIMAL ? JSONObjectMap.DECIMAL : JSONObjectMap.LONG;
+            if (arrayKind == JSONObjectMap.REF) {
+                arrayKind = kind;
+            } else if (arrayKind != kind) {
+                return false;
+            }
+
+            if (n == this.scratch.length) {
+                this.scratch = Arrays.copyOf(this.scratch, n * 2);
+            }
+            this.scratch[n++] = this.numberBits;
+
+            c = this.nextClean();
+            if (c == ']') {
+                break;
+            } else if (c != ',') {
+                return false;
+            }
+        }
+
+        if (arrayKind == JSONObjectMap.LONG) {
+            map.putLongArray(key, Arrays.copyOf(this.scratch, n));
+        } else {
+            double[] doubles = new double[n];
+            for (int i = 0; i < n; i++) {
+                doubles[i] = Double.longBitsToDouble(this.scratch[i]);
+            }
+            map.putDoubleArray(key, doubles);
+        }
+        return true;
+    }
+
+    @Override
+    public char skipTo(char to) throws JSONException {
+        for (int i = this.position; i < this.limit; i++) {
+            if (this.buffer[i] == to) {
+                this.position = i;
+                return to;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        // The line and column are only needed for error messages, so they are counted here instead of on every char
+        int line = 1;
+        int character = 1;
+        int end = Math.min(this.position, this.limit);
+        for (int i = 0; i < end; i++) {
+            if (this.buffer[i] == '\n') {
+                line++;
+                character = 1;
+            } else {
+                character++;
+            }
+        }
+        return " at " + this.position + " [character " + character + " line " + line + "]";
+    }
+
+    /**
+     * Parses the literals true, false, null and well-formed numbers directly
+     * from the buffer.
+     *
+     * @return The value, or null if the text has to go through
+     *         {@link JSONObject#stringToValue(String)}.
+     */
+    private Object parseLiteral(int start, int length) {
+        char initial = this.buffer[start];
+
+        if (initial == 't' && this.matches(start, length, "true")) {
+            return Boolean.TRUE;
+        } else if (initial == 'f' && this.matches(start, length, "false")) {
+            return Boolean.FALSE;
+        } else if (initial == 'n' && this.matches(start, length, "null")) {
+            return JSONObject.NULL;
+        } else if ((initial >= '0' && initial <= '9') || initial == '-') {
+            switch (this.parseNumber(start, length)) {
+            case JSONObjectMap.INT:
+                return Integer.valueOf((int) this.numberBits);
+            case JSONObjectMap.LONG:
+                return Long.valueOf(this.numberBits);
+            case JSONObjectMap.DECIMAL:
+                // the scale of the text, like JSONObject.stringToValue
+                return new BigDecimal(this.buffer, start, length);
+            default:
+                return this.bigNumber;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parses a number in strict JSON notation. Integers become an int or a
+     * long like in {@link JSONObject#stringToValue(String)}. Decimals with up
+     * to 15 significant digits in plain notation are converted to a double
+     * exactly like {@link Double#parseDouble(String)} does (one correctly
+     * rounded multiplication or division), if {@link BigDecimal#valueOf(double)}
+     * turns that double back into the BigDecimal of the text. All other
+     * decimals become a BigDecimal of the text.
+     *
+     * @return The kind of the number: {@link JSONObjectMap#INT} or
+     *         {@link JSONObjectMap#LONG} with the value in numberBits,
+     *         {@link JSONObjectMap#DECIMAL} with the raw bits in numberBits, or
+     *         {@link JSONObjectMap#REF} with the number in bigNumber. bigNumber
+     *         is null for anything unusual (leading zeros, -0, hex floats,
+     *         ...), which is left to the slow path.
+     */
+    private byte parseNumber(int start, int length) {
+        this.bigNumber = null;
+        int i = start;
+        int end = start + length;
+        boolean negative = this.buffer[i] == '-';
+        if (negative) {
+            i++;
+        }
+
+        int digitsStart = i;
+        long value = 0;
+        while (i < end && this.buffer[i] >= '0' && this.buffer[i] <= '9') {
+            value = value * 10 + (this.buffer[i] - '0');
+            i++;
+        }
+        int digits = i - digitsStart;
+        if (digits == 0 || (digits > 1 && this.buffer[digitsStart] == '0')) {
+            return JSONObjectMap.REF;
+        }
+
+        if (i == end) {
+            if (digits > 18) {
+                // narrowed like in JSONObject.stringToNumber
+                BigInteger big = new BigInteger(new String(this.buffer, start, length));
+                if (big.bitLength() <= 63) {
+                    this.numberBits = big.longValue();
+                    return JSONObjectMap.LONG;
+                }
+                this.bigNumber = big;
+                return JSONObjectMap.REF;
+            }
+            if (negative) {
+                if (value == 0) {
+                    return JSONObjectMap.REF; // "-0" is a Double in JSONObject
+                }
+                value = -value;
+            }
+            this.numberBits = value;
+            return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE ? JSONObjectMap.INT : JSONObjectMap.LONG;
+        }
+
+        // Decimal notation, validated here and converted without a String
+        int significantDigits = value == 0 && digits == 1 ? 0 : digits;
+        int fractionDigits = 0;
+        boolean trailingZero = false;
+        if (this.buffer[i] == '.') {
+            i++;
+            int fractionStart = i;
+            while (i < end && this.buffer[i] >= '0' && this.buffer[i] <= '9') {
+                int digit = this.buffer[i] - '0';
+                if (significantDigits > 0 || digit != 0) {
+                    // beyond 15 digits the BigDecimal path is taken, value doesn't matter then
+                    if (significantDigits < 18) {
+                        value = value * 10 + digit;
+                    }
+                    significantDigits++;
+                }
+                i++;
+            }
+            fractionDigits = i - fractionStart;
+            if (fractionDigits == 0) {
+                return JSONObjectMap.REF;
+            }
+            trailingZero = this.buffer[i - 1] == '0';
+        }
+        int exponent = 0;
+        boolean hasExponent = i < end && (this.buffer[i] == 'e' || this.buffer[i] == 'E');
+        if (hasExponent) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (this.buffer[i] == '+' || this.buffer[i] == '-')) {
+                negativeExponent = this.buffer[i] == '-';
+                i++;
+            }
+            int exponentStart = i;
+            while (i < end && this.buffer[i] >= '0' && this.buffer[i] <= '9') {
+                if (i - exponentStart < 6) {
+                    exponent = exponent * 10 + (this.buffer[i] - '0');
+                }
+                i++;
+            }
+            if (i == exponentStart) {
+                return JSONObjectMap.REF;
+            }
+            if (negativeExponent) {
+                exponent = -exponent;
+            }
+        }
+        if (i != end) {
+            return JSONObjectMap.REF;
+        }
+
+        // BigDecimal.valueOf(double) writes one fraction digit at least and no trailing zeros beyond it
+        boolean plain = !hasExponent && fractionDigits > 0 && (!trailingZero || fractionDigits == 1);
+
+        if (significantDigits == 0) {
+            if (negative) {
+                return JSONObjectMap.REF; // "-0.0" is a Double in JSONObject
+            }
+            if (plain) {
+                this.numberBits = Double.doubleToRawLongBits(0.0);
+                return JSONObjectMap.DECIMAL;
+            }
+            this.bigNumber = new BigDecimal(this.buffer, start, length);
+            return JSONObjectMap.REF;
+        }
+
+        int scale = exponent - fractionDigits;
+        if (plain && significantDigits <= 15 && scale >= -22 && scale <= 22) {
+            // value and 10^|scale| are exact doubles, so one operation rounds correctly
+            double d = scale < 0 ? value / POWERS_OF_TEN[-scale] : value * POWERS_OF_TEN[scale];
+            // up to 15 digits survive the double, so valueOf gives the same digits back, in plain notation only here
+            if (d >= PLAIN_MIN && d < PLAIN_MAX) {
+                this.numberBits = Double.doubleToRawLongBits(negative ? -d : d);
+                return JSONObjectMap.DECIMAL;
+            }
+        }
+
+        this.bigNumber = new BigDecimal(this.buffer, start, length);
+        return JSONObjectMap.REF;
+    }
+
+    /**
+     * Returns the end of unquoted text, it ends at the same characters as in
+     * JSONTokener.
+     */
+    private int unquotedEnd(int start) {
+        int end = start;
+        while (end < this.limit) {
+            char ch = this.buffer[end];
+            if (ch < ' ' || ",:]}/\\\"[{;=#".indexOf(ch) >= 0) {
+                break;
+            }
+            end++;
+        }
+        return end;
+    }
+
+    private int trimmedLength(int start, int end) {
+        while (end > start && this.buffer[end - 1] <= ' ') {
+            end--;
+        }
+        return end - start;
+    }
+
+    private boolean matches(int start, int length, String literal) {
+        if (length != literal.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (this.buffer[start + i] != literal.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the string of the given buffer range, short strings are taken
+     * from the intern table if they were seen before.
+     */
+    private String intern(int start, int length) {
+        if (length > MAX_INTERNED_LENGTH) {
+            return new String(this.buffer, start, length);
+        }
+
+        int hash = 0;
+        for (int i = start; i < start + length; i++) {
+            hash = 31 * hash + this.buffer[i];
+        }
+        int slot = (hash ^ (hash >>> 16)) & (INTERN_TABLE_SIZE - 1);
+
+        String cached = this.internTable[slot];
+        if (cached != null && cached.length() == length && cached.hashCode() == hash) {
+            boolean equal = true;
+            for (int i = 0; i < length; i++) {
+                if (cached.charAt(i) != this.buffer[start + i]) {
+                    equal = false;
+                    break;
+                }
+            }
+            if (equal) {
+                return cached;
+            }
+        }
+
+        String created = new String(this.buffer, start, length);
+        this.internTable[slot] = created;
+        return created;
+    }
+}
@@ -129,7 +129,7 @@ public class JSONObject {
     /**
      * The map where the JSONObject's properties are kept.
      */
-    private final Map<String, Object> map;
+    private final JSONObjectMap map;
 
     /**
      * It is sometimes more convenient and less ambiguous to have a
@@ -143,13 +143,11 @@ public class JSONObject {
      * Construct an empty JSONObject.
      */
     public JSONObject() {
-        // HashMap is used on purpose to ensure that elements are unordered by 
-        // the specification.
-        // JSON tends to be a portable transfer format to allows the container 
-        // implementations to rearrange their items for a faster element 
-        // retrieval based on associative access.
-        // Therefore, an implementation mustn't rely on the order of the item.
-        this.map = new HashMap<String, Object>();
+        // The members are kept in insertion order, so a document is written in
+        // the order it was read, e.g. a config file doesn't change on save.
+        // JSON objects are still unordered by the specification, an
+        // implementation mustn't rely on the order of the items.
+        this.map = new JSONObjectMap();
     }
 
     /**
@@ -212,14 +210,17 @@ public class JSONObject {
             
             if (key != null) {
                 // Check if key exists
-                if (this.opt(key) != null) {
+                if (this.map.containsKey(key)) {
                     // key already exists
                     throw x.syntaxError("Duplicate key \"" + key + "\"");
                 }
-                // Only add value if non-null
-                Object value = x.nextValue();
-                if (value!=null) {
-                    this.put(key, value);
+                // Numbers are stored unboxed if the tokener supports it,
+                // otherwise only add value if non-null
+                if (!x.nextNumberInto(this.map, key)) {
+                    Object value = x.nextValue();
+                    if (value!=null) {
+                        this.put(key, value);
+                    }
                 }
             }
 
@@ -254,9 +255,9 @@ public class JSONObject {
      */
     public JSONObject(Map<?, ?> m) {
         if (m == null) {
-            this.map = new HashMap<String, Object>();
+            this.map = new JSONObjectMap();
         } else {
-            this.map = new HashMap<String, Object>(m.size());
+            this.map = new JSONObjectMap(m.size());
         	for (final Entry<?, ?> e : m.entrySet()) {
         	    if(e.getKey() == null) {
         	        throw new NullPointerException("Null key.");
@@ -425,7 +426,7 @@ public class JSONObject {
      * @param initialCapacity initial capacity of the internal map.
      */
     protected JSONObject(int initialCapacity){
-        this.map = new HashMap<String, Object>(initialCapacity);
+        this.map = new JSONObjectMap(initialCapacity);
     }
 
     /**
@@ -457,7 +458,8 @@ public class JSONObject {
                     value instanceof JSONArray ? new JSONArray().put(value)
                             : value);
         } else if (object instanceof JSONArray) {
-            ((JSONArray) object).put(value);
+            // put again, a packed array member is read as a copy
+            this.put(key, ((JSONArray) object).put(value));
         } else {
             this.put(key, new JSONArray().put(object).put(value));
         }
@@ -643,6 +645,10 @@ public class JSONObject {
      *             object and cannot be converted to a number.
      */
     public double getDouble(String key) throws JSONException {
+        final int i = this.find(key);
+        if (i >= 0 && this.map.isNumberAt(i)) {
+            return this.map.doubleAt(i);
+        }
         final Object object = this.get(key);
         if(object instanceof Number) {
             return ((Number)object).doubleValue();
@@ -665,6 +671,10 @@ public class JSONObject {
      *             object and cannot be converted to a number.
      */
     public float getFloat(String key) throws JSONException {
+        final int i = this.find(key);
+        if (i >= 0 && this.map.isNumberAt(i)) {
+            return (float) this.map.doubleAt(i);
+        }
         final Object object = this.get(key);
         if(object instanceof Number) {
             return ((Number)object).floatValue();
@@ -709,6 +719,10 @@ public class JSONObject {
      *             to an integer.
      */
     public int getInt(String key) throws JSONException {
+        final int i = this.find(key);
+        if (i >= 0 && this.map.isNumberAt(i)) {
+            return (int) this.map.longAt(i);
+        }
         final Object object = this.get(key);
         if(object instanceof Number) {
             return ((Number)object).intValue();
@@ -765,6 +779,10 @@ public class JSONObject {
      *             to a long.
      */
     public long getLong(String key) throws JSONException {
+        final int i = this.find(key);
+        if (i >= 0 && this.map.isNumberAt(i)) {
+            return this.map.longAt(i);
+        }
         final Object object = this.get(key);
         if(object instanceof Number) {
             return ((Number)object).longValue();
@@ -776,6 +794,63 @@ public class JSONObject {
         }
     }
 
+    /**
+     * Get the values of the array associated with a key as doubles. Arrays of
+     * numbers read by a {@link JSONBufferTokener} are stored unboxed and
+     * copied directly.
+     *
+     * @param key
+     *            A key string.
+     * @return A new array with the values.
+     * @throws JSONException
+     *             if the key is not found, if the value is not a JSONArray or
+     *             if an element cannot be converted to a number.
+     */
+    public double[] getDoubleArray(String key) throws JSONException {
+        final int i = this.find(key);
+        if (i >= 0) {
+            double[] values = this.map.toDoubleArray(i);
+            if (values != null) {
+                return values;
+            }
+        }
+        return this.getJSONArray(key).toDoubleArray();
+    }
+
+    /**
+     * Get the values of the array associated with a key as longs. Arrays of
+     * numbers read by a {@link JSONBufferTokener} are stored unboxed and
+     * copied directly.
+     *
+     * @param key
+     *            A key string.
+     * @return A new array with the values.
+     * @throws JSONException
+     *             if the key is not found, if the value is not a JSONArray or
+     *             if an element cannot be converted to a number.
+     */
+    public long[] getLongArray(String key) throws JSONException {
+        final int i = this.find(key);
+        if (i >= 0) {
+            long[] values = this.map.toLongArray(i);
+            if (values != null) {
+                return values;
+            }
+        }
+        return this.getJSONArray(key).toLongArray();
+    }
+
+    /**
+     * Find the position of a key in the map.
+     *
+     * @param key
+     *            A key string, may be null.
+     * @return The position, or -1 if the key is not in this object.
+     */
+    private int find(String key) {
+        return key == null ? -1 : this.map.find(key);
+    }
+
     /**
      * Get an array of field names from a JSONObject.
      *
@@ -1232,6 +1307,10 @@ public class JSONObject {
      * @return An object which is the value.
      */
     public double optDouble(String key, double defaultValue) {
+        final int i = this.find(key);
+        if (i >= 0 && this.map.isNumberAt(i)) {
+            return this.map.doubleAt(i);
+        }
         Number val = this.optNumber(key);
         if (val == null) {
             return defaultValue;
@@ -1268,6 +1347,10 @@ public class JSONObject {
      * @return The value.
      */
     public float optFloat(String key, float defaultValue) {
+        final int i = this.find(key);
+        if (i >= 0 && this.map.isNumberAt(i)) {
+            return (float) this.map.doubleAt(i);
+        }
         Number val = this.optNumber(key);
         if (val == null) {
             return defaultValue;
@@ -1304,6 +1387,10 @@ public class JSONObject {
      * @return An object which is the value.
      */
     public int optInt(String key, int defaultValue) {
+        final int i = this.find(key);
+        if (i >= 0 && this.map.isNumberAt(i)) {
+            return (int) this.map.longAt(i);
+        }
         final Number val = this.optNumber(key, null);
         if (val == null) {
             return defaultValue;
@@ -1362,6 +1449,10 @@ public class JSONObject {
      * @return An object which is the value.
      */
     public long optLong(String key, long defaultValue) {
+        final int i = this.find(key);
+        if (i >= 0 && this.map.isNumberAt(i)) {
+            return this.map.longAt(i);
+        }
         final Number val = this.optNumber(key, null);
         if (val == null) {
             return defaultValue;
@@ -1695,7 +1786,11 @@ public class JSONObject {
      *            If the key is <code>null</code>.
      */
     public JSONObject put(String key, double value) throws JSONException {
-        return this.put(key, Double.valueOf(value));
+        if (Double.isInfinite(value) || Double.isNaN(value)) {
+            throw new JSONException("JSON does not allow non-finite numbers.");
+        }
+        this.map.putDouble(key, value);
+        return this;
     }
     
     /**
@@ -1729,7 +1824,8 @@ public class JSONObject {
      *            If the key is <code>null</code>.
      */
     public JSONObject put(String key, int value) throws JSONException {
-        return this.put(key, Integer.valueOf(value));
+        this.map.putInt(key, value);
+        return this;
     }
 
     /**
@@ -1746,7 +1842,8 @@ public class JSONObject {
      *            If the key is <code>null</code>.
      */
     public JSONObject put(String key, long value) throws JSONException {
-        return this.put(key, Long.valueOf(value));
+        this.map.putLong(key, value);
+        return this;
     }
 
     /**
@@ -2517,7 +2614,7 @@ public class JSONObject {
      * @return a java.util.Map containing the entries of this object
      */
     public Map<String, Object> toMap() {
-        Map<String, Object> results = new HashMap<String, Object>();
+        Map<String, Object> results = new LinkedHashMap<String, Object>();
         for (Entry<String, Object> entry : this.entrySet()) {
             Object value;
             if (entry.getValue() == null || NULL.equals(entry.getValue())) {
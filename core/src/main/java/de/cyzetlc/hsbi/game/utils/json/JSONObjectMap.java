@@ -0,0 +1,549 @@
+package de.cyzetlc.hsbi.game.utils.json;
+
+import java.math.BigDecimal;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The map that keeps the members of a {@link JSONObject}. Keys, values and key hashes are kept in parallel arrays in
+ * insertion order, so a JSONObject is written in the order it was read or filled and saving a config doesn't shuffle it.
+ * <p>
+ * Small maps, which are most objects of a config, are searched linearly over the key hashes. Once a map has more than
+ * {@link #LINEAR_LIMIT} entries, an open addressing index (linear probing) with the positions of the keys is added.
+ * There are no entry objects per member; a removed member leaves a hole that is closed when the arrays grow.
+ * <p>
+ * Numbers can be kept unboxed: a member has a kind, and int, long and double members keep their value in a
+ * {@code long[]} instead of the value array. Arrays of numbers read by {@link JSONBufferTokener} are kept as
+ * {@code long[]} or {@code double[]}. {@link #get(Object)} and the entries box such a value when it is asked for, with
+ * the types of {@link JSONObject#stringToValue(String)}: a decimal read from text is boxed as a BigDecimal, a packed
+ * array as a new {@link JSONArray} on every read. Changes to that JSONArray are not kept; to change the member, the
+ * changed array has to be put again. The slots for kinds and primitive values are only allocated once the first
+ * primitive is stored.
+ * <p>
+ * Keys must not be null. Reads never change the map, so any number of threads may read it, for example a writer thread
+ * saving the config while the game reads it. Like {@link java.util.HashMap}, the map is not thread-safe for a write
+ * that runs together with other reads or writes.
+ */
+final class JSONObjectMap extends AbstractMap<String, Object> {
+    /** Maps up to this size are searched linearly, without an index. */
+    static final int LINEAR_LIMIT = 8;
+
+    /** The kinds of members. */
+    static final byte REF = 0;
+    static final byte INT = 1;
+    static final byte LONG = 2;
+    static final byte DOUBLE = 3;
+    static final byte LONG_ARRAY = 4;
+    static final byte DOUBLE_ARRAY = 5;
+    /** A decimal read from text, boxed as the BigDecimal {@link BigDecimal#valueOf(double)} gives. */
+    static final byte DECIMAL = 6;
+
+    private static final String[] NO_KEYS = new String[0];
+    private static final Object[] NO_VALUES = new Object[0];
+    private static final int[] NO_HASHES = new int[0];
+
+    private String[] keys;
+    private Object[] values;
+    /** The hash codes of the keys, so a search compares ints and only touches the key on a match. */
+    private int[] hashes;
+    /** The kinds of the members, null while all members are references. */
+    private byte[] kinds;
+    /** The values of int, long (as is) and double (as raw bits) members, allocated together with kinds. */
+    private long[] bits;
+    /** Positions + 1 of the keys by hash, 0 marks a free slot. null while the map is searched linearly. */
+    private int[] index;
+
+    /** The position after the last used one, including holes. */
+    private int end;
+    /** The number of members. */
+    private int size;
+
+    private Set<Map.Entry<String, Object>> entrySet;
+
+    JSONObjectMap() {
+        this.keys = NO_KEYS;
+        this.values = NO_VALUES;
+        this.hashes = NO_HASHES;
+    }
+
+    JSONObjectMap(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        this.keys = initialCapacity == 0 ? NO_KEYS : new String[initialCapacity];
+        this.values = initialCapacity == 0 ? NO_VALUES : new Object[initialCapacity];
+        this.hashes = initialCapacity == 0 ? NO_HASHES : new int[initialCapacity];
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String && this.indexOf((String) key) >= 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        int i = this.indexOf((String) key);
+        return i < 0 ? null : this.valueAt(i);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        int i = this.slotFor(key);
+        Object old = this.valueAt(i);
+        this.setRef(i, value);
+        return old;
+    }
+
+    void putInt(String key, int value) {
+        this.setPrimitive(this.slotFor(key), INT, value);
+    }
+
+    void putLong(String key, long value) {
+        this.setPrimitive(this.slotFor(key), LONG, value);
+    }
+
+    void putDouble(String key, double value) {
+        this.setPrimitive(this.slotFor(key), DOUBLE, Double.doubleToRawLongBits(value));
+    }
+
+    void putDecimal(String key, double value) {
+        this.setPrimitive(this.slotFor(key), DECIMAL, Double.doubleToRawLongBits(value));
+    }
+
+    void putLongArray(String key, long[] value) {
+        int i = this.slotFor(key);
+        this.setPrimitive(i, LONG_ARRAY, 0);
+        this.values[i] = value;
+    }
+
+    void putDoubleArray(String key, double[] value) {
+        int i = this.slotFor(key);
+        this.setPrimitive(i, DOUBLE_ARRAY, 0);
+        this.values[i] = value;
+    }
+
+    /**
+     * Returns the position of a key, or -1 if it is not in the map.
+     */
+    int find(String key) {
+        return this.indexOf(key);
+    }
+
+    byte kindAt(int i) {
+        return this.kinds == null ? REF : this.kinds[i];
+    }
+
+    /**
+     * Checks if the member at a position is an unboxed int, long or double.
+     */
+    boolean isNumberAt(int i) {
+        byte kind = this.kindAt(i);
+        return kind == INT || kind == LONG || kind == DOUBLE || kind == DECIMAL;
+    }
+
+    /**
+     * The value of a number member, converted like {@link Number#doubleValue()}.
+     */
+    double doubleAt(int i) {
+        return this.isDecimalAt(i) ? Double.longBitsToDouble(this.bits[i]) : (double) this.bits[i];
+    }
+
+    /**
+     * The value of a number member, converted like {@link Number#longValue()}.
+     */
+    long longAt(int i) {
+        return this.isDecimalAt(i) ? (long) Double.longBitsToDouble(this.bits[i]) : this.bits[i];
+    }
+
+    private boolean isDecimalAt(int i) {
+        return this.kinds[i] == DOUBLE || this.kinds[i] == DECIMAL;
+    }
+
+    /**
+     * The value of a packed array member as a new double[], or null if the
+     * member is not a packed array.
+     */
+    double[] toDoubleArray(int i) {
+        byte kind = this.kindAt(i);
+        if (kind == DOUBLE_ARRAY) {
+            return ((double[]) this.values[i]).clone();
+        } else if (kind == LONG_ARRAY) {
+            long[] longs = (long[]) this.values[i];
+            double[] doubles = new double[longs.length];
+            for (int j = 0; j < longs.length; j++) {
+                doubles[j] = longs[j];
+            }
+            return doubles;
+        }
+        return null;
+    }
+
+    /**
+     * The value of a packed array member as a new long[], or null if the
+     * member is not a packed array.
+     */
+    long[] toLongArray(int i) {
+        byte kind = this.kindAt(i);
+        if (kind == LONG_ARRAY) {
+            return ((long[]) this.values[i]).clone();
+        } else if (kind == DOUBLE_ARRAY) {
+            double[] doubles = (double[]) this.values[i];
+            long[] longs = new long[doubles.length];
+            for (int j = 0; j < doubles.length; j++) {
+                longs[j] = (long) doubles[j];
+            }
+            return longs;
+        }
+        return null;
+    }
+
+    /**
+     * The value at a position as an object. Numbers are boxed, a packed array
+     * is copied into a new JSONArray; the member itself stays packed.
+     */
+    Object valueAt(int i) {
+        switch (this.kindAt(i)) {
+        case INT:
+            return Integer.valueOf((int) this.bits[i]);
+        case LONG:
+            return Long.valueOf(this.bits[i]);
+        case DOUBLE:
+            return Double.valueOf(Double.longBitsToDouble(this.bits[i]));
+        case DECIMAL:
+            return BigDecimal.valueOf(Double.longBitsToDouble(this.bits[i]));
+        case LONG_ARRAY: {
+            long[] longs = (long[]) this.values[i];
+            JSONArray array = new JSONArray(longs.length);
+            for (long value : longs) {
+                // the same types as JSONObject.stringToValue
+                array.put(value == (int) value ? (Object) Integer.valueOf((int) value) : (Object) Long.valueOf(value));
+            }
+            return array;
+        }
+        case DOUBLE_ARRAY: {
+            double[] doubles = (double[]) this.values[i];
+            JSONArray array = new JSONArray(doubles.length);
+            for (double value : doubles) {
+                // only read from text, so the same types as JSONObject.stringToValue
+                array.put(BigDecimal.valueOf(value));
+            }
+            return array;
+        }
+        default:
+            return this.values[i];
+        }
+    }
+
+    /**
+     * Returns the position of a key, a new member is appended if the key is
+     * not in the map yet.
+     */
+    private int slotFor(String key) {
+        if (key == null) {
+            throw new NullPointerException("Null key.");
+        }
+
+        int i = this.indexOf(key);
+        if (i >= 0) {
+            return i;
+        }
+
+        if (this.end == this.keys.length) {
+            this.makeRoom();
+        }
+        i = this.end++;
+        this.keys[i] = key;
+        this.hashes[i] = key.hashCode();
+        this.size++;
+
+        if (this.index != null) {
+            this.addToIndex(this.hashes[i], i);
+        } else if (this.end > LINEAR_LIMIT) {
+            this.rebuildIndex();
+        }
+        return i;
+    }
+
+    private void setRef(int i, Object value) {
+        this.values[i] = value;
+        if (this.kinds != null) {
+            this.kinds[i] = REF;
+            this.bits[i] = 0;
+        }
+    }
+
+    private void setPrimitive(int i, byte kind, long bits) {
+        if (this.kinds == null) {
+            this.kinds = new byte[this.keys.length];
+            this.bits = new long[this.keys.length];
+        }
+        this.values[i] = null;
+        this.kinds[i] = kind;
+        this.bits[i] = bits;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        int i = this.indexOf((String) key);
+        return i < 0 ? null : this.removeAt(i);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(this.keys, 0, this.end, null);
+        Arrays.fill(this.values, 0, this.end, null);
+        this.kinds = null;
+        this.bits = null;
+        this.index = null;
+        this.end = 0;
+        this.size = 0;
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        if (this.entrySet == null) {
+            this.entrySet = new EntrySet();
+        }
+        return this.entrySet;
+    }
+
+    /**
+     * Returns the position of a key, or -1 if it is not in the map.
+     */
+    private int indexOf(String key) {
+        int hash = key.hashCode();
+        String[] keys = this.keys;
+        int[] hashes = this.hashes;
+
+        if (this.index == null) {
+            for (int i = 0; i < this.end; i++) {
+                if (hashes[i] == hash) {
+                    String k = keys[i];
+                    if (k != null && (k == key || k.equals(key))) {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        }
+
+        int[] index = this.index;
+        int mask = index.length - 1;
+        for (int slot = spread(hash) & mask; index[slot] != 0; slot = (slot + 1) & mask) {
+            // Slots of removed keys stay in the index (the key is null) until it is rebuilt
+            int i = index[slot] - 1;
+            if (hashes[i] == hash) {
+                String k = keys[i];
+                if (k != null && (k == key || k.equals(key))) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private Object removeAt(int i) {
+        Object old = this.valueAt(i);
+        this.keys[i] = null;
+        this.setRef(i, null);
+        this.size--;
+        if (i == this.end - 1 && this.index == null) {
+            this.end--;
+        }
+        return old;
+    }
+
+    /**
+     * Makes room for one more member. If at least a quarter of the arrays are
+     * holes, they are closed, otherwise the arrays grow.
+     */
+    private void makeRoom() {
+        int capacity = this.keys.length;
+        if (capacity - this.size >= Math.max(1, capacity >> 2)) {
+            this.compact(capacity);
+        } else {
+            this.compact(capacity == 0 ? 4 : capacity + (capacity >> 1) + 1);
+        }
+    }
+
+    private void compact(int capacity) {
+        String[] keys = new String[capacity];
+        Object[] values = new Object[capacity];
+        int[] hashes = new int[capacity];
+        byte[] kinds = this.kinds == null ? null : new byte[capacity];
+        long[] bits = this.kinds == null ? null : new long[capacity];
+        int n = 0;
+        for (int i = 0; i < this.end; i++) {
+            if (this.keys[i] != null) {
+                keys[n] = this.keys[i];
+                values[n] = this.values[i];
+                hashes[n] = this.hashes[i];
+                if (kinds != null) {
+                    kinds[n] = this.kinds[i];
+                    bits[n] = this.bits[i];
+                }
+                n++;
+            }
+        }
+        this.keys = keys;
+        this.values = values;
+        this.hashes = hashes;
+        this.kinds = kinds;
+        this.bits = bits;
+        this.end = n;
+        this.index = null;
+        if (n > LINEAR_LIMIT) {
+            this.rebuildIndex();
+        }
+    }
+
+    private void rebuildIndex() {
+        // at most half of the slots are used, so probe sequences stay short
+        int length = Integer.highestOneBit(Math.max(this.keys.length, LINEAR_LIMIT) * 2 - 1) << 1;
+        this.index = new int[length];
+        for (int i = 0; i < this.end; i++) {
+            if (this.keys[i] != null) {
+                this.addToIndex(this.hashes[i], i);
+            }
+        }
+    }
+
+    private void addToIndex(int hash, int position) {
+        int[] index = this.index;
+        int mask = index.length - 1;
+        int slot = spread(hash) & mask;
+        while (index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = position + 1;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+        @Override
+        public Iterator<Map.Entry<String, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return JSONObjectMap.this.size;
+        }
+
+        @Override
+        public void clear() {
+            JSONObjectMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+        private int next = this.skipHoles(0);
+        private int last = -1;
+
+        @Override
+        public boolean hasNext() {
+            return this.next < JSONObjectMap.this.end;
+        }
+
+        @Override
+        public Map.Entry<String, Object> next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            this.last = this.next;
+            this.next = this.skipHoles(this.next + 1);
+            return new Entry(this.last);
+        }
+
+        @Override
+        public void remove() {
+            if (this.last < 0 || JSONObjectMap.this.keys[this.last] == null) {
+                throw new IllegalStateException();
+            }
+            // removeAt never moves other members, so the position of the iterator stays valid
+            JSONObjectMap.this.removeAt(this.last);
+            this.last = -1;
+        }
+
+        private int skipHoles(int i) {
+            while (i < JSONObjectMap.this.end && JSONObjectMap.this.keys[i] == null) {
+                i++;
+            }
+            return i;
+        }
+    }
+
+    /**
+     * A view on one member, created by the iterator.
+     */
+    private final class Entry implements Map.Entry<String, Object> {
+        private final String key;
+        private final int position;
+
+        private Entry(int position) {
+            this.key = JSONObjectMap.this.keys[position];
+            this.position = position;
+        }
+
+        @Override
+        public String getKey() {
+            return this.key;
+        }
+
+        @Override
+        public Object getValue() {
+            return JSONObjectMap.this.valueAt(this.position);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            Object old = JSONObjectMap.this.valueAt(this.position);
+            JSONObjectMap.this.setRef(this.position, value);
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry<?, ?> e)) {
+                return false;
+            }
+            Object value = this.getValue();
+            return this.key.equals(e.getKey()) && (value == null ? e.getValue() == null : value.equals(e.getValue()));
+        }
+
+        @Override
+        public int hashCode() {
+            Object value = this.getValue();
+            return this.key.hashCode() ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return this.key + "=" + this.getValue();
+        }
+    }
+}
@@ -0,0 +1,646 @@
+package de.cyzetlc.hsbi.game.utils.json;
+
+import java.io.Reader;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * A {@code JSONReader} reads a JSON document as a stream of tokens (pull parsing), on top of a {@link JSONTokener}.
+ * Only the current token is held in memory, so documents of any size can be read, e.g. replays or score dumps.
+ * <p>
+ * Values can be read token by token:
+ * <pre>
+ * reader.beginObject();
+ * while (reader.hasNext()) {
+ *     String name = reader.nextName();
+ *     if (name.equals("time")) {
+ *         time = reader.nextLong();
+ *     } else {
+ *         reader.skipValue();
+ *     }
+ * }
+ * reader.endObject();
+ * </pre>
+ * or be bound directly into objects with {@link #read(Class)} and {@link #forEach(Class, Consumer)}, without building a
+ * {@link JSONObject} first.
+ * <p>
+ * Like {@link JSONTokener}, the reader accepts single quoted strings and unquoted text values.
+ */
+public class JSONReader {
+    /**
+     * The kind of a token.
+     */
+    public enum Token {
+        BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, NAME, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT
+    }
+
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_OBJECT = 2;
+    private static final int NONEMPTY_OBJECT = 3;
+    private static final int DANGLING_NAME = 4;
+    private static final int EMPTY_ARRAY = 5;
+    private static final int NONEMPTY_ARRAY = 6;
+
+    /** Bindable fields per class, by name. */
+    private static final Map<Class<?>, Map<String, Field>> FIELDS = new ConcurrentHashMap<>();
+
+    private final JSONTokener x;
+
+    private int[] stack = new int[32];
+    private int depth = 1;
+
+    private Token peeked;
+    private String text;
+
+    /**
+     * Construct a JSONReader from a Reader. The caller must close the Reader.
+     *
+     * @param reader A reader.
+     */
+    public JSONReader(Reader reader) {
+        this(new JSONTokener(reader));
+    }
+
+    /**
+     * Construct a JSONReader from a JSONTokener.
+     *
+     * @param x A tokener positioned at the start of a value.
+     */
+    public JSONReader(JSONTokener x) {
+        this.x = x;
+        this.stack[0] = EMPTY_DOCUMENT;
+    }
+
+    /**
+     * Returns the kind of the next token without consuming it.
+     *
+     * @return The next token.
+     * @throws JSONException If the document is malformed.
+     */
+    public Token peek() throws JSONException {
+        if (this.peeked != null) {
+            return this.peeked;
+        }
+
+        char c;
+        switch (this.stack[this.depth - 1]) {
+        case EMPTY_DOCUMENT:
+            this.stack[this.depth - 1] = NONEMPTY_DOCUMENT;
+            return this.peeked = this.readValue();
+        case NONEMPTY_DOCUMENT:
+            if (this.x.nextClean() != 0) {
+                throw this.x.syntaxError("Expected the end of the document");
+            }
+            return this.peeked = Token.END_DOCUMENT;
+        case EMPTY_ARRAY:
+            this.stack[this.depth - 1] = NONEMPTY_ARRAY;
+            if (this.x.nextClean() == ']') {
+                return this.peeked = Token.END_ARRAY;
+            }
+            this.x.back();
+            return this.peeked = this.readValue();
+        case NONEMPTY_ARRAY:
+            c = this.x.nextClean();
+            if (c == ']') {
+                return this.peeked = Token.END_ARRAY;
+            } else if (c != ',') {
+                throw this.x.syntaxError("Expected a ',' or ']'");
+            }
+            return this.peeked = this.readValue();
+        case EMPTY_OBJECT:
+        case NONEMPTY_OBJECT:
+            c = this.x.nextClean();
+            if (c == '}') {
+                return this.peeked = Token.END_OBJECT;
+            }
+            if (this.stack[this.depth - 1] == NONEMPTY_OBJECT) {
+                if (c != ',' && c != ';') {
+                    throw this.x.syntaxError("Expected a ',' or '}'");
+                }
+                c = this.x.nextClean();
+            }
+            if (c == '"' || c == '\'') {
+                this.text = this.x.nextString(c);
+            } else if (c == '{' || c == '[' || c == 0) {
+                throw this.x.syntaxError("A JSONObject text must begin with a name");
+            } else {
+                this.text = this.readUnquoted(c);
+            }
+            this.stack[this.depth - 1] = DANGLING_NAME;
+            return this.peeked = Token.NAME;
+        case DANGLING_NAME:
+            if (this.x.nextClean() != ':') {
+                throw this.x.syntaxError("Expected a ':' after a key");
+            }
+            this.stack[this.depth - 1] = NONEMPTY_OBJECT;
+            return this.peeked = this.readValue();
+        default:
+            throw new IllegalStateException("Unknown reader state");
+        }
+    }
+
+    /**
+     * Consumes the next token, whatever it is.
+     *
+     * @return The kind of the consumed token. The text of names and values is
+     *         available through {@link #getText()} afterwards.
+     * @throws JSONException If the document is malformed.
+     */
+    public Token nextToken() throws JSONException {
+        Token token = this.peek();
+        switch (token) {
+        case BEGIN_OBJECT:
+            this.beginObject();
+            break;
+        case END_OBJECT:
+            this.endObject();
+            break;
+        case BEGIN_ARRAY:
+            this.beginArray();
+            break;
+        case END_ARRAY:
+            this.endArray();
+            break;
+        case END_DOCUMENT:
+            break;
+        default:
+            this.peeked = null;
+        }
+        return token;
+    }
+
+    /**
+     * Returns the text of the last name or value consumed by
+     * {@link #nextToken()}, or of the name or value that was just peeked.
+     *
+     * @return The text, "true"/"false" for booleans and "null" for null.
+     */
+    public String getText() {
+        return this.text;
+    }
+
+    /**
+     * Checks if the current object or array has more elements.
+     *
+     * @return true if the next token is neither the end of an object, an array
+     *         or the document.
+     * @throws JSONException If the document is malformed.
+     */
+    public boolean hasNext() throws JSONException {
+        Token token = this.peek();
+        return token != Token.END_OBJECT && token != Token.END_ARRAY && token != Token.END_DOCUMENT;
+    }
+
+    public void beginObject() throws JSONException {
+        this.expect(Token.BEGIN_OBJECT);
+        this.push(EMPTY_OBJECT);
+    }
+
+    public void endObject() throws JSONException {
+        this.expect(Token.END_OBJECT);
+        this.depth--;
+    }
+
+    public void beginArray() throws JSONException {
+        this.expect(Token.BEGIN_ARRAY);
+        this.push(EMPTY_ARRAY);
+    }
+
+    public void endArray() throws JSONException {
+        this.expect(Token.END_ARRAY);
+        this.depth--;
+    }
+
+    /**
+     * Consumes the next name of the current object.
+     *
+     * @return The name.
+     * @throws JSONException If the next token is not a name.
+     */
+    public String nextName() throws JSONException {
+        this.expect(Token.NAME);
+        return this.text;
+    }
+
+    /**
+     * Consumes the next string value. Numbers and booleans are returned as
+     * their text.
+     *
+     * @return The string.
+     * @throws JSONException If the next token is not a primitive value.
+     */
+    public String nextString() throws JSONException {
+        Token token = this.peek();
+        if (token != Token.STRING && token != Token.NUMBER && token != Token.BOOLEAN) {
+            throw new JSONException("Expected a string but was " + token + this.x);
+        }
+        this.peeked = null;
+        return this.text;
+    }
+
+    /**
+     * Consumes the next number value. Quoted numbers are accepted as well.
+     *
+     * @return The number.
+     * @throws JSONException If the next token is not a number.
+     */
+    public double nextDouble() throws JSONException {
+        try {
+            return Double.parseDouble(this.nextNumberText());
+        } catch (NumberFormatException e) {
+            throw new JSONException("Expected a double" + this.x, e);
+        }
+    }
+
+    /**
+     * Consumes the next number value as a long.
+     *
+     * @return The number.
+     * @throws JSONException If the next token is not an integral number.
+     */
+    public long nextLong() throws JSONException {
+        String number = this.nextNumberText();
+        try {
+            return Long.parseLong(number);
+        } catch (NumberFormatException e) {
+            try {
+                return new BigDecimal(number).longValueExact();
+            } catch (ArithmeticException | NumberFormatException ex) {
+                throw new JSONException("Expected a long but was " + number + this.x, ex);
+            }
+        }
+    }
+
+    /**
+     * Consumes the next number value as an int.
+     *
+     * @return The number.
+     * @throws JSONException If the next token is not an integral number in the
+     *         range of an int.
+     */
+    public int nextInt() throws JSONException {
+        long value = this.nextLong();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new JSONException("Expected an int but was " + value + this.x);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Consumes the next boolean value.
+     *
+     * @return The boolean.
+     * @throws JSONException If the next token is not a boolean.
+     */
+    public boolean nextBoolean() throws JSONException {
+        this.expect(Token.BOOLEAN);
+        return Boolean.parseBoolean(this.text);
+    }
+
+    /**
+     * Consumes the next null value.
+     *
+     * @throws JSONException If the next token is not null.
+     */
+    public void nextNull() throws JSONException {
+        this.expect(Token.NULL);
+    }
+
+    /**
+     * Skips the next value, including all nested values of an object or array.
+     * If the next token is a name, the name and its value are skipped.
+     *
+     * @throws JSONException If the document is malformed.
+     */
+    public void skipValue() throws JSONException {
+        int level = 0;
+        // a name on the top level still needs its value, which is the next token
+        boolean valuePending = false;
+        do {
+            switch (this.nextToken()) {
+            case BEGIN_OBJECT:
+            case BEGIN_ARRAY:
+                level++;
+                valuePending = false;
+                break;
+            case END_OBJECT:
+            case END_ARRAY:
+                level--;
+                break;
+            case NAME:
+                if (level == 0) {
+                    valuePending = true;
+                }
+                break;
+            case END_DOCUMENT:
+                return;
+            default:
+                if (level == 0) {
+                    valuePending = false;
+                }
+                break;
+            }
+        } while (level > 0 || valuePending);
+    }
+
+    /**
+     * Reads the elements of the next array one by one and passes them to the
+     * consumer. Only one element is in memory at a time.
+     *
+     * @param type The class of the elements.
+     * @param consumer The consumer receiving the elements.
+     * @throws JSONException If the document is malformed or an element can't
+     *         be bound.
+     */
+    public <T> void forEach(Class<T> type, Consumer<? super T> consumer) throws JSONException {
+        this.beginArray();
+        while (this.hasNext()) {
+            consumer.accept(this.read(type));
+        }
+        this.endArray();
+    }
+
+    /**
+     * Reads the next value directly into an object of the given class. Object
+     * values are bound to the non-static, non-transient fields of the same
+     * name, unknown names are skipped. Supported are primitives and their
+     * wrappers, String, BigDecimal, BigInteger, enums, arrays, Lists, Maps
+     * with String keys, JSONObject, JSONArray and other classes with a no-arg
+     * constructor.
+     *
+     * @param type The class to read.
+     * @return The object, or null for a JSON null.
+     * @throws JSONException If the document is malformed or the value can't
+     *         be bound.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T read(Class<T> type) throws JSONException {
+        return (T) this.read((Type) type);
+    }
+
+    private Object read(Type type) throws JSONException {
+        if (this.peek() == Token.NULL) {
+            this.nextNull();
+            return null;
+        }
+
+        Class<?> raw = rawType(type);
+        if (raw == String.class) {
+            return this.nextString();
+        } else if (raw == int.class || raw == Integer.class) {
+            return this.nextInt();
+        } else if (raw == long.class || raw == Long.class) {
+            return this.nextLong();
+        } else if (raw == double.class || raw == Double.class) {
+            return this.nextDouble();
+        } else if (raw == float.class || raw == Float.class) {
+            return (float) this.nextDouble();
+        } else if (raw == boolean.class || raw == Boolean.class) {
+            return this.nextBoolean();
+        } else if (raw == short.class || raw == Short.class) {
+            return (short) this.nextInt();
+        } else if (raw == byte.class || raw == Byte.class) {
+            return (byte) this.nextInt();
+        } else if (raw == char.class || raw == Character.class) {
+            String s = this.nextString();
+            return s.isEmpty() ? '\0' : s.charAt(0);
+        } else if (raw == BigDecimal.class) {
+            return new BigDecimal(this.nextNumberText());
+        } else if (raw == BigInteger.class) {
+            return new BigInteger(this.nextNumberText());
+        } else if (raw.isEnum()) {
+            String name = this.nextString();
+            for (Object constant : raw.getEnumConstants()) {
+                if (((Enum<?>) constant).name().equals(name)) {
+                    return constant;
+                }
+            }
+            throw new JSONException("Unknown constant " + name + " of " + raw.getName() + this.x);
+        } else if (raw == Object.class || raw == JSONObject.class || raw == JSONArray.class) {
+            return this.readTree();
+        } else if (raw.isArray()) {
+            List<Object> list = this.readList(raw.getComponentType());
+            Object array = Array.newInstance(raw.getComponentType(), list.size());
+            for (int i = 0; i < list.size(); i++) {
+                Array.set(array, i, list.get(i));
+            }
+            return array;
+        } else if (Collection.class.isAssignableFrom(raw)) {
+            return this.readList(typeArgument(type, 0));
+        } else if (Map.class.isAssignableFrom(raw)) {
+            Type valueType = typeArgument(type, 1);
+            Map<String, Object> map = new LinkedHashMap<>();
+            this.beginObject();
+            while (this.hasNext()) {
+                String name = this.nextName();
+                map.put(name, this.read(valueType));
+            }
+            this.endObject();
+            return map;
+        }
+        return this.readObject(raw);
+    }
+
+    private List<Object> readList(Type elementType) throws JSONException {
+        List<Object> list = new ArrayList<>();
+        this.beginArray();
+        while (this.hasNext()) {
+            list.add(this.read(elementType));
+        }
+        this.endArray();
+        return list;
+    }
+
+    private Object readObject(Class<?> type) throws JSONException {
+        Object instance;
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            instance = constructor.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new JSONException("Can't create " + type.getName() + ", it needs a no-arg constructor", e);
+        }
+
+        Map<String, Field> fields = FIELDS.computeIfAbsent(type, JSONReader::findFields);
+        this.beginObject();
+        while (this.hasNext()) {
+            Field field = fields.get(this.nextName());
+            if (field == null) {
+                this.skipValue();
+                continue;
+            }
+
+            Object value = this.read(field.getGenericType());
+            if (value != null || !field.getType().isPrimitive()) {
+                try {
+                    field.set(instance, value);
+                } catch (IllegalAccessException e) {
+                    throw new JSONException("Can't set " + field.getName() + " of " + type.getName(), e);
+                }
+            }
+        }
+        this.endObject();
+        return instance;
+    }
+
+    /**
+     * Reads the next value into a JSONObject, JSONArray or simple value, for
+     * parts of a document that have no class of their own.
+     */
+    private Object readTree() throws JSONException {
+        switch (this.peek()) {
+        case BEGIN_OBJECT: {
+            JSONObject object = new JSONObject();
+            this.beginObject();
+            while (this.hasNext()) {
+                String name = this.nextName();
+                Object value = this.readTree();
+                if (value != null) {
+                    object.put(name, value);
+                }
+            }
+            this.endObject();
+            return object;
+        }
+        case BEGIN_ARRAY: {
+            JSONArray array = new JSONArray();
+            this.beginArray();
+            while (this.hasNext()) {
+                array.put(this.readTree());
+            }
+            this.endArray();
+            return array;
+        }
+        case NULL:
+            this.nextNull();
+            return JSONObject.NULL;
+        case BOOLEAN:
+            return this.nextBoolean();
+        case NUMBER:
+            return JSONObject.stringToValue(this.nextString());
+        default:
+            return this.nextString();
+        }
+    }
+
+    private Token readValue() throws JSONException {
+        char c = this.x.nextClean();
+        switch (c) {
+        case 0:
+            throw this.x.syntaxError("Missing value");
+        case '{':
+            return Token.BEGIN_OBJECT;
+        case '[':
+            return Token.BEGIN_ARRAY;
+        case '"':
+        case '\'':
+            this.text = this.x.nextString(c);
+            return Token.STRING;
+        }
+
+        this.text = this.readUnquoted(c);
+        Object value = JSONObject.stringToValue(this.text);
+        if (value instanceof Boolean) {
+            this.text = value.toString();
+            return Token.BOOLEAN;
+        } else if (value == JSONObject.NULL) {
+            this.text = "null";
+            return Token.NULL;
+        } else if (value instanceof Number) {
+            return Token.NUMBER;
+        }
+        return Token.STRING;
+    }
+
+    /**
+     * Reads unquoted text starting with the given character. It ends at the
+     * same characters as in JSONTokener.nextValue.
+     */
+    private String readUnquoted(char c) throws JSONException {
+        StringBuilder sb = new StringBuilder();
+        while (c >= ' ' && ",:]}/\\\"[{;=#".indexOf(c) < 0) {
+            sb.append(c);
+            c = this.x.next();
+        }
+        if (c != 0) {
+            this.x.back();
+        }
+
+        String s = sb.toString().trim();
+        if (s.isEmpty()) {
+            throw this.x.syntaxError("Missing value");
+        }
+        return s;
+    }
+
+    private String nextNumberText() throws JSONException {
+        Token token = this.peek();
+        if (token != Token.NUMBER && token != Token.STRING) {
+            throw new JSONException("Expected a number but was " + token + this.x);
+        }
+        this.peeked = null;
+        return this.text;
+    }
+
+    private void expect(Token expected) throws JSONException {
+        Token token = this.peek();
+        if (token != expected) {
+            throw new JSONException("Expected " + expected + " but was " + token + this.x);
+        }
+        this.peeked = null;
+    }
+
+    private void push(int state) {
+        if (this.depth == this.stack.length) {
+            this.stack = Arrays.copyOf(this.stack, this.depth * 2);
+        }
+        this.stack[this.depth++] = state;
+    }
+
+    private static Map<String, Field> findFields(Class<?> type) {
+        Map<String, Field> fields = new HashMap<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || fields.containsKey(field.getName())) {
+                    continue;
+                }
+                field.setAccessible(true);
+                fields.put(field.getName(), field);
+            }
+        }
+        return fields;
+    }
+
+    private static Class<?> rawType(Type type) {
+        if (type instanceof Class<?> c) {
+            return c;
+        } else if (type instanceof ParameterizedType p) {
+            return (Class<?>) p.getRawType();
+        }
+        return Object.class;
+    }
+
+    private static Type typeArgument(Type type, int index) {
+        if (type instanceof ParameterizedType p && p.getActualTypeArguments().length > index) {
+            return p.getActualTypeArguments()[index];
+        }
+        return Object.class;
+    }
+}
@@ -71,6 +71,23 @@ public class JSONTokener {
     }
 
 
+    /**
+     * Construct a JSONTokener without a Reader. Only for subclasses that
+     * override every method reading from the input, like
+     * {@link JSONBufferTokener}.
+     */
+    protected JSONTokener() {
+        this.reader = null;
+        this.eof = false;
+        this.usePrevious = false;
+        this.previous = 0;
+        this.index = 0;
+        this.character = 1;
+        this.characterPreviousLine = 0;
+        this.line = 1;
+    }
+
+
     /**
      * Construct a JSONTokener from an InputStream. The caller must close the input stream.
      * @param inputStream The source.
@@ -406,6 +423,20 @@ public class JSONTokener {
     }
 
 
+    /**
+     * Store the next value unboxed in the map of a JSONObject, if it is a
+     * number or an array of numbers. This tokener reads char by char and
+     * can't look ahead, so it never does; JSONBufferTokener does.
+     *
+     * @param map The map of the JSONObject that is read.
+     * @param key The key of the value.
+     * @return true if the value was read and stored, false if nothing was read.
+     * @throws JSONException If syntax error.
+     */
+    boolean nextNumberInto(JSONObjectMap map, String key) throws JSONException {
+        return false;
+    }
+
     /**
      * Get the next value. The value can be a Boolean, Double, Integer,
      * JSONArray, JSONObject, Long, or String, or the JSONObject.NULL object.
@@ -2,16 +2,26 @@ package de.cyzetlc.hsbi.game.utils.json;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 
 public class JsonConfig {
     private JSONObject object;
     private Gson gson;
     private File file;
+    private ConfigPersistenceService persistence;
+    private final Object saveLock = new Object();
 
     public JsonConfig(String file) {
         this.file = new File(file);
@@ -25,7 +35,7 @@ public class JsonConfig {
             }
         } else {
             try {
-                this.object = new JSONObject(new String(Files.readAllBytes(Paths.get(this.file.toURI())), String.valueOf(StandardCharsets.UTF_8)));
+                this.object = new JSONObject(JSONBufferTokener.fromUtf8(Files.readAllBytes(Paths.get(this.file.toURI()))));
             } catch (IOException e) {
                 e.printStackTrace();
             }
@@ -37,21 +47,117 @@ public class JsonConfig {
         this.object = jsonObject;
     }
 
+    /**
+     * The function binds the config to an object of the given class. The values are taken directly from the
+     * JSONObject tree, without writing the config to a String and parsing it again.
+     *
+     * @param clazz The class to bind to.
+     * @return The object.
+     */
     public <T> T load(Class<T> clazz) {
-        return this.gson.fromJson(this.object.toString(), clazz);
+        return this.gson.fromJson(toJsonElement(this.object), clazz);
     }
 
+    /**
+     * The function sets a value of the config. Use it instead of {@code getObject().put(..)} for configs that are
+     * written with {@link #saveLater()}, so the value isn't changed while the config is written.
+     *
+     * @param key The key.
+     * @param value The value, {@code null} removes the key.
+     */
+    public void set(String key, Object value) {
+        synchronized (this.object) {
+            this.object.put(key, value);
+        }
+    }
+
+    /**
+     * The function writes the config in the background after a short delay. Several calls within the delay lead to
+     * a single write, see {@link ConfigPersistenceService}.
+     */
+    public void saveLater() {
+        ConfigPersistenceService persistence;
+        // not the save lock, the caller must not wait for a running write
+        synchronized (this) {
+            if (this.persistence == null) {
+                this.persistence = new ConfigPersistenceService(this);
+            }
+            persistence = this.persistence;
+        }
+        persistence.markDirty();
+    }
+
+    /**
+     * The function writes pending changes of {@link #saveLater()} and stops the background writer. It must be called
+     * on shutdown.
+     */
+    public void close() {
+        ConfigPersistenceService persistence;
+        synchronized (this) {
+            persistence = this.persistence;
+            this.persistence = null;
+        }
+        if (persistence != null) {
+            persistence.close();
+        }
+    }
+
+    /**
+     * The function writes the config to its file. The JSONObject is written directly into a buffered writer for a
+     * temporary file, so the document is never built as a whole String, which then replaces the file atomically. A
+     * crash during the write leaves the old file intact.
+     */
     public void save(){
-        try {
-            Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8);
+        synchronized (this.saveLock) {
+            Path target = this.file.toPath();
+            Path temp = target.resolveSibling(target.getFileName() + ".tmp");
             try {
-                writer.write(this.object.toString());
-            } finally {
-                writer.close();
+                try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                    synchronized (this.object) {
+                        this.object.write(writer);
+                    }
+                }
+
+                try {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } catch (IOException | JSONException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * The function converts a value of the JSONObject tree into the matching Gson element.
+     *
+     * @param value A JSONObject, JSONArray or simple value.
+     * @return The Gson element.
+     */
+    private static JsonElement toJsonElement(Object value) {
+        if (value == null || JSONObject.NULL.equals(value)) {
+            return JsonNull.INSTANCE;
+        } else if (value instanceof JSONObject jsonObject) {
+            JsonObject element = new JsonObject();
+            for (String key : jsonObject.keySet()) {
+                element.add(key, toJsonElement(jsonObject.opt(key)));
+            }
+            return element;
+        } else if (value instanceof JSONArray jsonArray) {
+            JsonArray element = new JsonArray(jsonArray.length());
+            for (int i = 0; i < jsonArray.length(); i++) {
+                element.add(toJsonElement(jsonArray.opt(i)));
             }
-        } catch (IOException e) {
-            e.printStackTrace();
+            return element;
+        } else if (value instanceof Number number) {
+            return new JsonPrimitive(number);
+        } else if (value instanceof Boolean bool) {
+            return new JsonPrimitive(bool);
+        } else if (value instanceof Enum<?> constant) {
+            return new JsonPrimitive(constant.name());
         }
+        return new JsonPrimitive(value.toString());
     }
 
     public JSONObject getObject() {
@@ -61,4 +167,8 @@ public class JsonConfig {
     public File getFile() {
         return file;
     }
+
+    public synchronized ConfigPersistenceService getPersistence() {
+        return persistence;
+    }
 }
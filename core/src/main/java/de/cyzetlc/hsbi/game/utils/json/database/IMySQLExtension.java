@@ -1,11 +1,21 @@
 package de.cyzetlc.hsbi.game.utils.json.database;
 
+import de.cyzetlc.hsbi.game.utils.json.database.mysql.QueryCache;
+
 import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.ExecutorService;
 
 public interface IMySQLExtension {
     Connection getNewConnection();
 
+    Connection getStreamingConnection() throws SQLException;
+
     void closeConnection(Connection connection);
 
+    ExecutorService getExecutorService();
+
+    QueryCache getQueryCache();
+
     void stop();
 }
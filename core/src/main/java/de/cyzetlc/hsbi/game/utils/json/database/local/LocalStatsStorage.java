@@ -0,0 +1,440 @@
+package de.cyzetlc.hsbi.game.utils.json.database.local;
+
+import de.cyzetlc.hsbi.game.utils.json.database.stats.ScoreRecord;
+import de.cyzetlc.hsbi.game.utils.json.database.stats.StatsStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * The {@code LocalStatsStorage} is an embedded, append-only storage for single-node deployments that don't have a
+ * MySQL database.
+ * <p>
+ * Runs are appended to memory-mapped {@link LogSegment} files and flushed to the disk after every batch. A batch is
+ * all or nothing: if appending or flushing fails, the records written so far are rolled back, and the in-memory index
+ * of the best run of every player and level is only updated once the whole batch is on the disk. Like the
+ * {@code stats} table of the MySQL storage, the run log keeps every run and is never rewritten.
+ * <p>
+ * Once more runs were written since the last snapshot than the index holds, the index is compacted on a background
+ * thread: it is written into a new snapshot file that covers the first runs of the log, and the superseded snapshot is
+ * deleted. On startup the newest complete snapshot is loaded and only the runs behind it are replayed. A failed
+ * compaction is only logged, the batches are already written. A snapshot that was not completed because of a crash is
+ * recognized by its record count and ignored, the start then replays more of the log.
+ *
+ * @author Tom Coombs
+ */
+public class LocalStatsStorage implements StatsStorage {
+    private static final Logger logger = LoggerFactory.getLogger(LocalStatsStorage.class.getName());
+
+    private static final int DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+    /**
+     * The number of runs that have to be written since the last snapshot at least, before the index is compacted.
+     */
+    private static final int SNAPSHOT_MIN_RUNS = 1024;
+
+    private static final String SEGMENT_PREFIX = "stats-";
+    private static final String SNAPSHOT_PREFIX = "index-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final List<LogSegment> segments = new ArrayList<>();
+    private final Map<String, ScoreRecord> index = new HashMap<>();
+    private final ByteBuffer scratch;
+
+    /**
+     * Superseded snapshots whose file couldn't be deleted yet, the delete is retried later.
+     */
+    private final List<Path> retired = new ArrayList<>();
+
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "stats-compaction");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The current snapshot of the index and the number of runs at the start of the log it covers.
+     */
+    private Path snapshot;
+    private long snapshotRuns;
+
+    private long logRecords;
+    private boolean compactionScheduled = false;
+    private boolean closed = false;
+
+    /**
+     * Opens the storage with segments of 16 MB.
+     *
+     * @param directory The directory the segment files are stored in.
+     * @throws IOException If the segments can't be opened.
+     */
+    public LocalStatsStorage(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * @param directory The directory the segment files are stored in.
+     * @param segmentSize The size of a single segment file in bytes.
+     * @throws IOException If the segments can't be opened.
+     */
+    public LocalStatsStorage(Path directory, int segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.scratch = ByteBuffer.allocate(LogSegment.MAX_RECORD_SIZE);
+
+        Files.createDirectories(directory);
+
+        List<Path> files;
+        List<Path> snapshots;
+        try (Stream<Path> list = Files.list(directory)) {
+            List<Path> all = list.toList();
+            files = all.stream()
+                    .filter(path -> parseId(path) >= 0)
+                    .sorted(Comparator.comparingLong(LocalStatsStorage::parseId))
+                    .toList();
+            snapshots = all.stream()
+                    .filter(path -> parseSnapshot(path, 0) >= 0)
+                    .sorted(Comparator.comparingLong((Path path) -> parseSnapshot(path, 0)).reversed())
+                    .toList();
+        }
+
+        // The newest complete snapshot is used, older ones are left over from compactions whose delete failed
+        for (Path file : snapshots) {
+            if (this.snapshot == null && this.loadSnapshot(file)) {
+                this.snapshot = file;
+                this.snapshotRuns = parseSnapshot(file, 0);
+            } else {
+                this.retired.add(file);
+            }
+        }
+        this.deleteRetired();
+
+        long skip = this.snapshotRuns;
+        for (Path file : files) {
+            LogSegment segment = LogSegment.open(parseId(file), file, segmentSize);
+            int count = segment.recover(skip, this::index);
+            skip = Math.max(0, skip - count);
+            this.logRecords += count;
+            this.segments.add(segment);
+        }
+
+        if (this.segments.isEmpty()) {
+            this.segments.add(this.createSegment(0));
+        }
+
+        logger.info("Loaded " + this.index.size() + " best times from a snapshot of " + this.snapshotRuns + " and "
+                + (this.logRecords - Math.min(this.logRecords, this.snapshotRuns)) + " further runs in " + this.segments.size() + " segments");
+    }
+
+    @Override
+    public synchronized void writeBatch(List<ScoreRecord> records) throws IOException {
+        if (this.closed) {
+            throw new IOException("Storage is closed");
+        }
+
+        for (ScoreRecord record : records) {
+            if (!LogSegment.fits(record, this.segmentSize)) {
+                throw new IOException("Run of " + record.getUuid() + " is too large for a segment");
+            }
+        }
+
+        int segmentCount = this.segments.size();
+        LogSegment first = this.segments.get(segmentCount - 1);
+        int firstPosition = first.getPosition();
+
+        try {
+            for (ScoreRecord record : records) {
+                LogSegment active = this.segments.get(this.segments.size() - 1);
+                if (!active.append(record, this.scratch)) {
+                    active = this.createSegment(active.getId() + 1);
+                    this.segments.add(active);
+                    active.append(record, this.scratch);
+                }
+            }
+            for (int i = segmentCount - 1; i < this.segments.size(); i++) {
+                this.segments.get(i).force();
+            }
+        } catch (IOException | RuntimeException e) {
+            this.rollback(segmentCount, firstPosition);
+            throw e instanceof IOException io ? io : new IOException(e.getMessage(), e);
+        }
+
+        // The batch is on the disk, only now it becomes visible
+        for (ScoreRecord record : records) {
+            this.index(record);
+        }
+        this.logRecords += records.size();
+
+        if (!this.compactionScheduled && this.logRecords - this.snapshotRuns > Math.max(this.index.size(), SNAPSHOT_MIN_RUNS)) {
+            this.compactionScheduled = true;
+            this.compactor.execute(this::runCompaction);
+        }
+    }
+
+    @Override
+    public void forEachBest(Consumer<ScoreRecord> consumer) {
+        List<ScoreRecord> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(this.index.values());
+        }
+        snapshot.forEach(consumer);
+    }
+
+    /**
+     * The function returns the number of runs stored in the log, including the ones that are no best time anymore.
+     *
+     * @return The number of runs in the log.
+     */
+    public synchronized long getLogRecords() {
+        return this.logRecords;
+    }
+
+    /**
+     * The function returns the number of runs at the start of the log that the current index snapshot covers. These
+     * runs are not replayed on the next start.
+     *
+     * @return The number of covered runs, 0 without a snapshot.
+     */
+    public synchronized long getSnapshotRuns() {
+        return this.snapshotRuns;
+    }
+
+    @Override
+    public void close() {
+        // A running compaction is finished first, so its snapshot is either complete or removed again
+        this.compactor.shutdown();
+        try {
+            this.compactor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            this.closeSegments();
+        }
+    }
+
+    /**
+     * The function closes all segments. Must be called while holding the lock.
+     */
+    private void closeSegments() {
+        this.deleteRetired();
+        for (LogSegment segment : this.segments) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                logger.error("Failed to close " + segment.getPath() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * The function removes the records of a failed batch again: segments created by the batch are deleted, the records
+     * appended to the segment that was active before are zeroed. The new segments are zeroed before they are deleted
+     * too, a file that is still mapped can't be deleted on Windows. Such a file stays behind empty and is reused by the
+     * next segment with the same id. Must be called while holding the lock.
+     *
+     * @param segmentCount The number of segments before the batch.
+     * @param position The write position of the active segment before the batch.
+     */
+    private void rollback(int segmentCount, int position) {
+        while (this.segments.size() > segmentCount) {
+            LogSegment segment = this.segments.remove(this.segments.size() - 1);
+            try {
+                segment.truncate(0);
+                segment.force();
+                segment.delete();
+            } catch (IOException e) {
+                logger.error("Failed to delete " + segment.getPath() + " of a failed batch: " + e.getMessage());
+            }
+        }
+
+        LogSegment active = this.segments.get(segmentCount - 1);
+        try {
+            active.truncate(position);
+            active.force();
+        } catch (RuntimeException e) {
+            logger.error("Failed to roll back " + active.getPath() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * The function runs on the compaction thread. The index is copied under the lock, the snapshot is written without
+     * it, so batches are not held up. A failure leaves the previous snapshot in place and is only logged.
+     */
+    private void runCompaction() {
+        List<ScoreRecord> best;
+        long runs;
+        synchronized (this) {
+            if (this.closed) {
+                this.compactionScheduled = false;
+                return;
+            }
+            best = new ArrayList<>(this.index.values());
+            runs = this.logRecords;
+        }
+
+        try {
+            this.compact(best, runs);
+        } catch (IOException | RuntimeException e) {
+            logger.error("Compaction failed, the index is replayed from the previous snapshot: " + e.getMessage());
+        } finally {
+            synchronized (this) {
+                this.compactionScheduled = false;
+            }
+        }
+    }
+
+    /**
+     * The function writes the index into a new snapshot and deletes the superseded one. The record count is part of the
+     * file name, a snapshot that was not completed is recognized by it on the next start.
+     *
+     * @param best The best runs of the index.
+     * @param runs The number of runs at the start of the log the index was built from.
+     */
+    private void compact(List<ScoreRecord> best, long runs) throws IOException {
+        long start = System.currentTimeMillis();
+
+        long size = 0;
+        for (ScoreRecord record : best) {
+            size += LogSegment.sizeOf(record);
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("The index is too large for a snapshot");
+        }
+
+        Path path = this.directory.resolve(String.format("%s%016d-%010d%s", SNAPSHOT_PREFIX, runs, best.size(), SEGMENT_SUFFIX));
+        Files.deleteIfExists(path);
+        LogSegment written = LogSegment.open(runs, path, (int) size);
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(LogSegment.MAX_RECORD_SIZE);
+            for (ScoreRecord record : best) {
+                if (!written.append(record, buffer)) {
+                    throw new IOException("Snapshot " + path + " is full");
+                }
+            }
+            written.close();
+        } catch (IOException | RuntimeException e) {
+            try {
+                written.delete();
+            } catch (IOException ignored) {
+                // holds fewer records than its name says, the next start ignores it
+            }
+            throw e;
+        }
+
+        // The new snapshot is complete on the disk, the old one can go
+        synchronized (this) {
+            if (this.snapshot != null) {
+                this.retired.add(this.snapshot);
+            }
+            this.snapshot = path;
+            this.snapshotRuns = runs;
+            this.deleteRetired();
+        }
+
+        logger.info("Compacted the index of " + runs + " runs into " + best.size() + " best times in " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    /**
+     * The function loads a snapshot into the index, if it holds as many records as its name says.
+     *
+     * @param file The snapshot file.
+     * @return {@code false} if the snapshot is incomplete, the index is unchanged then.
+     */
+    private boolean loadSnapshot(Path file) throws IOException {
+        Map<String, ScoreRecord> loaded = new HashMap<>();
+        LogSegment segment = LogSegment.open(parseSnapshot(file, 0), file, 0);
+        int count;
+        try {
+            count = segment.recover(0, record -> loaded.put(record.getKey(), record));
+        } finally {
+            segment.close();
+        }
+
+        if (count != parseSnapshot(file, 1)) {
+            logger.warn("Ignoring the incomplete snapshot " + file);
+            return false;
+        }
+        this.index.putAll(loaded);
+        return true;
+    }
+
+    /**
+     * The function deletes superseded snapshots. A file that can't be deleted yet stays in the list and is retried
+     * with the next compaction or on close. Must be called while holding the lock.
+     */
+    private void deleteRetired() {
+        this.retired.removeIf(path -> {
+            try {
+                Files.deleteIfExists(path);
+                return true;
+            } catch (IOException e) {
+                logger.warn("Failed to delete " + path + ", retrying later: " + e.getMessage());
+                return false;
+            }
+        });
+    }
+
+    private void index(ScoreRecord record) {
+        this.index.merge(record.getKey(), record, (current, added) -> added.isBetterThan(current) ? added : current);
+    }
+
+    private LogSegment createSegment(long id) throws IOException {
+        return LogSegment.open(id, this.directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX)), this.segmentSize);
+    }
+
+    private static long parseId(Path path) {
+        String name = path.getFileName().toString();
+        if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+            return -1;
+        }
+
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * The function reads a part of a snapshot file name, {@code index-<runs>-<records>.log}.
+     *
+     * @param path The file.
+     * @param part 0 for the number of covered runs, 1 for the number of records.
+     * @return The number, or -1 if the file is no snapshot.
+     */
+    private static long parseSnapshot(Path path, int part) {
+        String name = path.getFileName().toString();
+        if (!name.startsWith(SNAPSHOT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+            return -1;
+        }
+
+        String[] parts = name.substring(SNAPSHOT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()).split("-");
+        try {
+            return parts.length == 2 ? Long.parseLong(parts[part]) : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
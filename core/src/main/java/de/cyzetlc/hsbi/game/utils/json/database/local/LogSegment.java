@@ -0,0 +1,237 @@
+package de.cyzetlc.hsbi.game.utils.json.database.local;
+
+import de.cyzetlc.hsbi.game.utils.json.database.stats.ScoreRecord;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * A {@code LogSegment} is a single memory-mapped, fixed-size file of the {@link LocalStatsStorage}, either a part of the
+ * run log or an index snapshot. Records are only ever appended, each one is stored as {@code [length][crc32][payload]}. The unused rest of the file is zero-filled, so
+ * a length of 0 marks the end of the segment.
+ */
+class LogSegment {
+    /**
+     * Length and checksum in front of every payload.
+     */
+    private static final int HEADER_SIZE = 8;
+
+    /**
+     * UUID, finish time, damage, folders and the length of the level name.
+     */
+    private static final int FIXED_PAYLOAD_SIZE = 16 + 8 + 4 + 4 + 2;
+
+    /**
+     * The largest record a segment can hold, the level name is stored with an unsigned 16 bit length.
+     */
+    static final int MAX_RECORD_SIZE = HEADER_SIZE + FIXED_PAYLOAD_SIZE + 0xFFFF;
+
+    @Getter
+    private final long id;
+    @Getter
+    private final Path path;
+    private final FileChannel channel;
+    private MappedByteBuffer buffer;
+    private final CRC32 crc = new CRC32();
+
+    @Getter
+    private int position;
+
+    private LogSegment(long id, Path path, FileChannel channel, MappedByteBuffer buffer) {
+        this.id = id;
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    /**
+     * The function opens or creates a segment file and maps it into memory.
+     *
+     * @param id The id of the segment, segments are replayed in ascending order of their ids.
+     * @param path The segment file.
+     * @param size The size of the segment in bytes.
+     * @return The segment, positioned at its start.
+     * @throws IOException If the file can't be opened or mapped.
+     */
+    static LogSegment open(long id, Path path, int size) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long mappedSize = Math.max(size, channel.size());
+            return new LogSegment(id, path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, mappedSize));
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * The function returns the number of bytes a record occupies in a segment.
+     *
+     * @param record The record.
+     * @return The size in bytes.
+     */
+    static int sizeOf(ScoreRecord record) {
+        return HEADER_SIZE + FIXED_PAYLOAD_SIZE + record.getLevel().getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    /**
+     * The function checks whether a record can be stored in segments of the given size.
+     *
+     * @param record The record.
+     * @param segmentSize The size of a segment in bytes.
+     * @return {@code true} if the record fits.
+     */
+    static boolean fits(ScoreRecord record, int segmentSize) {
+        int size = sizeOf(record);
+        return size <= MAX_RECORD_SIZE && size <= segmentSize;
+    }
+
+    /**
+     * The function reads all valid records from the start of the segment and moves the write position behind the last
+     * one. Reading stops at the first record with an invalid length or checksum, which is where an interrupted write
+     * ended.
+     *
+     * @param skip The number of records at the start that are only checked, not decoded and passed on.
+     * @param consumer The consumer receiving the records.
+     * @return The number of records read, including the skipped ones.
+     */
+    int recover(long skip, Consumer<ScoreRecord> consumer) {
+        int count = 0;
+        int offset = 0;
+
+        while (offset + HEADER_SIZE <= this.buffer.capacity()) {
+            int length = this.buffer.getInt(offset);
+            if (length < FIXED_PAYLOAD_SIZE || offset + HEADER_SIZE + length > this.buffer.capacity()) {
+                break;
+            }
+
+            int checksum = this.buffer.getInt(offset + 4);
+            this.crc.reset();
+            this.crc.update(this.buffer.slice(offset + HEADER_SIZE, length));
+            if ((int) this.crc.getValue() != checksum) {
+                break;
+            }
+
+            if (count >= skip) {
+                consumer.accept(this.decode(offset + HEADER_SIZE, length));
+            }
+            offset += HEADER_SIZE + length;
+            count++;
+        }
+
+        this.position = offset;
+        return count;
+    }
+
+    /**
+     * The function appends a record behind the last one.
+     *
+     * @param record The record to append.
+     * @param scratch A buffer of at least {@link #MAX_RECORD_SIZE} bytes used to encode the payload.
+     * @return {@code false} if the segment has no room left for the record.
+     */
+    boolean append(ScoreRecord record, ByteBuffer scratch) {
+        byte[] level = record.getLevel().getBytes(StandardCharsets.UTF_8);
+        int length = FIXED_PAYLOAD_SIZE + level.length;
+        if (this.position + HEADER_SIZE + length > this.buffer.capacity()) {
+            return false;
+        }
+
+        scratch.clear();
+        scratch.putLong(record.getUuid().getMostSignificantBits());
+        scratch.putLong(record.getUuid().getLeastSignificantBits());
+        scratch.putLong(record.getFinishTime());
+        scratch.putFloat(record.getDamageTaken());
+        scratch.putInt(record.getFoldersCollected());
+        scratch.putShort((short) level.length);
+        scratch.put(level);
+        scratch.flip();
+
+        this.crc.reset();
+        this.crc.update(scratch.duplicate());
+
+        // The length is written last, a record is only visible once it is complete
+        this.buffer.put(this.position + HEADER_SIZE, scratch, 0, length);
+        this.buffer.putInt(this.position + 4, (int) this.crc.getValue());
+        this.buffer.putInt(this.position, length);
+        this.position += HEADER_SIZE + length;
+        return true;
+    }
+
+    /**
+     * The function removes all records behind a position and zero-fills their bytes again, so a later replay stops
+     * there. It is used to roll back records of a failed batch.
+     *
+     * @param position A write position returned by {@link #getPosition()} before the records were appended.
+     */
+    void truncate(int position) {
+        for (int offset = position; offset < this.position; offset++) {
+            this.buffer.put(offset, (byte) 0);
+        }
+        this.position = Math.min(this.position, position);
+    }
+
+    /**
+     * The function writes all appended records to the disk.
+     */
+    void force() {
+        this.buffer.force();
+    }
+
+    /**
+     * The function writes all appended records to the disk and closes the file. The segment can't be used afterwards.
+     *
+     * @throws IOException If the file can't be closed.
+     */
+    void close() throws IOException {
+        if (this.buffer == null) {
+            return;
+        }
+        this.force();
+        this.release();
+    }
+
+    /**
+     * The function closes the segment and deletes its file. The mapping itself is only released once the buffer is
+     * garbage collected, and Windows refuses to delete a file that is still mapped. A failed delete can simply be
+     * called again later.
+     *
+     * @throws IOException If the file can't be deleted.
+     */
+    void delete() throws IOException {
+        if (this.buffer != null) {
+            this.release();
+        }
+        Files.deleteIfExists(this.path);
+    }
+
+    /**
+     * The function closes the file and drops the buffer, so the garbage collector can unmap it. Unmapping it by hand
+     * while another reference to it might still be used would crash the JVM.
+     */
+    private void release() throws IOException {
+        this.buffer = null;
+        this.channel.close();
+    }
+
+    private ScoreRecord decode(int offset, int length) {
+        ByteBuffer payload = this.buffer.slice(offset, length);
+        UUID uuid = new UUID(payload.getLong(), payload.getLong());
+        long finishTime = payload.getLong();
+        float damageTaken = payload.getFloat();
+        int foldersCollected = payload.getInt();
+        byte[] level = new byte[payload.getShort() & 0xFFFF];
+        payload.get(level);
+        return new ScoreRecord(uuid, new String(level, StandardCharsets.UTF_8), finishTime, damageTaken, foldersCollected);
+    }
+}
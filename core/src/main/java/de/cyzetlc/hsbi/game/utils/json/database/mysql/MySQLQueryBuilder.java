@@ -10,38 +10,42 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedList;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Getter
 public class MySQLQueryBuilder {
-    // It's creating a new thread pool.
-    private final ExecutorService executorService;
-    // It's creating a new connection to the database.
-    private final Connection connection;
-    // It's creating a new connection to the database.
+    // It's the RowSetFactory shared by all builders, creating one is expensive.
+    static RowSetFactory factory;
+
+    static {
+        try {
+            factory = RowSetProvider.newFactory();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // It's the extension the connections are borrowed from and the shared executor belongs to.
     private final IMySQLExtension extension;
 
-    // It's creating a new RowSetFactory object.
-    private RowSetFactory factory;
-    // It's creating a new LinkedList object.
-    private LinkedList<Object> params;
+    // It's creating a new list for the parameters.
+    private final List<Object> params;
     // It's creating a new String object.
     private String query;
 
     public MySQLQueryBuilder(IMySQLExtension extension) {
-        this.executorService = Executors.newFixedThreadPool(15);
-        this.params = new LinkedList<>();
+        this.params = new ArrayList<>();
         this.extension = extension;
-        this.connection = extension.getNewConnection();
-        try {
-            this.factory = RowSetProvider.newFactory();
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
     }
 
     /**
@@ -50,7 +54,7 @@ public class MySQLQueryBuilder {
      * @return A CachedRowSet
      */
     public CachedRowSet executeQuerySync() {
-        return this.executeQueryOrUpdateSync(false);
+        return this.executeQueryOrUpdateSync(this.query, this.params.toArray(), false);
     }
 
     /**
@@ -59,13 +63,43 @@ public class MySQLQueryBuilder {
      * @return A CachedRowSet object.
      */
     public CachedRowSet executeUpdateSync() {
-        return this.executeQueryOrUpdateSync(true);
+        return this.executeQueryOrUpdateSync(this.query, this.params.toArray(), true);
+    }
+
+    /**
+     * This function returns the result of the query from the {@link QueryCache} of the extension, and only executes the
+     * query if it is not cached yet or its TTL expired.
+     *
+     * @param ttl The time the result stays valid.
+     * @param unit The unit of the TTL.
+     * @param tables The tables the query reads from, writes into them invalidate the result.
+     * @return A CachedRowSet, or null if the query failed.
+     */
+    public CachedRowSet executeQueryCached(long ttl, TimeUnit unit, String... tables) {
+        QueryCache cache = this.extension.getQueryCache();
+        Object[] params = this.params.toArray();
+        String key = QueryCache.key(this.query, params);
+
+        CachedRowSet cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Taken before the query runs, a write invalidated while it runs keeps the result out of the cache
+        Set<String> tableSet = Set.of(tables);
+        long generation = cache.generation(tableSet);
+        CachedRowSet rs = this.executeQueryOrUpdateSync(this.query, params, false);
+        if (rs != null) {
+            cache.put(key, rs, unit.toNanos(ttl), tableSet, generation);
+        }
+        return rs;
     }
 
     /**
      * "Execute a query asynchronously and call the callback when it's done."
      *
-     * The first thing we do is check if the connection is closed. If it is, we throw an exception
+     * The query and the parameters are captured when this method is called, so the builder can be changed and executed
+     * again right away.
      *
      * @param callback A Consumer<CachedRowSet> object that will be called when the query is finished.
      */
@@ -74,10 +108,10 @@ public class MySQLQueryBuilder {
     }
 
     /**
-     * "If the query is not already running, then run it asynchronously."
+     * "Execute an update statement asynchronously on the shared executor."
      *
-     * The first thing the function does is check to see if the query is already running. If it is, then it returns
-     * immediately
+     * The query and the parameters are captured when this method is called, so the builder can be changed and executed
+     * again right away.
      */
     public void executeUpdateAsync() {
         this.executeQueryOrUpdateAsync(null, true);
@@ -91,87 +125,148 @@ public class MySQLQueryBuilder {
      * as a query.
      */
     private void executeQueryOrUpdateAsync(Consumer<CachedRowSet> callback, boolean useUpdateStatement) {
-        this.executorService.execute(() -> {
-            CachedRowSet rs = MySQLQueryBuilder.this.executeQueryOrUpdateSync(useUpdateStatement);
+        final String query = this.query;
+        final Object[] params = this.params.toArray();
+
+        try {
+            this.extension.getExecutorService().execute(() -> {
+                CachedRowSet rs = MySQLQueryBuilder.this.executeQueryOrUpdateSync(query, params, useUpdateStatement);
+                if (callback != null) {
+                    callback.accept(rs);
+                }
+            });
+        } catch (RejectedExecutionException exception) {
+            // Too many queries are waiting, the query is dropped like a failed one
+            this.printDebugInformation(query, params);
+            exception.printStackTrace();
             if (callback != null) {
-                callback.accept(rs);
+                callback.accept(null);
             }
-        });
+        }
     }
 
     /**
-     * It takes a query and a list of parameters, and returns a CachedRowSet
+     * It borrows a connection from the pool, executes the query with the given parameters and returns the connection
+     * afterwards.
      *
+     * @param query The query to execute.
+     * @param params The parameters of the query.
      * @param useUpdateStatement If true, the query will be executed as an update statement.
-     * @return A CachedRowSet
+     * @return A CachedRowSet, or null for update statements and failed queries.
      */
-    private CachedRowSet executeQueryOrUpdateSync(boolean useUpdateStatement) {
-        PreparedStatement statement = null;
-        ResultSet rs = null;
-        CachedRowSet var5;
-
-        try {
-            statement = this.connection.prepareStatement(this.query);
+    private CachedRowSet executeQueryOrUpdateSync(String query, Object[] params, boolean useUpdateStatement) {
+        Connection connection = this.extension.getNewConnection();
+        if (connection == null) {
+            this.printDebugInformation(query, params);
+            return null;
+        }
 
-            for (int i = 0; i < this.params.size(); ++i) {
-                statement.setObject(i + 1, this.params.get(i));
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            for (int i = 0; i < params.length; ++i) {
+                statement.setObject(i + 1, params[i]);
             }
 
-            CachedRowSet crs;
-
             if (useUpdateStatement) {
                 statement.executeUpdate();
-                this.closeItems(null, statement);
                 return null;
             }
 
-            rs = statement.executeQuery();
-            if (rs == null) {
-                return null;
+            try (ResultSet rs = statement.executeQuery()) {
+                CachedRowSet crs = factory.createCachedRowSet();
+                crs.populate(rs);
+                return crs;
             }
-
-            crs = factory.createCachedRowSet();
-            crs.populate(rs);
-            this.closeItems(rs, statement);
-            var5 = crs;
-        } catch (SQLException var17) {
-            this.printDebugInformation();
-            var17.printStackTrace();
+        } catch (SQLException exception) {
+            this.printDebugInformation(query, params);
+            exception.printStackTrace();
             return null;
         } finally {
-            try {
-                this.closeItems(rs, statement);
-            } catch (SQLException var16) {
-                var16.printStackTrace();
-            }
-
+            this.extension.closeConnection(connection);
         }
-
-        return var5;
     }
 
     /**
-     * "Close all the things."
+     * It executes the query and returns its rows as a lazily consumed stream. Rows are fetched from the database in
+     * chunks of {@code fetchSize} while the stream is consumed and mapped one by one, so memory stays constant no matter
+     * how many rows the query returns.
      *
-     * The function is called from the `getAllItems` function, which is called from the `getItems` function
+     * The connection is borrowed from the streaming pool of the extension and stays borrowed until the stream is closed,
+     * so the stream must be used in a try-with-resources block:
+     * <pre>
+     * try (Stream&lt;HighscoreEntry&gt; entries = builder.stream(RowMapper.fields(HighscoreEntry.class), 100)) {
+     *     entries.forEach(...);
+     * }
+     * </pre>
      *
-     * @param rs The ResultSet object that is returned from the query.
-     * @param statement The SQL statement to be executed.
+     * A failing query never ends the stream silently: if the query can't be started or a row can't be read, a
+     * {@link QueryException} is thrown, so a partial result can't be mistaken for a complete one.
+     *
+     * @param mapper The mapper that turns a row into an object.
+     * @param fetchSize The number of rows fetched per round-trip.
+     * @return A stream of the mapped rows.
+     * @throws QueryException If the query can't be started, or later while consuming the stream if a row can't be read.
      */
-    private void closeItems(ResultSet rs, PreparedStatement statement) throws SQLException {
-        if (rs != null) {
-            rs.close();
-        }
+    public <T> Stream<T> stream(RowMapper<T> mapper, int fetchSize) {
+        final String query = this.query;
+        final Object[] params = this.params.toArray();
 
-        if (this.connection != null) {
-            this.connection.close();
+        Connection connection;
+        try {
+            connection = this.extension.getStreamingConnection();
+        } catch (SQLException exception) {
+            this.printDebugInformation(query, params);
+            throw new QueryException("No database connection available", exception);
         }
 
-        if (statement != null) {
-            statement.close();
+        PreparedStatement statement = null;
+        try {
+            statement = connection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < params.length; ++i) {
+                statement.setObject(i + 1, params[i]);
+            }
+
+            ResultSet rs = statement.executeQuery();
+            PreparedStatement openStatement = statement;
+
+            return StreamSupport.stream(new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, Spliterator.ORDERED) {
+                @Override
+                public boolean tryAdvance(Consumer<? super T> action) {
+                    try {
+                        if (!rs.next()) {
+                            return false;
+                        }
+                        action.accept(mapper.map(rs));
+                        return true;
+                    } catch (SQLException exception) {
+                        MySQLQueryBuilder.this.printDebugInformation(query, params);
+                        throw new QueryException("Streaming the result failed: " + exception.getMessage(), exception);
+                    }
+                }
+            }, false).onClose(() -> this.closeItems(rs, openStatement, connection));
+        } catch (SQLException exception) {
+            this.printDebugInformation(query, params);
+            this.closeItems(null, statement, connection);
+            throw new QueryException("Query failed: " + exception.getMessage(), exception);
         }
+    }
 
-        this.extension.closeConnection(this.connection);
+    /**
+     * It closes the result set and the statement of a stream and returns its connection to the pool.
+     */
+    private void closeItems(ResultSet rs, PreparedStatement statement, Connection connection) {
+        try {
+            if (rs != null) {
+                rs.close();
+            }
+            if (statement != null) {
+                statement.close();
+            }
+        } catch (SQLException exception) {
+            exception.printStackTrace();
+        } finally {
+            this.extension.closeConnection(connection);
+        }
     }
 
     /**
@@ -180,18 +275,22 @@ public class MySQLQueryBuilder {
      * @return The MySQLQueryBuilder object.
      */
     public MySQLQueryBuilder printDebugInformation() {
+        this.printDebugInformation(this.query, this.params.toArray());
+        return this;
+    }
+
+    private void printDebugInformation(String query, Object[] params) {
         System.out.println("-----------------------------");
         System.out.println("Query - Debug");
-        System.out.println("Query: " + this.query);
+        System.out.println("Query: " + query);
         System.out.println(" ");
         System.out.println("Parameters: ");
 
-        for (Object param : this.params) {
+        for (Object param : params) {
             System.out.println("- " + param);
         }
 
         System.out.println("-----------------------------");
-        return this;
     }
 
     /**
@@ -226,4 +325,14 @@ public class MySQLQueryBuilder {
         this.params.addAll(objects);
         return this;
     }
+
+    /**
+     * Removes all parameters, so the builder can be executed again with new values.
+     *
+     * @return The MySQLQueryBuilder object.
+     */
+    public MySQLQueryBuilder clearParameters() {
+        this.params.clear();
+        return this;
+    }
 }
@@ -0,0 +1,213 @@
+package de.cyzetlc.hsbi.game.utils.json.database.mysql;
+
+import lombok.Getter;
+
+import javax.sql.rowset.CachedRowSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code QueryCache} is a read-through cache for the results of {@link MySQLQueryBuilder#executeQueryCached}. Results
+ * are keyed by query and parameters, expire after their TTL and are evicted in LRU order once the cache is full.
+ * <p>
+ * Every entry is tagged with the tables it was read from. Code that writes into a table calls {@link #invalidate(String)}
+ * afterwards, so no stale result is served after a write. Every invalidation also bumps a generation counter of the
+ * table. A reader takes the {@link #generation(Set)} of its tables before it runs the query, and {@link #put} drops the
+ * result if a write was invalidated in the meantime, because the result may have been read before that write.
+ *
+ * @author Tom Coombs
+ */
+public class QueryCache {
+    private static final class Entry {
+        private final CachedRowSet rows;
+        private final long expiresAt;
+        private final Set<String> tables;
+
+        private Entry(CachedRowSet rows, long expiresAt, Set<String> tables) {
+            this.rows = rows;
+            this.expiresAt = expiresAt;
+            this.tables = tables;
+        }
+    }
+
+    private final int maxEntries;
+    private final LinkedHashMap<String, Entry> entries;
+
+    /** The number of invalidations per table, only ever increases. */
+    private final Map<String, Long> generations = new HashMap<>();
+    /** The number of {@link #invalidateAll()} calls, part of every generation. */
+    private long globalGeneration;
+
+    @Getter
+    private final LongAdder hits = new LongAdder();
+    @Getter
+    private final LongAdder misses = new LongAdder();
+    @Getter
+    private final LongAdder evictions = new LongAdder();
+    @Getter
+    private final LongAdder invalidations = new LongAdder();
+    @Getter
+    private final LongAdder staleDiscards = new LongAdder();
+
+    /**
+     * @param maxEntries The maximum number of cached results.
+     */
+    public QueryCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (this.size() > QueryCache.this.maxEntries) {
+                    QueryCache.this.evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * The function builds the cache key of a query.
+     *
+     * @param query The query.
+     * @param params The parameters of the query.
+     * @return The key.
+     */
+    static String key(String query, Object[] params) {
+        StringBuilder builder = new StringBuilder(query);
+        for (Object param : params) {
+            builder.append('\u0000').append(param);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * The function returns a copy of a cached result, every caller gets its own cursor.
+     *
+     * @param key The key of the query.
+     * @return The result, or {@code null} if it is not cached or expired.
+     */
+    CachedRowSet get(String key) {
+        Entry entry;
+        synchronized (this) {
+            entry = this.entries.get(key);
+            if (entry != null && entry.expiresAt - System.nanoTime() <= 0) {
+                this.entries.remove(key);
+                this.evictions.increment();
+                entry = null;
+            }
+        }
+
+        if (entry == null) {
+            this.misses.increment();
+            return null;
+        }
+
+        try {
+            CachedRowSet copy = entry.rows.createCopy();
+            this.hits.increment();
+            return copy;
+        } catch (SQLException e) {
+            this.misses.increment();
+            return null;
+        }
+    }
+
+    /**
+     * The function returns the current generation of a set of tables. It changes with every invalidation of one of
+     * the tables, and must be read before the query whose result is passed to {@link #put} runs.
+     *
+     * @param tables The tables the query reads from.
+     * @return The generation.
+     */
+    synchronized long generation(Set<String> tables) {
+        // the counters only increase, so the sum changes whenever one of them does
+        long generation = this.globalGeneration;
+        for (String table : tables) {
+            generation += this.generations.getOrDefault(table, 0L);
+        }
+        return generation;
+    }
+
+    /**
+     * The function stores a result. The cache keeps its own copy, so the caller may use the given result. The result
+     * is dropped if one of its tables was invalidated since the generation was read, it might miss that write.
+     *
+     * @param key The key of the query.
+     * @param rows The result.
+     * @param ttlNanos The time the result stays valid, in nanoseconds.
+     * @param tables The tables the result was read from.
+     * @param generation The {@link #generation(Set)} of the tables, read before the query was run.
+     */
+    void put(String key, CachedRowSet rows, long ttlNanos, Set<String> tables, long generation) {
+        try {
+            Entry entry = new Entry(rows.createCopy(), System.nanoTime() + ttlNanos, tables);
+            synchronized (this) {
+                if (this.generation(tables) != generation) {
+                    this.staleDiscards.increment();
+                    return;
+                }
+                this.entries.put(key, entry);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * The function removes all results that were read from the given table. It must be called after every write into
+     * a table that is read through the cache.
+     *
+     * @param table The table that was written to.
+     */
+    public synchronized void invalidate(String table) {
+        this.generations.merge(table, 1L, Long::sum);
+        Iterator<Entry> iterator = this.entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().tables.contains(table)) {
+                iterator.remove();
+                this.invalidations.increment();
+            }
+        }
+    }
+
+    /**
+     * The function removes all results.
+     */
+    public synchronized void invalidateAll() {
+        this.globalGeneration++;
+        this.invalidations.add(this.entries.size());
+        this.entries.clear();
+    }
+
+    /**
+     * The function returns the number of cached results.
+     *
+     * @return The number of cached results.
+     */
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * The function builds a short report of the cache counters.
+     *
+     * @return The report.
+     */
+    public String getStatistics() {
+        long hits = this.hits.sum();
+        long total = hits + this.misses.sum();
+        return "Query cache: size=" + this.size() + "/" + this.maxEntries
+                + ", hits=" + hits
+                + ", misses=" + this.misses.sum()
+                + ", hitRate=" + (total == 0 ? "-" : String.format("%.1f%%", hits * 100.0 / total))
+                + ", evictions=" + this.evictions.sum()
+                + ", invalidations=" + this.invalidations.sum()
+                + ", staleDiscards=" + this.staleDiscards.sum();
+    }
+}
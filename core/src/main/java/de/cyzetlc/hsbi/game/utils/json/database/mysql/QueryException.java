@@ -0,0 +1,16 @@
+package de.cyzetlc.hsbi.game.utils.json.database.mysql;
+
+import java.sql.SQLException;
+
+/**
+ * A {@code QueryException} is thrown while a streamed query is consumed, e.g. when the connection breaks in the middle of
+ * the result. It is unchecked, because it has to pass through the {@code Stream} API. Whoever catches it knows that the
+ * rows seen so far are incomplete.
+ *
+ * @author Tom Coombs
+ */
+public class QueryException extends RuntimeException {
+    public QueryException(String message, SQLException cause) {
+        super(message, cause);
+    }
+}
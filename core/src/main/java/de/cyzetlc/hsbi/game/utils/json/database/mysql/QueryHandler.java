@@ -5,29 +5,67 @@ import com.zaxxer.hikari.HikariDataSource;
 import de.cyzetlc.hsbi.game.utils.json.database.IDatabaseCredentials;
 import de.cyzetlc.hsbi.game.utils.json.database.IMySQLExtension;
 
+import javax.sql.rowset.CachedRowSet;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class QueryHandler implements IMySQLExtension {
     private HikariDataSource hikari;
 
+    // The small second pool used by MySQLQueryBuilder#stream, created on first use. Only its connections fetch through a
+    // server-side cursor, every other query keeps reading its result in one go.
+    private HikariDataSource streamingHikari;
+
+    // The number of streams that can be consumed at the same time.
+    private static final int STREAMING_POOL_SIZE = 2;
+
+    private final IDatabaseCredentials credentials;
+
+    // How many queries may wait per worker thread before new ones are rejected instead of piling up.
+    private static final int QUEUED_TASKS_PER_THREAD = 64;
+
+    // The one executor shared by all builders, sized to the connection pool so async queries never wait for a connection.
+    private final ExecutorService executorService;
+
+    // The timeout of queries started through executeAsync without an explicit timeout.
+    private volatile long defaultTimeoutMillis = TimeUnit.SECONDS.toMillis(10);
+
+    // Results of cached reads, invalidated by the code writing into the tables.
+    private final QueryCache queryCache = new QueryCache(1000);
+
     public QueryHandler(IDatabaseCredentials credentials) {
+        this.credentials = credentials;
         HikariConfig config = this.getHikariConfig(credentials);
+        int threads = Math.max(1, credentials.getPoolSize());
+        this.executorService = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * QUEUED_TASKS_PER_THREAD), this.createThreadFactory());
 
         try {
             this.hikari = new HikariDataSource(config);
-            Connection connection = this.getNewConnection();
             String timeZone = null;
-            ResultSet databaseTimeZone = connection.prepareStatement("SELECT @@GLOBAL.time_zone AS time_zone;").executeQuery();
 
-            if (databaseTimeZone.next()) {
-                timeZone = databaseTimeZone.getString("time_zone");
+            try (Connection connection = this.getNewConnection();
+                 PreparedStatement statement = connection.prepareStatement("SELECT @@GLOBAL.time_zone AS time_zone;");
+                 ResultSet databaseTimeZone = statement.executeQuery()) {
+                if (databaseTimeZone.next()) {
+                    timeZone = databaseTimeZone.getString("time_zone");
+                }
             }
-
-            databaseTimeZone.close();
-            connection.close();
-            this.closeConnection(connection);
         } catch (SQLException sqlException) {
             sqlException.printStackTrace();
         }
@@ -45,9 +83,32 @@ public class QueryHandler implements IMySQLExtension {
 
         config.setDriverClassName("com.mysql.cj.jdbc.Driver");
         config.setJdbcUrl(jdbcConStr);
+
+        // Server-side prepared statements, cached per pooled connection, so repeated queries skip parsing and planning.
+        config.addDataSourceProperty("useServerPrepStmts", "true");
+        config.addDataSourceProperty("cachePrepStmts", "true");
+        config.addDataSourceProperty("prepStmtCacheSize", "250");
+        config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+        // Lets the driver send a JDBC batch of inserts as one multi-row statement.
+        config.addDataSourceProperty("rewriteBatchedStatements", "true");
+        // Avoid round-trips for session state and metadata the driver can track itself.
+        config.addDataSourceProperty("useLocalSessionState", "true");
+        config.addDataSourceProperty("cacheResultSetMetadata", "true");
+        config.addDataSourceProperty("cacheServerConfiguration", "true");
+        config.addDataSourceProperty("elideSetAutoCommits", "true");
+        config.addDataSourceProperty("maintainTimeStats", "false");
         return config;
     }
 
+    private ThreadFactory createThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "mysql-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
     /**
      * It creates a new MySQLQueryBuilder object, sets the query, and returns it
      *
@@ -67,8 +128,145 @@ public class QueryHandler implements IMySQLExtension {
         return new MySQLQueryBuilder(this);
     }
 
+    /**
+     * It executes a query on the shared executor and completes the future with its result.
+     *
+     * @param query The query to execute.
+     * @param params The parameters of the query.
+     * @return A future of the result, completed exceptionally if the query fails or times out.
+     */
+    public CompletableFuture<CachedRowSet> queryAsync(String query, Object... params) {
+        return this.executeAsync(query, params, this.defaultTimeoutMillis, TimeUnit.MILLISECONDS, statement -> {
+            try (ResultSet rs = statement.executeQuery()) {
+                CachedRowSet crs = MySQLQueryBuilder.factory.createCachedRowSet();
+                crs.populate(rs);
+                return crs;
+            }
+        });
+    }
+
+    /**
+     * It executes a query on the shared executor and maps every row of its result.
+     *
+     * @param query The query to execute.
+     * @param mapper The mapper that turns a row into an object.
+     * @param params The parameters of the query.
+     * @return A future of the mapped rows, completed exceptionally if the query fails or times out.
+     */
+    public <T> CompletableFuture<List<T>> queryAsync(String query, RowMapper<T> mapper, Object... params) {
+        return this.executeAsync(query, params, this.defaultTimeoutMillis, TimeUnit.MILLISECONDS, statement -> {
+            List<T> rows = new ArrayList<>();
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(mapper.map(rs));
+                }
+            }
+            return rows;
+        });
+    }
+
+    /**
+     * It executes an update statement on the shared executor.
+     *
+     * @param query The statement to execute.
+     * @param params The parameters of the statement.
+     * @return A future of the number of changed rows, completed exceptionally if the statement fails or times out.
+     */
+    public CompletableFuture<Integer> updateAsync(String query, Object... params) {
+        return this.executeAsync(query, params, this.defaultTimeoutMillis, TimeUnit.MILLISECONDS, PreparedStatement::executeUpdate);
+    }
+
+    /**
+     * It executes a statement on the shared executor. The statement runs on a borrowed connection, which is returned
+     * to the pool when the call is finished.
+     *
+     * The future fails with the exception of the statement, with a {@link TimeoutException} if the statement doesn't
+     * finish in time, or with a {@link RejectedExecutionException} if too many statements are queued. Cancelling the
+     * future or running into the timeout also cancels the statement on the database server.
+     *
+     * @param query The statement to execute.
+     * @param params The parameters of the statement.
+     * @param timeout The maximum time the statement may take, including the time it waits in the queue.
+     * @param unit The unit of the timeout.
+     * @param call The call executing the prepared statement.
+     * @return A future of the result of the call.
+     */
+    public <T> CompletableFuture<T> executeAsync(String query, Object[] params, long timeout, TimeUnit unit, StatementCall<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        AtomicReference<Statement> running = new AtomicReference<>();
+
+        try {
+            this.executorService.execute(() -> {
+                if (future.isDone()) {
+                    return; // cancelled or timed out while waiting in the queue
+                }
+
+                Connection connection = this.getNewConnection();
+                if (connection == null) {
+                    future.completeExceptionally(new SQLException("No database connection available"));
+                    return;
+                }
+
+                try (PreparedStatement statement = connection.prepareStatement(query)) {
+                    running.set(statement);
+                    statement.setQueryTimeout((int) Math.max(1, (unit.toMillis(timeout) + 999) / 1000));
+                    for (int i = 0; i < params.length; ++i) {
+                        statement.setObject(i + 1, params[i]);
+                    }
+                    future.complete(call.execute(statement));
+                } catch (Throwable throwable) {
+                    future.completeExceptionally(throwable);
+                } finally {
+                    running.set(null);
+                    this.closeConnection(connection);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        future.orTimeout(timeout, unit).whenComplete((result, throwable) -> {
+            Statement statement = running.get();
+            if (throwable != null && statement != null) {
+                try {
+                    statement.cancel();
+                } catch (SQLException ignored) {
+                    // the statement finished in the meantime
+                }
+            }
+        });
+        return future;
+    }
+
+    /**
+     * It combines several independent queries, which run concurrently on the shared executor, into one future.
+     *
+     * @param futures The futures of the queries.
+     * @return A future of all results in the order of the given futures, it fails as soon as one of the queries fails.
+     */
+    public static <T> CompletableFuture<List<T>> allOf(List<CompletableFuture<T>> futures) {
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenApply(ignored -> {
+            List<T> results = new ArrayList<>(futures.size());
+            for (CompletableFuture<T> future : futures) {
+                results.add(future.join());
+            }
+            return results;
+        });
+    }
+
+    /**
+     * It sets the timeout of the queries started through {@link #queryAsync} and {@link #updateAsync}.
+     *
+     * @param timeout The timeout.
+     * @param unit The unit of the timeout.
+     */
+    public void setDefaultTimeout(long timeout, TimeUnit unit) {
+        this.defaultTimeoutMillis = unit.toMillis(timeout);
+    }
+
     @Override
-    // Getting a new connection from the HikariDataSource object.
+    // Borrowing a connection from the HikariDataSource object.
     public Connection getNewConnection() {
         try {
             return this.hikari.getConnection();
@@ -79,14 +277,63 @@ public class QueryHandler implements IMySQLExtension {
     }
 
     @Override
+    // Borrowing a connection from the streaming pool, whose connections make setFetchSize() fetch rows in chunks through
+    // a server-side cursor instead of reading the whole result.
+    public synchronized Connection getStreamingConnection() throws SQLException {
+        if (this.streamingHikari == null) {
+            HikariConfig config = this.getHikariConfig(this.credentials);
+            config.setPoolName("mysql-stream");
+            config.setMaximumPoolSize(STREAMING_POOL_SIZE);
+            config.setMinimumIdle(0);
+            config.addDataSourceProperty("useCursorFetch", "true");
+            this.streamingHikari = new HikariDataSource(config);
+        }
+        return this.streamingHikari.getConnection();
+    }
+
+    @Override
+    // Returning a borrowed connection to the pool, the physical connection stays open for the next query.
     public void closeConnection(Connection connection) {
-        this.hikari.evictConnection(connection);
+        if (connection == null) {
+            return;
+        }
+
+        try {
+            connection.close();
+        } catch (SQLException sqlException) {
+            sqlException.printStackTrace();
+        }
+    }
+
+    @Override
+    public ExecutorService getExecutorService() {
+        return this.executorService;
+    }
+
+    @Override
+    public QueryCache getQueryCache() {
+        return this.queryCache;
     }
 
     @Override
     public void stop() {
-        if (!this.hikari.isClosed()) {
+        this.executorService.shutdown();
+        try {
+            if (!this.executorService.awaitTermination(10, TimeUnit.SECONDS)) {
+                this.executorService.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            this.executorService.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        if (this.hikari != null && !this.hikari.isClosed()) {
             this.hikari.close();
         }
+        synchronized (this) {
+            if (this.streamingHikari != null && !this.streamingHikari.isClosed()) {
+                this.streamingHikari.close();
+            }
+        }
     }
 }
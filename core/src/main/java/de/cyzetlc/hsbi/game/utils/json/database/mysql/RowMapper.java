@@ -0,0 +1,125 @@
+package de.cyzetlc.hsbi.game.utils.json.database.mysql;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * A {@code RowMapper} turns the current row of a {@link ResultSet} into an object. It is used by
+ * {@link MySQLQueryBuilder#stream(RowMapper, int)} to map rows one by one while they are read from the database.
+ *
+ * @param <T> The type a row is mapped to.
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+    /**
+     * The function maps the current row. It must not move the cursor.
+     *
+     * @param resultSet The result set, positioned on the row to map.
+     * @return The mapped object.
+     * @throws SQLException If a column can't be read.
+     */
+    T map(ResultSet resultSet) throws SQLException;
+
+    /**
+     * The function creates a mapper that reads a single column.
+     *
+     * @param label The label of the column.
+     * @param type The type of the column value.
+     * @return The mapper.
+     */
+    static <T> RowMapper<T> column(String label, Class<T> type) {
+        return resultSet -> resultSet.getObject(label, type);
+    }
+
+    /**
+     * The function creates a mapper that writes every column into the field of the same name (case-insensitive) of a
+     * new instance of the given class, e.g. {@code SELECT uuid AS playerName, finish_time AS time ...} for a
+     * {@code ServerSendHighscoresPacket.HighscoreEntry}. Columns without a matching field are ignored. The class needs a
+     * no-arg constructor.
+     * <p>
+     * The column-to-field lookup is done once on the first row, so a mapper must only be used for one query.
+     *
+     * @param type The class to create.
+     * @return The mapper.
+     */
+    static <T> RowMapper<T> fields(Class<T> type) {
+        final Constructor<T> constructor;
+        try {
+            constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException(type.getName() + " has no no-arg constructor", e);
+        }
+
+        return new RowMapper<>() {
+            private Field[] columns;
+
+            @Override
+            public T map(ResultSet resultSet) throws SQLException {
+                if (this.columns == null) {
+                    this.columns = this.resolve(resultSet.getMetaData());
+                }
+
+                try {
+                    T instance = constructor.newInstance();
+                    for (int i = 0; i < this.columns.length; i++) {
+                        Field field = this.columns[i];
+                        if (field == null) {
+                            continue;
+                        }
+
+                        Object value = resultSet.getObject(i + 1, boxed(field.getType()));
+                        if (value != null || !field.getType().isPrimitive()) {
+                            field.set(instance, value);
+                        }
+                    }
+                    return instance;
+                } catch (ReflectiveOperationException e) {
+                    throw new SQLException("Can't map row to " + type.getName(), e);
+                }
+            }
+
+            private Field[] resolve(ResultSetMetaData metaData) throws SQLException {
+                Field[] result = new Field[metaData.getColumnCount()];
+                for (int i = 0; i < result.length; i++) {
+                    String label = metaData.getColumnLabel(i + 1);
+                    for (Field field : type.getDeclaredFields()) {
+                        int modifiers = field.getModifiers();
+                        if (!Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers) && field.getName().equalsIgnoreCase(label)) {
+                            field.setAccessible(true);
+                            result[i] = field;
+                            break;
+                        }
+                    }
+                }
+                return result;
+            }
+        };
+    }
+
+    private static Class<?> boxed(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        if (type == int.class) {
+            return Integer.class;
+        } else if (type == long.class) {
+            return Long.class;
+        } else if (type == double.class) {
+            return Double.class;
+        } else if (type == float.class) {
+            return Float.class;
+        } else if (type == boolean.class) {
+            return Boolean.class;
+        } else if (type == short.class) {
+            return Short.class;
+        } else if (type == byte.class) {
+            return Byte.class;
+        }
+        return Character.class;
+    }
+}
@@ -0,0 +1,191 @@
+package de.cyzetlc.hsbi.game.utils.json.database.mysql;
+
+import de.cyzetlc.hsbi.game.utils.json.database.IMySQLExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The {@code SchemaMigrator} brings the database schema to the newest version. Every migration has a version number
+ * and is applied exactly once, the applied versions are recorded in the {@code schema_version} table.
+ * <p>
+ * MySQL commits DDL statements implicitly, so a migration can't be rolled back. A migration that failed halfway is
+ * retried on the next start, which is why its statements should be idempotent ({@code IF NOT EXISTS}). MySQL has no
+ * {@code ADD COLUMN IF NOT EXISTS}, a migration that changes existing tables is registered as a {@link Step} and
+ * checks the schema first with {@link #columnExists} and {@link #indexExists}.
+ *
+ * @author Tom Coombs
+ */
+public class SchemaMigrator {
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMigrator.class.getName());
+
+    private static final String VERSION_TABLE = "CREATE TABLE IF NOT EXISTS `schema_version` ("
+            + "`version` INT NOT NULL PRIMARY KEY, "
+            + "`description` VARCHAR(255) NOT NULL, "
+            + "`applied_at` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP"
+            + ") ENGINE=InnoDB;";
+
+    /**
+     * A {@code Step} is a migration written in Java, for changes that depend on the current schema.
+     */
+    @FunctionalInterface
+    public interface Step {
+        /**
+         * @param connection The connection the migration runs on.
+         * @throws SQLException If the migration fails.
+         */
+        void migrate(Connection connection) throws SQLException;
+    }
+
+    private static final class Migration {
+        private final int version;
+        private final String description;
+        private final Step step;
+
+        private Migration(int version, String description, Step step) {
+            this.version = version;
+            this.description = description;
+            this.step = step;
+        }
+    }
+
+    private final IMySQLExtension extension;
+    private final List<Migration> migrations = new ArrayList<>();
+
+    public SchemaMigrator(IMySQLExtension extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * The function registers a migration.
+     *
+     * @param version The version the schema has after the migration, must be unique.
+     * @param description A short description for the log and the version table.
+     * @param statements The statements of the migration, executed in the given order.
+     * @return The SchemaMigrator object.
+     */
+    public SchemaMigrator add(int version, String description, String... statements) {
+        return this.add(version, description, connection -> {
+            try (Statement statement = connection.createStatement()) {
+                for (String sql : statements) {
+                    statement.execute(sql);
+                }
+            }
+        });
+    }
+
+    /**
+     * The function registers a migration written in Java.
+     *
+     * @param version The version the schema has after the migration, must be unique.
+     * @param description A short description for the log and the version table.
+     * @param step The migration.
+     * @return The SchemaMigrator object.
+     */
+    public SchemaMigrator add(int version, String description, Step step) {
+        for (Migration migration : this.migrations) {
+            if (migration.version == version) {
+                throw new IllegalArgumentException("Migration " + version + " is registered twice");
+            }
+        }
+
+        this.migrations.add(new Migration(version, description, step));
+        return this;
+    }
+
+    /**
+     * The function checks whether a table of the current database has a column.
+     *
+     * @param connection The connection to check on.
+     * @param table The table.
+     * @param column The column.
+     * @return {@code true} if the column exists.
+     * @throws SQLException If the schema can't be read.
+     */
+    public static boolean columnExists(Connection connection, String table, String column) throws SQLException {
+        return exists(connection, "SELECT 1 FROM `information_schema`.`COLUMNS` "
+                + "WHERE `TABLE_SCHEMA` = DATABASE() AND `TABLE_NAME` = ? AND `COLUMN_NAME` = ? LIMIT 1;", table, column);
+    }
+
+    /**
+     * The function checks whether a table of the current database has an index.
+     *
+     * @param connection The connection to check on.
+     * @param table The table.
+     * @param index The name of the index.
+     * @return {@code true} if the index exists.
+     * @throws SQLException If the schema can't be read.
+     */
+    public static boolean indexExists(Connection connection, String table, String index) throws SQLException {
+        return exists(connection, "SELECT 1 FROM `information_schema`.`STATISTICS` "
+                + "WHERE `TABLE_SCHEMA` = DATABASE() AND `TABLE_NAME` = ? AND `INDEX_NAME` = ? LIMIT 1;", table, index);
+    }
+
+    private static boolean exists(Connection connection, String query, String... params) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            for (int i = 0; i < params.length; ++i) {
+                statement.setString(i + 1, params[i]);
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    /**
+     * The function applies all migrations newer than the current schema version, in ascending order.
+     *
+     * @return The schema version after the migration.
+     * @throws SQLException If a migration fails, the schema stays at the version of the last successful migration.
+     */
+    public int migrate() throws SQLException {
+        Connection connection = this.extension.getNewConnection();
+        if (connection == null) {
+            throw new SQLException("No database connection available");
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(VERSION_TABLE);
+
+            int current = 0;
+            try (ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(`version`), 0) FROM `schema_version`;")) {
+                if (rs.next()) {
+                    current = rs.getInt(1);
+                }
+            }
+
+            List<Migration> pending = new ArrayList<>(this.migrations);
+            pending.sort(Comparator.comparingInt(migration -> migration.version));
+
+            for (Migration migration : pending) {
+                if (migration.version <= current) {
+                    continue;
+                }
+
+                logger.info("Migrating schema to version " + migration.version + ": " + migration.description);
+                migration.step.migrate(connection);
+
+                try (PreparedStatement insert = connection.prepareStatement(
+                        "INSERT INTO `schema_version` (`version`, `description`) VALUES (?,?);")) {
+                    insert.setInt(1, migration.version);
+                    insert.setString(2, migration.description);
+                    insert.executeUpdate();
+                }
+                current = migration.version;
+            }
+
+            logger.info("Schema is at version " + current);
+            return current;
+        } finally {
+            this.extension.closeConnection(connection);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package de.cyzetlc.hsbi.game.utils.json.database.mysql;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * A {@code StatementCall} executes a prepared statement whose parameters are already set and turns its outcome into a
+ * result. It is used by {@link QueryHandler#executeAsync}.
+ *
+ * @param <T> The type of the result.
+ */
+@FunctionalInterface
+public interface StatementCall<T> {
+    /**
+     * The function executes the statement.
+     *
+     * @param statement The statement, ready to be executed.
+     * @return The result.
+     * @throws SQLException If the statement fails.
+     */
+    T execute(PreparedStatement statement) throws SQLException;
+}
@@ -0,0 +1,220 @@
+package de.cyzetlc.hsbi.game.utils.json.database.stats;
+
+import de.cyzetlc.hsbi.game.utils.json.database.mysql.QueryException;
+import de.cyzetlc.hsbi.game.utils.json.database.mysql.QueryHandler;
+import de.cyzetlc.hsbi.game.utils.json.database.mysql.SchemaMigrator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.rowset.CachedRowSet;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * The {@code MySQLStatsStorage} writes runs into the {@code stats} table of a MySQL database and keeps the best run of
+ * every player and level in {@code stats_best}, so leaderboard reads never scan all runs.
+ */
+public class MySQLStatsStorage implements StatsStorage {
+    private static final Logger logger = LoggerFactory.getLogger(MySQLStatsStorage.class.getName());
+
+    private static final String INSERT_QUERY =
+            "INSERT INTO `stats` (`uuid`, `level`, `finish_time`, `dmg_taken`, `folders_collected`) VALUES (?,?,?,?,?);";
+
+    // Keeps stats_best at the best run per player and level, inserted in the same transaction as the run itself.
+    private static final String UPSERT_BEST_QUERY =
+            "INSERT INTO `stats_best` (`uuid`, `level`, `finish_time`) VALUES (?,?,?) "
+                    + "ON DUPLICATE KEY UPDATE `finish_time` = LEAST(`finish_time`, VALUES(`finish_time`));";
+
+    private static final String BEST_QUERY = "SELECT `uuid`, `level`, `finish_time` AS `time` FROM `stats_best`;";
+
+    // Served from the (level, finish_time, uuid) index alone, without touching the table rows.
+    private static final String TOP_QUERY =
+            "SELECT `uuid`, `finish_time` FROM `stats_best` WHERE `level` = ? ORDER BY `finish_time`, `uuid` LIMIT ?;";
+
+    /**
+     * The level of runs stored before the {@code stats} table had a {@code level} column.
+     */
+    private static final String LEGACY_LEVEL = "unknown";
+
+    private final QueryHandler queryHandler;
+
+    public MySQLStatsStorage(QueryHandler queryHandler) {
+        this.queryHandler = queryHandler;
+    }
+
+    /**
+     * The function creates or updates the tables of the storage.
+     * <p>
+     * Installations from before the migrations have a {@code stats} table without {@code level} column and indexes,
+     * which version 1 leaves as it is. Version 2 adds them, the runs of those installations get the level
+     * {@value #LEGACY_LEVEL}.
+     *
+     * @throws SQLException If a migration fails.
+     */
+    public void migrate() throws SQLException {
+        new SchemaMigrator(this.queryHandler)
+                .add(1, "Create stats table",
+                        "CREATE TABLE IF NOT EXISTS `stats` ("
+                                + "`id` BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, "
+                                + "`uuid` CHAR(36) NOT NULL, "
+                                + "`level` VARCHAR(64) NOT NULL, "
+                                + "`finish_time` BIGINT NOT NULL, "
+                                + "`dmg_taken` FLOAT NOT NULL DEFAULT 0, "
+                                + "`folders_collected` INT NOT NULL DEFAULT 0, "
+                                + "`created_at` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, "
+                                + "INDEX `idx_stats_level_time` (`level`, `finish_time`), "
+                                + "INDEX `idx_stats_uuid_level` (`uuid`, `level`)"
+                                + ") ENGINE=InnoDB;")
+                .add(2, "Upgrade stats table of older installations", this::upgradeLegacyStats)
+                .add(3, "Create stats_best table",
+                        "CREATE TABLE IF NOT EXISTS `stats_best` ("
+                                + "`uuid` CHAR(36) NOT NULL, "
+                                + "`level` VARCHAR(64) NOT NULL, "
+                                + "`finish_time` BIGINT NOT NULL, "
+                                + "PRIMARY KEY (`uuid`, `level`), "
+                                + "INDEX `idx_best_level_time` (`level`, `finish_time`, `uuid`)"
+                                + ") ENGINE=InnoDB;",
+                        "INSERT INTO `stats_best` (`uuid`, `level`, `finish_time`) "
+                                + "SELECT `uuid`, `level`, MIN(`finish_time`) FROM `stats` GROUP BY `uuid`, `level` "
+                                + "ON DUPLICATE KEY UPDATE `finish_time` = LEAST(`stats_best`.`finish_time`, VALUES(`finish_time`));")
+                .migrate();
+    }
+
+    /**
+     * The function adds the {@code level} column and the indexes to a {@code stats} table that was created before the
+     * migrations. Every change is only made if it is missing, so the step can be repeated.
+     *
+     * @param connection The connection of the migration.
+     * @throws SQLException If the table can't be changed.
+     */
+    private void upgradeLegacyStats(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            if (!SchemaMigrator.columnExists(connection, "stats", "level")) {
+                statement.execute("ALTER TABLE `stats` ADD COLUMN `level` VARCHAR(64) NOT NULL DEFAULT '" + LEGACY_LEVEL + "' AFTER `uuid`;");
+            }
+            if (!SchemaMigrator.indexExists(connection, "stats", "idx_stats_level_time")) {
+                statement.execute("ALTER TABLE `stats` ADD INDEX `idx_stats_level_time` (`level`, `finish_time`);");
+            }
+            if (!SchemaMigrator.indexExists(connection, "stats", "idx_stats_uuid_level")) {
+                statement.execute("ALTER TABLE `stats` ADD INDEX `idx_stats_uuid_level` (`uuid`, `level`);");
+            }
+        }
+    }
+
+    /**
+     * The function reads the best runs of a level from {@code stats_best}. The result is cached for a few seconds
+     * and dropped as soon as new runs are written.
+     *
+     * @param level The level.
+     * @param limit The maximum number of runs.
+     * @return The best runs in ascending order of time.
+     */
+    public List<ScoreRecord> getTopScores(String level, int limit) {
+        List<ScoreRecord> records = new ArrayList<>();
+        CachedRowSet rs = this.queryHandler.createBuilder(TOP_QUERY)
+                .addParameter(level)
+                .addParameter(limit)
+                .executeQueryCached(5, TimeUnit.SECONDS, "stats");
+        if (rs == null) {
+            return records;
+        }
+
+        try {
+            while (rs.next()) {
+                records.add(new ScoreRecord(UUID.fromString(rs.getString("uuid")), level, rs.getLong("finish_time"), 0f, 0));
+            }
+        } catch (SQLException | IllegalArgumentException e) {
+            e.printStackTrace();
+        }
+        return records;
+    }
+
+    /**
+     * The function inserts every run into {@code stats}. Runs of the same player and level are coalesced into one
+     * upsert of {@code stats_best}, only the best of them is sent. Both happen in one transaction.
+     *
+     * @param records The runs to write.
+     * @throws IOException If the batch could not be written.
+     */
+    @Override
+    public void writeBatch(List<ScoreRecord> records) throws IOException {
+        Connection connection = this.queryHandler.getNewConnection();
+        if (connection == null) {
+            throw new IOException("No database connection available");
+        }
+
+        try {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_QUERY);
+                 PreparedStatement best = connection.prepareStatement(UPSERT_BEST_QUERY)) {
+                Map<String, ScoreRecord> bestRuns = new LinkedHashMap<>();
+                for (ScoreRecord record : records) {
+                    statement.setString(1, record.getUuid().toString());
+                    statement.setString(2, record.getLevel());
+                    statement.setLong(3, record.getFinishTime());
+                    statement.setFloat(4, record.getDamageTaken());
+                    statement.setInt(5, record.getFoldersCollected());
+                    statement.addBatch();
+                    bestRuns.merge(record.getKey(), record, (current, added) -> added.isBetterThan(current) ? added : current);
+                }
+                for (ScoreRecord record : bestRuns.values()) {
+                    best.setString(1, record.getUuid().toString());
+                    best.setString(2, record.getLevel());
+                    best.setLong(3, record.getFinishTime());
+                    best.addBatch();
+                }
+                statement.executeBatch();
+                best.executeBatch();
+                connection.commit();
+                this.queryHandler.getQueryCache().invalidate("stats");
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                try {
+                    connection.setAutoCommit(true);
+                } catch (SQLException e) {
+                    // must not hide the exception of the batch, the pool resets broken connections anyway
+                    logger.warn("Failed to restore auto-commit: " + e.getMessage());
+                }
+            }
+        } catch (SQLException e) {
+            throw new IOException(e.getMessage(), e);
+        } finally {
+            this.queryHandler.closeConnection(connection);
+        }
+    }
+
+    @Override
+    public void forEachBest(Consumer<ScoreRecord> consumer) throws IOException {
+        // The rows are streamed, so only the consumer has to keep them in memory
+        try (Stream<ScoreRecord> stream = this.queryHandler.createBuilder(BEST_QUERY).stream(rs -> {
+            try {
+                return new ScoreRecord(UUID.fromString(rs.getString("uuid")), rs.getString("level"), rs.getLong("time"), 0f, 0);
+            } catch (IllegalArgumentException e) {
+                return null; // rows with an invalid uuid are skipped
+            }
+        }, 500)) {
+            stream.filter(Objects::nonNull).forEach(consumer);
+        } catch (QueryException e) {
+            throw new IOException("Reading the best runs failed: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        this.queryHandler.stop();
+    }
+}
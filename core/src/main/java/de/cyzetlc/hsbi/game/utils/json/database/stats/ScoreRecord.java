@@ -0,0 +1,38 @@
+package de.cyzetlc.hsbi.game.utils.json.database.stats;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * A single finished run of a level, as it is written into the {@code stats} table.
+ */
+@Getter
+@AllArgsConstructor
+public class ScoreRecord {
+    private final UUID uuid;
+    private final String level;
+    private final long finishTime;
+    private final float damageTaken;
+    private final int foldersCollected;
+
+    /**
+     * The function returns the key two records are coalesced by, one best run per player and level.
+     *
+     * @return The coalescing key.
+     */
+    public String getKey() {
+        return this.uuid + ":" + this.level;
+    }
+
+    /**
+     * The function checks whether this record is a better run than the given one, a lower finish time wins.
+     *
+     * @param other The record to compare with.
+     * @return {@code true} if this record should be kept.
+     */
+    public boolean isBetterThan(ScoreRecord other) {
+        return other == null || this.finishTime < other.finishTime;
+    }
+}
@@ -0,0 +1,36 @@
+package de.cyzetlc.hsbi.game.utils.json.database.stats;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A {@code StatsStorage} persists finished runs. The server only talks to this interface, so the MySQL database can be
+ * replaced by the embedded {@code LocalStatsStorage} on single-node deployments.
+ *
+ * @see MySQLStatsStorage
+ * @see de.cyzetlc.hsbi.game.utils.json.database.local.LocalStatsStorage
+ */
+public interface StatsStorage extends AutoCloseable {
+    /**
+     * The function writes a batch of runs. The batch is either written completely or the call fails.
+     *
+     * @param records The runs to write.
+     * @throws IOException If the batch could not be written.
+     */
+    void writeBatch(List<ScoreRecord> records) throws IOException;
+
+    /**
+     * The function passes the best run of every player on every level to the consumer.
+     *
+     * @param consumer The consumer receiving the runs.
+     * @throws IOException If the runs could not be read.
+     */
+    void forEachBest(Consumer<ScoreRecord> consumer) throws IOException;
+
+    /**
+     * The function flushes and releases all resources of the storage.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,126 @@
+package de.cyzetlc.hsbi.game.world;
+
+import lombok.Getter;
+
+/**
+ * The {@code AABB} is a mutable axis-aligned bounding box stored as primitive min/max coordinates. Unlike an immutable
+ * rectangle it is meant to be kept in a field and refreshed in place, so collision checks in the game loop don't
+ * allocate.
+ * <p>
+ * Two boxes intersect if their interiors overlap, boxes that only share an edge don't.
+ *
+ * @author Tom Coombs
+ */
+@Getter
+public final class AABB {
+    private double minX;
+    private double minY;
+    private double maxX;
+    private double maxY;
+
+    public AABB() {
+    }
+
+    public AABB(double x, double y, double width, double height) {
+        this.set(x, y, width, height);
+    }
+
+    /**
+     * The function moves and resizes the box.
+     *
+     * @param x The left edge.
+     * @param y The top edge.
+     * @param width The width.
+     * @param height The height.
+     * @return This box.
+     */
+    public AABB set(double x, double y, double width, double height) {
+        this.minX = x;
+        this.minY = y;
+        this.maxX = x + width;
+        this.maxY = y + height;
+        return this;
+    }
+
+    /**
+     * The function sets the box to the area a box of the given size covers while it moves by {@code (dx, dy)}, which
+     * is the smallest box containing its start and end position.
+     *
+     * @param x The left edge at the start.
+     * @param y The top edge at the start.
+     * @param width The width.
+     * @param height The height.
+     * @param dx The movement in x direction.
+     * @param dy The movement in y direction.
+     * @return This box.
+     */
+    public AABB setSwept(double x, double y, double width, double height, double dx, double dy) {
+        this.minX = Math.min(x, x + dx);
+        this.minY = Math.min(y, y + dy);
+        this.maxX = Math.max(x, x + dx) + width;
+        this.maxY = Math.max(y, y + dy) + height;
+        return this;
+    }
+
+    /**
+     * The function moves the box without changing its size.
+     *
+     * @param dx The movement in x direction.
+     * @param dy The movement in y direction.
+     * @return This box.
+     */
+    public AABB translate(double dx, double dy) {
+        this.minX += dx;
+        this.minY += dy;
+        this.maxX += dx;
+        this.maxY += dy;
+        return this;
+    }
+
+    public double getWidth() {
+        return this.maxX - this.minX;
+    }
+
+    public double getHeight() {
+        return this.maxY - this.minY;
+    }
+
+    /**
+     * The function checks if this box overlaps another one.
+     *
+     * @param other The other box.
+     * @return {@code true} if the interiors of both boxes overlap.
+     */
+    public boolean intersects(AABB other) {
+        return other != null && intersects(this.minX, this.minY, this.maxX, this.maxY,
+                other.minX, other.minY, other.maxX, other.maxY);
+    }
+
+    /**
+     * The function checks if this box overlaps the given one.
+     *
+     * @param x The left edge of the other box.
+     * @param y The top edge of the other box.
+     * @param width The width of the other box.
+     * @param height The height of the other box.
+     * @return {@code true} if the interiors of both boxes overlap.
+     */
+    public boolean intersects(double x, double y, double width, double height) {
+        return intersects(this.minX, this.minY, this.maxX, this.maxY, x, y, x + width, y + height);
+    }
+
+    /**
+     * The function checks if two boxes given by their min/max coordinates overlap.
+     *
+     * @return {@code true} if the interiors of both boxes overlap.
+     */
+    public static boolean intersects(double aMinX, double aMinY, double aMaxX, double aMaxY,
+                                     double bMinX, double bMinY, double bMaxX, double bMaxY) {
+        return bMaxX > aMinX && bMaxY > aMinY && bMinX < aMaxX && bMinY < aMaxY;
+    }
+
+    @Override
+    public String toString() {
+        return "AABB[" + this.minX + ", " + this.minY + " -> " + this.maxX + ", " + this.maxY + "]";
+    }
+}
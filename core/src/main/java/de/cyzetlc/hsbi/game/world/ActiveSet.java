@@ -0,0 +1,172 @@
+package de.cyzetlc.hsbi.game.world;
+
+import java.util.Arrays;
+
+/**
+ * The {@code ActiveSet} holds the objects that are currently alive, e.g. the blocks that take part in the game loop.
+ * Adding and removing are O(1), so the cost of walking the set only depends on the number of live objects, not on
+ * how many have ever existed.
+ * <p>
+ * Every member remembers its slot in the set ({@link Member}). {@link #remove} only leaves a tombstone ({@code null})
+ * in that slot, so a loop over {@code 0 <= i < size()} that removes members stays valid; such loops have to skip
+ * {@code null} entries. {@link #compact()} fills the holes with members from the end of the array (swap-remove) and
+ * is meant to be called after such a loop, e.g. once per tick. It only touches the holes, not the whole set.
+ * <p>
+ * The set is not thread-safe.
+ *
+ * @param <T> The type of the members.
+ * @author Tom Coombs
+ */
+public final class ActiveSet<T extends ActiveSet.Member> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The {@code Member} is an object that can be stored in an {@link ActiveSet}. It keeps its slot, so the set
+     * finds it without a lookup. An object can only be member of one set at a time.
+     */
+    public interface Member {
+        /**
+         * @return The slot in the set, -1 if the object is not in a set.
+         */
+        int getActiveSlot();
+
+        /**
+         * Only called by the {@link ActiveSet}.
+         *
+         * @param slot The new slot, -1 if the object was removed.
+         */
+        void setActiveSlot(int slot);
+    }
+
+    private Object[] elements = new Object[INITIAL_CAPACITY];
+    private int size;
+
+    /** Slots of the tombstones since the last {@link #compact()}. */
+    private int[] holes = new int[INITIAL_CAPACITY];
+    private int holeCount;
+
+    /**
+     * The function adds an object at the end of the set.
+     *
+     * @param member The object.
+     * @return {@code false} if the object is already in the set.
+     */
+    public boolean add(T member) {
+        if (this.contains(member)) {
+            return false;
+        }
+        if (this.size == this.elements.length) {
+            this.elements = Arrays.copyOf(this.elements, this.size * 2);
+        }
+        this.elements[this.size] = member;
+        member.setActiveSlot(this.size);
+        this.size++;
+        return true;
+    }
+
+    /**
+     * The function removes an object by leaving a tombstone in its slot. The slot is reused by {@link #compact()}.
+     *
+     * @param member The object.
+     * @return {@code false} if the object is not in the set.
+     */
+    public boolean remove(T member) {
+        if (!this.contains(member)) {
+            return false;
+        }
+        int slot = member.getActiveSlot();
+        this.elements[slot] = null;
+        member.setActiveSlot(-1);
+        if (this.holeCount == this.holes.length) {
+            this.holes = Arrays.copyOf(this.holes, this.holeCount * 2);
+        }
+        this.holes[this.holeCount++] = slot;
+        return true;
+    }
+
+    /**
+     * The function checks if an object is in this set.
+     *
+     * @param member The object.
+     * @return {@code true} if the object is in the set.
+     */
+    public boolean contains(T member) {
+        int slot = member.getActiveSlot();
+        return slot >= 0 && slot < this.size && this.elements[slot] == member;
+    }
+
+    /**
+     * The function removes all tombstones. Every hole is filled with the last member of the set, so the order of the
+     * members changes and the cost depends only on the number of tombstones.
+     */
+    public void compact() {
+        for (int h = 0; h < this.holeCount; h++) {
+            // tombstones at the end are simply cut off
+            while (this.size > 0 && this.elements[this.size - 1] == null) {
+                this.size--;
+            }
+            int hole = this.holes[h];
+            if (hole >= this.size) {
+                continue;
+            }
+            Object last = this.elements[--this.size];
+            this.elements[this.size] = null;
+            this.elements[hole] = last;
+            this.member(hole).setActiveSlot(hole);
+        }
+        this.holeCount = 0;
+    }
+
+    /**
+     * The function removes all objects.
+     */
+    public void clear() {
+        for (int i = 0; i < this.size; i++) {
+            if (this.elements[i] != null) {
+                this.member(i).setActiveSlot(-1);
+                this.elements[i] = null;
+            }
+        }
+        this.size = 0;
+        this.holeCount = 0;
+    }
+
+    /**
+     * The function returns the object in a slot.
+     *
+     * @param slot The slot, from 0 to {@link #size()} (exclusive).
+     * @return The object, or {@code null} if it was removed since the last {@link #compact()}.
+     */
+    public T get(int slot) {
+        if (slot < 0 || slot >= this.size) {
+            throw new IndexOutOfBoundsException("Slot " + slot + " out of bounds for size " + this.size);
+        }
+        return this.member(slot);
+    }
+
+    /**
+     * @return The number of slots including tombstones, the upper bound for loops over {@link #get(int)}.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @return The number of live objects.
+     */
+    public int count() {
+        return this.size - this.holeCount;
+    }
+
+    /**
+     * @return The number of tombstones that {@link #compact()} will remove.
+     */
+    public int getTombstoneCount() {
+        return this.holeCount;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T member(int slot) {
+        return (T) this.elements[slot];
+    }
+}
@@ -0,0 +1,332 @@
+package de.cyzetlc.hsbi.game.world;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The {@code EntityStore} keeps the state of world entities (position, velocity, size and flags) in parallel primitive
+ * arrays instead of one object per entity. Entities of the same kind share an {@link Archetype}, so a system that
+ * updates all entities walks a few dense {@code double[]} arrays from start to end instead of chasing a pointer per
+ * entity.
+ * <p>
+ * An entity is addressed by the id returned from {@link #create}. Ids stay valid until {@link #remove(int)}, even though
+ * the entity moves inside its archetype when others are removed. Game objects hold the id and act as a view on the
+ * store, see {@link StoreLocation}.
+ * <p>
+ * The store is not thread-safe, it is meant to be used by the game loop only. The one exception: while no entity is
+ * created or removed, several threads may read and write the fields of different entities at the same time, as every
+ * entity has its own array slots.
+ *
+ * @author Tom Coombs
+ */
+public class EntityStore {
+    public static final int FLAG_ACTIVE = 1;
+    public static final int FLAG_COLLIDABLE = 1 << 1;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Map<Object, Archetype> archetypesByKey = new HashMap<>();
+    private Archetype[] archetypes = new Archetype[4];
+    @Getter
+    private int archetypeCount;
+
+    /** Per id: the archetype and the index inside it, -1 for free ids. */
+    private int[] slotArchetype = new int[INITIAL_CAPACITY];
+    private int[] slotIndex = new int[INITIAL_CAPACITY];
+    private int nextId;
+
+    /** Removed ids, reused by {@link #create}. */
+    private int[] freeIds = new int[INITIAL_CAPACITY];
+    private int freeCount;
+
+    @Getter
+    private int size;
+
+    /**
+     * The function returns the archetype for the given key and creates it on first use. Game objects typically use
+     * their class as the key.
+     *
+     * @param key The key of the archetype.
+     * @return The archetype.
+     */
+    public Archetype archetype(Object key) {
+        Archetype archetype = this.archetypesByKey.get(key);
+        if (archetype == null) {
+            if (this.archetypeCount == this.archetypes.length) {
+                this.archetypes = Arrays.copyOf(this.archetypes, this.archetypeCount * 2);
+            }
+            archetype = new Archetype(String.valueOf(key instanceof Class<?> clazz ? clazz.getSimpleName() : key),
+                    this.archetypeCount);
+            this.archetypes[this.archetypeCount++] = archetype;
+            this.archetypesByKey.put(key, archetype);
+        }
+        return archetype;
+    }
+
+    /**
+     * The function adds an entity.
+     *
+     * @param archetype The archetype of the entity.
+     * @param x The x coordinate.
+     * @param y The y coordinate.
+     * @param width The width.
+     * @param height The height.
+     * @param flags The initial flags, for example {@link #FLAG_ACTIVE}.
+     * @return The id of the entity.
+     */
+    public int create(Archetype archetype, double x, double y, double width, double height, int flags) {
+        int id;
+        if (this.freeCount > 0) {
+            id = this.freeIds[--this.freeCount];
+        } else {
+            id = this.nextId++;
+            if (id == this.slotArchetype.length) {
+                this.slotArchetype = Arrays.copyOf(this.slotArchetype, id * 2);
+                this.slotIndex = Arrays.copyOf(this.slotIndex, id * 2);
+            }
+        }
+
+        int index = archetype.add(id, x, y, width, height, flags);
+        this.slotArchetype[id] = archetype.number;
+        this.slotIndex[id] = index;
+        this.size++;
+        return id;
+    }
+
+    /**
+     * The function removes an entity. The last entity of the archetype takes its place, so the arrays stay dense.
+     *
+     * @param id The id of the entity.
+     * @return {@code true} if the entity existed.
+     */
+    public boolean remove(int id) {
+        if (!this.contains(id)) {
+            return false;
+        }
+
+        Archetype archetype = this.archetypes[this.slotArchetype[id]];
+        int moved = archetype.removeAt(this.slotIndex[id]);
+        if (moved >= 0) {
+            this.slotIndex[moved] = this.slotIndex[id];
+        }
+
+        this.slotArchetype[id] = -1;
+        if (this.freeCount == this.freeIds.length) {
+            this.freeIds = Arrays.copyOf(this.freeIds, this.freeCount * 2);
+        }
+        this.freeIds[this.freeCount++] = id;
+        this.size--;
+        return true;
+    }
+
+    /**
+     * The function checks if an id belongs to an entity of this store.
+     *
+     * @param id The id.
+     * @return {@code true} if the entity exists.
+     */
+    public boolean contains(int id) {
+        return id >= 0 && id < this.nextId && this.slotArchetype[id] >= 0;
+    }
+
+    /**
+     * The function removes all entities. Archetypes are kept.
+     */
+    public void clear() {
+        for (int i = 0; i < this.archetypeCount; i++) {
+            this.archetypes[i].size = 0;
+        }
+        this.nextId = 0;
+        this.freeCount = 0;
+        this.size = 0;
+    }
+
+    /**
+     * The movement system: moves every active entity by its velocity. It walks each archetype's arrays linearly.
+     *
+     * @param delta The time step in seconds.
+     */
+    public void integrate(double delta) {
+        for (int a = 0; a < this.archetypeCount; a++) {
+            Archetype archetype = this.archetypes[a];
+            if (!archetype.moving) {
+                continue;
+            }
+
+            double[] x = archetype.x, y = archetype.y, vx = archetype.vx, vy = archetype.vy;
+            int[] flags = archetype.flags;
+            for (int i = 0, n = archetype.size; i < n; i++) {
+                if ((flags[i] & FLAG_ACTIVE) != 0) {
+                    x[i] += vx[i] * delta;
+                    y[i] += vy[i] * delta;
+                }
+            }
+        }
+    }
+
+    public double getX(int id) {
+        return this.archetypeOf(id).x[this.slotIndex[id]];
+    }
+
+    public void setX(int id, double x) {
+        this.archetypeOf(id).x[this.slotIndex[id]] = x;
+    }
+
+    public double getY(int id) {
+        return this.archetypeOf(id).y[this.slotIndex[id]];
+    }
+
+    public void setY(int id, double y) {
+        this.archetypeOf(id).y[this.slotIndex[id]] = y;
+    }
+
+    public double getVelocityX(int id) {
+        return this.archetypeOf(id).vx[this.slotIndex[id]];
+    }
+
+    public double getVelocityY(int id) {
+        return this.archetypeOf(id).vy[this.slotIndex[id]];
+    }
+
+    /**
+     * The function sets the velocity that {@link #integrate(double)} applies.
+     *
+     * @param id The id of the entity.
+     * @param vx The velocity in x direction, in units per second.
+     * @param vy The velocity in y direction, in units per second.
+     */
+    public void setVelocity(int id, double vx, double vy) {
+        Archetype archetype = this.archetypeOf(id);
+        int index = this.slotIndex[id];
+        archetype.vx[index] = vx;
+        archetype.vy[index] = vy;
+        if (vx != 0 || vy != 0) {
+            archetype.moving = true;
+        }
+    }
+
+    public double getWidth(int id) {
+        return this.archetypeOf(id).width[this.slotIndex[id]];
+    }
+
+    public void setWidth(int id, double width) {
+        this.archetypeOf(id).width[this.slotIndex[id]] = width;
+    }
+
+    public double getHeight(int id) {
+        return this.archetypeOf(id).height[this.slotIndex[id]];
+    }
+
+    public void setHeight(int id, double height) {
+        this.archetypeOf(id).height[this.slotIndex[id]] = height;
+    }
+
+    /**
+     * The function checks a flag of an entity.
+     *
+     * @param id The id of the entity.
+     * @param flag The flag, for example {@link #FLAG_ACTIVE}.
+     * @return {@code true} if the flag is set.
+     */
+    public boolean hasFlag(int id, int flag) {
+        return (this.archetypeOf(id).flags[this.slotIndex[id]] & flag) != 0;
+    }
+
+    /**
+     * The function sets or clears a flag of an entity.
+     *
+     * @param id The id of the entity.
+     * @param flag The flag, for example {@link #FLAG_ACTIVE}.
+     * @param value {@code true} to set the flag, {@code false} to clear it.
+     */
+    public void setFlag(int id, int flag, boolean value) {
+        int[] flags = this.archetypeOf(id).flags;
+        int index = this.slotIndex[id];
+        flags[index] = value ? flags[index] | flag : flags[index] & ~flag;
+    }
+
+    private Archetype archetypeOf(int id) {
+        int archetype = this.slotArchetype[id];
+        if (archetype < 0 || id >= this.nextId) {
+            throw new IllegalStateException("Entity " + id + " does not exist");
+        }
+        return this.archetypes[archetype];
+    }
+
+    /**
+     * The {@code Archetype} holds the columns of all entities of one kind. Index {@code i} of every array belongs to
+     * the same entity, the first {@link #getSize()} entries are in use.
+     */
+    public static final class Archetype {
+        @Getter
+        private final String name;
+        private final int number;
+        @Getter
+        private int size;
+
+        /** Set once an entity got a velocity, so the movement system can skip static archetypes. */
+        private boolean moving;
+
+        private int[] ids = new int[INITIAL_CAPACITY];
+        private double[] x = new double[INITIAL_CAPACITY];
+        private double[] y = new double[INITIAL_CAPACITY];
+        private double[] vx = new double[INITIAL_CAPACITY];
+        private double[] vy = new double[INITIAL_CAPACITY];
+        private double[] width = new double[INITIAL_CAPACITY];
+        private double[] height = new double[INITIAL_CAPACITY];
+        private int[] flags = new int[INITIAL_CAPACITY];
+
+        private Archetype(String name, int number) {
+            this.name = name;
+            this.number = number;
+        }
+
+        private int add(int id, double x, double y, double width, double height, int flags) {
+            if (this.size == this.ids.length) {
+                int capacity = this.size * 2;
+                this.ids = Arrays.copyOf(this.ids, capacity);
+                this.x = Arrays.copyOf(this.x, capacity);
+                this.y = Arrays.copyOf(this.y, capacity);
+                this.vx = Arrays.copyOf(this.vx, capacity);
+                this.vy = Arrays.copyOf(this.vy, capacity);
+                this.width = Arrays.copyOf(this.width, capacity);
+                this.height = Arrays.copyOf(this.height, capacity);
+                this.flags = Arrays.copyOf(this.flags, capacity);
+            }
+
+            int index = this.size++;
+            this.ids[index] = id;
+            this.x[index] = x;
+            this.y[index] = y;
+            this.vx[index] = 0;
+            this.vy[index] = 0;
+            this.width[index] = width;
+            this.height[index] = height;
+            this.flags[index] = flags;
+            return index;
+        }
+
+        /**
+         * @return The id of the entity that was moved into the freed index, or -1 if the last entity was removed.
+         */
+        private int removeAt(int index) {
+            int last = --this.size;
+            if (index == last) {
+                return -1;
+            }
+
+            this.ids[index] = this.ids[last];
+            this.x[index] = this.x[last];
+            this.y[index] = this.y[last];
+            this.vx[index] = this.vx[last];
+            this.vy[index] = this.vy[last];
+            this.width[index] = this.width[last];
+            this.height[index] = this.height[last];
+            this.flags[index] = this.flags[last];
+            return this.ids[index];
+        }
+    }
+}
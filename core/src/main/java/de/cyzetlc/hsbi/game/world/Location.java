@@ -25,7 +25,7 @@ public class Location implements Serializable {
     }
 
     public double distance(Location location) {
-        return Math.sqrt(Math.pow(location.getX() - this.x, 2) + Math.pow(location.getY() - this.y, 2));
+        return Math.sqrt(Math.pow(location.getX() - this.getX(), 2) + Math.pow(location.getY() - this.getY(), 2));
     }
 
     @Override
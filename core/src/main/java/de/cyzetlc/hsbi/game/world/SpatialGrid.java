@@ -0,0 +1,376 @@
+package de.cyzetlc.hsbi.game.world;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code SpatialGrid} is a broad-phase index for axis-aligned boxes in world coordinates. The world is divided into
+ * square cells and every item is registered in all cells its box touches, so a query only has to look at the items of
+ * the few cells around the query box instead of every item of the level.
+ * <p>
+ * Static items are inserted once. Moving items are passed to {@link #update} after every move, which only touches the
+ * cells if the item actually left its cell range. Query results are returned in insertion order, so code that resolves
+ * collisions one after another behaves the same as with a plain list.
+ * <p>
+ * Removed entries are kept in a free list and reused by the next insert, so items that are removed and inserted
+ * again all the time, like pooled projectiles, don't allocate.
+ * <p>
+ * The grid is not thread-safe, it is meant to be used by the game loop only.
+ *
+ * @param <T> The type of the indexed items, identified by reference.
+ * @author Tom Coombs
+ */
+public class SpatialGrid<T> {
+    public static final double DEFAULT_CELL_SIZE = 128;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final double cellSize;
+    private final Map<T, Entry<T>> entries = new IdentityHashMap<>();
+
+    /** Open-addressing table from packed cell coordinates to cells, {@code null} marks a free slot. */
+    private long[] cellKeys = new long[INITIAL_CAPACITY];
+    private Cell<T>[] cells = newCellArray(INITIAL_CAPACITY);
+    private int cellCount;
+
+    /** Removed entries, linked through {@link Entry#nextFree} and reused by {@link #update}. */
+    private Entry<T> freeEntries;
+
+    /** Scratch list of a query, reused so a query does not allocate. */
+    private final List<Entry<T>> found = new ArrayList<>();
+    private int queryStamp;
+    private long nextSeq;
+
+    public SpatialGrid() {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * @param cellSize The edge length of a cell in world units. A size of a few times the typical item works best.
+     */
+    public SpatialGrid(double cellSize) {
+        if (!(cellSize > 0) || Double.isInfinite(cellSize)) {
+            throw new IllegalArgumentException("cellSize must be positive: " + cellSize);
+        }
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * The function adds an item to the grid, or moves it if it is already indexed.
+     *
+     * @param item The item.
+     * @param x The left edge of the box.
+     * @param y The top edge of the box.
+     * @param width The width of the box.
+     * @param height The height of the box.
+     */
+    public void insert(T item, double x, double y, double width, double height) {
+        this.update(item, x, y, width, height);
+    }
+
+    /**
+     * The function moves an item to its new box. Items that are not indexed yet are added. If the box still covers
+     * the same cells, only the stored box changes.
+     *
+     * @param item The item.
+     * @param x The left edge of the box.
+     * @param y The top edge of the box.
+     * @param width The width of the box.
+     * @param height The height of the box.
+     * @return {@code true} if the item changed its cells.
+     */
+    public boolean update(T item, double x, double y, double width, double height) {
+        int minX = this.cell(x);
+        int minY = this.cell(y);
+        int maxX = this.cell(x + Math.max(width, 0));
+        int maxY = this.cell(y + Math.max(height, 0));
+
+        Entry<T> entry = this.entries.get(item);
+        if (entry == null) {
+            entry = this.newEntry(item);
+            this.entries.put(item, entry);
+        } else if (entry.minX == minX && entry.minY == minY && entry.maxX == maxX && entry.maxY == maxY) {
+            entry.setBox(x, y, width, height);
+            return false;
+        } else {
+            this.unlink(entry);
+        }
+
+        entry.setBox(x, y, width, height);
+        entry.minX = minX;
+        entry.minY = minY;
+        entry.maxX = maxX;
+        entry.maxY = maxY;
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cy = minY; cy <= maxY; cy++) {
+                this.cellFor(cx, cy).add(entry);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The function removes an item from the grid.
+     *
+     * @param item The item.
+     * @return {@code true} if the item was indexed.
+     */
+    public boolean remove(T item) {
+        Entry<T> entry = this.entries.remove(item);
+        if (entry == null) {
+            return false;
+        }
+        this.unlink(entry);
+        entry.item = null;
+        entry.nextFree = this.freeEntries;
+        this.freeEntries = entry;
+        return true;
+    }
+
+    /**
+     * The function checks if an item is indexed.
+     *
+     * @param item The item.
+     * @return {@code true} if the item is indexed.
+     */
+    public boolean contains(T item) {
+        return this.entries.containsKey(item);
+    }
+
+    /**
+     * The function collects all items whose box overlaps or touches the given box. The items are appended to the
+     * list in the order they were inserted, each item at most once.
+     *
+     * @param x The left edge of the query box.
+     * @param y The top edge of the query box.
+     * @param width The width of the query box.
+     * @param height The height of the query box.
+     * @param out The list the items are appended to.
+     * @return The number of items appended.
+     */
+    public int query(double x, double y, double width, double height, List<? super T> out) {
+        double right = x + Math.max(width, 0);
+        double bottom = y + Math.max(height, 0);
+        int minX = this.cell(x);
+        int minY = this.cell(y);
+        int maxX = this.cell(right);
+        int maxY = this.cell(bottom);
+
+        int stamp = ++this.queryStamp;
+        if (stamp == 0) {
+            // the stamp wrapped around, old stamps could match again
+            for (Entry<T> entry : this.entries.values()) {
+                entry.stamp = 0;
+            }
+            stamp = this.queryStamp = 1;
+        }
+
+        List<Entry<T>> found = this.found;
+        found.clear();
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cy = minY; cy <= maxY; cy++) {
+                Cell<T> cell = this.findCell(cx, cy);
+                if (cell == null) {
+                    continue;
+                }
+                for (int i = 0; i < cell.size; i++) {
+                    Entry<T> entry = cell.entries[i];
+                    if (entry.stamp == stamp) {
+                        continue;
+                    }
+                    entry.stamp = stamp;
+                    if (entry.x <= right && entry.x + entry.width >= x
+                            && entry.y <= bottom && entry.y + entry.height >= y) {
+                        found.add(entry);
+                    }
+                }
+            }
+        }
+
+        int count = found.size();
+        if (count > 1) {
+            found.sort((a, b) -> Long.compare(a.seq, b.seq));
+        }
+        for (int i = 0; i < count; i++) {
+            out.add(found.get(i).item);
+        }
+        found.clear();
+        return count;
+    }
+
+    /**
+     * The function removes all items.
+     */
+    public void clear() {
+        this.entries.clear();
+        Arrays.fill(this.cellKeys, 0L);
+        Arrays.fill(this.cells, null);
+        this.cellCount = 0;
+        this.nextSeq = 0;
+    }
+
+    /**
+     * @return The number of indexed items.
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * @return The number of cells that hold or held an item.
+     */
+    public int getCellCount() {
+        return this.cellCount;
+    }
+
+    public double getCellSize() {
+        return this.cellSize;
+    }
+
+    private Entry<T> newEntry(T item) {
+        Entry<T> entry = this.freeEntries;
+        if (entry == null) {
+            return new Entry<>(item, this.nextSeq++);
+        }
+        this.freeEntries = entry.nextFree;
+        entry.nextFree = null;
+        entry.item = item;
+        // a new sequence number, an item inserted again goes behind all others
+        entry.seq = this.nextSeq++;
+        entry.stamp = 0;
+        return entry;
+    }
+
+    private int cell(double coordinate) {
+        double cell = Math.floor(coordinate / this.cellSize);
+        // keeps NaN and far away boxes from producing huge cell ranges
+        if (cell != cell) {
+            return 0;
+        }
+        return (int) Math.max(Integer.MIN_VALUE / 2, Math.min(Integer.MAX_VALUE / 2, cell));
+    }
+
+    private void unlink(Entry<T> entry) {
+        for (int cx = entry.minX; cx <= entry.maxX; cx++) {
+            for (int cy = entry.minY; cy <= entry.maxY; cy++) {
+                Cell<T> cell = this.findCell(cx, cy);
+                if (cell != null) {
+                    cell.remove(entry);
+                }
+            }
+        }
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+
+    private static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private Cell<T> findCell(int cx, int cy) {
+        long key = key(cx, cy);
+        int mask = this.cells.length - 1;
+        for (int i = slot(key, mask); ; i = (i + 1) & mask) {
+            Cell<T> cell = this.cells[i];
+            if (cell == null || this.cellKeys[i] == key) {
+                return cell;
+            }
+        }
+    }
+
+    private Cell<T> cellFor(int cx, int cy) {
+        long key = key(cx, cy);
+        int mask = this.cells.length - 1;
+        int i = slot(key, mask);
+        while (this.cells[i] != null) {
+            if (this.cellKeys[i] == key) {
+                return this.cells[i];
+            }
+            i = (i + 1) & mask;
+        }
+
+        Cell<T> cell = new Cell<>();
+        this.cellKeys[i] = key;
+        this.cells[i] = cell;
+        // cells are never removed, so the table only grows
+        if (++this.cellCount * 2 > this.cells.length) {
+            this.grow();
+        }
+        return cell;
+    }
+
+    private void grow() {
+        long[] oldKeys = this.cellKeys;
+        Cell<T>[] oldCells = this.cells;
+        this.cellKeys = new long[oldKeys.length * 2];
+        this.cells = newCellArray(oldCells.length * 2);
+        int mask = this.cells.length - 1;
+        for (int j = 0; j < oldCells.length; j++) {
+            if (oldCells[j] == null) {
+                continue;
+            }
+            int i = slot(oldKeys[j], mask);
+            while (this.cells[i] != null) {
+                i = (i + 1) & mask;
+            }
+            this.cellKeys[i] = oldKeys[j];
+            this.cells[i] = oldCells[j];
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Cell<T>[] newCellArray(int length) {
+        return (Cell<T>[]) new Cell[length];
+    }
+
+    private static final class Entry<T> {
+        private T item;
+        private long seq;
+        private double x, y, width, height;
+        private int minX, minY, maxX, maxY;
+        private int stamp;
+        private Entry<T> nextFree;
+
+        private Entry(T item, long seq) {
+            this.item = item;
+            this.seq = seq;
+        }
+
+        private void setBox(double x, double y, double width, double height) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    private static final class Cell<T> {
+        @SuppressWarnings("unchecked")
+        private Entry<T>[] entries = (Entry<T>[]) new Entry[4];
+        private int size;
+
+        private void add(Entry<T> entry) {
+            if (this.size == this.entries.length) {
+                this.entries = Arrays.copyOf(this.entries, this.size * 2);
+            }
+            this.entries[this.size++] = entry;
+        }
+
+        private void remove(Entry<T> entry) {
+            for (int i = 0; i < this.size; i++) {
+                if (this.entries[i] == entry) {
+                    // order inside a cell does not matter, queries sort by insertion
+                    this.entries[i] = this.entries[--this.size];
+                    this.entries[this.size] = null;
+                    return;
+                }
+            }
+        }
+    }
+}
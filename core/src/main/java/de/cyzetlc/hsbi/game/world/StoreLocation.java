@@ -0,0 +1,75 @@
+package de.cyzetlc.hsbi.game.world;
+
+import java.io.Serial;
+
+/**
+ * The {@code StoreLocation} is a {@link Location} whose coordinates live in an {@link EntityStore}. Reads and writes go
+ * straight to the store's arrays, so code that works with locations doesn't notice the difference.
+ * <p>
+ * Before the entity is removed from the store, {@link #detach()} copies the coordinates into the location itself, so a
+ * location that is still referenced afterwards keeps its last value instead of reading another entity's slot.
+ *
+ * @author Tom Coombs
+ */
+public class StoreLocation extends Location {
+    @Serial
+    private static final long serialVersionUID = 1234568L;
+
+    private transient EntityStore store;
+    private final int id;
+
+    public StoreLocation(EntityStore store, int id) {
+        super(store.getX(id), store.getY(id));
+        this.store = store;
+        this.id = id;
+    }
+
+    /**
+     * The function copies the coordinates out of the store. Afterwards the location behaves like a plain location.
+     */
+    public void detach() {
+        if (this.store != null) {
+            super.setX(this.store.getX(this.id));
+            super.setY(this.store.getY(this.id));
+            this.store = null;
+        }
+    }
+
+    public boolean isAttached() {
+        return this.store != null;
+    }
+
+    @Override
+    public double getX() {
+        return this.store != null ? this.store.getX(this.id) : super.getX();
+    }
+
+    @Override
+    public void setX(double x) {
+        if (this.store != null) {
+            this.store.setX(this.id, x);
+        } else {
+            super.setX(x);
+        }
+    }
+
+    @Override
+    public double getY() {
+        return this.store != null ? this.store.getY(this.id) : super.getY();
+    }
+
+    @Override
+    public void setY(double y) {
+        if (this.store != null) {
+            this.store.setY(this.id, y);
+        } else {
+            super.setY(y);
+        }
+    }
+
+    @Serial
+    private Object writeReplace() {
+        // the store isn't serializable, a copy with the current coordinates is sent instead
+        return new Location(this.getX(), this.getY());
+    }
+}
@@ -0,0 +1,199 @@
+package de.cyzetlc.hsbi.game.world;
+
+import java.util.List;
+
+/**
+ * The {@code SweptAABB} does continuous collision detection for moving boxes. Instead of testing only the end
+ * position of a move, which lets fast or large moves pass through thin geometry, it computes the time of impact along
+ * the whole path.
+ * <p>
+ * {@link #slide} moves a box against a set of solid boxes: it resolves the earliest contact first, stops the movement
+ * along the hit axis and continues with the rest of the movement along the other axis. Long moves are split into
+ * substeps of at most {@code maxTravel}, so the number of contacts per substep stays small.
+ *
+ * @author Tom Coombs
+ */
+public final class SweptAABB {
+    /** The box landed on top of a solid. */
+    public static final int HIT_FLOOR = 1;
+    /** The box hit the bottom of a solid while moving up. */
+    public static final int HIT_CEILING = 1 << 1;
+    /** The box hit the side of a solid. */
+    public static final int HIT_WALL = 1 << 2;
+
+    /**
+     * Overlaps up to this distance count as touching. A box placed flush on a solid can end up overlapping it by a
+     * rounding error, for example when its position is stored as {@code minY} and {@code maxY} is computed again.
+     */
+    public static final double CONTACT_TOLERANCE = 1e-6;
+
+    /** Contacts resolved per substep, more only happen in tight corners. */
+    private static final int MAX_ITERATIONS = 4;
+
+    private SweptAABB() {
+    }
+
+    /**
+     * The {@code Contact} receives the result of {@link #sweep}. It is meant to be reused.
+     */
+    public static final class Contact {
+        private double time;
+        private int normalX;
+        private int normalY;
+
+        /**
+         * @return The fraction of the movement (0 to 1) after which the boxes touch.
+         */
+        public double getTime() {
+            return this.time;
+        }
+
+        /**
+         * @return -1 or 1 if the contact is on the left or right side of the moving box, otherwise 0.
+         */
+        public int getNormalX() {
+            return this.normalX;
+        }
+
+        /**
+         * @return -1 if the moving box lands on top of the other one, 1 if it hits it from below, otherwise 0.
+         */
+        public int getNormalY() {
+            return this.normalY;
+        }
+    }
+
+    /**
+     * The function computes when a box moving by {@code (dx, dy)} starts to overlap another box. Boxes that touch or
+     * overlap by at most {@link #CONTACT_TOLERANCE} at the start and move into each other touch at time 0, so a box
+     * resting on a solid stays on it. Boxes that overlap further are not reported, so a box can always move out of a
+     * solid.
+     *
+     * @param box The moving box at its start position.
+     * @param dx The movement in x direction.
+     * @param dy The movement in y direction.
+     * @param target The other box.
+     * @param out Receives time and normal of the contact.
+     * @return {@code true} if the boxes touch within the movement.
+     */
+    public static boolean sweep(AABB box, double dx, double dy, AABB target, Contact out) {
+        double xEntry, xExit;
+        if (dx > 0) {
+            xEntry = (target.getMinX() - box.getMaxX()) / dx;
+            xExit = (target.getMaxX() - box.getMinX()) / dx;
+        } else if (dx < 0) {
+            xEntry = (target.getMaxX() - box.getMinX()) / dx;
+            xExit = (target.getMinX() - box.getMaxX()) / dx;
+        } else if (box.getMaxX() <= target.getMinX() + CONTACT_TOLERANCE
+                || box.getMinX() >= target.getMaxX() - CONTACT_TOLERANCE) {
+            return false;
+        } else {
+            xEntry = Double.NEGATIVE_INFINITY;
+            xExit = Double.POSITIVE_INFINITY;
+        }
+
+        double yEntry, yExit;
+        if (dy > 0) {
+            yEntry = (target.getMinY() - box.getMaxY()) / dy;
+            yExit = (target.getMaxY() - box.getMinY()) / dy;
+        } else if (dy < 0) {
+            yEntry = (target.getMaxY() - box.getMinY()) / dy;
+            yExit = (target.getMinY() - box.getMaxY()) / dy;
+        } else if (box.getMaxY() <= target.getMinY() + CONTACT_TOLERANCE
+                || box.getMinY() >= target.getMaxY() - CONTACT_TOLERANCE) {
+            return false;
+        } else {
+            yEntry = Double.NEGATIVE_INFINITY;
+            yExit = Double.POSITIVE_INFINITY;
+        }
+
+        double entry = Math.max(xEntry, yEntry);
+        double exit = Math.min(xExit, yExit);
+        if (entry < 0) {
+            // the boxes overlap already, by the distance the box has moved back along the axis it enters on
+            double overlap = -entry * (xEntry > yEntry ? Math.abs(dx) : Math.abs(dy));
+            if (!(overlap <= CONTACT_TOLERANCE)) {
+                return false;
+            }
+            entry = 0;
+        }
+        // entry == exit only grazes a corner (or the boxes move apart)
+        if (entry >= exit || entry > 1) {
+            return false;
+        }
+
+        out.time = entry;
+        if (xEntry > yEntry) {
+            out.normalX = dx > 0 ? -1 : 1;
+            out.normalY = 0;
+        } else {
+            // on a tie (exactly hitting a corner) landing wins, so the box doesn't get stuck on edges
+            out.normalX = 0;
+            out.normalY = dy > 0 ? -1 : 1;
+        }
+        return true;
+    }
+
+    /**
+     * The function moves a box by {@code (dx, dy)} and stops it at the solids on its way. On every contact the box is
+     * placed flush against the solid, the movement along that axis ends and the rest continues along the other axis.
+     *
+     * @param box The moving box, it is moved to its final position.
+     * @param dx The movement in x direction.
+     * @param dy The movement in y direction.
+     * @param solids The solid boxes, typically the candidates of a broad-phase query around the swept area.
+     * @param maxTravel The maximum distance per substep.
+     * @param contact A reusable contact.
+     * @return A combination of {@link #HIT_FLOOR}, {@link #HIT_CEILING} and {@link #HIT_WALL}.
+     */
+    public static int slide(AABB box, double dx, double dy, List<AABB> solids, double maxTravel, Contact contact) {
+        double travel = Math.max(Math.abs(dx), Math.abs(dy));
+        int substeps = maxTravel > 0 && travel > maxTravel ? (int) Math.ceil(travel / maxTravel) : 1;
+        double stepX = dx / substeps;
+        double stepY = dy / substeps;
+        int hits = 0;
+
+        for (int s = 0; s < substeps && (stepX != 0 || stepY != 0); s++) {
+            double moveX = stepX;
+            double moveY = stepY;
+
+            for (int iteration = 0; iteration < MAX_ITERATIONS && (moveX != 0 || moveY != 0); iteration++) {
+                double earliest = 2;
+                int normalX = 0, normalY = 0;
+                AABB hit = null;
+                for (int i = 0; i < solids.size(); i++) {
+                    AABB solid = solids.get(i);
+                    if (sweep(box, moveX, moveY, solid, contact) && contact.time < earliest) {
+                        earliest = contact.time;
+                        normalX = contact.normalX;
+                        normalY = contact.normalY;
+                        hit = solid;
+                    }
+                }
+
+                if (hit == null) {
+                    box.translate(moveX, moveY);
+                    break;
+                }
+
+                box.translate(moveX * earliest, moveY * earliest);
+                double rest = 1 - earliest;
+                if (normalY != 0) {
+                    // flush against the solid, without rounding errors from the multiplication
+                    box.translate(0, normalY < 0 ? hit.getMinY() - box.getMaxY() : hit.getMaxY() - box.getMinY());
+                    hits |= normalY < 0 ? HIT_FLOOR : HIT_CEILING;
+                    moveX *= rest;
+                    moveY = 0;
+                    stepY = 0;
+                } else {
+                    box.translate(normalX < 0 ? hit.getMinX() - box.getMaxX() : hit.getMaxX() - box.getMinX(), 0);
+                    hits |= HIT_WALL;
+                    moveX = 0;
+                    moveY *= rest;
+                    stepX = 0;
+                }
+            }
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,123 @@
+package de.cyzetlc.hsbi.game.utils.json;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+class JSONBufferTokenerTest {
+    private static final String[] NUMBERS = {
+            "0", "-0", "1", "-1", "2147483647", "2147483648", "-2147483649", "9223372036854775807",
+            "9223372036854775808", "0.0", "-0.0", "0.00", "0e5", "1.5", "1.50", "-1.5", "100.0", "100.00", "1e5",
+            "1E-5", "1.5e3", "0.001", "0.0001", "9999999.5", "10000000.5", "0.1234567890123", "3.141592653589793",
+            "123456789012345.6", "1.0", "5.10"
+    };
+
+    /**
+     * Checks that both tokeners give values of the same type and, for BigDecimals, the same scale.
+     */
+    private static void assertSameValue(Object expected, Object actual, String text) {
+        assertEquals(expected.getClass(), actual.getClass(), text);
+        assertEquals(expected, actual, text);
+    }
+
+    private static void assertSameAsJSONTokener(String number) {
+        String json = "{\"member\":" + number + ",\"numbers\":[" + number + "," + number + "],\"mixed\":[" + number + ",\"x\"]}";
+        JSONObject expected = new JSONObject(new JSONTokener(json));
+        JSONObject actual = new JSONObject(new JSONBufferTokener(json));
+
+        assertSameValue(expected.get("member"), actual.get("member"), number);
+        JSONArray expectedNumbers = expected.getJSONArray("numbers");
+        JSONArray actualNumbers = actual.getJSONArray("numbers");
+        assertSameValue(expectedNumbers.get(0), actualNumbers.get(0), number);
+        assertSameValue(expectedNumbers.get(1), actualNumbers.get(1), number);
+        assertSameValue(expected.getJSONArray("mixed").get(0), actual.getJSONArray("mixed").get(0), number);
+        assertEquals(expected.getDouble("member"), actual.getDouble("member"), number);
+        assertArrayEquals(expected.getDoubleArray("numbers"), actual.getDoubleArray("numbers"), number);
+        assertEquals(expected.toString(), actual.toString(), number);
+
+        Object top = new JSONArray(new JSONBufferTokener("[" + number + "]")).get(0);
+        assertSameValue(new JSONArray(new JSONTokener("[" + number + "]")).get(0), top, number);
+    }
+
+    @Test
+    void numbersHaveTheTypesOfJSONTokener() {
+        for (String number : NUMBERS) {
+            assertSameAsJSONTokener(number);
+        }
+    }
+
+    @Test
+    void randomDecimalsHaveTheTypesOfJSONTokener() {
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder number = new StringBuilder();
+            if (random.nextBoolean()) {
+                number.append('-');
+            }
+            number.append(random.nextInt(4) == 0 ? random.nextLong(100_000_000_000L) : random.nextInt(100));
+            number.append('.');
+            int fractionDigits = 1 + random.nextInt(8);
+            for (int j = 0; j < fractionDigits; j++) {
+                number.append((char) ('0' + random.nextInt(10)));
+            }
+            if (random.nextInt(8) == 0) {
+                number.append('e').append(random.nextInt(-8, 8));
+            }
+            assertSameAsJSONTokener(number.toString());
+        }
+    }
+
+    @Test
+    void trailingZerosAreKept() {
+        JSONObject object = new JSONObject(new JSONBufferTokener("{\"price\":1.50}"));
+        assertEquals(new BigDecimal("1.50"), object.get("price"));
+        assertEquals(2, ((BigDecimal) object.get("price")).scale());
+    }
+
+    @Test
+    void putDoubleStaysDouble() {
+        JSONObject object = new JSONObject(new JSONBufferTokener("{\"speed\":1.5}"));
+        object.put("speed", 2.5);
+        assertEquals(Double.valueOf(2.5), object.get("speed"));
+    }
+
+    @Test
+    void readingPackedArraysKeepsThemPacked() throws InterruptedException {
+        JSONObject object = new JSONObject(new JSONBufferTokener("{\"ids\":[1,2,3],\"position\":[1.5,2.5]}"));
+        String json = object.toString();
+
+        JSONArray first = object.getJSONArray("ids");
+        first.put(4);
+        JSONArray second = object.getJSONArray("ids");
+        assertNotSame(first, second);
+        assertEquals(3, second.length());
+        assertEquals(json, object.toString());
+
+        // readers on other threads, like the thread saving the config, see the same values
+        Thread[] readers = new Thread[4];
+        String[] seen = new String[readers.length];
+        for (int t = 0; t < readers.length; t++) {
+            int reader = t;
+            readers[t] = new Thread(() -> {
+                String last = null;
+                for (int i = 0; i < 10_000; i++) {
+                    last = object.getJSONArray("position").toString() + object.getJSONArray("ids") + object;
+                }
+                seen[reader] = last;
+            });
+            readers[t].start();
+        }
+        for (int t = 0; t < readers.length; t++) {
+            readers[t].join();
+            assertEquals("[1.5,2.5][1,2,3]" + json, seen[t]);
+        }
+
+        object.accumulate("ids", 4);
+        assertEquals(4, object.getJSONArray("ids").length());
+    }
+}
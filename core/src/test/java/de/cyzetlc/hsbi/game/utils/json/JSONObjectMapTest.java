@@ -0,0 +1,157 @@
+package de.cyzetlc.hsbi.game.utils.json;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JSONObjectMapTest {
+    private static final int OPERATIONS = 200_000;
+
+    /**
+     * Keys of a pool of the given size. "Aa" and "BB" have the same hash code, so every pair of keys collides.
+     */
+    private static String[] keys(int count) {
+        String[] keys = new String[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = (i % 2 == 0 ? "Aa" : "BB") + (i / 2);
+        }
+        return keys;
+    }
+
+    private static void assertSameMembers(LinkedHashMap<String, Object> expected, JSONObjectMap actual) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected.isEmpty(), actual.isEmpty());
+
+        Iterator<Map.Entry<String, Object>> entries = actual.entrySet().iterator();
+        for (Map.Entry<String, Object> entry : expected.entrySet()) {
+            assertTrue(entries.hasNext());
+            Map.Entry<String, Object> member = entries.next();
+            assertEquals(entry.getKey(), member.getKey());
+            assertEquals(entry.getValue(), member.getValue(), entry.getKey());
+        }
+        assertFalse(entries.hasNext());
+        assertEquals(expected, actual);
+        assertEquals(expected.hashCode(), actual.hashCode());
+    }
+
+    private static void randomOperations(int keyCount, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        String[] keys = keys(keyCount);
+        LinkedHashMap<String, Object> expected = new LinkedHashMap<>();
+        JSONObjectMap actual = new JSONObjectMap(random.nextInt(4));
+
+        for (int op = 0; op < OPERATIONS; op++) {
+            String key = keys[random.nextInt(keys.length)];
+            switch (random.nextInt(10)) {
+            case 0, 1 -> assertEquals(expected.put(key, "v" + op), actual.put(key, "v" + op), key);
+            case 2 -> {
+                int value = random.nextInt();
+                expected.put(key, value);
+                actual.putInt(key, value);
+            }
+            case 3 -> {
+                long value = random.nextLong();
+                expected.put(key, value);
+                actual.putLong(key, value);
+            }
+            case 4 -> {
+                double value = random.nextDouble();
+                expected.put(key, value);
+                actual.putDouble(key, value);
+            }
+            case 5, 6 -> assertEquals(expected.remove(key), actual.remove(key), key);
+            case 7 -> {
+                // removes every member with a chance, like a filter over the config
+                int chance = 1 + random.nextInt(4);
+                long iteratorSeed = random.nextLong();
+                SplittableRandom first = new SplittableRandom(iteratorSeed);
+                SplittableRandom second = new SplittableRandom(iteratorSeed);
+                expected.entrySet().removeIf(entry -> first.nextInt(chance) == 0);
+                for (Iterator<Map.Entry<String, Object>> it = actual.entrySet().iterator(); it.hasNext(); ) {
+                    it.next();
+                    if (second.nextInt(chance) == 0) {
+                        it.remove();
+                    }
+                }
+            }
+            case 8 -> {
+                if (random.nextInt(50) == 0) {
+                    expected.clear();
+                    actual.clear();
+                } else {
+                    for (Map.Entry<String, Object> entry : actual.entrySet()) {
+                        if (entry.getKey().equals(key)) {
+                            assertEquals(expected.put(key, op), entry.setValue(op), key);
+                        }
+                    }
+                }
+            }
+            default -> {
+                assertEquals(expected.get(key), actual.get(key), key);
+                assertEquals(expected.containsKey(key), actual.containsKey(key), key);
+            }
+            }
+
+            if (op % 1_000 == 0) {
+                assertSameMembers(expected, actual);
+            }
+        }
+        assertSameMembers(expected, actual);
+    }
+
+    @Test
+    void smallMapsBehaveLikeLinkedHashMap() {
+        // stays around the linear search limit
+        randomOperations(JSONObjectMap.LINEAR_LIMIT + 2, 1);
+    }
+
+    @Test
+    void indexedMapsBehaveLikeLinkedHashMap() {
+        randomOperations(200, 2);
+    }
+
+    @Test
+    void removedMembersAreAppendedAgain() {
+        JSONObjectMap map = new JSONObjectMap();
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            keys.add("key" + i);
+            map.put("key" + i, i);
+        }
+
+        map.remove("key0");
+        map.remove("key19");
+        map.put("key0", 0);
+        keys.remove("key0");
+        keys.remove("key19");
+        keys.add("key0");
+
+        assertEquals(keys, new ArrayList<>(map.keySet()));
+        assertNull(map.get("key19"));
+        assertEquals(0, map.get("key0"));
+    }
+
+    @Test
+    void iteratorRemoveNeedsNext() {
+        JSONObjectMap map = new JSONObjectMap();
+        map.put("a", 1);
+        Iterator<Map.Entry<String, Object>> it = map.entrySet().iterator();
+
+        assertThrows(IllegalStateException.class, it::remove);
+        it.next();
+        it.remove();
+        assertThrows(IllegalStateException.class, it::remove);
+        assertTrue(map.isEmpty());
+    }
+}
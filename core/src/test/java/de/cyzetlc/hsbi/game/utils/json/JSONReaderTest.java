@@ -0,0 +1,62 @@
+package de.cyzetlc.hsbi.game.utils.json;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JSONReaderTest {
+    private static JSONReader reader(String json) {
+        return new JSONReader(new StringReader(json));
+    }
+
+    @Test
+    void skipValueSkipsNameAndObjectValue() {
+        JSONReader reader = reader("{\"a\":{\"x\":1},\"b\":2}");
+        reader.beginObject();
+        reader.skipValue();
+
+        assertEquals(JSONReader.Token.NAME, reader.peek());
+        assertEquals("b", reader.nextName());
+        assertEquals(2, reader.nextInt());
+        reader.endObject();
+    }
+
+    @Test
+    void skipValueSkipsNameAndPrimitiveValue() {
+        JSONReader reader = reader("{\"a\":\"text\",\"b\":[1,2],\"c\":true}");
+        reader.beginObject();
+        reader.skipValue();
+        reader.skipValue();
+
+        assertEquals("c", reader.nextName());
+        assertEquals(true, reader.nextBoolean());
+        reader.endObject();
+        assertEquals(JSONReader.Token.END_DOCUMENT, reader.peek());
+    }
+
+    @Test
+    void skipValueAfterNameSkipsOnlyTheValue() {
+        JSONReader reader = reader("{\"a\":[{\"x\":[1,{}]}],\"b\":null}");
+        reader.beginObject();
+        assertEquals("a", reader.nextName());
+        reader.skipValue();
+
+        assertEquals("b", reader.nextName());
+        reader.nextNull();
+        reader.endObject();
+    }
+
+    @Test
+    void skipValueInArray() {
+        JSONReader reader = reader("[{\"a\":1},2,[3]]");
+        reader.beginArray();
+        reader.skipValue();
+        reader.skipValue();
+
+        assertEquals(JSONReader.Token.BEGIN_ARRAY, reader.peek());
+        reader.skipValue();
+        reader.endArray();
+    }
+}
@@ -0,0 +1,215 @@
+package de.cyzetlc.hsbi.game.world;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ActiveSetTest {
+    private static final int ITEMS = 300;
+    private static final int OPERATIONS = 50_000;
+
+    private static final class Item implements ActiveSet.Member {
+        private final int id;
+        private int slot = -1;
+
+        private Item(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int getActiveSlot() {
+            return this.slot;
+        }
+
+        @Override
+        public void setActiveSlot(int slot) {
+            this.slot = slot;
+        }
+
+        @Override
+        public String toString() {
+            return "item " + this.id;
+        }
+    }
+
+    /**
+     * Checks the set against the reference list of live members: every live member is in exactly one slot that it
+     * knows, every other slot is a tombstone, and removed members have no slot.
+     */
+    private static void assertSameMembers(ActiveSet<Item> set, List<Item> live, Item[] items) {
+        assertEquals(live.size(), set.count());
+        assertEquals(set.size() - live.size(), set.getTombstoneCount());
+
+        Set<Item> seen = new HashSet<>();
+        for (int i = 0; i < set.size(); i++) {
+            Item item = set.get(i);
+            if (item != null) {
+                assertEquals(i, item.getActiveSlot(), item.toString());
+                assertTrue(seen.add(item), item + " twice");
+            }
+        }
+        assertEquals(new HashSet<>(live), seen);
+
+        for (Item item : items) {
+            boolean member = seen.contains(item);
+            assertEquals(member, set.contains(item), item.toString());
+            if (!member) {
+                assertEquals(-1, item.getActiveSlot(), item.toString());
+            }
+        }
+    }
+
+    @Test
+    void randomOperationsKeepTheMembersOfAReferenceList() {
+        SplittableRandom random = new SplittableRandom(49);
+        Item[] items = new Item[ITEMS];
+        for (int i = 0; i < ITEMS; i++) {
+            items[i] = new Item(i);
+        }
+        ActiveSet<Item> set = new ActiveSet<>();
+        List<Item> live = new ArrayList<>();
+
+        for (int op = 0; op < OPERATIONS; op++) {
+            Item item = items[random.nextInt(ITEMS)];
+            int action = random.nextInt(20);
+            if (action < 8) {
+                // also adds members that were removed before, with tombstones still in the set
+                assertEquals(!live.contains(item), set.add(item), item.toString());
+                if (!live.contains(item)) {
+                    live.add(item);
+                }
+            } else if (action < 13) {
+                assertEquals(live.remove(item), set.remove(item), item.toString());
+            } else if (action < 16) {
+                // removes the newest members, so the tombstones are at the end of the set
+                int tail = random.nextInt(1, 8);
+                for (int i = set.size() - 1; i >= 0 && tail > 0; i--, tail--) {
+                    Item last = set.get(i);
+                    if (last != null) {
+                        assertTrue(set.remove(last));
+                        live.remove(last);
+                    }
+                }
+            } else if (action < 18) {
+                iterateAndRemove(set, live, items, random);
+            } else if (action < 19) {
+                set.compact();
+                assertEquals(0, set.getTombstoneCount());
+                assertEquals(live.size(), set.size());
+            } else if (random.nextInt(20) == 0) {
+                set.clear();
+                live.clear();
+            }
+
+            if (op % 500 == 0) {
+                assertSameMembers(set, live, items);
+            }
+        }
+        assertSameMembers(set, live, items);
+    }
+
+    /**
+     * A loop like the game loop: it walks the slots, skips tombstones and removes or adds members on the way. Every
+     * member that was live before the loop and not removed by it is visited exactly once; a member that is removed and
+     * added again during the loop is appended and may be visited a second time.
+     */
+    private static void iterateAndRemove(ActiveSet<Item> set, List<Item> live, Item[] items, SplittableRandom random) {
+        Set<Item> before = new HashSet<>(live);
+        Set<Item> visited = new HashSet<>();
+        Set<Item> removed = new HashSet<>();
+        Set<Item> added = new HashSet<>();
+        for (int i = 0; i < set.size(); i++) {
+            Item item = set.get(i);
+            if (item == null) {
+                continue;
+            }
+            assertTrue(visited.add(item) || added.contains(item), item + " visited twice");
+            int action = random.nextInt(6);
+            if (action == 0) {
+                assertTrue(set.remove(item));
+                live.remove(item);
+                removed.add(item);
+            } else if (action == 1) {
+                // removes a member that may not have been visited yet
+                Item other = items[random.nextInt(items.length)];
+                if (set.remove(other)) {
+                    live.remove(other);
+                    removed.add(other);
+                }
+            } else if (action == 2 && random.nextInt(4) == 0) {
+                Item other = items[random.nextInt(items.length)];
+                if (set.add(other)) {
+                    live.add(other);
+                    added.add(other);
+                }
+            }
+        }
+
+        for (Item item : before) {
+            if (!removed.contains(item)) {
+                assertTrue(visited.contains(item), item + " not visited");
+            }
+        }
+    }
+
+    @Test
+    void tombstonesAtTheEndAreCutOff() {
+        ActiveSet<Item> set = new ActiveSet<>();
+        Item[] items = new Item[10];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = new Item(i);
+            set.add(items[i]);
+        }
+
+        // holes at the end and one in the middle, removed in an order where the middle one comes last
+        set.remove(items[9]);
+        set.remove(items[8]);
+        set.remove(items[3]);
+        set.remove(items[7]);
+        set.compact();
+
+        assertEquals(6, set.size());
+        assertEquals(0, set.getTombstoneCount());
+        assertSame(items[6], set.get(3));
+        assertEquals(3, items[6].getActiveSlot());
+        for (Item removed : new Item[]{items[3], items[7], items[8], items[9]}) {
+            assertFalse(set.contains(removed));
+            assertEquals(-1, removed.getActiveSlot());
+        }
+    }
+
+    @Test
+    void removedMembersCanBeAddedAgainBeforeCompact() {
+        ActiveSet<Item> set = new ActiveSet<>();
+        Item first = new Item(0);
+        Item second = new Item(1);
+        set.add(first);
+        set.add(second);
+
+        assertTrue(set.remove(first));
+        assertFalse(set.remove(first));
+        assertTrue(set.add(first));
+        assertFalse(set.add(first));
+
+        // the old slot stays a tombstone, the member is at the end
+        assertNull(set.get(0));
+        assertSame(first, set.get(2));
+        assertEquals(2, first.getActiveSlot());
+        assertEquals(2, set.count());
+
+        set.compact();
+        assertEquals(2, set.size());
+        assertSame(set.get(first.getActiveSlot()), first);
+        assertSame(set.get(second.getActiveSlot()), second);
+    }
+}
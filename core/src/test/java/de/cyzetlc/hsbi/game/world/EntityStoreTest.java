@@ -0,0 +1,109 @@
+package de.cyzetlc.hsbi.game.world;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EntityStoreTest {
+    private static final int OPERATIONS = 50_000;
+
+    /** The expected state of an entity: archetype, x, y, vx, vy, width, height, flags. */
+    private static final class Expected {
+        private final int archetype;
+        private double x, y, vx, vy;
+        private final double width, height;
+        private int flags;
+
+        private Expected(int archetype, double x, double y, double width, double height, int flags) {
+            this.archetype = archetype;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+            this.flags = flags;
+        }
+    }
+
+    private static void assertEntity(EntityStore store, int id, Expected expected) {
+        assertTrue(store.contains(id), "entity " + id);
+        assertEquals(expected.x, store.getX(id), "x of " + id);
+        assertEquals(expected.y, store.getY(id), "y of " + id);
+        assertEquals(expected.vx, store.getVelocityX(id), "vx of " + id);
+        assertEquals(expected.vy, store.getVelocityY(id), "vy of " + id);
+        assertEquals(expected.width, store.getWidth(id), "width of " + id);
+        assertEquals(expected.height, store.getHeight(id), "height of " + id);
+        assertEquals((expected.flags & EntityStore.FLAG_ACTIVE) != 0, store.hasFlag(id, EntityStore.FLAG_ACTIVE));
+        assertEquals((expected.flags & EntityStore.FLAG_COLLIDABLE) != 0, store.hasFlag(id, EntityStore.FLAG_COLLIDABLE));
+    }
+
+    @Test
+    void randomCreateRemoveKeepsEveryEntity() {
+        SplittableRandom random = new SplittableRandom(7);
+        EntityStore store = new EntityStore();
+        EntityStore.Archetype[] archetypes = {store.archetype("a"), store.archetype("b"), store.archetype("c")};
+        Map<Integer, Expected> expected = new HashMap<>();
+        List<Integer> ids = new ArrayList<>();
+
+        for (int op = 0; op < OPERATIONS; op++) {
+            int action = random.nextInt(10);
+            if (action < 4 || ids.isEmpty()) {
+                int archetype = random.nextInt(archetypes.length);
+                Expected entity = new Expected(archetype, random.nextDouble(1_000), random.nextDouble(1_000),
+                        random.nextInt(64), random.nextInt(64), random.nextInt(4));
+                int id = store.create(archetypes[archetype], entity.x, entity.y, entity.width, entity.height, entity.flags);
+                assertFalse(expected.containsKey(id), "id " + id + " handed out twice");
+                expected.put(id, entity);
+                ids.add(id);
+            } else if (action < 7) {
+                // removing moves the last entity of the archetype into the gap
+                int id = ids.remove(random.nextInt(ids.size()));
+                assertTrue(store.remove(id));
+                assertFalse(store.contains(id));
+                assertFalse(store.remove(id));
+                expected.remove(id);
+            } else if (action < 9) {
+                int id = ids.get(random.nextInt(ids.size()));
+                Expected entity = expected.get(id);
+                entity.x = random.nextDouble(1_000);
+                entity.vx = random.nextDouble(-100, 100);
+                entity.vy = random.nextDouble(-100, 100);
+                entity.flags ^= EntityStore.FLAG_ACTIVE;
+                store.setX(id, entity.x);
+                store.setVelocity(id, entity.vx, entity.vy);
+                store.setFlag(id, EntityStore.FLAG_ACTIVE, (entity.flags & EntityStore.FLAG_ACTIVE) != 0);
+            } else {
+                double delta = 0.005;
+                store.integrate(delta);
+                for (Expected entity : expected.values()) {
+                    if ((entity.flags & EntityStore.FLAG_ACTIVE) != 0) {
+                        entity.x += entity.vx * delta;
+                        entity.y += entity.vy * delta;
+                    }
+                }
+            }
+
+            assertEquals(expected.size(), store.getSize());
+            if (op % 1_000 == 0) {
+                int[] sizes = new int[archetypes.length];
+                for (Map.Entry<Integer, Expected> entry : expected.entrySet()) {
+                    assertEntity(store, entry.getKey(), entry.getValue());
+                    sizes[entry.getValue().archetype]++;
+                }
+                for (int a = 0; a < archetypes.length; a++) {
+                    assertEquals(sizes[a], archetypes[a].getSize(), "size of " + archetypes[a].getName());
+                }
+            }
+        }
+        for (Map.Entry<Integer, Expected> entry : expected.entrySet()) {
+            assertEntity(store, entry.getKey(), entry.getValue());
+        }
+    }
+}
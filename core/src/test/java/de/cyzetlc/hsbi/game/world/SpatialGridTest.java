@@ -0,0 +1,114 @@
+package de.cyzetlc.hsbi.game.world;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpatialGridTest {
+    private static final int ITEMS = 500;
+    private static final int OPERATIONS = 20_000;
+
+    private static double[] randomBox(SplittableRandom random) {
+        // boxes from points up to several cells, on both sides of the origin
+        double[] box = {random.nextDouble(-2_000, 2_000), random.nextDouble(-2_000, 2_000),
+                random.nextInt(4) == 0 ? 0 : random.nextDouble(300), random.nextInt(4) == 0 ? 0 : random.nextDouble(300)};
+        if (random.nextBoolean()) {
+            // on a coarse raster, so boxes often share an edge and lie exactly on cell borders
+            for (int i = 0; i < box.length; i++) {
+                box[i] = Math.round(box[i] / 16) * 16.0;
+            }
+        }
+        return box;
+    }
+
+    private static List<Integer> bruteForce(Map<Integer, double[]> boxes, double x, double y, double width, double height) {
+        List<Integer> result = new ArrayList<>();
+        for (Map.Entry<Integer, double[]> entry : boxes.entrySet()) {
+            double[] box = entry.getValue();
+            if (box[0] <= x + width && box[0] + box[2] >= x && box[1] <= y + height && box[1] + box[3] >= y) {
+                result.add(entry.getKey());
+            }
+        }
+        return result;
+    }
+
+    @Test
+    void queryMatchesBruteForceScan() {
+        for (double cellSize : new double[]{16, 128, 1_000}) {
+            SplittableRandom random = new SplittableRandom(Double.doubleToLongBits(cellSize));
+            SpatialGrid<Integer> grid = new SpatialGrid<>(cellSize);
+            // in insertion order: moving keeps the position, removing and inserting again moves to the end
+            Map<Integer, double[]> boxes = new LinkedHashMap<>();
+            Integer[] items = new Integer[ITEMS];
+            for (int i = 0; i < ITEMS; i++) {
+                items[i] = i;
+            }
+
+            List<Integer> found = new ArrayList<>();
+            for (int op = 0; op < OPERATIONS; op++) {
+                Integer item = items[random.nextInt(ITEMS)];
+                int action = random.nextInt(10);
+                if (action < 4) {
+                    double[] box = randomBox(random);
+                    if (random.nextBoolean() && boxes.containsKey(item)) {
+                        // a small move that mostly stays in the same cells
+                        double[] old = boxes.get(item);
+                        box[0] = old[0] + random.nextDouble(-20, 20);
+                        box[1] = old[1] + random.nextDouble(-20, 20);
+                        box[2] = old[2];
+                        box[3] = old[3];
+                    }
+                    grid.update(item, box[0], box[1], box[2], box[3]);
+                    boxes.put(item, box);
+                } else if (action < 5) {
+                    assertEquals(boxes.remove(item) != null, grid.remove(item));
+                } else {
+                    double[] query = randomBox(random);
+                    found.clear();
+                    int count = grid.query(query[0], query[1], query[2], query[3], found);
+                    List<Integer> expected = bruteForce(boxes, query[0], query[1], query[2], query[3]);
+                    assertEquals(expected, found, "query " + op + " with cell size " + cellSize);
+                    assertEquals(expected.size(), count);
+                }
+                assertEquals(boxes.size(), grid.size());
+            }
+        }
+    }
+
+    @Test
+    void removeAndInsertAgainDoesNotAllocate() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads)
+                || !threads.isThreadAllocatedMemorySupported()) {
+            return;
+        }
+        SpatialGrid<Object> grid = new SpatialGrid<>();
+        Object[] projectiles = new Object[16];
+        for (int i = 0; i < projectiles.length; i++) {
+            projectiles[i] = new Object();
+        }
+
+        long allocated = 0;
+        for (int round = 0; round < 2; round++) {
+            // the first round warms up the free list, the cells and the JIT
+            long before = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+            for (int i = 0; i < 100_000; i++) {
+                Object projectile = projectiles[i % projectiles.length];
+                double x = (i * 37) % 4_000;
+                grid.update(projectile, x, 480, 12, 12);
+                grid.update(projectile, x + 1.6, 480, 12, 12);
+                grid.remove(projectile);
+            }
+            allocated = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - before;
+        }
+        // a few bytes of slack for the counter itself, an entry per cycle would be megabytes
+        assertTrue(allocated < 10_000, allocated + " bytes allocated");
+    }
+}
@@ -0,0 +1,217 @@
+package de.cyzetlc.hsbi.game.world;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SweptAABBTest {
+    /** The values of the game: 200 steps per second, gravity 15 and a player of 60 x 60. */
+    private static final double STEP = 1.0 / 200;
+    private static final double GRAVITY = 15;
+    private static final double PLAYER_SIZE = 60;
+    private static final double MAX_TRAVEL = 16;
+
+    private static final double EPSILON = SweptAABB.CONTACT_TOLERANCE;
+
+    /**
+     * The player like the game moves it: the position is kept as the top left corner and the box is built from it
+     * again on every step, so a flush contact can turn into an overlap by a rounding error.
+     */
+    private static final class Body {
+        private double x;
+        private double y;
+        private double dx;
+        private double dy;
+        private final double width;
+        private final double height;
+        private final AABB box = new AABB();
+        private final SweptAABB.Contact contact = new SweptAABB.Contact();
+
+        private Body(double x, double y, double width, double height) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+
+        private int step(List<AABB> solids) {
+            this.dy += GRAVITY * STEP;
+            this.box.set(this.x, this.y, this.width, this.height);
+            int hits = SweptAABB.slide(this.box, this.dx, this.dy, solids, MAX_TRAVEL, this.contact);
+            if ((hits & (SweptAABB.HIT_FLOOR | SweptAABB.HIT_CEILING)) != 0) {
+                this.dy = 0;
+            }
+            this.x = this.box.getMinX();
+            this.y = this.box.getMinY();
+            return hits;
+        }
+    }
+
+    private static void assertRestsOn(AABB floor, double top, boolean integerTop, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double height = integerTop ? PLAYER_SIZE : PLAYER_SIZE + random.nextDouble();
+        Body body = new Body(floor.getMinX() + random.nextDouble(floor.getWidth() - PLAYER_SIZE),
+                top - height - random.nextDouble(200), PLAYER_SIZE, height);
+        List<AABB> solids = List.of(floor);
+
+        boolean landed = false;
+        for (int i = 0; i < 400; i++) {
+            int hits = body.step(solids);
+            landed |= (hits & SweptAABB.HIT_FLOOR) != 0;
+            assertTrue(body.y + height <= top + EPSILON, "fell into the floor at " + top + " after " + i + " steps");
+            if (landed) {
+                assertEquals(SweptAABB.HIT_FLOOR, hits, "left the floor at " + top + " after " + i + " steps");
+            }
+        }
+        assertTrue(landed, "never landed on " + top);
+    }
+
+    @Test
+    void restingContactHoldsOnIntegerTops() {
+        SplittableRandom random = new SplittableRandom(47);
+        for (int i = 0; i < 2_000; i++) {
+            double top = random.nextInt(-5_000, 5_000);
+            AABB floor = new AABB(random.nextInt(-1_000, 1_000), top, 200, 32);
+            assertRestsOn(floor, top, true, random.nextLong());
+        }
+    }
+
+    @Test
+    void restingContactHoldsOnFractionalTops() {
+        SplittableRandom random = new SplittableRandom(48);
+        for (int i = 0; i < 2_000; i++) {
+            double top = random.nextDouble(-5_000, 5_000);
+            AABB floor = new AABB(random.nextDouble(-1_000, 1_000), top, 200, random.nextDouble(1, 40));
+            assertRestsOn(floor, top, false, random.nextLong());
+        }
+    }
+
+    @Test
+    void walkingOverSeamsDoesNotHitAWall() {
+        SplittableRandom random = new SplittableRandom(49);
+        for (int round = 0; round < 200; round++) {
+            double top = random.nextDouble(-1_000, 1_000);
+            double tileWidth = 16 + random.nextDouble(32);
+            List<AABB> tiles = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                tiles.add(new AABB(i * tileWidth, top, tileWidth, 16));
+            }
+
+            Body body = new Body(0, top - PLAYER_SIZE, PLAYER_SIZE, PLAYER_SIZE);
+            body.dx = random.nextDouble(0.5, 3);
+            for (int i = 0; i < 400; i++) {
+                double before = body.x;
+                int hits = body.step(tiles);
+                assertEquals(SweptAABB.HIT_FLOOR, hits, "snagged at x " + body.x);
+                assertEquals(before + body.dx, body.x, 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void pushingAgainstAWallStaysFlush() {
+        SplittableRandom random = new SplittableRandom(50);
+        for (int round = 0; round < 500; round++) {
+            double top = random.nextDouble(-1_000, 1_000);
+            double wallX = random.nextDouble(-1_000, 1_000);
+            AABB floor = new AABB(wallX - 500, top, 1_000, 16);
+            AABB wall = new AABB(wallX, top - 200, 16, 200);
+            List<AABB> solids = List.of(floor, wall);
+
+            Body body = new Body(wallX - PLAYER_SIZE - random.nextDouble(20), top - PLAYER_SIZE, PLAYER_SIZE, PLAYER_SIZE);
+            body.dx = random.nextDouble(0.5, 20);
+            boolean walled = false;
+            for (int i = 0; i < 200; i++) {
+                int hits = body.step(solids);
+                walled |= (hits & SweptAABB.HIT_WALL) != 0;
+                assertTrue(body.x + PLAYER_SIZE <= wallX + EPSILON, "went into the wall at " + wallX);
+                assertTrue((hits & SweptAABB.HIT_FLOOR) != 0, "lost the floor next to the wall");
+            }
+            assertTrue(walled);
+        }
+    }
+
+    @Test
+    void jumpingIntoACeilingStopsBelowIt() {
+        SplittableRandom random = new SplittableRandom(51);
+        for (int round = 0; round < 500; round++) {
+            double bottom = random.nextDouble(-1_000, 1_000);
+            AABB ceiling = new AABB(-500, bottom - 16, 1_000, 16);
+            double gap = random.nextDouble(0, 50);
+            Body body = new Body(0, bottom + gap, PLAYER_SIZE, PLAYER_SIZE);
+            // fast enough to reach the ceiling in the first step, then stays at it while still moving up
+            body.dy = -gap - GRAVITY * STEP - random.nextDouble(0.1, 40);
+
+            int hits = body.step(List.of(ceiling));
+            assertEquals(SweptAABB.HIT_CEILING, hits);
+            assertEquals(bottom, body.y, 1e-9);
+            assertEquals(0, body.dy, 0);
+        }
+    }
+
+    @Test
+    void cornersAreLandedOnOrMissed() {
+        SweptAABB.Contact contact = new SweptAABB.Contact();
+        AABB solid = new AABB(100, 100, 50, 50);
+
+        // exactly onto the top left corner: landing wins over the wall
+        AABB box = new AABB(40, 40, 50, 50);
+        assertTrue(SweptAABB.sweep(box, 20, 20, solid, contact));
+        assertEquals(0.5, contact.getTime(), 0);
+        assertEquals(0, contact.getNormalX());
+        assertEquals(-1, contact.getNormalY());
+
+        // only grazing the corner is no contact
+        assertFalse(SweptAABB.sweep(new AABB(40, 50, 50, 50), 20, -20, solid, contact));
+
+        // sliding along the top, touching it, is no contact either
+        assertFalse(SweptAABB.sweep(new AABB(0, 50, 50, 50), 200, 0, solid, contact));
+
+        // landing on the corner, the rest of the movement continues along the top
+        AABB slider = new AABB(40, 40, 50, 50);
+        int hits = SweptAABB.slide(slider, 60, 20, List.of(solid), MAX_TRAVEL, contact);
+        assertEquals(SweptAABB.HIT_FLOOR, hits);
+        assertEquals(150, slider.getMaxX(), 1e-9);
+        assertEquals(100, slider.getMaxY(), 1e-9);
+    }
+
+    @Test
+    void touchingAtTheStartIsAContactAtTimeZero() {
+        SweptAABB.Contact contact = new SweptAABB.Contact();
+        AABB floor = new AABB(0, 100, 100, 10);
+
+        // flush and overlapping by a rounding error: time 0
+        assertTrue(SweptAABB.sweep(new AABB(10, 50, 20, 50), 0, 1, floor, contact));
+        assertEquals(0, contact.getTime(), 0);
+        assertTrue(SweptAABB.sweep(new AABB(10, 50 + 1e-9, 20, 50), 0, 1, floor, contact));
+        assertEquals(0, contact.getTime(), 0);
+        assertEquals(-1, contact.getNormalY());
+
+        // moving away from the contact is free
+        assertFalse(SweptAABB.sweep(new AABB(10, 50 + 1e-9, 20, 50), 0, -1, floor, contact));
+        // a real overlap is not reported, so the box can get out
+        assertFalse(SweptAABB.sweep(new AABB(10, 55, 20, 50), 0, 1, floor, contact));
+        // no movement, no contact
+        assertFalse(SweptAABB.sweep(new AABB(10, 50 + 1e-9, 20, 50), 0, 0, floor, contact));
+    }
+
+    @Test
+    void substepsDoNotTunnelThroughThinPlatforms() {
+        SweptAABB.Contact contact = new SweptAABB.Contact();
+        for (double maxTravel : new double[]{0, 1, MAX_TRAVEL, 1_000}) {
+            AABB platform = new AABB(0, 500, 200, 1);
+            AABB box = new AABB(50, 0, PLAYER_SIZE, PLAYER_SIZE);
+            int hits = SweptAABB.slide(box, 30, 2_000, List.of(platform), maxTravel, contact);
+            assertEquals(SweptAABB.HIT_FLOOR, hits, "maxTravel " + maxTravel);
+            assertEquals(500, box.getMaxY(), 1e-9);
+            // the horizontal movement continues after the landing
+            assertEquals(80, box.getMinX(), 1e-9);
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package de.cyzetlc.hsbi;
 
 import de.cyzetlc.hsbi.game.utils.json.JsonConfig;
+import de.cyzetlc.hsbi.game.utils.json.database.local.LocalStatsStorage;
 import de.cyzetlc.hsbi.game.utils.json.database.mysql.MySQLCredentials;
 import de.cyzetlc.hsbi.game.utils.json.database.mysql.QueryHandler;
+import de.cyzetlc.hsbi.game.utils.json.database.stats.MySQLStatsStorage;
+import de.cyzetlc.hsbi.game.utils.json.database.stats.StatsStorage;
 import de.cyzetlc.hsbi.game.event.EventCancelable;
 import de.cyzetlc.hsbi.game.event.EventManager;
 import de.cyzetlc.hsbi.game.event.impl.ReceivePacketEvent;
@@ -11,6 +14,8 @@ import de.cyzetlc.hsbi.game.network.packets.SerializationUtils;
 import de.cyzetlc.hsbi.game.network.packets.UserMessagePacket;
 import de.cyzetlc.hsbi.listener.PacketListener;
 import de.cyzetlc.hsbi.listener.UserMessageListener;
+import de.cyzetlc.hsbi.utils.LeaderboardService;
+import de.cyzetlc.hsbi.utils.ScoreWriteBehindQueue;
 import lombok.Getter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,6 +25,8 @@ import java.io.DataOutputStream;
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.nio.file.Paths;
+import java.sql.SQLException;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -36,6 +43,15 @@ public class Server {
     @Getter
     private QueryHandler queryHandler;
 
+    @Getter
+    private StatsStorage statsStorage;
+
+    @Getter
+    private ScoreWriteBehindQueue scoreQueue;
+
+    @Getter
+    private final LeaderboardService leaderboard = new LeaderboardService();
+
     @Getter
     private static JsonConfig config;
 
@@ -48,6 +64,12 @@ public class Server {
 
         getLogger().info("Configuration loaded successfully!");
 
+        try {
+            this.buildStatsStorage();
+        } catch (Exception e) {
+            getLogger().error("Stats storage failed, scores will not be saved: " + e.getMessage());
+        }
+
         ServerSocket serverSocket = new ServerSocket(25570);
         getLogger().info("ServerSocket connected: " + serverSocket);
 
@@ -130,7 +152,7 @@ public class Server {
                     System.arraycopy(received, 0, actualReceivedData, 0, bytesRead);
                     Packet packet = SerializationUtils.deserialize(actualReceivedData, Packet.class);
 
-                    if (((EventCancelable)new ReceivePacketEvent(packet, this.socket).call()).isCancelled()) {
+                    if (((EventCancelable)ReceivePacketEvent.obtain(packet, this.socket).call()).isCancelled()) {
                         break;
                     }
 
@@ -169,15 +191,60 @@ public class Server {
     }
 
     /**
-     * It creates a new QueryHandler object with the credentials from the config file, and then creates a table if it
-     * doesn't exist
+     * It opens the storage for the player stats and starts the score queue on top of it. The storage is chosen by the
+     * "storage" entry of the config ("mysql" or "local"), by default MySQL is used if the config has a "mysql" section.
+     * Falling back to the local storage without a "storage" entry is logged as a warning, so a missing "mysql" section
+     * doesn't go unnoticed.
+     */
+    private void buildStatsStorage() throws IOException {
+        String type = config.getObject().optString("storage", null);
+        if (type == null) {
+            if (config.getObject().has("mysql")) {
+                type = "mysql";
+            } else {
+                type = "local";
+                getLogger().warn("The config has neither a \"storage\" entry nor a \"mysql\" section, the stats are stored locally in "
+                        + Paths.get(config.getObject().optString("localStoragePath", "./stats")).toAbsolutePath()
+                        + ". Set \"storage\": \"local\" to confirm this.");
+            }
+        }
+
+        if (!type.equalsIgnoreCase("mysql") && !type.equalsIgnoreCase("local")) {
+            throw new IOException("Unknown stats storage \"" + type + "\", expected \"mysql\" or \"local\"");
+        }
+
+        if (type.equalsIgnoreCase("mysql")) {
+            this.buildMySQLConnection();
+            MySQLStatsStorage storage = new MySQLStatsStorage(this.queryHandler);
+            try {
+                storage.migrate();
+            } catch (SQLException e) {
+                throw new IOException("Schema migration failed: " + e.getMessage(), e);
+            }
+            this.statsStorage = storage;
+        } else {
+            getLogger().info("Using local stats storage..");
+            this.statsStorage = new LocalStatsStorage(Paths.get(config.getObject().optString("localStoragePath", "./stats")));
+        }
+
+        this.scoreQueue = new ScoreWriteBehindQueue(this.statsStorage);
+        this.leaderboard.hydrate(this.statsStorage);
+
+        // Pending scores are written before the storage is closed
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            this.scoreQueue.close();
+            this.statsStorage.close();
+        }, "stats-shutdown"));
+    }
+
+    /**
+     * It creates a new QueryHandler object with the credentials from the config file. The tables are created by the
+     * schema migrations of the MySQLStatsStorage.
      */
     private void buildMySQLConnection() {
         getLogger().info("Building MySQL-Connection..");
 
         this.queryHandler = new QueryHandler(new JsonConfig(this.config.getObject().getJSONObject("mysql")).load(MySQLCredentials.class));
-        //this.queryHandler.createBuilder("CREATE TABLE IF NOT EXISTS logs(numeric_id INT UNIQUE AUTO_INCREMENT, timestamp BIGINT, thread VARCHAR(64), guild_id BIGINT, text TEXT);").executeUpdateSync();
-        //this.queryHandler.createBuilder("CREATE TABLE IF NOT EXISTS settings(numeric_id INT UNIQUE AUTO_INCREMENT, guild_id BIGINT, language VARCHAR(3), log_channel BIGINT, apply_channel BIGINT, verify_channel BIGINT, verify_webhook BIGINT, verify_webhook_url TEXT, verify_role BIGINT);").executeUpdateSync();
 
         getLogger().info("MySQL-Connection finished!");
     }
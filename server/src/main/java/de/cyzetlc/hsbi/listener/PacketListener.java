@@ -6,6 +6,7 @@ import de.cyzetlc.hsbi.game.event.EventHandler;
 import de.cyzetlc.hsbi.game.event.impl.ReceiveMessageEvent;
 import de.cyzetlc.hsbi.game.event.impl.ReceivePacketEvent;
 import de.cyzetlc.hsbi.game.network.packets.*;
+import de.cyzetlc.hsbi.utils.GlobalStatsHandler;
 
 import java.io.DataOutputStream;
 import java.io.IOException;
@@ -25,18 +26,20 @@ public class PacketListener {
             DataOutputStream dos = new DataOutputStream(e.getSocket().getOutputStream());
 
             if (packet instanceof ClientSubmitScorePacket scorePacket) {
-                // ... Daten speichern ...
                 Server.getLogger().info("Got: " + scorePacket.getFinalTime());
+                GlobalStatsHandler.saveBestScore(scorePacket.getPlayerId(), scorePacket.getLevelId(), scorePacket.getFinalTime(), 0f, 0);
+                Server.getInstance().getLeaderboard().submit(scorePacket.getPlayerId(), scorePacket.getLevelId(), scorePacket.getFinalTime());
 
                 Server.MultiClientHandler handler = Server.findHandlerBySocket(e.getSocket());
 
                 if (handler != null) {
                     // 2. Bestätigung zurücksenden
                     try {
-                        handler.sendPacket(new UserMessagePacket("Score saved! Thank you."));
+                        int rank = Server.getInstance().getLeaderboard().getRank(scorePacket.getPlayerId(), scorePacket.getLevelId());
+                        handler.sendPacket(new UserMessagePacket("Score saved! Thank you. Your rank: #" + rank));
 
                         // Sende dem Client die aktuelle Top 10 Liste
-                        // handler.sendPacket(new ServerSendHighscoresPacket(getTopTenScores()));
+                        handler.sendPacket(new ServerSendHighscoresPacket(this.getTopTenScores(scorePacket.getLevelId())));
 
                     } catch (IOException ex) {
                         Server.getLogger().error("Failed to send response to client: " + ex.getMessage());
@@ -58,10 +61,12 @@ public class PacketListener {
                     }
                 }
             } else if (packet instanceof UserMessagePacket messagePacket) {
-                e.setCancelled(((EventCancelable)new ReceiveMessageEvent(messagePacket, e.getSocket()).call()).isCancelled());
+                e.setCancelled(((EventCancelable)ReceiveMessageEvent.obtain(messagePacket, e.getSocket()).call()).isCancelled());
             } else if (packet instanceof ClientLoginPacket clientLoginPacket) {
                 Server.MultiClientHandler.getClientLogger().info(clientLoginPacket.getClient().toString());
             } else if (packet instanceof ClientDataPacket clientDataPacket) {
+                Server.getInstance().getLeaderboard().rememberName(clientDataPacket.getUuid(), clientDataPacket.getName());
+
                 for (Socket socket : this.insideCommunity.keySet()) {
                     if (socket != e.getSocket()) {
                         Server.MultiClientHandler handler = Server.findHandlerBySocket(socket);
@@ -79,4 +84,13 @@ public class PacketListener {
             Server.getLogger().error(ex.getMessage());
         }
     }
+
+    /**
+     * Returns the ten best times of a level from the in-memory leaderboard.
+     * @param level The level.
+     * @return The ten best entries in ascending order of time.
+     */
+    private List<ServerSendHighscoresPacket.HighscoreEntry> getTopTenScores(String level) {
+        return Server.getInstance().getLeaderboard().getTopScores(level, 10);
+    }
 }
@@ -2,34 +2,126 @@ package de.cyzetlc.hsbi.listener;
 
 import de.cyzetlc.hsbi.Server;
 import de.cyzetlc.hsbi.game.event.EventHandler;
+import de.cyzetlc.hsbi.game.event.EventMetrics;
 import de.cyzetlc.hsbi.game.event.impl.ReceiveMessageEvent;
 import de.cyzetlc.hsbi.game.network.packets.UserMessagePacket;
+import de.cyzetlc.hsbi.game.utils.json.JSONArray;
 
 import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
 
 public class UserMessageListener {
+    /**
+     * The maximum number of chars per writeUTF call. A char takes at most 3 bytes in modified UTF-8, so a chunk always
+     * stays below the limit of 65535 bytes.
+     */
+    private static final int UTF_CHUNK_CHARS = 65535 / 3;
+
     @EventHandler
     // The `handleReceiveMessage` method is a listener method that is triggered when a `ReceiveMessageEvent` is fired. It
     // takes an instance of `ReceiveMessageEvent` as a parameter, which contains information about the event.
     public void handleReceiveMessage(ReceiveMessageEvent e) {
         UserMessagePacket packet = (UserMessagePacket) e.getPacket();
+        String message = packet.getMessage();
 
         try {
             DataOutputStream dos = new DataOutputStream(e.getSocket().getOutputStream());
 
-            if (packet.getMessage().equals("Exit")) {
+            if (message.equals("Exit")) {
                 e.getSocket().close();
                 Server.MultiClientHandler.getClientLogger().info("Client " + e.getSocket() + " lost connection: Connection closed");
                 e.setCancelled(true);
-            } else if (packet.getMessage().equals("clients")) {
+            } else if (message.equals("clients")) {
                 dos.writeUTF("Connected clients: " + Server.getMultiClientHandlerList().size());
-                Server.MultiClientHandler.getClientLogger().info(e.getSocket().getRemoteSocketAddress() + ": /" + packet.getMessage());
+                Server.MultiClientHandler.getClientLogger().info(e.getSocket().getRemoteSocketAddress() + ": /" + message);
+            } else if (isOperatorCommand(message) && !isOperator(e.getSocket())) {
+                dos.writeUTF("Permission denied");
+                Server.MultiClientHandler.getClientLogger().warn(e.getSocket().getRemoteSocketAddress() + ": /" + message + " denied, not an operator");
+            } else if (message.equals("metrics") || message.equals("metrics on") || message.equals("metrics off")) {
+                // "metrics on" / "metrics off" toggles the recording, plain "metrics" dumps the report
+                if (message.equals("metrics on")) {
+                    EventMetrics.setEnabled(true);
+                } else if (message.equals("metrics off")) {
+                    EventMetrics.setEnabled(false);
+                }
+                String report = EventMetrics.dump();
+                writeChunked(dos, report);
+                Server.MultiClientHandler.getClientLogger().info(e.getSocket().getRemoteSocketAddress() + ": /" + message + "\n" + report);
+            } else if (message.equals("scores")) {
+                String report = Server.getInstance().getScoreQueue() != null
+                        ? Server.getInstance().getScoreQueue().getStatistics() : "Score queue: no stats storage";
+                if (Server.getInstance().getQueryHandler() != null) {
+                    report += "\n" + Server.getInstance().getQueryHandler().getQueryCache().getStatistics();
+                }
+                writeChunked(dos, report);
+                Server.MultiClientHandler.getClientLogger().info(e.getSocket().getRemoteSocketAddress() + ": /" + message + "\n" + report);
             } else {
-                dos.writeUTF(packet.getMessage());
-                Server.MultiClientHandler.getClientLogger().info(e.getSocket().getRemoteSocketAddress() + ": " + packet.getMessage());
+                writeChunked(dos, message);
+                Server.MultiClientHandler.getClientLogger().info(e.getSocket().getRemoteSocketAddress() + ": " + message);
             }
         } catch (Exception ex) {
             ex.printStackTrace();
         }
     }
+
+    /**
+     * The function checks if a message is one of the operator commands, which expose server internals and are only
+     * answered for the clients accepted by {@link #isOperator(Socket)}.
+     *
+     * @param message The message of the client.
+     * @return true if the message is an operator command.
+     */
+    private static boolean isOperatorCommand(String message) {
+        return message.equals("metrics") || message.equals("metrics on") || message.equals("metrics off")
+                || message.equals("scores");
+    }
+
+    /**
+     * The function checks if a client may use the operator commands. Connections from the server machine itself are
+     * always allowed, other addresses have to be listed in the "operators" array of the config.
+     *
+     * @param socket The socket of the client.
+     * @return true if the client is an operator.
+     */
+    private static boolean isOperator(Socket socket) {
+        InetAddress address = socket.getInetAddress();
+        if (address == null) {
+            return false;
+        }
+        if (address.isLoopbackAddress()) {
+            return true;
+        }
+        JSONArray operators = Server.getConfig() != null ? Server.getConfig().getObject().optJSONArray("operators") : null;
+        if (operators == null) {
+            return false;
+        }
+        for (int i = 0; i < operators.length(); i++) {
+            if (address.getHostAddress().equals(operators.optString(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The function sends a text of any length. writeUTF is limited to 65535 bytes, so longer texts are sent as several
+     * messages in a row. Surrogate pairs are never split.
+     *
+     * @param dos The stream of the client.
+     * @param text The text.
+     */
+    private static void writeChunked(DataOutputStream dos, String text) throws IOException {
+        int start = 0;
+        do {
+            int end = Math.min(text.length(), start + UTF_CHUNK_CHARS);
+            if (end < text.length() && Character.isHighSurrogate(text.charAt(end - 1))) {
+                end--;
+            }
+            dos.writeUTF(text.substring(start, end));
+            start = end;
+        } while (start < text.length());
+        dos.flush();
+    }
 }
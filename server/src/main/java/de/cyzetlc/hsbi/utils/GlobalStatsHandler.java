@@ -1,14 +1,28 @@
 package de.cyzetlc.hsbi.utils;
 
 import de.cyzetlc.hsbi.Server;
+import de.cyzetlc.hsbi.game.utils.json.database.stats.ScoreRecord;
 
-import java.util.Arrays;
 import java.util.UUID;
 
 public class GlobalStatsHandler {
-    public static void saveBestScore(UUID uuid, long time, float dmg, int folders) {
-        Server.getInstance().getQueryHandler().createBuilder(
-                "INSERT INTO `stats` (`uuid`, `finish_time`, `dmg_taken`, `folders_collected`) VALUES (?,?,?,?);"
-        ).addParameters(Arrays.asList(uuid.toString(), time, dmg, folders)).executeUpdateAsync();
+    /**
+     * The function queues a finished run for writing. The run is written in a batch by the
+     * {@link ScoreWriteBehindQueue} into the configured stats storage, so the calling client thread does not wait for it.
+     *
+     * @param uuid The player who finished the level.
+     * @param level The finished level.
+     * @param time The time the player needed.
+     * @param dmg The damage the player took.
+     * @param folders The number of collected folders.
+     */
+    public static void saveBestScore(UUID uuid, String level, long time, float dmg, int folders) {
+        ScoreWriteBehindQueue queue = Server.getInstance().getScoreQueue();
+        if (queue == null) {
+            Server.getLogger().warn("No stats storage, score of " + uuid + " was not saved");
+            return;
+        }
+
+        queue.submit(new ScoreRecord(uuid, level, time, dmg, folders));
     }
 }
@@ -0,0 +1,192 @@
+package de.cyzetlc.hsbi.utils;
+
+import de.cyzetlc.hsbi.game.network.packets.ServerSendHighscoresPacket;
+import de.cyzetlc.hsbi.game.utils.json.database.stats.StatsStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code LeaderboardService} keeps the best time of every player for every level in memory, so highscore and rank
+ * requests are answered without touching the database.
+ * <p>
+ * Each level has a map from player to best time and a {@link ScoreRankTree} over those best times. The service is
+ * filled from the {@link StatsStorage} once at startup and updated with every submitted score afterwards. If filling
+ * it failed, it only knows the scores submitted since the start. Top lists stay empty until it is filled, and filling
+ * is retried in the background, so no request ever waits for the storage.
+ *
+ * @author Tom Coombs
+ */
+public class LeaderboardService {
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardService.class.getName());
+
+    /**
+     * The time between two attempts to fill a leaderboard whose loading failed.
+     */
+    private static final long HYDRATE_RETRY_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    private final Map<String, LevelBoard> boards = new ConcurrentHashMap<>();
+
+    private final Map<UUID, String> names = new ConcurrentHashMap<>();
+
+    private volatile boolean hydrated = false;
+
+    /**
+     * The best times of a single level.
+     */
+    private static final class LevelBoard {
+        private final Map<UUID, Long> best = new HashMap<>();
+        private final ScoreRankTree tree = new ScoreRankTree();
+
+        private synchronized boolean submit(UUID uuid, long time) {
+            Long current = this.best.get(uuid);
+            if (current != null) {
+                if (current <= time) {
+                    return false;
+                }
+                this.tree.remove(uuid, current);
+            }
+
+            this.best.put(uuid, time);
+            this.tree.insert(uuid, time);
+            return true;
+        }
+
+        private synchronized int rank(UUID uuid) {
+            Long time = this.best.get(uuid);
+            return time == null ? -1 : this.tree.rank(uuid, time);
+        }
+
+        private synchronized List<ScoreRankTree.Node> top(int k) {
+            return this.tree.top(k);
+        }
+    }
+
+    /**
+     * The function loads the best time of every player and level from the storage. If that fails, it keeps retrying
+     * on a background thread until the leaderboard is complete.
+     *
+     * @param storage The storage to load from.
+     */
+    public void hydrate(StatsStorage storage) {
+        if (this.tryHydrate(storage)) {
+            return;
+        }
+
+        Thread retry = new Thread(() -> {
+            try {
+                do {
+                    Thread.sleep(HYDRATE_RETRY_MILLIS);
+                } while (!this.tryHydrate(storage));
+            } catch (InterruptedException ignored) {
+                // the server is shutting down
+            }
+        }, "leaderboard-hydrate");
+        retry.setDaemon(true);
+        retry.start();
+    }
+
+    /**
+     * The function reports if the leaderboard knows the best times stored before the start. Until then top lists
+     * are empty.
+     *
+     * @return {@code true} if the leaderboard was loaded from the storage.
+     */
+    public boolean isHydrated() {
+        return this.hydrated;
+    }
+
+    private boolean tryHydrate(StatsStorage storage) {
+        long start = System.currentTimeMillis();
+        int[] rows = {0};
+
+        try {
+            // Runs submitted meanwhile are merged, submit only keeps the better time
+            storage.forEachBest(record -> {
+                this.submit(record.getUuid(), record.getLevel(), record.getFinishTime());
+                rows[0]++;
+            });
+        } catch (IOException e) {
+            logger.error("Failed to load the leaderboard, retrying in " + HYDRATE_RETRY_MILLIS / 1000 + "s: " + e.getMessage());
+            return false;
+        }
+
+        this.hydrated = true;
+        logger.info("Loaded " + rows[0] + " best times for " + this.boards.size() + " levels in " + (System.currentTimeMillis() - start) + "ms");
+        return true;
+    }
+
+    /**
+     * The function records a finished run.
+     *
+     * @param uuid The player.
+     * @param level The finished level.
+     * @param time The time the player needed.
+     * @return {@code true} if the run is a new best time of the player.
+     */
+    public boolean submit(UUID uuid, String level, long time) {
+        return this.boards.computeIfAbsent(level, key -> new LevelBoard()).submit(uuid, time);
+    }
+
+    /**
+     * The function remembers the display name of a player for the highscore list.
+     *
+     * @param uuid The player.
+     * @param name The name of the player.
+     */
+    public void rememberName(UUID uuid, String name) {
+        if (uuid != null && name != null) {
+            this.names.put(uuid, name);
+        }
+    }
+
+    /**
+     * The function returns the rank of a player on a level, the best time has rank 1.
+     *
+     * @param uuid The player.
+     * @param level The level.
+     * @return The rank, or -1 if the player has no time on the level.
+     */
+    public int getRank(UUID uuid, String level) {
+        LevelBoard board = this.boards.get(level);
+        return board == null ? -1 : board.rank(uuid);
+    }
+
+    /**
+     * The function returns the best entries of a level, ready to be sent with a {@link ServerSendHighscoresPacket}.
+     * It never touches the storage: while the leaderboard is not loaded yet, the list is empty rather than missing the
+     * scores of before the start.
+     *
+     * @param level The level.
+     * @param k The maximum number of entries.
+     * @return The entries in ascending order of time.
+     */
+    public List<ServerSendHighscoresPacket.HighscoreEntry> getTopScores(String level, int k) {
+        LevelBoard board = this.boards.get(level);
+        if (!this.hydrated || board == null) {
+            return new ArrayList<>();
+        }
+
+        List<ScoreRankTree.Node> nodes = board.top(k);
+        List<ServerSendHighscoresPacket.HighscoreEntry> entries = new ArrayList<>(nodes.size());
+        for (ScoreRankTree.Node node : nodes) {
+            entries.add(this.createEntry(node.getUuid(), node.getTime()));
+        }
+        return entries;
+    }
+
+    private ServerSendHighscoresPacket.HighscoreEntry createEntry(UUID uuid, long time) {
+        ServerSendHighscoresPacket.HighscoreEntry entry = new ServerSendHighscoresPacket.HighscoreEntry();
+        entry.playerName = this.names.getOrDefault(uuid, uuid.toString());
+        entry.time = time;
+        return entry;
+    }
+}
@@ -0,0 +1,202 @@
+package de.cyzetlc.hsbi.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The {@code ScoreRankTree} is an order-statistic treap of best times, ordered by time and then by player. Every node
+ * knows the size of its subtree, so insert, remove and rank lookups are O(log n) on average and the top k entries are
+ * collected in O(k + log n).
+ * <p>
+ * The tree is not thread-safe, the {@link LeaderboardService} guards it.
+ *
+ * @author Tom Coombs
+ */
+public class ScoreRankTree {
+    /**
+     * A single entry of the tree.
+     */
+    public static final class Node {
+        private final UUID uuid;
+        private final long time;
+        private final int priority;
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        private Node(UUID uuid, long time) {
+            this.uuid = uuid;
+            this.time = time;
+            this.priority = ThreadLocalRandom.current().nextInt();
+        }
+
+        public UUID getUuid() {
+            return this.uuid;
+        }
+
+        public long getTime() {
+            return this.time;
+        }
+    }
+
+    private Node root;
+
+    /**
+     * The function returns the number of entries.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        return size(this.root);
+    }
+
+    /**
+     * The function inserts an entry. The same player and time must not be inserted twice.
+     *
+     * @param uuid The player.
+     * @param time The best time of the player.
+     */
+    public void insert(UUID uuid, long time) {
+        this.root = this.insert(this.root, new Node(uuid, time));
+    }
+
+    /**
+     * The function removes an entry.
+     *
+     * @param uuid The player.
+     * @param time The time the entry was inserted with.
+     */
+    public void remove(UUID uuid, long time) {
+        this.root = this.remove(this.root, uuid, time);
+    }
+
+    /**
+     * The function returns the rank of an entry, the best time has rank 1.
+     *
+     * @param uuid The player.
+     * @param time The time the entry was inserted with.
+     * @return The rank, or -1 if the entry does not exist.
+     */
+    public int rank(UUID uuid, long time) {
+        int before = 0;
+        Node node = this.root;
+        while (node != null) {
+            int cmp = compare(uuid, time, node);
+            if (cmp == 0) {
+                return before + size(node.left) + 1;
+            } else if (cmp < 0) {
+                node = node.left;
+            } else {
+                before += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The function returns the best entries in ascending order of time.
+     *
+     * @param k The maximum number of entries.
+     * @return The first {@code k} entries.
+     */
+    public List<Node> top(int k) {
+        List<Node> result = new ArrayList<>(Math.min(k, this.size()));
+        this.collect(this.root, k, result);
+        return result;
+    }
+
+    private void collect(Node node, int k, List<Node> result) {
+        if (node == null || result.size() >= k) {
+            return;
+        }
+        this.collect(node.left, k, result);
+        if (result.size() < k) {
+            result.add(node);
+            this.collect(node.right, k, result);
+        }
+    }
+
+    private Node insert(Node node, Node inserted) {
+        if (node == null) {
+            return inserted;
+        }
+
+        if (compare(inserted.uuid, inserted.time, node) < 0) {
+            node.left = this.insert(node.left, inserted);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = this.insert(node.right, inserted);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private Node remove(Node node, UUID uuid, long time) {
+        if (node == null) {
+            return null;
+        }
+
+        int cmp = compare(uuid, time, node);
+        if (cmp < 0) {
+            node.left = this.remove(node.left, uuid, time);
+        } else if (cmp > 0) {
+            node.right = this.remove(node.right, uuid, time);
+        } else {
+            if (node.left == null) {
+                return node.right;
+            } else if (node.right == null) {
+                return node.left;
+            }
+
+            // Rotate the node down until it has at most one child
+            if (node.left.priority > node.right.priority) {
+                node = rotateRight(node);
+                node.right = this.remove(node.right, uuid, time);
+            } else {
+                node = rotateLeft(node);
+                node.left = this.remove(node.left, uuid, time);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private static int compare(UUID uuid, long time, Node node) {
+        int cmp = Long.compare(time, node.time);
+        return cmp != 0 ? cmp : uuid.compareTo(node.uuid);
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static void update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+}
@@ -0,0 +1,303 @@
+package de.cyzetlc.hsbi.utils;
+
+import de.cyzetlc.hsbi.game.utils.json.database.stats.ScoreRecord;
+import de.cyzetlc.hsbi.game.utils.json.database.stats.StatsStorage;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The {@code ScoreWriteBehindQueue} collects submitted scores in memory and writes them in batches into the
+ * {@link StatsStorage} on a single background thread.
+ * <p>
+ * Every submitted run is written, the queue only groups them into batches. Keeping the best run per player and level
+ * is up to the storage. A batch is written as soon as {@code batchSize} records are pending or the oldest pending
+ * record waited {@code maxDelay}.
+ * The queue holds at most {@code capacity} records, a full queue blocks the submitting client thread (backpressure)
+ * and falls back to a direct insert if it stays full. {@link #close()} drains all pending records before it returns.
+ *
+ * @author Tom Coombs
+ */
+public class ScoreWriteBehindQueue implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ScoreWriteBehindQueue.class.getName());
+
+    /**
+     * How often a batch is retried while the queue is closing, before its records are given up.
+     */
+    private static final int SHUTDOWN_RETRIES = 3;
+
+    private final StatsStorage storage;
+    private final int batchSize;
+    private final int capacity;
+    private final long maxDelayNanos;
+    private final long offerTimeoutNanos;
+
+    private final ArrayDeque<Pending> pending = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = this.lock.newCondition();
+    private final Condition flushRequested = this.lock.newCondition();
+    private final Thread flusher;
+
+    private volatile boolean closing = false;
+
+    @Getter
+    private final AtomicLong submitted = new AtomicLong();
+    @Getter
+    private final AtomicLong writtenRows = new AtomicLong();
+    @Getter
+    private final AtomicLong writtenBatches = new AtomicLong();
+    @Getter
+    private final AtomicLong failedBatches = new AtomicLong();
+    @Getter
+    private final AtomicLong directWrites = new AtomicLong();
+    private final AtomicLong writeNanos = new AtomicLong();
+
+    /**
+     * Creates a queue with the default thresholds: batches of 100 records, at most 500 ms delay, room for 10,000
+     * records and up to 2 seconds of backpressure per submission.
+     *
+     * @param storage The storage the records are written to.
+     */
+    public ScoreWriteBehindQueue(StatsStorage storage) {
+        this(storage, 100, 10_000, 500, 2000);
+    }
+
+    /**
+     * @param storage The storage the records are written to.
+     * @param batchSize The number of pending records that triggers a batch.
+     * @param capacity The maximum number of pending records.
+     * @param maxDelayMillis The maximum time a record waits before its batch is written.
+     * @param offerTimeoutMillis The maximum time a submission blocks while the queue is full.
+     */
+    public ScoreWriteBehindQueue(StatsStorage storage, int batchSize, int capacity, long maxDelayMillis, long offerTimeoutMillis) {
+        this.storage = storage;
+        this.batchSize = Math.max(1, batchSize);
+        this.capacity = Math.max(this.batchSize, capacity);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.offerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(offerTimeoutMillis);
+
+        this.flusher = new Thread(this::runFlusher, "score-write-behind");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * The function queues a score for writing.
+     *
+     * @param record The score to write.
+     */
+    public void submit(ScoreRecord record) {
+        this.submitted.incrementAndGet();
+
+        this.lock.lock();
+        try {
+            if (!this.closing) {
+                long remaining = this.offerTimeoutNanos;
+                while (this.pending.size() >= this.capacity && remaining > 0 && !this.closing) {
+                    this.flushRequested.signal();
+                    remaining = this.notFull.awaitNanos(remaining);
+                }
+
+                if (this.pending.size() < this.capacity && !this.closing) {
+                    this.pending.addLast(new Pending(record, System.nanoTime()));
+                    if (this.pending.size() >= this.batchSize) {
+                        this.flushRequested.signal();
+                    }
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            this.lock.unlock();
+        }
+
+        // The queue stayed full (or is closing), the record is written by the calling thread instead of being lost.
+        this.directWrites.incrementAndGet();
+        try {
+            this.writeBatch(List.of(record));
+        } catch (IOException e) {
+            logger.error("Failed to write score of " + record.getUuid() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * The function returns the number of records that are waiting to be written.
+     *
+     * @return The number of pending records.
+     */
+    public int getPendingCount() {
+        this.lock.lock();
+        try {
+            return this.pending.size();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * The function builds a short report of the queue counters, including the insert throughput of the written
+     * batches.
+     *
+     * @return The report.
+     */
+    public String getStatistics() {
+        long rows = this.writtenRows.get();
+        double seconds = this.writeNanos.get() / 1_000_000_000.0;
+        return "Score queue: pending=" + this.getPendingCount()
+                + ", submitted=" + this.submitted.get()
+                + ", rows=" + rows
+                + ", batches=" + this.writtenBatches.get()
+                + ", failed=" + this.failedBatches.get()
+                + ", direct=" + this.directWrites.get()
+                + ", throughput=" + (seconds > 0 ? String.format("%.0f rows/s", rows / seconds) : "-");
+    }
+
+    /**
+     * The function stops accepting new records, writes all pending ones and waits for the background thread to
+     * finish.
+     */
+    @Override
+    public void close() {
+        this.lock.lock();
+        try {
+            this.closing = true;
+            this.flushRequested.signal();
+            this.notFull.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+
+        try {
+            this.flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info(this.getStatistics());
+    }
+
+    private void runFlusher() {
+        int retries = 0;
+
+        while (true) {
+            List<Pending> batch;
+
+            this.lock.lock();
+            try {
+                while (!this.closing && !this.isFlushDue()) {
+                    if (this.pending.isEmpty()) {
+                        this.flushRequested.await();
+                    } else {
+                        this.flushRequested.awaitNanos(this.maxDelayNanos - (System.nanoTime() - this.pending.peekFirst().enqueuedNanos));
+                    }
+                }
+
+                if (this.pending.isEmpty()) {
+                    return; // closing and fully drained
+                }
+                batch = this.takeBatch();
+            } catch (InterruptedException e) {
+                // Interrupting the flusher only shortens the wait, the records are still drained.
+                this.closing = true;
+                continue;
+            } finally {
+                this.lock.unlock();
+            }
+
+            List<ScoreRecord> records = new ArrayList<>(batch.size());
+            for (Pending entry : batch) {
+                records.add(entry.record);
+            }
+            try {
+                this.writeBatch(records);
+                retries = 0;
+            } catch (IOException e) {
+                this.failedBatches.incrementAndGet();
+                logger.error("Failed to write " + batch.size() + " scores: " + e.getMessage());
+
+                if (this.closing && ++retries > SHUTDOWN_RETRIES) {
+                    logger.error("Giving up " + batch.size() + " scores after " + SHUTDOWN_RETRIES + " retries");
+                    retries = 0;
+                    continue;
+                }
+                this.requeue(batch);
+                this.sleepQuietly(1000);
+            }
+        }
+    }
+
+    /**
+     * Must be called while holding the lock.
+     */
+    private boolean isFlushDue() {
+        return this.pending.size() >= this.batchSize
+                || (!this.pending.isEmpty() && System.nanoTime() - this.pending.peekFirst().enqueuedNanos >= this.maxDelayNanos);
+    }
+
+    /**
+     * Must be called while holding the lock.
+     */
+    private List<Pending> takeBatch() {
+        List<Pending> batch = new ArrayList<>(Math.min(this.batchSize, this.pending.size()));
+        while (!this.pending.isEmpty() && batch.size() < this.batchSize) {
+            batch.add(this.pending.pollFirst());
+        }
+
+        // The remaining records keep their own enqueue time, the next deadline is the one of the new head.
+        this.notFull.signalAll();
+        return batch;
+    }
+
+    private void requeue(List<Pending> batch) {
+        this.lock.lock();
+        try {
+            // A failed batch is put back in front, in its order, even if the queue is full. It was accepted already.
+            ListIterator<Pending> iterator = batch.listIterator(batch.size());
+            while (iterator.hasPrevious()) {
+                this.pending.addFirst(iterator.previous());
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void writeBatch(List<ScoreRecord> batch) throws IOException {
+        long start = System.nanoTime();
+        this.storage.writeBatch(batch);
+
+        this.writeNanos.addAndGet(System.nanoTime() - start);
+        this.writtenRows.addAndGet(batch.size());
+        this.writtenBatches.incrementAndGet();
+    }
+
+    private void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            this.closing = true;
+        }
+    }
+
+    /**
+     * A queued record together with the time it was submitted, which decides when its batch is due.
+     */
+    private static final class Pending {
+        private final ScoreRecord record;
+        private final long enqueuedNanos;
+
+        private Pending(ScoreRecord record, long enqueuedNanos) {
+            this.record = record;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package de.cyzetlc.hsbi.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ScoreRankTreeTest {
+    private static final int OPERATIONS = 50_000;
+
+    /** Orders the reference entries like the tree: by time, then by player. */
+    private static final class Key implements Comparable<Key> {
+        private final long time;
+        private final UUID uuid;
+
+        private Key(long time, UUID uuid) {
+            this.time = time;
+            this.uuid = uuid;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int cmp = Long.compare(this.time, other.time);
+            return cmp != 0 ? cmp : this.uuid.compareTo(other.uuid);
+        }
+    }
+
+    private static void assertSameOrder(ScoreRankTree tree, TreeMap<Key, UUID> reference) {
+        assertEquals(reference.size(), tree.size());
+
+        int rank = 0;
+        for (Key key : reference.keySet()) {
+            rank++;
+            assertEquals(rank, tree.rank(key.uuid, key.time), "rank of " + key.uuid);
+        }
+
+        List<ScoreRankTree.Node> top = tree.top(10);
+        assertEquals(Math.min(10, reference.size()), top.size());
+        Iterator<Key> expected = reference.keySet().iterator();
+        for (ScoreRankTree.Node node : top) {
+            Key key = expected.next();
+            assertEquals(key.time, node.getTime());
+            assertEquals(key.uuid, node.getUuid());
+        }
+    }
+
+    @Test
+    void randomBestTimesKeepRanksOfSortedList() {
+        SplittableRandom random = new SplittableRandom(31);
+        ScoreRankTree tree = new ScoreRankTree();
+        TreeMap<Key, UUID> reference = new TreeMap<>();
+        Map<UUID, Long> best = new HashMap<>();
+        List<UUID> players = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            players.add(new UUID(random.nextLong(), random.nextLong()));
+        }
+
+        for (int op = 0; op < OPERATIONS; op++) {
+            UUID uuid = players.get(random.nextInt(players.size()));
+            // few distinct times, so equal times are ordered by the player
+            long time = random.nextInt(5_000);
+            Long current = best.get(uuid);
+
+            if (random.nextInt(10) == 0) {
+                if (current != null) {
+                    tree.remove(uuid, current);
+                    reference.remove(new Key(current, uuid));
+                    best.remove(uuid);
+                }
+            } else if (current == null || time < current) {
+                if (current != null) {
+                    tree.remove(uuid, current);
+                    reference.remove(new Key(current, uuid));
+                }
+                tree.insert(uuid, time);
+                reference.put(new Key(time, uuid), uuid);
+                best.put(uuid, time);
+            }
+
+            if (op % 5_000 == 0) {
+                assertSameOrder(tree, reference);
+            }
+        }
+        assertSameOrder(tree, reference);
+    }
+
+    @Test
+    void missingEntriesHaveNoRank() {
+        ScoreRankTree tree = new ScoreRankTree();
+        UUID player = new UUID(0, 1);
+        assertEquals(-1, tree.rank(player, 100));
+
+        tree.insert(player, 100);
+        assertEquals(1, tree.rank(player, 100));
+        assertEquals(-1, tree.rank(player, 99));
+
+        // removing an entry that does not exist leaves the tree unchanged
+        tree.remove(player, 99);
+        tree.remove(new UUID(0, 2), 100);
+        assertEquals(1, tree.size());
+
+        tree.remove(player, 100);
+        assertEquals(0, tree.size());
+        assertEquals(-1, tree.rank(player, 100));
+        assertEquals(0, tree.top(10).size());
+    }
+
+    @Test
+    void topReturnsAtMostTheRequestedEntries() {
+        ScoreRankTree tree = new ScoreRankTree();
+        for (int i = 0; i < 100; i++) {
+            tree.insert(new UUID(0, i), 1_000 - i);
+        }
+
+        List<ScoreRankTree.Node> top = tree.top(3);
+        assertEquals(3, top.size());
+        assertEquals(901, top.get(0).getTime());
+        assertEquals(902, top.get(1).getTime());
+        assertEquals(903, top.get(2).getTime());
+        assertEquals(100, tree.top(500).size());
+        assertEquals(0, tree.top(0).size());
+    }
+}